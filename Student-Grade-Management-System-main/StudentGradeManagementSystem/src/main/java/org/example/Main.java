@@ -2,7 +2,11 @@ package org.example;
 
 import org.example.exceptions.StudentNotFoundException;
 import org.example.models.*;
+import org.example.persistence.CheckpointManager;
+import org.example.persistence.MutationReplayer;
+import org.example.persistence.WriteAheadLog;
 import org.example.service.*;
+import org.example.utils.ServiceBootstrap;
 import org.example.utils.ValidationUtils;
 
 import java.io.*;
@@ -18,22 +22,28 @@ import java.util.regex.Pattern;
  * @version 3.0
  */
 public class Main {
-    private static EnhancedStudentManager studentManager;
-    private static FileExporter fileExporter;
-    private static BulkImportService bulkImportService;
-    private static CSVParser csvParser;
-    private static GPACalculator gpaCalculator;
-    private static ReportGenerator reportGenerator;
-    private static EnhancedFileOperations enhancedFileOps;
-    private static ConcurrentReportGenerator concurrentReportGenerator;
-    private static RealTimeStatisticsDashboard statisticsDashboard;
-    private static TaskScheduler taskScheduler;
-    private static PatternSearchService patternSearchService;
-    private static CacheManager cacheManager;
-    private static StreamDataProcessor streamDataProcessor;
-    private static AuditLogger auditLogger;
+    private static final ServiceBootstrap bootstrap = new ServiceBootstrap();
+    private static ServiceBootstrap.Service<EnhancedStudentManager> studentManager;
+    private static ServiceBootstrap.Service<FileExporter> fileExporter;
+    private static ServiceBootstrap.Service<BulkImportService> bulkImportService;
+    private static ServiceBootstrap.Service<CSVParser> csvParser;
+    private static ServiceBootstrap.Service<GPACalculator> gpaCalculator;
+    private static ServiceBootstrap.Service<ReportGenerator> reportGenerator;
+    private static ServiceBootstrap.Service<EnhancedFileOperations> enhancedFileOps;
+    private static ServiceBootstrap.Service<ConcurrentReportGenerator> concurrentReportGenerator;
+    private static ServiceBootstrap.Service<RealTimeStatisticsDashboard> statisticsDashboard;
+    private static ServiceBootstrap.Service<TaskScheduler> taskScheduler;
+    private static ServiceBootstrap.Service<PatternSearchService> patternSearchService;
+    private static ServiceBootstrap.Service<CacheManager> cacheManager;
+    private static ServiceBootstrap.Service<StreamDataProcessor> streamDataProcessor;
+    private static ServiceBootstrap.Service<AuditLogger> auditLogger;
+    // Set by the student manager's bootstrap
+    private static volatile WriteAheadLog writeAheadLog;
+    private static volatile CheckpointManager checkpointManager;
     private static Scanner scanner;
 
+    private static final long CHECKPOINT_INTERVAL_MINUTES = 10;
+
     // Validation patterns
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s]+$");
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
@@ -44,31 +54,79 @@ public class Main {
         displayMainMenu();
     }
 
+    // Recovery, the audit log and the scheduled backups start in parallel; everything else on first use
     private static void initializeServices() {
-        studentManager = new EnhancedStudentManager();
-        csvParser = new CSVParser();
-        gpaCalculator = new GPACalculator();
-        reportGenerator = new ReportGenerator();
-        fileExporter = new FileExporter(reportGenerator, gpaCalculator);
-        fileExporter.setStudentManager(studentManager);
-        concurrentReportGenerator = new ConcurrentReportGenerator(fileExporter, studentManager);
-        statisticsDashboard = new RealTimeStatisticsDashboard(studentManager);
-        taskScheduler = new TaskScheduler(studentManager);
-        patternSearchService = new PatternSearchService(studentManager);
-        cacheManager = new CacheManager(studentManager);
-        streamDataProcessor = new StreamDataProcessor(studentManager, gpaCalculator);
-        auditLogger = new AuditLogger();
-        bulkImportService = new BulkImportService(studentManager, csvParser, fileExporter);
+        studentManager = bootstrap.background("EnhancedStudentManager", Main::openStudentManager);
+        auditLogger = bootstrap.background("AuditLogger", AuditLogger::new);
+        taskScheduler = bootstrap.background("TaskScheduler", () -> new TaskScheduler(studentManager.get()));
+        csvParser = bootstrap.lazy("CSVParser", CSVParser::new);
+        gpaCalculator = bootstrap.lazy("GPACalculator", GPACalculator::new);
+        reportGenerator = bootstrap.lazy("ReportGenerator", ReportGenerator::new);
+        fileExporter = bootstrap.lazy("FileExporter", () -> {
+            FileExporter exporter = new FileExporter(reportGenerator.get(), gpaCalculator.get());
+            exporter.setStudentManager(studentManager.get());
+            return exporter;
+        });
+        concurrentReportGenerator = bootstrap.lazy("ConcurrentReportGenerator",
+                () -> new ConcurrentReportGenerator(fileExporter.get(), studentManager.get()));
+        statisticsDashboard = bootstrap.lazy("RealTimeStatisticsDashboard",
+                () -> new RealTimeStatisticsDashboard(studentManager.get()));
+        patternSearchService = bootstrap.lazy("PatternSearchService", () -> new PatternSearchService(studentManager.get()));
+        cacheManager = bootstrap.lazy("CacheManager", () -> new CacheManager(studentManager.get()));
+        streamDataProcessor = bootstrap.lazy("StreamDataProcessor",
+                () -> new StreamDataProcessor(studentManager.get(), gpaCalculator.get()));
+        bulkImportService = bootstrap.lazy("BulkImportService",
+                () -> new BulkImportService(studentManager.get(), csvParser.get(), fileExporter.get()));
+        // Null when unavailable, so the warning is printed once
+        enhancedFileOps = bootstrap.lazy("EnhancedFileOperations", () -> {
+            try {
+                EnhancedFileOperations fileOps = new EnhancedFileOperations();
+                fileOps.setStudentManager(studentManager.get());
+                fileOps.startFileWatcher();
+                return fileOps;
+            } catch (IOException e) {
+                System.err.println("Warning: Enhanced file operations not available: " + e.getMessage());
+                return null;
+            }
+        });
         
+        scanner = new Scanner(System.in);
+        long ready = bootstrap.mark("Menu ready");
+        System.out.printf("✓ Ready for commands %d ms after JVM start (see option 16 for the startup timeline)\n", ready);
+    }
+
+    // Restores the newest checkpoint and the log after it; sample data is only loaded on a first run
+    private static EnhancedStudentManager openStudentManager() {
+        EnhancedStudentManager manager = null;
         try {
-            enhancedFileOps = new EnhancedFileOperations();
-            enhancedFileOps.setStudentManager(studentManager);
-            enhancedFileOps.startFileWatcher();
-        } catch (IOException e) {
-            System.err.println("Warning: Enhanced file operations not available: " + e.getMessage());
+            checkpointManager = new CheckpointManager(Paths.get(CheckpointManager.DEFAULT_DIRECTORY));
+            manager = new EnhancedStudentManager(!checkpointManager.hasCheckpoint());
+            Path walPath = Paths.get(WriteAheadLog.DEFAULT_PATH);
+            CheckpointManager.Recovery recovery = checkpointManager.recover(manager, walPath);
+            if (recovery.getCheckpoint() != null) {
+                System.out.printf("✓ Restored %d students and %d grades from checkpoint in %d ms\n",
+                        recovery.getCheckpoint().getStudentCount(), recovery.getCheckpoint().getGradeCount(),
+                        recovery.getLoadMillis());
+            }
+            MutationReplayer replayed = recovery.getReplayed();
+            if (replayed.getStudentsAdded() + replayed.getGradesAdded() + replayed.getGradesUpdated() > 0) {
+                System.out.printf("✓ Recovered %d students and %d grades (%d grade edits) from the write-ahead log\n",
+                        replayed.getStudentsAdded(), replayed.getGradesAdded(), replayed.getGradesUpdated());
+            }
+
+            writeAheadLog = new WriteAheadLog(walPath);
+            writeAheadLog.startAfter(recovery.getLastLsn());
+            // Group commit: at most 32 records or 20 ms of changes are lost on a crash
+            writeAheadLog.setGroupCommit(32, 20);
+            manager.setWriteAheadLog(writeAheadLog);
+            checkpointManager.schedule(manager, writeAheadLog, CHECKPOINT_INTERVAL_MINUTES);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: Write-ahead log not available, changes will not be recoverable: " + e.getMessage());
+            if (manager == null) {
+                manager = new EnhancedStudentManager();
+            }
         }
-        
-        scanner = new Scanner(System.in);
+        return manager;
     }
 
     private static void displayMainMenu() {
@@ -217,17 +275,17 @@ public class Main {
                 student = new HonorsStudent(name, age, email, phone);
             } else {
                 System.out.println("Invalid choice! Student not added.");
-                auditLogger.log("ADD_STUDENT", "Add student: " + name, System.currentTimeMillis() - startTime, false, "Invalid student type");
+                auditLogger.get().log("ADD_STUDENT", "Add student: " + name, System.currentTimeMillis() - startTime, false, "Invalid student type");
                 return;
             }
         } catch (Exception e) {
             System.out.println("Error creating student: " + e.getMessage());
-            auditLogger.log("ADD_STUDENT", "Add student: " + name, System.currentTimeMillis() - startTime, false, e.getMessage());
+            auditLogger.get().log("ADD_STUDENT", "Add student: " + name, System.currentTimeMillis() - startTime, false, e.getMessage());
             return;
         }
 
-        studentManager.addStudent(student);
-        auditLogger.log("ADD_STUDENT", "Added student: " + student.getStudentId(), System.currentTimeMillis() - startTime, true, "Type: " + student.getStudentType());
+        studentManager.get().addStudent(student);
+        auditLogger.get().log("ADD_STUDENT", "Added student: " + student.getStudentId(), System.currentTimeMillis() - startTime, true, "Type: " + student.getStudentType());
 
         System.out.println("\n✓ Student added successfully!");
         System.out.println("Student ID: " + student.getStudentId());
@@ -246,8 +304,8 @@ public class Main {
 
     private static void viewStudents() {
         long startTime = System.currentTimeMillis();
-        studentManager.viewAllStudents();
-        auditLogger.log("VIEW_STUDENTS", "Viewed all students", System.currentTimeMillis() - startTime, true, "Count: " + studentManager.getAllStudents().size());
+        studentManager.get().viewAllStudents();
+        auditLogger.get().log("VIEW_STUDENTS", "Viewed all students", System.currentTimeMillis() - startTime, true, "Count: " + studentManager.get().getAllStudents().size());
     }
 
     private static void recordGrade() {
@@ -259,7 +317,7 @@ public class Main {
         String studentId = scanner.nextLine();
 
         try {
-            Student student = studentManager.searchById(studentId);
+            Student student = studentManager.get().searchById(studentId);
 
             System.out.println("\nStudent Details:");
             System.out.println("Name: " + student.getName());
@@ -333,18 +391,18 @@ public class Main {
             String confirm = scanner.nextLine();
 
             if (confirm.equalsIgnoreCase("Y")) {
-                studentManager.addGradeToStudent(studentId, grade);
-                auditLogger.log("RECORD_GRADE", "Recorded grade for " + studentId, System.currentTimeMillis() - startTime, true, subject.getSubjectName() + ": " + gradeValue);
+                studentManager.get().addGradeToStudent(studentId, grade);
+                auditLogger.get().log("RECORD_GRADE", "Recorded grade for " + studentId, System.currentTimeMillis() - startTime, true, subject.getSubjectName() + ": " + gradeValue);
                 System.out.println("\n✓ Grade recorded successfully!");
             } else {
-                auditLogger.log("RECORD_GRADE", "Grade recording cancelled for " + studentId, System.currentTimeMillis() - startTime, false, "User cancelled");
+                auditLogger.get().log("RECORD_GRADE", "Grade recording cancelled for " + studentId, System.currentTimeMillis() - startTime, false, "User cancelled");
                 System.out.println("Grade recording cancelled.");
             }
 
         } catch (StudentNotFoundException e) {
             System.out.println("\n✗ ERROR: " + e.getMessage());
             System.out.println("Available student IDs: " +
-                    String.join(", ", studentManager.getAllStudentIds()));
+                    String.join(", ", studentManager.get().getAllStudentIds()));
 
             System.out.print("\nTry again? (Y/N): ");
             String tryAgain = scanner.nextLine();
@@ -365,8 +423,8 @@ public class Main {
         String studentId = scanner.nextLine();
 
         try {
-            Student student = studentManager.searchById(studentId);
-            auditLogger.log("VIEW_REPORT", "Viewed report for " + studentId, System.currentTimeMillis() - startTime, true, "Grades: " + student.getGrades().size());
+            Student student = studentManager.get().searchById(studentId);
+            auditLogger.get().log("VIEW_REPORT", "Viewed report for " + studentId, System.currentTimeMillis() - startTime, true, "Grades: " + student.getGrades().size());
 
             System.out.println("Student: " + student.getStudentId() + " - " + student.getName());
             System.out.println("Type: " + student.getStudentType() + " Student");
@@ -394,22 +452,8 @@ public class Main {
                             grade.getGrade());
                 }
 
-                // Calculate averages
-                double coreSum = 0, electiveSum = 0;
-                int coreCount = 0, electiveCount = 0;
-
-                for (Grade grade : grades) {
-                    if (grade.getSubject() instanceof CoreSubject) {
-                        coreSum += grade.getGrade();
-                        coreCount++;
-                    } else {
-                        electiveSum += grade.getGrade();
-                        electiveCount++;
-                    }
-                }
-
-                double coreAvg = coreCount > 0 ? coreSum / coreCount : 0;
-                double electiveAvg = electiveCount > 0 ? electiveSum / electiveCount : 0;
+                double coreAvg = student.getCoreAverage();
+                double electiveAvg = student.getElectiveAverage();
                 double overallAvg = student.calculateAverageGrade();
 
                 System.out.println("\nTotal Grades: " + grades.size());
@@ -426,7 +470,7 @@ public class Main {
             }
 
         } catch (StudentNotFoundException e) {
-            auditLogger.log("VIEW_REPORT", "Failed to view report for " + studentId, System.currentTimeMillis() - startTime, false, e.getMessage());
+            auditLogger.get().log("VIEW_REPORT", "Failed to view report for " + studentId, System.currentTimeMillis() - startTime, false, e.getMessage());
             System.out.println("\n✗ Error: " + e.getMessage());
         }
     }
@@ -440,7 +484,7 @@ public class Main {
         String studentId = scanner.nextLine();
 
         try {
-            Student student = studentManager.searchById(studentId);
+            Student student = studentManager.get().searchById(studentId);
 
             System.out.println("Student: " + student.getStudentId() + " - " + student.getName());
             System.out.println("Type: " + student.getStudentType() + " Student");
@@ -457,19 +501,19 @@ public class Main {
             String filename = scanner.nextLine();
 
             if (option == 1) {
-                fileExporter.exportSummaryReport(studentId, filename);
-                auditLogger.log("EXPORT_REPORT", "Exported summary for " + studentId, System.currentTimeMillis() - startTime, true, filename);
+                fileExporter.get().exportSummaryReport(studentId, filename);
+                auditLogger.get().log("EXPORT_REPORT", "Exported summary for " + studentId, System.currentTimeMillis() - startTime, true, filename);
                 System.out.println("\n✓ Summary report exported successfully!");
                 System.out.println("File: " + filename + "_summary.txt");
             } else if (option == 2) {
-                fileExporter.exportDetailedReport(studentId, filename);
-                auditLogger.log("EXPORT_REPORT", "Exported detailed for " + studentId, System.currentTimeMillis() - startTime, true, filename);
+                fileExporter.get().exportDetailedReport(studentId, filename);
+                auditLogger.get().log("EXPORT_REPORT", "Exported detailed for " + studentId, System.currentTimeMillis() - startTime, true, filename);
                 System.out.println("\n✓ Detailed report exported successfully!");
                 System.out.println("File: " + filename + "_detailed.txt");
             } else if (option == 3) {
-                fileExporter.exportSummaryReport(studentId, filename);
-                fileExporter.exportDetailedReport(studentId, filename);
-                auditLogger.log("EXPORT_REPORT", "Exported both reports for " + studentId, System.currentTimeMillis() - startTime, true, filename);
+                fileExporter.get().exportSummaryReport(studentId, filename);
+                fileExporter.get().exportDetailedReport(studentId, filename);
+                auditLogger.get().log("EXPORT_REPORT", "Exported both reports for " + studentId, System.currentTimeMillis() - startTime, true, filename);
                 System.out.println("\n✓ Both reports exported successfully!");
                 System.out.println("Files: " + filename + "_summary.txt, " + filename + "_detailed.txt");
             } else {
@@ -497,10 +541,10 @@ public class Main {
         String studentId = scanner.nextLine();
 
         try {
-            studentManager.displayGPAReport(studentId);
-            auditLogger.log("CALCULATE_GPA", "Calculated GPA for " + studentId, System.currentTimeMillis() - startTime, true, "");
+            studentManager.get().displayGPAReport(studentId);
+            auditLogger.get().log("CALCULATE_GPA", "Calculated GPA for " + studentId, System.currentTimeMillis() - startTime, true, "");
         } catch (StudentNotFoundException e) {
-            auditLogger.log("CALCULATE_GPA", "Failed GPA calculation for " + studentId, System.currentTimeMillis() - startTime, false, e.getMessage());
+            auditLogger.get().log("CALCULATE_GPA", "Failed GPA calculation for " + studentId, System.currentTimeMillis() - startTime, false, e.getMessage());
             System.out.println("\n✗ Error: " + e.getMessage());
         }
     }
@@ -519,8 +563,8 @@ public class Main {
         System.out.println("\nValidating file...");
         System.out.println("Processing grades...\n");
 
-        ImportResult result = bulkImportService.importResult(filename);
-        auditLogger.log("BULK_IMPORT", "Imported grades from " + filename, System.currentTimeMillis() - startTime, true, "Success: " + result.getSuccessful() + ", Failed: " + result.getFailed());
+        ImportResult result = bulkImportService.get().importResult(filename);
+        auditLogger.get().log("BULK_IMPORT", "Imported grades from " + filename, System.currentTimeMillis() - startTime, true, "Success: " + result.getSuccessful() + ", Failed: " + result.getFailed());
 
         System.out.println("IMPORT SUMMARY");
         System.out.println("\nTotal Rows: " + (result.getSuccessful() + result.getFailed()));
@@ -541,8 +585,8 @@ public class Main {
 
     private static void viewClassStatistics() {
         long startTime = System.currentTimeMillis();
-        studentManager.calculateAndDisplayStatistics();
-        auditLogger.log("VIEW_STATISTICS", "Viewed class statistics", System.currentTimeMillis() - startTime, true, "");
+        studentManager.get().calculateAndDisplayStatistics();
+        auditLogger.get().log("VIEW_STATISTICS", "Viewed class statistics", System.currentTimeMillis() - startTime, true, "");
     }
 
     private static void searchStudents() {
@@ -563,12 +607,12 @@ public class Main {
                 System.out.print("Enter Student ID: ");
                 String studentId = scanner.nextLine();
                 try {
-                    Student student = studentManager.searchById(studentId);
+                    Student student = studentManager.get().searchById(studentId);
                     results.add(student);
-                    auditLogger.log("SEARCH", "Search by ID: " + studentId, System.currentTimeMillis() - startTime, true, "Found");
+                    auditLogger.get().log("SEARCH", "Search by ID: " + studentId, System.currentTimeMillis() - startTime, true, "Found");
                     System.out.println("\nSEARCH RESULTS (1 found)");
                 } catch (StudentNotFoundException e) {
-                    auditLogger.log("SEARCH", "Search by ID: " + studentId, System.currentTimeMillis() - startTime, false, "Not found");
+                    auditLogger.get().log("SEARCH", "Search by ID: " + studentId, System.currentTimeMillis() - startTime, false, "Not found");
                     System.out.println("\n✗ " + e.getMessage());
                     return;
                 }
@@ -577,8 +621,8 @@ public class Main {
             case 2:
                 System.out.print("Enter name (partial or full): ");
                 String name = scanner.nextLine();
-                results = studentManager.searchByName(name);
-                auditLogger.log("SEARCH", "Search by name: " + name, System.currentTimeMillis() - startTime, true, "Found: " + results.size());
+                results = studentManager.get().searchByName(name);
+                auditLogger.get().log("SEARCH", "Search by name: " + name, System.currentTimeMillis() - startTime, true, "Found: " + results.size());
                 System.out.println("\nSEARCH RESULTS (" + results.size() + " found)");
                 break;
 
@@ -587,16 +631,16 @@ public class Main {
                 double min = getDoubleInput();
                 System.out.print("Enter maximum grade (0-100): ");
                 double max = getDoubleInput();
-                results = studentManager.searchByGradeRange(min, max);
-                auditLogger.log("SEARCH", "Search by grade range: " + min + "-" + max, System.currentTimeMillis() - startTime, true, "Found: " + results.size());
+                results = studentManager.get().searchByGradeRange(min, max);
+                auditLogger.get().log("SEARCH", "Search by grade range: " + min + "-" + max, System.currentTimeMillis() - startTime, true, "Found: " + results.size());
                 System.out.println("\nSEARCH RESULTS (" + results.size() + " found)");
                 break;
 
             case 4:
                 System.out.print("Enter student type (Regular/Honors): ");
                 String type = scanner.nextLine();
-                results = studentManager.searchByType(type);
-                auditLogger.log("SEARCH", "Search by type: " + type, System.currentTimeMillis() - startTime, true, "Found: " + results.size());
+                results = studentManager.get().searchByType(type);
+                auditLogger.get().log("SEARCH", "Search by type: " + type, System.currentTimeMillis() - startTime, true, "Found: " + results.size());
                 System.out.println("\nSEARCH RESULTS (" + results.size() + " found)");
                 break;
 
@@ -632,7 +676,7 @@ public class Main {
                     System.out.print("Enter Student ID to view details: ");
                     String viewId = scanner.nextLine();
                     try {
-                        Student viewStudent = studentManager.searchById(viewId);
+                        Student viewStudent = studentManager.get().searchById(viewId);
                         viewStudent.displayStudentDetails();
                     } catch (StudentNotFoundException e) {
                         System.out.println("Student not found!");
@@ -642,7 +686,7 @@ public class Main {
                     System.out.print("Enter filename for export: ");
                     String exportFile = scanner.nextLine();
                     try {
-                        fileExporter.exportSearchResults(results, exportFile);
+                        fileExporter.get().exportSearchResults(results, exportFile);
                         System.out.println("✓ Search results exported!");
                     } catch (Exception e) {
                         System.out.println("Error exporting: " + e.getMessage());
@@ -663,7 +707,7 @@ public class Main {
     }
 
     private static void enhancedExportGradeReport() {
-        if (enhancedFileOps == null) {
+        if (enhancedFileOps.get() == null) {
             System.out.println("Enhanced file operations not available. Using standard export...");
             exportGradeReport();
             return;
@@ -676,13 +720,13 @@ public class Main {
         String studentId = scanner.nextLine();
 
         try {
-            Student student = studentManager.searchById(studentId);
+            Student student = studentManager.get().searchById(studentId);
             System.out.println("Student: " + student.getName() + " (" + student.getGrades().size() + " grades)");
 
             System.out.println("\nExport formats:");
             System.out.println("1. CSV (Excel compatible)");
             System.out.println("2. JSON (Web/API format)");
-            System.out.println("3. Binary (Java serialized)");
+            System.out.println("3. Binary (compact records)");
             System.out.println("4. All formats");
             System.out.println("5. Format comparison");
             System.out.print("\nSelect option (1-5): ");
@@ -693,22 +737,22 @@ public class Main {
 
             switch (option) {
                 case 1:
-                    enhancedFileOps.exportGradeReportWithOutput(studentId, filename, "CSV");
+                    enhancedFileOps.get().exportGradeReportWithOutput(studentId, filename, "CSV");
                     break;
                 case 2:
-                    enhancedFileOps.exportGradeReportWithOutput(studentId, filename, "JSON");
+                    enhancedFileOps.get().exportGradeReportWithOutput(studentId, filename, "JSON");
                     break;
                 case 3:
-                    enhancedFileOps.exportGradeReportWithOutput(studentId, filename, "BINARY");
+                    enhancedFileOps.get().exportGradeReportWithOutput(studentId, filename, "BINARY");
                     break;
                 case 4:
                     System.out.println("\nProcessing with NIO.2 Streaming...\n");
-                    enhancedFileOps.exportGradeReportWithOutput(studentId, filename, "CSV");
-                    enhancedFileOps.exportGradeReportWithOutput(studentId, filename, "JSON");
-                    enhancedFileOps.exportGradeReportWithOutput(studentId, filename, "BINARY");
+                    enhancedFileOps.get().exportGradeReportWithOutput(studentId, filename, "CSV");
+                    enhancedFileOps.get().exportGradeReportWithOutput(studentId, filename, "JSON");
+                    enhancedFileOps.get().exportGradeReportWithOutput(studentId, filename, "BINARY");
                     break;
                 case 5:
-                    enhancedFileOps.displayFormatComparison(studentId);
+                    enhancedFileOps.get().displayFormatComparison(studentId);
                     break;
                 default:
                     System.out.println("Invalid option!");
@@ -721,7 +765,7 @@ public class Main {
     }
 
     private static void enhancedImportData() {
-        if (enhancedFileOps == null) {
+        if (enhancedFileOps.get() == null) {
             System.out.println("Enhanced file operations not available.");
             return;
         }
@@ -737,7 +781,7 @@ public class Main {
         System.out.println("\nImport formats:");
         System.out.println("1. CSV (Comma-separated values)");
         System.out.println("2. JSON (JavaScript Object Notation)");
-        System.out.println("3. Binary (Java serialized objects)");
+        System.out.println("3. Binary (compact records)");
         System.out.print("\nSelect format (1-3): ");
 
         int formatChoice = getIntInput();
@@ -755,7 +799,7 @@ public class Main {
         }
 
         try {
-            enhancedFileOps.importData(filename, format);
+            enhancedFileOps.get().importData(filename, format);
             System.out.println("\n✓ Import completed successfully!");
         } catch (Exception e) {
             System.out.println("\n✗ Import failed: " + e.getMessage());
@@ -763,7 +807,7 @@ public class Main {
     }
 
     private static void fileOperationsMenu() {
-        if (enhancedFileOps == null) {
+        if (enhancedFileOps.get() == null) {
             System.out.println("Enhanced file operations not available.");
             return;
         }
@@ -803,7 +847,7 @@ public class Main {
 
         try {
             System.out.println("\nProcessing with streaming (memory efficient)...");
-            enhancedFileOps.bulkImportGrades(filename)
+            enhancedFileOps.get().bulkImportGrades(filename)
                 .thenAccept(count -> {
                     System.out.println("\n✓ Bulk import completed!");
                     System.out.println("Records processed: " + count);
@@ -822,7 +866,7 @@ public class Main {
         String studentId = scanner.nextLine();
 
         try {
-            enhancedFileOps.displayFormatComparison(studentId);
+            enhancedFileOps.get().displayFormatComparison(studentId);
         } catch (Exception e) {
             System.out.println("\n✗ Error: " + e.getMessage());
         }
@@ -835,7 +879,7 @@ public class Main {
         System.out.println();
         
         System.out.println("Report Scope:");
-        System.out.println("1. All Students (" + studentManager.getStudentCount() + " students)");
+        System.out.println("1. All Students (" + studentManager.get().getStudentCount() + " students)");
         System.out.println("2. By Student Type (Regular/Honors)");
         System.out.println("3. By Grade Range");
         System.out.println("4. Custom Selection");
@@ -846,19 +890,19 @@ public class Main {
         
         switch (scope) {
             case 1:
-                students = studentManager.getAllStudents();
+                students = studentManager.get().getAllStudents();
                 break;
             case 2:
                 System.out.print("Enter student type (Regular/Honors): ");
                 String type = scanner.nextLine();
-                students = studentManager.searchByType(type);
+                students = studentManager.get().searchByType(type);
                 break;
             case 3:
                 System.out.print("Enter minimum grade: ");
                 double min = getDoubleInput();
                 System.out.print("Enter maximum grade: ");
                 double max = getDoubleInput();
-                students = studentManager.searchByGradeRange(min, max);
+                students = studentManager.get().searchByGradeRange(min, max);
                 break;
             case 4:
                 students = customStudentSelection();
@@ -909,8 +953,8 @@ public class Main {
                 .map(Student::getStudentId)
                 .collect(java.util.stream.Collectors.toList());
                 
-            BatchReportResult result = concurrentReportGenerator.generateBatchReports(studentIds, format, threadCount);
-            auditLogger.log("BATCH_REPORT", "Generated " + format + " reports", System.currentTimeMillis() - startTime, true, "Count: " + result.getSuccessfulReports() + ", Time: " + result.getTotalTimeMs() + "ms");
+            BatchReportResult result = concurrentReportGenerator.get().generateBatchReports(studentIds, format, threadCount);
+            auditLogger.get().log("BATCH_REPORT", "Generated " + format + " reports", System.currentTimeMillis() - startTime, true, "Count: " + result.getSuccessfulReports() + ", Time: " + result.getTotalTimeMs() + "ms");
             
             System.out.println("\n✓ Batch report generation completed!");
             System.out.println("Total reports: " + result.getTotalReports());
@@ -931,7 +975,7 @@ public class Main {
         
         for (String id : ids) {
             try {
-                Student student = studentManager.searchById(id.trim());
+                Student student = studentManager.get().searchById(id.trim());
                 selected.add(student);
             } catch (StudentNotFoundException e) {
                 System.out.println("Warning: " + id.trim() + " not found");
@@ -942,7 +986,7 @@ public class Main {
     }
 
     private static void realTimeStatisticsDashboard() {
-        statisticsDashboard.startDashboard();
+        statisticsDashboard.get().startDashboard();
     }
 
     private static void scheduledTasksManager() {
@@ -960,13 +1004,13 @@ public class Main {
         
         switch (choice) {
             case 1:
-                taskScheduler.displayAllTasks();
+                taskScheduler.get().displayAllTasks();
                 break;
             case 2:
-                taskScheduler.addCustomTask();
+                taskScheduler.get().addCustomTask();
                 break;
             case 3:
-                taskScheduler.scheduleGPARecalculationWithConfig();
+                taskScheduler.get().scheduleGPARecalculationWithConfig();
                 break;
             case 4:
                 return;
@@ -1001,19 +1045,19 @@ public class Main {
                     String domain = scanner.nextLine();
                     System.out.print("Case insensitive? (Y/N): ");
                     caseInsensitive = scanner.nextLine().equalsIgnoreCase("Y");
-                    result = patternSearchService.searchByEmailDomain(domain, caseInsensitive);
+                    result = patternSearchService.get().searchByEmailDomain(domain, caseInsensitive);
                     break;
                     
                 case 2:
                     System.out.print("Enter phone area code (e.g., 1-555): ");
                     String areaCode = scanner.nextLine();
-                    result = patternSearchService.searchByPhoneAreaCode(areaCode);
+                    result = patternSearchService.get().searchByPhoneAreaCode(areaCode);
                     break;
                     
                 case 3:
                     System.out.print("Enter student ID pattern (use * for wildcard, e.g., STU0**): ");
                     String idPattern = scanner.nextLine();
-                    result = patternSearchService.searchByStudentIdPattern(idPattern);
+                    result = patternSearchService.get().searchByStudentIdPattern(idPattern);
                     break;
                     
                 case 4:
@@ -1021,18 +1065,18 @@ public class Main {
                     String namePattern = scanner.nextLine();
                     System.out.print("Case insensitive? (Y/N): ");
                     caseInsensitive = scanner.nextLine().equalsIgnoreCase("Y");
-                    result = patternSearchService.searchByNamePattern(namePattern, caseInsensitive);
+                    result = patternSearchService.get().searchByNamePattern(namePattern, caseInsensitive);
                     break;
                     
                 case 5:
                     System.out.print("Enter custom regex pattern: ");
                     String customPattern = scanner.nextLine();
-                    System.out.println("\nPattern Complexity: " + patternSearchService.analyzePatternComplexity(customPattern));
+                    System.out.println("\nPattern Complexity: " + patternSearchService.get().analyzePatternComplexity(customPattern));
                     System.out.print("\nSearch in field (email/phone/id/name): ");
                     String field = scanner.nextLine();
                     System.out.print("Case insensitive? (Y/N): ");
                     caseInsensitive = scanner.nextLine().equalsIgnoreCase("Y");
-                    result = patternSearchService.searchByCustomPattern(customPattern, field, caseInsensitive);
+                    result = patternSearchService.get().searchByCustomPattern(customPattern, field, caseInsensitive);
                     break;
                     
                 case 6:
@@ -1044,7 +1088,7 @@ public class Main {
             }
             
             if (result != null) {
-                patternSearchService.displaySearchResults(result);
+                patternSearchService.get().displaySearchResults(result);
                 
                 if (!result.getMatches().isEmpty()) {
                     System.out.println("\n═══════════════════════════════════════════════════════════════");
@@ -1065,7 +1109,7 @@ public class Main {
                             for (PatternSearchResult.StudentMatch match : result.getMatches()) {
                                 matchedStudents.add(match.getStudent());
                             }
-                            fileExporter.exportSearchResults(matchedStudents, filename);
+                            fileExporter.get().exportSearchResults(matchedStudents, filename);
                             System.out.println("✓ Exported " + matchedStudents.size() + " students");
                             break;
                             
@@ -1076,7 +1120,7 @@ public class Main {
                             for (PatternSearchResult.StudentMatch match : result.getMatches()) {
                                 studentIds.add(match.getStudent().getStudentId());
                             }
-                            BatchReportResult batchResult = concurrentReportGenerator.generateBatchReports(studentIds, "summary", threads);
+                            BatchReportResult batchResult = concurrentReportGenerator.get().generateBatchReports(studentIds, "summary", threads);
                             System.out.println("✓ Generated " + batchResult.getSuccessfulReports() + " reports in " + batchResult.getTotalTimeMs() + "ms");
                             break;
                             
@@ -1128,24 +1172,36 @@ public class Main {
         System.out.println("\nThank you for using Enhanced Student Grade Management System!");
         System.out.println("Goodbye!");
         
-        if (cacheManager != null) {
-            cacheManager.shutdown();
-        }
-        
-        if (taskScheduler != null) {
-            taskScheduler.shutdown();
-        }
-        
-        if (enhancedFileOps != null) {
+        // Only services that were started need shutting down
+        cacheManager.ifStarted(CacheManager::shutdown);
+        taskScheduler.ifStarted(TaskScheduler::shutdown);
+        enhancedFileOps.ifStarted(fileOps -> {
             try {
-                enhancedFileOps.close();
+                fileOps.close();
             } catch (IOException e) {
                 System.err.println("Warning: Error closing file operations: " + e.getMessage());
             }
+        });
+        auditLogger.ifStarted(AuditLogger::shutdown);
+        // Waits for recovery to finish, which sets the checkpoint manager and log
+        EnhancedStudentManager manager = studentManager.get();
+        
+        if (checkpointManager != null) {
+            checkpointManager.shutdown();
+            try {
+                // The next start then only replays what follows it
+                checkpointManager.checkpoint(manager, writeAheadLog);
+            } catch (IOException e) {
+                System.err.println("Warning: Could not write checkpoint: " + e.getMessage());
+            }
         }
         
-        if (auditLogger != null) {
-            auditLogger.shutdown();
+        if (writeAheadLog != null) {
+            try {
+                writeAheadLog.close();
+            } catch (IOException e) {
+                System.err.println("Warning: Error closing write-ahead log: " + e.getMessage());
+            }
         }
         
         scanner.close();
@@ -1161,7 +1217,7 @@ public class Main {
         System.out.println("2. View Cache Contents");
         System.out.println("3. Clear All Caches");
         System.out.println("4. Invalidate Student Cache");
-        System.out.println("5. Test LRU Eviction (200 entries)");
+        System.out.println("5. Test LRU Eviction (1000 entries)");
         System.out.println("6. Return to Main Menu");
         System.out.print("\nSelect option (1-6): ");
         
@@ -1169,34 +1225,34 @@ public class Main {
         
         switch (choice) {
             case 1:
-                cacheManager.displayStatistics();
-                auditLogger.log("CACHE_MGMT", "Viewed cache statistics", System.currentTimeMillis() - startTime, true, "");
+                cacheManager.get().displayStatistics();
+                auditLogger.get().log("CACHE_MGMT", "Viewed cache statistics", System.currentTimeMillis() - startTime, true, "");
                 break;
             case 2:
-                cacheManager.displayCacheContents();
-                auditLogger.log("CACHE_MGMT", "Viewed cache contents", System.currentTimeMillis() - startTime, true, "");
+                cacheManager.get().displayCacheContents();
+                auditLogger.get().log("CACHE_MGMT", "Viewed cache contents", System.currentTimeMillis() - startTime, true, "");
                 break;
             case 3:
                 System.out.print("\nAre you sure you want to clear all caches? (Y/N): ");
                 String confirm = scanner.nextLine();
                 if (confirm.equalsIgnoreCase("Y")) {
-                    cacheManager.clearAll();
-                    auditLogger.log("CACHE_MGMT", "Cleared all caches", System.currentTimeMillis() - startTime, true, "");
+                    cacheManager.get().clearAll();
+                    auditLogger.get().log("CACHE_MGMT", "Cleared all caches", System.currentTimeMillis() - startTime, true, "");
                 } else {
-                    auditLogger.log("CACHE_MGMT", "Clear cancelled", System.currentTimeMillis() - startTime, false, "User cancelled");
+                    auditLogger.get().log("CACHE_MGMT", "Clear cancelled", System.currentTimeMillis() - startTime, false, "User cancelled");
                     System.out.println("Operation cancelled.");
                 }
                 break;
             case 4:
                 System.out.print("Enter Student ID to invalidate: ");
                 String studentId = scanner.nextLine();
-                cacheManager.invalidateStudent(studentId);
-                auditLogger.log("CACHE_MGMT", "Invalidated cache for " + studentId, System.currentTimeMillis() - startTime, true, "");
+                cacheManager.get().invalidateStudent(studentId);
+                auditLogger.get().log("CACHE_MGMT", "Invalidated cache for " + studentId, System.currentTimeMillis() - startTime, true, "");
                 System.out.println("✓ Cache invalidated for " + studentId);
                 break;
             case 5:
                 testLRUEviction();
-                auditLogger.log("CACHE_MGMT", "LRU eviction test", System.currentTimeMillis() - startTime, true, "200 entries");
+                auditLogger.get().log("CACHE_MGMT", "LRU eviction test", System.currentTimeMillis() - startTime, true, "1000 entries");
                 break;
             case 6:
                 return;
@@ -1229,27 +1285,27 @@ public class Main {
         
         switch (choice) {
             case 1:
-                streamDataProcessor.displayStreamOperationsDemo();
+                streamDataProcessor.get().displayStreamOperationsDemo();
                 break;
             case 2:
                 System.out.print("Enter minimum GPA (0.0-4.0): ");
                 double minGPA = getDoubleInput();
-                List<Student> honorsStudents = streamDataProcessor.findHonorsStudentsAboveGPA(minGPA);
+                List<Student> honorsStudents = streamDataProcessor.get().findHonorsStudentsAboveGPA(minGPA);
                 System.out.println("\nResults: " + honorsStudents.size() + " students found");
                 honorsStudents.forEach(s -> System.out.printf("  %s - %s (%.2f%%)\n", 
                     s.getStudentId(), s.getName(), s.calculateAverageGrade()));
                 break;
             case 3:
-                List<String> emails = streamDataProcessor.extractAllEmails();
+                List<String> emails = streamDataProcessor.get().extractAllEmails();
                 System.out.println("\nExtracted " + emails.size() + " emails:");
                 emails.forEach(e -> System.out.println("  " + e));
                 break;
             case 4:
-                double total = streamDataProcessor.calculateTotalGrades();
+                double total = streamDataProcessor.get().calculateTotalGrades();
                 System.out.printf("\nTotal of all grades: %.2f\n", total);
                 break;
             case 5:
-                Map<String, List<Student>> grouped = streamDataProcessor.groupStudentsByGradeRange();
+                Map<String, List<Student>> grouped = streamDataProcessor.get().groupStudentsByGradeRange();
                 System.out.println("\nStudents grouped by grade range:");
                 grouped.forEach((range, students) -> {
                     System.out.println("\n" + range + " (" + students.size() + " students):");
@@ -1258,23 +1314,23 @@ public class Main {
                 });
                 break;
             case 6:
-                Map<Boolean, List<Student>> partitioned = streamDataProcessor.partitionByPassingStatus();
+                Map<Boolean, List<Student>> partitioned = streamDataProcessor.get().partitionByPassingStatus();
                 System.out.println("\nPassing: " + partitioned.get(true).size() + " students");
                 System.out.println("Failing: " + partitioned.get(false).size() + " students");
                 break;
             case 7:
-                Map<String, Double> avgBySubject = streamDataProcessor.calculateAverageGradePerSubject();
+                Map<String, Double> avgBySubject = streamDataProcessor.get().calculateAverageGradePerSubject();
                 System.out.println("\nAverage grade per subject:");
                 avgBySubject.forEach((subject, avg) -> 
                     System.out.printf("  %s: %.2f%%\n", subject, avg));
                 break;
             case 8:
-                Set<String> courses = streamDataProcessor.extractUniqueCourses();
+                Set<String> courses = streamDataProcessor.get().extractUniqueCourses();
                 System.out.println("\nUnique course codes: " + courses.size());
                 System.out.println("  " + String.join(", ", courses));
                 break;
             case 9:
-                List<Student> top5 = streamDataProcessor.findTop5Students();
+                List<Student> top5 = streamDataProcessor.get().findTop5Students();
                 System.out.println("\nTop 5 Students:");
                 for (int i = 0; i < top5.size(); i++) {
                     Student s = top5.get(i);
@@ -1284,12 +1340,12 @@ public class Main {
                 break;
             case 10:
                 System.out.println("\nMatch Operations:");
-                System.out.println("  anyMatch - Has failing students: " + streamDataProcessor.hasFailingStudents());
-                System.out.println("  allMatch - All students have grades: " + streamDataProcessor.allStudentsHaveGrades());
-                System.out.println("  noneMatch - No students below min GPA: " + streamDataProcessor.noStudentsBelowMinGPA());
+                System.out.println("  anyMatch - Has failing students: " + streamDataProcessor.get().hasFailingStudents());
+                System.out.println("  allMatch - All students have grades: " + streamDataProcessor.get().allStudentsHaveGrades());
+                System.out.println("  noneMatch - No students below min GPA: " + streamDataProcessor.get().noStudentsBelowMinGPA());
                 break;
             case 11:
-                streamDataProcessor.compareSequentialVsParallel();
+                streamDataProcessor.get().compareSequentialVsParallel();
                 break;
             case 12:
                 streamProcessingPerformanceTest();
@@ -1320,8 +1376,10 @@ public class Main {
         System.out.println();
         System.out.println("SYSTEM INFO:");
         System.out.println("  Available Processors: " + runtime.availableProcessors());
-        System.out.println("  Total Students:       " + studentManager.getStudentCount());
+        System.out.println("  Total Students:       " + studentManager.get().getStudentCount());
         System.out.println("  Active Threads:       " + Thread.activeCount());
+        System.out.println();
+        bootstrap.printTimeline();
     }
 
     private static void streamProcessingPerformanceTest() {
@@ -1350,7 +1408,7 @@ public class Main {
             runtime.gc();
             long memBefore = runtime.totalMemory() - runtime.freeMemory();
             
-            long recordCount = streamDataProcessor.processCSVFileWithStreams(filepath);
+            long recordCount = streamDataProcessor.get().processCSVFileWithStreams(filepath);
             
             long memAfter = runtime.totalMemory() - runtime.freeMemory();
             long memUsed = memAfter - memBefore;
@@ -1393,7 +1451,7 @@ public class Main {
             String runComp = scanner.nextLine();
             
             if (runComp.equalsIgnoreCase("Y")) {
-                streamDataProcessor.compareSequentialVsParallel();
+                streamDataProcessor.get().compareSequentialVsParallel();
             }
             
             System.out.println("\n✓ Performance test completed!");
@@ -1413,27 +1471,28 @@ public class Main {
         System.out.println("\n═══════════════════════════════════════════════════════════════");
         System.out.println("           LRU EVICTION TEST");
         System.out.println("═══════════════════════════════════════════════════════════════\n");
-        System.out.println("Adding 200 entries to student cache (max: 150)...");
+        System.out.println("Adding 1000 entries to student cache (max: "
+                + formatMemory(CacheManager.STUDENT_CACHE_BYTES) + ")...");
         
         String[] firstNames = {"Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace", "Henry", "Iris", "Jack"};
         String[] lastNames = {"Smith", "Johnson", "Williams", "Brown", "Davis", "Miller", "Wilson", "Moore", "Taylor", "Anderson"};
         
-        for (int i = 0; i < 200; i++) {
+        for (int i = 0; i < 1000; i++) {
             String name = firstNames[i % firstNames.length] + " " + lastNames[(i / 10) % lastNames.length];
             String email = "user" + i + "@test.edu";
             String phone = String.format("%03d-%03d-%04d", (i % 900) + 100, (i % 900) + 100, i % 10000);
             
             Student dummy = new RegularStudent(name, 20, email, phone);
-            cacheManager.putStudent("TEST" + String.format("%03d", i), dummy);
+            cacheManager.get().putStudent("TEST" + String.format("%03d", i), dummy);
             
-            if ((i + 1) % 50 == 0) {
+            if ((i + 1) % 250 == 0) {
                 System.out.println("  Added " + (i + 1) + " entries...");
             }
         }
         
         System.out.println("\n✓ Test complete!");
-        System.out.println("Expected: ~50 evictions (200 added - 150 max capacity)\n");
-        cacheManager.displayStatistics();
+        System.out.println("Expected: evictions once the cached students' estimated size passes the limit\n");
+        cacheManager.get().displayStatistics();
     }
 
     private static void auditTrailViewer() {
@@ -1475,7 +1534,7 @@ public class Main {
     }
     
     private static void displayRecentEntries() {
-        List<AuditEntry> entries = auditLogger.getRecentEntries(50);
+        List<AuditEntry> entries = auditLogger.get().getRecentEntries(50);
         
         if (entries.isEmpty()) {
             System.out.println("\nNo audit entries found.");
@@ -1501,7 +1560,7 @@ public class Main {
         System.out.print("\nEnter operation type (ADD_STUDENT/RECORD_GRADE/VIEW_STUDENTS/SEARCH/EXPORT/etc): ");
         String operationType = scanner.nextLine();
         
-        List<AuditEntry> entries = auditLogger.searchByOperationType(operationType);
+        List<AuditEntry> entries = auditLogger.get().searchByOperationType(operationType);
         
         if (entries.isEmpty()) {
             System.out.println("\nNo entries found for operation type: " + operationType);
@@ -1518,7 +1577,7 @@ public class Main {
         System.out.print("\nEnter Thread ID: ");
         long threadId = Long.parseLong(scanner.nextLine());
         
-        List<AuditEntry> entries = auditLogger.searchByThreadId(threadId);
+        List<AuditEntry> entries = auditLogger.get().searchByThreadId(threadId);
         
         if (entries.isEmpty()) {
             System.out.println("\nNo entries found for Thread-" + threadId);
@@ -1541,7 +1600,7 @@ public class Main {
             java.time.LocalDateTime start = java.time.LocalDateTime.parse(startStr);
             java.time.LocalDateTime end = java.time.LocalDateTime.parse(endStr);
             
-            List<AuditEntry> entries = auditLogger.searchByDateRange(start, end);
+            List<AuditEntry> entries = auditLogger.get().searchByDateRange(start, end);
             
             if (entries.isEmpty()) {
                 System.out.println("\nNo entries found in date range.");
@@ -1558,7 +1617,7 @@ public class Main {
     }
     
     private static void displayAuditStatistics() {
-        Map<String, Object> stats = auditLogger.getStatistics();
+        Map<String, Object> stats = auditLogger.get().getStatistics();
         
         System.out.println("\n═══════════════════════════════════════════════════════════════");
         System.out.println("AUDIT STATISTICS");
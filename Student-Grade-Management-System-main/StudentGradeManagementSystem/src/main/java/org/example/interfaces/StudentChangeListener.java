@@ -0,0 +1,23 @@
+package org.example.interfaces;
+
+import org.example.models.Grade;
+import org.example.models.Student;
+
+/**
+ * Callback for anything derived from a student's state, such as rankings and
+ * secondary indexes, that must follow every grade or status mutation.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+@FunctionalInterface
+public interface StudentChangeListener {
+    /**
+     * Called after a grade is added to the student, an existing grade is edited or the
+     * student's status changes, once the student's aggregates reflect the change.
+     *
+     * @param student the student that changed
+     * @param grade the grade added or edited, or null if the change did not involve a grade
+     */
+    void studentChanged(Student student, Grade grade);
+}
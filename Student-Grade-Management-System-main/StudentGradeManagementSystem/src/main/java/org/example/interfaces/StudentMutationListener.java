@@ -0,0 +1,22 @@
+package org.example.interfaces;
+
+import org.example.models.StudentMutationEvent;
+
+/**
+ * Observer of the students an EnhancedStudentManager holds, for anything kept outside it,
+ * such as caches of reports and statistics, that must be invalidated when they change.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+@FunctionalInterface
+public interface StudentMutationListener {
+    /**
+     * Called on the mutating thread once the change is applied, or once a batch of changes
+     * is complete. It may run while a student's lock is held, so it should be quick and
+     * must not mutate students itself.
+     *
+     * @param event the students added or changed
+     */
+    void studentsMutated(StudentMutationEvent event);
+}
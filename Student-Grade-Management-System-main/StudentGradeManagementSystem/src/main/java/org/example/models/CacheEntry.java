@@ -18,6 +18,15 @@ public class CacheEntry<T> implements Serializable {
         this.accessCount = 0;
     }
 
+    // Snapshot of an entry whose timestamps are tracked elsewhere, e.g. by a cache node
+    public CacheEntry(String key, T value, LocalDateTime createdAt, LocalDateTime lastAccessed, int accessCount) {
+        this.key = key;
+        this.value = value;
+        this.createdAt = createdAt;
+        this.lastAccessed = lastAccessed;
+        this.accessCount = accessCount;
+    }
+
     public void recordAccess() {
         this.lastAccessed = LocalDateTime.now();
         this.accessCount++;
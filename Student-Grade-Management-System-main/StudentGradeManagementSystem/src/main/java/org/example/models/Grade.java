@@ -1,27 +1,51 @@
 package org.example.models;
 
 import org.example.interfaces.Gradable;
+import org.example.utils.IdAllocator;
 import org.example.utils.ValidationUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a grade record for a student in a specific subject.
  * Implements Gradable interface for grade validation and recording.
+ * A new Grade holds its own values; once added to a student it becomes a handle onto a
+ * row of that student's {@link GradeColumnStore}, and reads and edits go through the store.
+ * The date is held as an epoch day and only formatted when displayed.
  * 
  * @author Student Grade Management System
  * @version 3.0
  */
 public class Grade implements Gradable, Serializable {
     private static final long serialVersionUID = 1L;
-    private final String gradeId;
-    private final String studentId;
-    private final Subject subject;
+    // Thread-safe and shared; dates are only formatted for display and export
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    // Serialized form is unchanged: the date is still written as a dd-MM-yyyy string
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("gradeNumber", int.class),
+            new ObjectStreamField("studentId", String.class),
+            new ObjectStreamField("subject", Subject.class),
+            new ObjectStreamField("grade", double.class),
+            new ObjectStreamField("date", String.class)
+    };
+    // Today's epoch day, recomputed once the cached day has passed
+    private static volatile Today today = new Today(0, 0, 0);
+
+    private int gradeNumber;
+    private String studentId;
+    private Subject subject;
     private double grade;
-    private final String date;
-    private static int gradeCounter = 1;
+    private int epochDay;
+    // Set once the grade is stored; the fields above are then no longer read
+    private transient GradeColumnStore store;
+    private transient int row;
 
     /**
      * Constructs a new Grade with validation.
@@ -32,27 +56,153 @@ public class Grade implements Gradable, Serializable {
      * @throws IllegalArgumentException if validation fails
      */
     public Grade(String studentId, Subject subject, double grade) {
+        this(studentId, subject, grade, 0, today());
+    }
+
+    /**
+     * Constructs a Grade recorded on a given date, e.g. a historical grade from an import.
+     *
+     * @param studentId the student's ID
+     * @param subject the subject for this grade
+     * @param grade the numeric grade (0-100)
+     * @param date the date the grade was recorded
+     * @throws IllegalArgumentException if validation fails
+     */
+    public Grade(String studentId, Subject subject, double grade, LocalDate date) {
+        this(studentId, subject, grade, 0, toEpochDay(date));
+    }
+
+    /**
+     * Constructs a Grade with a grade number that was assigned earlier, e.g. from a reserved
+     * {@link IdAllocator.Block}. The allocator is moved past the number.
+     *
+     * @param gradeNumber numeric part of the grade ID
+     * @param studentId the student's ID
+     * @param subject the subject for this grade
+     * @param grade the numeric grade (0-100)
+     * @throws IllegalArgumentException if validation fails
+     */
+    public Grade(int gradeNumber, String studentId, Subject subject, double grade) {
+        this(studentId, subject, grade, requirePositive(gradeNumber), today());
+    }
+
+    /**
+     * Constructs a Grade with a grade number assigned earlier, recorded on a given date.
+     *
+     * @param gradeNumber numeric part of the grade ID
+     * @param studentId the student's ID
+     * @param subject the subject for this grade
+     * @param grade the numeric grade (0-100)
+     * @param date the date the grade was recorded
+     * @throws IllegalArgumentException if validation fails
+     */
+    public Grade(int gradeNumber, String studentId, Subject subject, double grade, LocalDate date) {
+        this(studentId, subject, grade, requirePositive(gradeNumber), toEpochDay(date));
+    }
+
+    // A gradeNumber of 0 allocates the next number once validation has passed
+    private Grade(String studentId, Subject subject, double grade, int gradeNumber, int epochDay) {
         ValidationUtils.validateStudentId(studentId);
         ValidationUtils.validateGrade(grade);
+        if (gradeNumber > 0) {
+            IdAllocator.GRADES.ensureAbove(gradeNumber);
+        } else {
+            gradeNumber = IdAllocator.GRADES.nextNumber();
+        }
         
-        this.gradeId = "GRD" + String.format("%03d", gradeCounter++);
+        this.gradeNumber = gradeNumber;
         this.studentId = studentId;
-        this.subject = subject;
+        this.subject = SubjectRegistry.getInstance().intern(subject);
         this.grade = grade;
+        this.epochDay = epochDay;
+    }
 
-        SimpleDateFormat formatter = new SimpleDateFormat("dd-MM-yyyy");
-        this.date = formatter.format(new Date());
+    private static int toEpochDay(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Grade date is required");
+        }
+        return (int) date.toEpochDay();
+    }
+
+    // O(1) - today's epoch day in the default time zone, without allocating on the common path
+    static int today() {
+        Today cached = today;
+        long now = System.currentTimeMillis();
+        if (now >= cached.endsAt || now < cached.startsAt) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate date = LocalDate.now(zone);
+            cached = new Today((int) date.toEpochDay(),
+                    date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+            today = cached;
+        }
+        return cached.epochDay;
+    }
+
+    private static final class Today {
+        final int epochDay;
+        final long startsAt;
+        final long endsAt;
+
+        Today(int epochDay, long startsAt, long endsAt) {
+            this.epochDay = epochDay;
+            this.startsAt = startsAt;
+            this.endsAt = endsAt;
+        }
+    }
+
+    private static int requirePositive(int gradeNumber) {
+        if (gradeNumber < 1) {
+            throw new IllegalArgumentException("Invalid grade number: " + gradeNumber);
+        }
+        return gradeNumber;
+    }
+
+    // Handle onto an existing store row
+    Grade(GradeColumnStore store, int row) {
+        this.store = store;
+        this.row = row;
     }
 
     // Getters
-    public String getGradeId() { return gradeId; }
-    public String getStudentId() { return studentId; }
-    public Subject getSubject() { return subject; }
-    public double getGrade() { return grade; }
-    public String getDate() { return date; }
+    public String getGradeId() { return IdAllocator.GRADES.format(getGradeNumber()); }
+    public String getStudentId() {
+        return resolve() ? store.getStudent(store.getStudentIndex(row)).getStudentId() : studentId;
+    }
+    public Subject getSubject() { return resolve() ? store.getSubject(row) : subject; }
+    public int getSubjectId() { return resolve() ? store.getSubjectId(row) : subject.getSubjectId(); }
+    public double getGrade() { return resolve() ? store.getScore(row) : grade; }
+    // Formatted on each call; the grade itself only holds the epoch day
+    public String getDate() { return DATE_FORMAT.format(getLocalDate()); }
+    public LocalDate getLocalDate() { return LocalDate.ofEpochDay(getEpochDay()); }
+    public int getEpochDay() { return resolve() ? store.getEpochDay(row) : epochDay; }
+
+    public int getGradeNumber() { return resolve() ? store.getGradeNumber(row) : gradeNumber; }
+
+    // Follows the row to its current store if its student has been attached elsewhere
+    private boolean resolve() {
+        if (store == null) return false;
+        while (!store.isLive(row)) {
+            GradeColumnStore next = store.getForwardStore(row);
+            row = store.getForwardRow(row);
+            store = next;
+        }
+        return true;
+    }
+
+    boolean isStored() { return store != null; }
+
+    // Re-points a detached grade at the row its values were copied to
+    void bind(GradeColumnStore store, int row) {
+        this.store = store;
+        this.row = row;
+        this.studentId = null;
+        this.subject = null;
+    }
 
     /**
      * Records a new grade value after validation.
+     * The owning student's running aggregates are updated to match.
      * 
      * @param grade the grade to record (0-100)
      * @return true if grade was recorded successfully
@@ -61,7 +211,13 @@ public class Grade implements Gradable, Serializable {
     public boolean recordGrade(double grade) {
         if (validateGrade(grade)) {
             ValidationUtils.validateGrade(grade);
-            this.grade = grade;
+            if (!resolve()) {
+                this.grade = grade;
+                return true;
+            }
+            double oldValue = store.getScore(row);
+            store.setScore(row, grade);
+            store.getStudent(store.getStudentIndex(row)).onGradeRecorded(this, oldValue);
             return true;
         }
         return false;
@@ -79,11 +235,12 @@ public class Grade implements Gradable, Serializable {
     }
 
     public void displayGradeDetails() {
-        System.out.println("Grade ID: " + gradeId);
-        System.out.println("Student: " + studentId);
+        Subject subject = getSubject();
+        System.out.println("Grade ID: " + getGradeId());
+        System.out.println("Student: " + getStudentId());
         System.out.println("Subject: " + subject.getSubjectName() + " (" + subject.getSubjectType() + ")");
-        System.out.println("Grade: " + grade + "%");
-        System.out.println("Date: " + date);
+        System.out.println("Grade: " + getGrade() + "%");
+        System.out.println("Date: " + getDate());
     }
 
     /**
@@ -92,10 +249,59 @@ public class Grade implements Gradable, Serializable {
      * @return letter grade (A, B, C, D, or F)
      */
     public String getLetterGrade() {
+        double grade = getGrade();
         if (grade >= 90) return "A";
         else if (grade >= 80) return "B";
         else if (grade >= 70) return "C";
         else if (grade >= 60) return "D";
         else return "F";
     }
-}
\ No newline at end of file
+
+    // Handles created for the same stored row are the same grade
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Grade)) return false;
+        Grade other = (Grade) o;
+        return resolve() && other.resolve() && store == other.store && row == other.row;
+    }
+
+    @Override
+    public int hashCode() {
+        return resolve() ? System.identityHashCode(store) * 31 + row : System.identityHashCode(this);
+    }
+
+    // Serializes a stored grade as a standalone copy of its current values
+    private Object writeReplace() {
+        if (!resolve()) {
+            return this;
+        }
+        Grade copy = new Grade(null, 0);
+        copy.gradeNumber = getGradeNumber();
+        copy.studentId = getStudentId();
+        copy.subject = getSubject();
+        copy.grade = getGrade();
+        copy.epochDay = getEpochDay();
+        return copy;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("gradeNumber", gradeNumber);
+        fields.put("studentId", studentId);
+        fields.put("subject", subject);
+        fields.put("grade", grade);
+        fields.put("date", DATE_FORMAT.format(LocalDate.ofEpochDay(epochDay)));
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        gradeNumber = fields.get("gradeNumber", 0);
+        studentId = (String) fields.get("studentId", null);
+        subject = (Subject) fields.get("subject", null);
+        grade = fields.get("grade", 0.0);
+        String date = (String) fields.get("date", null);
+        epochDay = date == null ? today() : (int) LocalDate.parse(date, DATE_FORMAT).toEpochDay();
+    }
+}
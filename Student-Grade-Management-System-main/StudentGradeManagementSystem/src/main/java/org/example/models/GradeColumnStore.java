@@ -0,0 +1,465 @@
+package org.example.models;
+
+import org.example.utils.IdAllocator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column-oriented storage for grade records.
+ * Each grade is a row spread across parallel primitive arrays (student index, {@link SubjectRegistry} id,
+ * score, epoch day, grade number), so a recorded grade costs a few dozen bytes instead of a
+ * Grade object, its Strings and a LinkedList node. Each student's rows are chained through
+ * a next-row column with per-student head/tail/count arrays, keeping appends O(1) and
+ * per-student iteration free of object pointers.
+ * Whole-population scans can read {@link #getScoreColumn()} directly.
+ *
+ * Mutations are synchronized; reads are not. Rows are published through the volatile row
+ * count, so a scan that reads {@link #size()} before the columns can run alongside appends.
+ * Per-student reads should be guarded by the caller where concurrent writers are possible.
+ * {@link #snapshot()} captures a frozen, versioned view in O(1); the arrays are shared with
+ * the snapshot and only copied if an existing row is edited while they are shared.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class GradeColumnStore {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NO_ROW = -1;
+
+    // Grade columns, one entry per row
+    private int[] studentIndex;
+    private int[] subjectId;
+    private double[] score;
+    private int[] epochDay;
+    private int[] gradeNumber;
+    private int[] nextRow;
+    // Written last by append(), after the row and any grown arrays
+    private volatile int size;
+    private int liveRows;
+    // Bumped by every mutation; stamps snapshots
+    private long version;
+    // Set while the current arrays are referenced by a snapshot; edits to existing rows copy first
+    private boolean scoresShared;
+    private boolean linksShared;
+
+    // Student columns, one entry per attached student
+    private final List<Student> students;
+    private int[] firstRow;
+    private int[] lastRow;
+    private int[] rowCount;
+    // Store each student's rows were moved to, allocated on the first move
+    private GradeColumnStore[] movedTo;
+
+    public GradeColumnStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GradeColumnStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        studentIndex = new int[capacity];
+        subjectId = new int[capacity];
+        score = new double[capacity];
+        epochDay = new int[capacity];
+        gradeNumber = new int[capacity];
+        nextRow = new int[capacity];
+        students = new ArrayList<>();
+        firstRow = new int[DEFAULT_CAPACITY];
+        lastRow = new int[DEFAULT_CAPACITY];
+        rowCount = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Attaches a student to this store, moving any grades it holds in another store.
+     * Time Complexity: O(k) where k is the student's grade count.
+     *
+     * @param student the student to attach
+     * @return the student's dense index in this store
+     */
+    public synchronized int attach(Student student) {
+        if (student.getGradeStore() == this) {
+            return student.getStoreIndex();
+        }
+
+        int index = students.size();
+        if (index == firstRow.length) {
+            int capacity = index * 2;
+            firstRow = Arrays.copyOf(firstRow, capacity);
+            lastRow = Arrays.copyOf(lastRow, capacity);
+            rowCount = Arrays.copyOf(rowCount, capacity);
+            if (movedTo != null) {
+                movedTo = Arrays.copyOf(movedTo, capacity);
+            }
+        }
+        students.add(student);
+        version++;
+        firstRow[index] = NO_ROW;
+        lastRow[index] = NO_ROW;
+        rowCount[index] = 0;
+
+        GradeColumnStore previous = student.getGradeStore();
+        if (previous != null) {
+            previous.moveRows(student.getStoreIndex(), this, index);
+        }
+        student.setGradeStore(this, index);
+        return index;
+    }
+
+    /**
+     * Attaches a batch of new students and appends their grades in one pass. Each student's
+     * rows are written contiguously and the arrays grow at most once, so loading g grades
+     * costs g column writes rather than g {@link #append} calls. Running aggregates are
+     * rebuilt from the new rows.
+     * Time Complexity: O(n + g) for n students and g grades.
+     *
+     * @param batch students not yet attached to any store, with their grades
+     * @return the dense index of the batch's first student; the rest follow in order
+     * @throws IllegalArgumentException if a student is already attached to a store
+     */
+    public synchronized int attachAll(StudentBatch batch) {
+        int count = batch.size();
+        for (int i = 0; i < count; i++) {
+            if (batch.getStudent(i).getGradeStore() != null) {
+                throw new IllegalArgumentException("Student already attached: " + batch.getStudent(i).getStudentId());
+            }
+        }
+        int first = students.size();
+        if (first + count > firstRow.length) {
+            int capacity = Math.max(firstRow.length * 2, first + count);
+            firstRow = Arrays.copyOf(firstRow, capacity);
+            lastRow = Arrays.copyOf(lastRow, capacity);
+            rowCount = Arrays.copyOf(rowCount, capacity);
+            if (movedTo != null) {
+                movedTo = Arrays.copyOf(movedTo, capacity);
+            }
+        }
+        ensureCapacity(size + batch.getGradeCount());
+
+        int[] numbers = batch.getGradeNumbers();
+        int[] subjects = batch.getSubjectIds();
+        double[] values = batch.getScores();
+        int[] days = batch.getEpochDays();
+        int row = size;
+        int next = 0;
+        int highestNumber = 0;
+        for (int i = 0; i < count; i++) {
+            Student student = batch.getStudent(i);
+            int index = first + i;
+            int grades = batch.getGradeCount(i);
+            students.add(student);
+            firstRow[index] = grades == 0 ? NO_ROW : row;
+            lastRow[index] = grades == 0 ? NO_ROW : row + grades - 1;
+            rowCount[index] = grades;
+            for (int j = 0; j < grades; j++, row++, next++) {
+                studentIndex[row] = index;
+                subjectId[row] = subjects[next];
+                score[row] = values[next];
+                epochDay[row] = days[next];
+                gradeNumber[row] = numbers[next];
+                nextRow[row] = j == grades - 1 ? NO_ROW : row + 1;
+                highestNumber = Math.max(highestNumber, numbers[next]);
+            }
+            student.setGradeStore(this, index);
+        }
+        liveRows += batch.getGradeCount();
+        version++;
+        size = row;
+        IdAllocator.GRADES.ensureAbove(highestNumber);
+        for (int i = 0; i < count; i++) {
+            batch.getStudent(i).rebuildAggregates();
+        }
+        return first;
+    }
+
+    // Copies a student's rows into another store. Moved rows are marked with a negative
+    // student index and their next-row entry is reused to forward Grade handles to the new row.
+    private synchronized void moveRows(int student, GradeColumnStore target, int targetStudent) {
+        if (movedTo == null) {
+            movedTo = new GradeColumnStore[firstRow.length];
+        }
+        if (linksShared) {
+            studentIndex = studentIndex.clone();
+            nextRow = nextRow.clone();
+            firstRow = firstRow.clone();
+            linksShared = false;
+        }
+        version++;
+        int row = firstRow[student];
+        while (row != NO_ROW) {
+            int next = nextRow[row];
+            nextRow[row] = target.append(targetStudent, getSubject(row),
+                    score[row], epochDay[row], gradeNumber[row]);
+            studentIndex[row] = -student - 2;
+            liveRows--;
+            row = next;
+        }
+        movedTo[student] = target;
+        firstRow[student] = NO_ROW;
+        lastRow[student] = NO_ROW;
+        rowCount[student] = 0;
+        students.set(student, null);
+    }
+
+    /**
+     * Appends a grade row for an attached student.
+     * Time Complexity: O(1) amortized.
+     *
+     * @param student the student's index in this store
+     * @param subject the graded subject
+     * @param value the score (0-100)
+     * @param day the grade date as days since 1970-01-01
+     * @param number the numeric part of the grade ID
+     * @return the new row
+     */
+    public synchronized int append(int student, Subject subject, double value, int day, int number) {
+        if (size == score.length) {
+            grow();
+        }
+        int row = size;
+        studentIndex[row] = student;
+        subjectId[row] = SubjectRegistry.getInstance().intern(subject).getSubjectId();
+        score[row] = value;
+        epochDay[row] = day;
+        gradeNumber[row] = number;
+        nextRow[row] = NO_ROW;
+
+        if (lastRow[student] == NO_ROW) {
+            firstRow[student] = row;
+        } else {
+            nextRow[lastRow[student]] = row;
+        }
+        lastRow[student] = row;
+        rowCount[student]++;
+        liveRows++;
+        version++;
+        size = row + 1;
+        return row;
+    }
+
+    private void grow() {
+        growTo(score.length + (score.length >> 1) + 1);
+    }
+
+    private void growTo(int capacity) {
+        studentIndex = Arrays.copyOf(studentIndex, capacity);
+        subjectId = Arrays.copyOf(subjectId, capacity);
+        score = Arrays.copyOf(score, capacity);
+        epochDay = Arrays.copyOf(epochDay, capacity);
+        gradeNumber = Arrays.copyOf(gradeNumber, capacity);
+        nextRow = Arrays.copyOf(nextRow, capacity);
+        scoresShared = false;
+        linksShared = false;
+    }
+
+    /**
+     * Grows the grade columns to hold at least the given number of rows, e.g. before a bulk
+     * load of known size so the columns are copied at most once.
+     *
+     * @param rows total rows the store should hold without growing
+     */
+    public synchronized void ensureCapacity(int rows) {
+        if (rows > score.length) {
+            growTo(Math.max(rows, score.length + (score.length >> 1) + 1));
+        }
+    }
+
+    // Edits are rare, so a snapshot's scores are preserved by copying the column on the first edit
+    public synchronized void setScore(int row, double value) {
+        if (scoresShared) {
+            score = score.clone();
+            scoresShared = false;
+        }
+        score[row] = value;
+        version++;
+    }
+
+    /**
+     * Captures a frozen view of every row and attached student present now.
+     * Time Complexity: O(1) - the view shares the column arrays.
+     *
+     * @return the snapshot
+     */
+    public synchronized Snapshot snapshot() {
+        scoresShared = true;
+        linksShared = true;
+        return new Snapshot(this);
+    }
+
+    // Row accessors
+    public double getScore(int row) { return score[row]; }
+    public int getSubjectId(int row) { return subjectId[row]; }
+    public Subject getSubject(int row) { return SubjectRegistry.getInstance().get(subjectId[row]); }
+    public int getEpochDay(int row) { return epochDay[row]; }
+    public int getGradeNumber(int row) { return gradeNumber[row]; }
+    public int getStudentIndex(int row) { return studentIndex[row]; }
+    public boolean isLive(int row) { return studentIndex[row] >= 0; }
+
+    // Where a moved row now lives; only valid when isLive(row) is false
+    GradeColumnStore getForwardStore(int row) { return movedTo[-studentIndex[row] - 2]; }
+    int getForwardRow(int row) { return nextRow[row]; }
+
+    // Student accessors
+    public Student getStudent(int index) { return students.get(index); }
+    // Dense index of a student in this store, or -1 if it is attached elsewhere
+    public int indexOf(Student student) { return student.getGradeStore() == this ? student.getStoreIndex() : -1; }
+    public int getFirstRow(int student) { return firstRow[student]; }
+    public int getNextRow(int row) { return nextRow[row]; }
+    public int getRowCount(int student) { return rowCount[student]; }
+
+    /**
+     * Returns the row of the student's n-th grade in insertion order.
+     * Time Complexity: O(n) - walks the student's row chain.
+     *
+     * @param student the student's index
+     * @param n position within the student's grades
+     * @return the row
+     * @throws IndexOutOfBoundsException if n is out of range
+     */
+    public int getRow(int student, int n) {
+        if (n < 0 || n >= rowCount[student]) {
+            throw new IndexOutOfBoundsException("Index: " + n + ", Size: " + rowCount[student]);
+        }
+        int row = firstRow[student];
+        for (int i = 0; i < n; i++) {
+            row = nextRow[row];
+        }
+        return row;
+    }
+
+    /**
+     * Returns the raw score column. Only the first {@link #size()} entries are meaningful,
+     * and rows for which {@link #isLive(int)} is false must be skipped. Read {@link #size()}
+     * before calling this when appends may be running. The array must not be modified.
+     *
+     * @return backing score array
+     */
+    public double[] getScoreColumn() {
+        return score;
+    }
+
+    /**
+     * Copies the scores of all live rows into a new array.
+     * Time Complexity: O(n).
+     *
+     * @return scores in row order
+     */
+    public synchronized double[] copyScores() {
+        double[] values = new double[liveRows];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (studentIndex[row] >= 0) {
+                values[count++] = score[row];
+            }
+        }
+        return values;
+    }
+
+    // Total rows including detached ones
+    public int size() { return size; }
+    // Rows belonging to attached students
+    public int getLiveRowCount() { return liveRows; }
+    public int getStudentCount() { return students.size(); }
+
+    /**
+     * Estimates the bytes held per stored grade by the column arrays and per-student arrays.
+     *
+     * @return approximate bytes per live grade, or 0 if empty
+     */
+    public double getBytesPerGrade() {
+        if (liveRows == 0) return 0.0;
+        long rowBytes = (long) score.length * (4 + 4 + 8 + 4 + 4 + 4);
+        long studentBytes = (long) firstRow.length * (4 + 4 + 4);
+        return (double) (rowBytes + studentBytes) / liveRows;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Read-only view of a store as of one version. Rows appended later are outside the
+     * captured row count, and rows edited later were copied away before the edit, so the
+     * view never changes and can be read from any thread without locking.
+     */
+    public static final class Snapshot {
+        private final GradeColumnStore store;
+        private final long version;
+        private final int size;
+        private final int liveRows;
+        private final int studentCount;
+        private final int[] studentIndex;
+        private final int[] subjectId;
+        private final double[] score;
+        private final int[] epochDay;
+        private final int[] gradeNumber;
+        private final int[] nextRow;
+        private final int[] firstRow;
+
+        // Called with the store's monitor held
+        private Snapshot(GradeColumnStore store) {
+            this.store = store;
+            this.version = store.version;
+            this.size = store.size;
+            this.liveRows = store.liveRows;
+            this.studentCount = store.students.size();
+            this.studentIndex = store.studentIndex;
+            this.subjectId = store.subjectId;
+            this.score = store.score;
+            this.epochDay = store.epochDay;
+            // Never edited in place, so sharing it needs no copy-on-write flag
+            this.gradeNumber = store.gradeNumber;
+            this.nextRow = store.nextRow;
+            this.firstRow = store.firstRow;
+        }
+
+        public long getVersion() { return version; }
+        public int size() { return size; }
+        public int getLiveRowCount() { return liveRows; }
+        public int getStudentCount() { return studentCount; }
+
+        // Row accessors, valid for rows below size()
+        public double getScore(int row) { return score[row]; }
+        public int getSubjectId(int row) { return subjectId[row]; }
+        public int getEpochDay(int row) { return epochDay[row]; }
+        public int getGradeNumber(int row) { return gradeNumber[row]; }
+        public boolean isLive(int row) { return studentIndex[row] >= 0; }
+
+        /**
+         * Returns the first row of a student in this view.
+         *
+         * @param student a student attached to the captured store
+         * @return the row, or -1 if the student had no grades or was attached later
+         */
+        public int getFirstRow(Student student) {
+            if (student.getGradeStore() != store) return NO_ROW;
+            int index = student.getStoreIndex();
+            if (index >= studentCount) return NO_ROW;
+            int row = firstRow[index];
+            return row < size ? row : NO_ROW;
+        }
+
+        // Rows of a student are chained in increasing order, so links past size() end the chain
+        public int getNextRow(int row) {
+            int next = nextRow[row];
+            return next < size ? next : NO_ROW;
+        }
+
+        /**
+         * Copies the scores of all live rows into a new array.
+         * Time Complexity: O(n).
+         *
+         * @return scores in row order
+         */
+        public double[] copyScores() {
+            double[] values = new double[liveRows];
+            int count = 0;
+            for (int row = 0; row < size && count < values.length; row++) {
+                if (studentIndex[row] >= 0) {
+                    values[count++] = score[row];
+                }
+            }
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+    }
+}
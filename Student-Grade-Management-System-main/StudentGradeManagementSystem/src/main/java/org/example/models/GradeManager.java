@@ -1,24 +1,26 @@
 package org.example.models;
 
-import java.util.ArrayList;
+import org.example.service.EnhancedStudentManager;
+
 import java.util.List;
 
 public class GradeManager {
-    private Grade[] grades;
-    private int gradeCount;
-    private static final int MAX_GRADES = 200;
+    // Growable table indexed by grade ID, student and (student, subject)
+    private final GradeTable grades;
+    // When set, edits go through the manager so they hold the student's lock
+    private EnhancedStudentManager studentManager;
 
     public GradeManager() {
-        grades = new Grade[MAX_GRADES];
-        gradeCount = 0;
+        grades = new GradeTable();
+    }
+
+    public void setStudentManager(EnhancedStudentManager studentManager) {
+        this.studentManager = studentManager;
     }
 
+    // O(1) amortized
     public void addGrade(Grade grade) {
-        if (gradeCount < MAX_GRADES) {
-            grades[gradeCount++] = grade;
-        } else {
-            System.out.println("✗ Grade limit reached! Cannot add more grades.");
-        }
+        grades.add(grade);
     }
 
     public void viewGradesByStudent(String studentId) {
@@ -30,21 +32,21 @@ public class GradeManager {
         int gradeCountForStudent = 0;
         double totalScore = 0;
 
-        for (int i = gradeCount - 1; i >= 0; i--) {
-            if (grades[i] != null && grades[i].getStudentId().equals(studentId)) {
-                Grade grade = grades[i];
-                String letterGrade = getLetterGrade(grade.getGrade());
-                System.out.printf("%-6s    | %-10s    | %-11s    | %-7s    | %-5.1f%% | %s\n",
-                        grade.getGradeId(),
-                        grade.getDate(),
-                        grade.getSubject().getSubjectName(),
-                        grade.getSubject().getSubjectType(),
-                        grade.getGrade(),
-                        letterGrade);
-                found = true;
-                gradeCountForStudent++;
-                totalScore += grade.getGrade();
-            }
+        // Newest first; O(k) over the student's grades
+        List<Grade> studentGrades = grades.forStudent(studentId);
+        for (int i = studentGrades.size() - 1; i >= 0; i--) {
+            Grade grade = studentGrades.get(i);
+            String letterGrade = getLetterGrade(grade.getGrade());
+            System.out.printf("%-6s    | %-10s    | %-11s    | %-7s    | %-5.1f%% | %s\n",
+                    grade.getGradeId(),
+                    grade.getDate(),
+                    grade.getSubject().getSubjectName(),
+                    grade.getSubject().getSubjectType(),
+                    grade.getGrade(),
+                    letterGrade);
+            found = true;
+            gradeCountForStudent++;
+            totalScore += grade.getGrade();
         }
 
         if (!found) {
@@ -79,24 +81,14 @@ public class GradeManager {
         }
     }
 
+    // O(k) - the student's grades in insertion order
     public List<Grade> getGradesForStudent(String studentId) {
-        List<Grade> studentGrades = new ArrayList<>();
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null && grades[i].getStudentId().equals(studentId)) {
-                studentGrades.add(grades[i]);
-            }
-        }
-        return studentGrades;
+        return grades.forStudent(studentId);
     }
 
+    // O(1)
     public int getGradeCountForStudent(String studentId) {
-        int count = 0;
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null && grades[i].getStudentId().equals(studentId)) {
-                count++;
-            }
-        }
-        return count;
+        return grades.countForStudent(studentId);
     }
 
     public void viewAllGrades() {
@@ -104,13 +96,13 @@ public class GradeManager {
         System.out.println("\nGRD ID    | STUDENT ID | DATE       | SUBJECT     | TYPE    | GRADE");
         System.out.println("-------------------------------------------------------------------");
 
-        if (gradeCount == 0) {
+        List<Grade> allGrades = grades.toList();
+        if (allGrades.isEmpty()) {
             System.out.println("No grades recorded in the system.");
             return;
         }
 
-        for (int i = 0; i < gradeCount; i++) {
-            Grade grade = grades[i];
+        for (Grade grade : allGrades) {
             System.out.printf("%-6s    | %-9s    | %-10s    | %-11s    | %-7s    | %.1f%%\n",
                     grade.getGradeId(),
                     grade.getStudentId(),
@@ -121,58 +113,41 @@ public class GradeManager {
         }
 
         System.out.println("\nSYSTEM SUMMARY:");
-        System.out.println("Total Grades in System: " + gradeCount);
-        System.out.println("Capacity: " + gradeCount + "/" + MAX_GRADES + " grades");
+        System.out.println("Total Grades in System: " + allGrades.size());
     }
 
+    // O(1) - (student, subject) index
     public boolean hasStudentTakenSubject(String studentId, String subjectName) {
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null &&
-                    grades[i].getStudentId().equals(studentId) &&
-                    grades[i].getSubject().getSubjectName().equalsIgnoreCase(subjectName)) {
-                return true;
-            }
-        }
-        return false;
+        return grades.hasTaken(studentId, subjectName);
     }
 
+    // O(1) - grade ID index
     public Grade findGradeById(String gradeId) {
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null && grades[i].getGradeId().equals(gradeId)) {
-                return grades[i];
-            }
-        }
-        return null;
+        return grades.find(gradeId);
     }
 
+    // O(1) lookup
     public boolean updateGrade(String gradeId, double newGrade) {
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null && grades[i].getGradeId().equals(gradeId)) {
-                if (newGrade >= 0 && newGrade <= 100) {
-                    grades[i].recordGrade(newGrade);
-                    return true;
-                }
+        Grade grade = grades.find(gradeId);
+        if (grade != null && newGrade >= 0 && newGrade <= 100) {
+            if (studentManager != null) {
+                studentManager.recordGrade(grade, newGrade);
+            } else {
+                grade.recordGrade(newGrade);
             }
+            return true;
         }
         return false;
     }
 
+    // O(1) tombstone; the table compacts itself in the background
     public boolean deleteGrade(String gradeId) {
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null && grades[i].getGradeId().equals(gradeId)) {
-                // Shift all elements after the deleted grade
-                for (int j = i; j < gradeCount - 1; j++) {
-                    grades[j] = grades[j + 1];
-                }
-                grades[gradeCount - 1] = null;
-                gradeCount--;
-                return true;
-            }
-        }
-        return false;
+        return grades.remove(gradeId);
     }
 
     public void getGradeStatistics() {
+        List<Grade> allGrades = grades.toList();
+        int gradeCount = allGrades.size();
         if (gradeCount == 0) {
             System.out.println("No grades available for statistics.");
             return;
@@ -183,8 +158,8 @@ public class GradeManager {
         double lowest = Double.MAX_VALUE;
         int[] gradeDistribution = new int[5]; // A, B, C, D, F
 
-        for (int i = 0; i < gradeCount; i++) {
-            double grade = grades[i].getGrade();
+        for (Grade recorded : allGrades) {
+            double grade = recorded.getGrade();
             sum += grade;
 
             if (grade > highest) highest = grade;
@@ -226,19 +201,19 @@ public class GradeManager {
         String highestStudent = "";
         String lowestStudent = "";
 
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null && grades[i].getSubject().getSubjectName().equalsIgnoreCase(subjectName)) {
-                double grade = grades[i].getGrade();
+        for (Grade recorded : grades.toList()) {
+            if (recorded.getSubject().getSubjectName().equalsIgnoreCase(subjectName)) {
+                double grade = recorded.getGrade();
                 sum += grade;
                 count++;
 
                 if (grade > highest) {
                     highest = grade;
-                    highestStudent = grades[i].getStudentId();
+                    highestStudent = recorded.getStudentId();
                 }
                 if (grade < lowest) {
                     lowest = grade;
-                    lowestStudent = grades[i].getStudentId();
+                    lowestStudent = recorded.getStudentId();
                 }
             }
         }
@@ -264,29 +239,27 @@ public class GradeManager {
         return calculateSubjectTypeAverage(studentId, "Elective");
     }
 
+    // O(k) over the student's grades
     public double calculateOverallAverage(String studentId) {
         double sum = 0;
         int count = 0;
 
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null && grades[i].getStudentId().equals(studentId)) {
-                sum += grades[i].getGrade();
-                count++;
-            }
+        for (Grade grade : grades.forStudent(studentId)) {
+            sum += grade.getGrade();
+            count++;
         }
 
         return count > 0 ? sum / count : 0.0;
     }
 
+    // O(k) over the student's grades
     private double calculateSubjectTypeAverage(String studentId, String subjectType) {
         double sum = 0;
         int count = 0;
 
-        for (int i = 0; i < gradeCount; i++) {
-            if (grades[i] != null &&
-                    grades[i].getStudentId().equals(studentId) &&
-                    grades[i].getSubject().getSubjectType().equals(subjectType)) {
-                sum += grades[i].getGrade();
+        for (Grade grade : grades.forStudent(studentId)) {
+            if (grade.getSubject().getSubjectType().equals(subjectType)) {
+                sum += grade.getGrade();
                 count++;
             }
         }
@@ -295,10 +268,15 @@ public class GradeManager {
     }
 
     public int getGradeCount() {
-        return gradeCount;
+        return grades.size();
     }
 
+    // O(n) - live grades in insertion order; the array's length is getGradeCount()
     public Grade[] getGrades() {
+        return grades.toList().toArray(new Grade[0]);
+    }
+
+    public GradeTable getGradeTable() {
         return grades;
     }
 
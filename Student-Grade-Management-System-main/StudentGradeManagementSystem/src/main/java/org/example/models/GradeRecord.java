@@ -1,17 +1,27 @@
 package org.example.models;
 
+import java.time.LocalDate;
+
 public class GradeRecord {
     private String studentId;
     private String subjectName;
     private String subjectType;
     private double grade;
     private int rowNumber;
+    // Date the grade was recorded, or null to record it as today
+    private LocalDate date;
 
     public GradeRecord(String studentId, String subjectName, String subjectType, double grade, int rowNumber) {
+        this(studentId, subjectName, subjectType, grade, null, rowNumber);
+    }
+
+    public GradeRecord(String studentId, String subjectName, String subjectType, double grade,
+                       LocalDate date, int rowNumber) {
         this.studentId = studentId;
         this.subjectName = subjectName;
         this.subjectType = subjectType;
         this.grade = grade;
+        this.date = date;
         this.rowNumber = rowNumber;
     }
 
@@ -21,4 +31,5 @@ public class GradeRecord {
     public String getSubjectType() { return subjectType; }
     public double getGrade() { return grade; }
     public int getRowNumber() { return rowNumber; }
+    public LocalDate getDate() { return date; }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package org.example.models;
+
+import org.example.utils.IdAllocator;
+import org.example.utils.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Growable table of grades in insertion order, indexed by grade ID, by student and by
+ * (student, subject name).
+ * Deleting a grade leaves a tombstone in its slot instead of shifting the rest. Once
+ * tombstones make up half the table, a background thread compacts it, keeping the
+ * order of the remaining grades.
+ *
+ * All operations are synchronized.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class GradeTable {
+    // Smaller tables are not worth a compaction pass
+    private static final int MIN_COMPACTION_TOMBSTONES = 64;
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "GradeTable-Compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Slots in insertion order; null marks a deleted grade
+    private Grade[] slots;
+    private int size;
+    private int liveCount;
+    // Slot of each grade, keyed by the numeric part of its grade ID
+    private final IntObjectMap<Integer> slotByGradeNumber = new IntObjectMap<>();
+    private final Map<String, StudentGrades> byStudent = new HashMap<>();
+    private boolean compactionScheduled;
+
+    // One student's slots, ascending, and how many of its grades are in each subject
+    private static final class StudentGrades {
+        int[] slots = new int[4];
+        int size;
+        final Map<String, Integer> subjectCounts = new HashMap<>();
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            int i = Arrays.binarySearch(slots, 0, size, slot);
+            if (i >= 0) {
+                System.arraycopy(slots, i + 1, slots, i, size - i - 1);
+                size--;
+            }
+        }
+    }
+
+    public GradeTable() {
+        this(64);
+    }
+
+    public GradeTable(int initialCapacity) {
+        slots = new Grade[Math.max(initialCapacity, 4)];
+    }
+
+    /**
+     * Appends a grade.
+     * Time Complexity: O(1) amortized.
+     *
+     * @param grade the grade to add
+     */
+    public synchronized void add(Grade grade) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        int slot = size++;
+        slots[slot] = grade;
+        liveCount++;
+        // With duplicate IDs the first stays findable, as with the old linear scan
+        if (!slotByGradeNumber.containsKey(grade.getGradeNumber())) {
+            slotByGradeNumber.put(grade.getGradeNumber(), slot);
+        }
+        StudentGrades student = byStudent.computeIfAbsent(grade.getStudentId(), k -> new StudentGrades());
+        student.add(slot);
+        student.subjectCounts.merge(subjectKey(grade.getSubject().getSubjectName()), 1, Integer::sum);
+    }
+
+    /**
+     * Looks up a grade by its ID.
+     * Time Complexity: O(1).
+     *
+     * @param gradeId the grade ID, e.g. GRD001
+     * @return the grade, or null if there is none with exactly this ID
+     */
+    public synchronized Grade find(String gradeId) {
+        int number = IdAllocator.GRADES.parse(gradeId);
+        if (number < 0) return null;
+        Integer slot = slotByGradeNumber.get(number);
+        if (slot == null) return null;
+        Grade grade = slots[slot];
+        return grade.getGradeId().equals(gradeId) ? grade : null;
+    }
+
+    /**
+     * Deletes a grade, leaving a tombstone that a later compaction removes.
+     * Time Complexity: O(1) + O(k) to drop it from the student's k grades.
+     *
+     * @param gradeId the grade ID
+     * @return true if the grade was found and deleted
+     */
+    public synchronized boolean remove(String gradeId) {
+        Grade grade = find(gradeId);
+        if (grade == null) return false;
+        int slot = slotByGradeNumber.remove(grade.getGradeNumber());
+        slots[slot] = null;
+        liveCount--;
+
+        StudentGrades student = byStudent.get(grade.getStudentId());
+        student.remove(slot);
+        String subject = subjectKey(grade.getSubject().getSubjectName());
+        if (student.subjectCounts.merge(subject, -1, Integer::sum) == 0) {
+            student.subjectCounts.remove(subject);
+        }
+        if (student.size == 0) {
+            byStudent.remove(grade.getStudentId());
+        }
+
+        int tombstones = size - liveCount;
+        if (!compactionScheduled && tombstones >= MIN_COMPACTION_TOMBSTONES && tombstones * 2 >= size) {
+            compactionScheduled = true;
+            COMPACTOR.execute(this::compact);
+        }
+        return true;
+    }
+
+    // O(k) - the student's grades in insertion order
+    public synchronized List<Grade> forStudent(String studentId) {
+        StudentGrades student = byStudent.get(studentId);
+        if (student == null) return new ArrayList<>();
+        List<Grade> grades = new ArrayList<>(student.size);
+        for (int i = 0; i < student.size; i++) {
+            grades.add(slots[student.slots[i]]);
+        }
+        return grades;
+    }
+
+    // O(1)
+    public synchronized int countForStudent(String studentId) {
+        StudentGrades student = byStudent.get(studentId);
+        return student == null ? 0 : student.size;
+    }
+
+    // O(1) - subject names compare ignoring case
+    public synchronized boolean hasTaken(String studentId, String subjectName) {
+        StudentGrades student = byStudent.get(studentId);
+        return student != null && student.subjectCounts.containsKey(subjectKey(subjectName));
+    }
+
+    // O(n) - every grade in insertion order
+    public synchronized List<Grade> toList() {
+        List<Grade> grades = new ArrayList<>(liveCount);
+        for (int i = 0; i < size; i++) {
+            if (slots[i] != null) {
+                grades.add(slots[i]);
+            }
+        }
+        return grades;
+    }
+
+    public synchronized int size() {
+        return liveCount;
+    }
+
+    public synchronized int getTombstoneCount() {
+        return size - liveCount;
+    }
+
+    /**
+     * Drops tombstones, moving the remaining grades down in order and repointing the indexes.
+     * Normally run in the background once enough grades have been deleted.
+     * Time Complexity: O(n).
+     */
+    public synchronized void compact() {
+        compactionScheduled = false;
+        if (liveCount == size) return;
+        int[] newSlot = new int[size];
+        Grade[] compacted = new Grade[Math.max(liveCount * 2, 4)];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (slots[i] != null) {
+                newSlot[i] = next;
+                compacted[next++] = slots[i];
+            }
+        }
+        for (int i = 0; i < next; i++) {
+            int number = compacted[i].getGradeNumber();
+            Integer slot = slotByGradeNumber.get(number);
+            if (slot != null && newSlot[slot] == i) {
+                slotByGradeNumber.put(number, i);
+            }
+        }
+        for (StudentGrades student : byStudent.values()) {
+            for (int i = 0; i < student.size; i++) {
+                student.slots[i] = newSlot[student.slots[i]];
+            }
+        }
+        slots = compacted;
+        size = next;
+    }
+
+    private static String subjectKey(String subjectName) {
+        return subjectName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -14,6 +14,10 @@ public class RegularStudent extends Student {
         super(name, age, email, phone);
     }
 
+    public RegularStudent(int studentNumber, String name, int age, String email, String phone) {
+        super(studentNumber, name, age, email, phone);
+    }
+
     @Override
     public void displayStudentDetails() {
         System.out.println("Student ID: " + getStudentId());
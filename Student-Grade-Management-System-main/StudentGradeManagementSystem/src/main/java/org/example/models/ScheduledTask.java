@@ -29,6 +29,12 @@ public class ScheduledTask implements Serializable {
         this.nextExecution = LocalDateTime.now().plusSeconds(intervalSeconds);
     }
 
+    // Restores a saved task under its original ID
+    public ScheduledTask(String taskId, String taskName, ScheduleType scheduleType, long intervalSeconds) {
+        this(taskName, scheduleType, intervalSeconds);
+        this.taskId = taskId;
+    }
+
     public String getTaskId() { return taskId; }
     public String getTaskName() { return taskName; }
     public ScheduleType getScheduleType() { return scheduleType; }
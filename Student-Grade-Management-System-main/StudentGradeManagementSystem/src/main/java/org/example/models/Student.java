@@ -1,11 +1,17 @@
 package org.example.models;
 
+import org.example.interfaces.StudentChangeListener;
+import org.example.utils.IdAllocator;
 import org.example.utils.ValidationUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Abstract base class representing a student in the grade management system.
@@ -17,14 +23,34 @@ import java.util.List;
 public abstract class Student implements Serializable {
     private static final long serialVersionUID = 1L;
     private String studentId;
+    // Numeric part of studentId, the compact form used as a key
+    private int studentNumber;
     private String name;
     private int age;
     private String email;
     private String phone;
     private String status;
-    private static int studentCounter = 1;
-    // LinkedList for O(1) insertions at head/tail - efficient for grade history
-    private LinkedList<Grade> grades;
+    // Grades live as rows of a column store shared with the rest of the population once the
+    // student is managed; a standalone student gets a small private store on its first grade
+    private transient GradeColumnStore gradeStore;
+    private transient int storeIndex;
+    private transient List<Grade> gradesView;
+    // Notified after every grade or status mutation, e.g. by the manager that ranks and indexes this student
+    private transient StudentChangeListener changeListener;
+
+    // Running aggregates kept in step with the grade list so averages, pass status
+    // and honors eligibility are O(1) reads instead of a walk over every grade
+    private double gradeSum;
+    private double coreSum;
+    private int coreCount;
+    private double electiveSum;
+    private int electiveCount;
+    private double highestGrade;
+    private double lowestGrade;
+
+    // When enabled, every aggregate read is cross-checked against a full re-scan
+    private static volatile boolean consistencyCheckEnabled =
+            Boolean.getBoolean("sgms.student.consistencyCheck");
 
     /**
      * Constructs a new Student with validated information.
@@ -36,29 +62,82 @@ public abstract class Student implements Serializable {
      * @throws IllegalArgumentException if validation fails
      */
     public Student(String name, int age, String email, String phone) {
+        validateDetails(name, email, phone);
+        init(IdAllocator.STUDENTS.nextNumber(), name, age, email, phone);
+    }
+
+    /**
+     * Constructs a Student with an ID number that was assigned earlier, e.g. one taken from a
+     * reserved {@link IdAllocator.Block} or restored from saved data. The allocator is moved
+     * past the number so it is never handed out again.
+     *
+     * @param studentNumber numeric part of the student ID
+     * @param name student's full name
+     * @param age student's age
+     * @param email student's email address
+     * @param phone student's phone number
+     * @throws IllegalArgumentException if validation fails
+     */
+    protected Student(int studentNumber, String name, int age, String email, String phone) {
+        validateDetails(name, email, phone);
+        if (studentNumber < 1) {
+            throw new IllegalArgumentException("Invalid student number: " + studentNumber);
+        }
+        IdAllocator.STUDENTS.ensureAbove(studentNumber);
+        init(studentNumber, name, age, email, phone);
+    }
+
+    private static void validateDetails(String name, String email, String phone) {
         ValidationUtils.validateName(name);
         ValidationUtils.validateEmail(email);
         ValidationUtils.validatePhone(phone);
-        
-        this.studentId = "STU" + String.format("%03d", studentCounter++);
+    }
+
+    private void init(int studentNumber, String name, int age, String email, String phone) {
+        this.studentNumber = studentNumber;
+        this.studentId = IdAllocator.STUDENTS.format(studentNumber);
         this.name = name;
         this.age = age;
         this.email = email;
         this.phone = phone;
         this.status = "Active";
-        this.grades = new LinkedList<>();
     }
 
     // Getters and setters
     public String getStudentId() { return studentId; }
+    public int getStudentNumber() { return studentNumber; }
     public String getName() { return name; }
     public int getAge() { return age; }
     public String getEmail() { return email; }
     public String getPhone() { return phone; }
     public String getStatus() { return status; }
-    public List<Grade> getGrades() { return grades; } // Getter for grades
 
-    public void setStatus(String status) { this.status = status; }
+    /**
+     * Returns a read-only view of the grade history backed by the grade store.
+     * Grades must be added through {@link #addGrade(Grade)} so the running aggregates stay in step.
+     *
+     * @return unmodifiable list of grades in insertion order
+     */
+    public List<Grade> getGrades() {
+        if (gradesView == null) {
+            gradesView = new GradeView();
+        }
+        return gradesView;
+    }
+
+    GradeColumnStore getGradeStore() { return gradeStore; }
+    int getStoreIndex() { return storeIndex; }
+
+    // Called by GradeColumnStore.attach once this student's rows live in the given store
+    void setGradeStore(GradeColumnStore store, int index) {
+        this.gradeStore = store;
+        this.storeIndex = index;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        notifyChanged(null);
+    }
 
     /**
      * Displays detailed information about the student.
@@ -80,19 +159,64 @@ public abstract class Student implements Serializable {
     public abstract double getPassingGrade();
 
     /**
-     * Calculates the average of all recorded grades.
-     * Time Complexity: O(n) where n is the number of grades.
+     * Returns the average of all recorded grades from the running aggregates.
+     * Time Complexity: O(1).
      * 
      * @return average grade percentage, or 0.0 if no grades
      */
     public double calculateAverageGrade() {
-        if (grades.isEmpty()) return 0.0;
+        checkConsistency();
+        int count = getGradeCount();
+        return count == 0 ? 0.0 : gradeSum / count;
+    }
 
-        double sum = 0;
-        for (Grade grade : grades) {
-            sum += grade.getGrade();
-        }
-        return sum / grades.size();
+    /**
+     * Returns the average of core subject grades.
+     * Time Complexity: O(1).
+     *
+     * @return core average percentage, or 0.0 if no core grades
+     */
+    public double getCoreAverage() {
+        checkConsistency();
+        return coreCount > 0 ? coreSum / coreCount : 0.0;
+    }
+
+    /**
+     * Returns the average of elective subject grades.
+     * Time Complexity: O(1).
+     *
+     * @return elective average percentage, or 0.0 if no elective grades
+     */
+    public double getElectiveAverage() {
+        checkConsistency();
+        return electiveCount > 0 ? electiveSum / electiveCount : 0.0;
+    }
+
+    public int getGradeCount() {
+        return gradeStore == null ? 0 : gradeStore.getRowCount(storeIndex);
+    }
+
+    public int getCoreGradeCount() { return coreCount; }
+    public int getElectiveGradeCount() { return electiveCount; }
+
+    /**
+     * Returns the highest recorded grade.
+     *
+     * @return highest grade, or 0.0 if no grades
+     */
+    public double getHighestGrade() {
+        checkConsistency();
+        return getGradeCount() == 0 ? 0.0 : highestGrade;
+    }
+
+    /**
+     * Returns the lowest recorded grade.
+     *
+     * @return lowest grade, or 0.0 if no grades
+     */
+    public double getLowestGrade() {
+        checkConsistency();
+        return getGradeCount() == 0 ? 0.0 : lowestGrade;
     }
 
     /**
@@ -105,18 +229,231 @@ public abstract class Student implements Serializable {
     }
 
     /**
-     * Adds a grade to the student's record.
-     * Time Complexity: O(1) - adds to end of LinkedList.
+     * Adds a grade to the student's record and folds it into the running aggregates.
+     * The grade's values are copied into the grade store and the Grade becomes a handle
+     * onto the new row, so later edits through it reach this student.
+     * Time Complexity: O(1) amortized - appends a store row.
      * 
      * @param grade the grade to add
      * @throws IllegalArgumentException if grade is invalid
      */
     public void addGrade(Grade grade) {
         ValidationUtils.validateGrade(grade.getGrade());
-        grades.add(grade);
+        if (gradeStore == null) {
+            new GradeColumnStore(4).attach(this);
+        }
+        Subject subject = grade.getSubject();
+        double value = grade.getGrade();
+        int row = gradeStore.append(storeIndex, subject, value, grade.getEpochDay(), grade.getGradeNumber());
+        if (!grade.isStored()) {
+            grade.bind(gradeStore, row);
+        }
+        accumulate(subject, value);
+        notifyChanged(grade);
+    }
+
+    /**
+     * Called by {@link Grade#recordGrade(double)} after a recorded grade has been edited.
+     * Edits are rare and a student's grade list is short, so the aggregates are rebuilt
+     * rather than patched; this keeps repeated edits from accumulating floating-point drift.
+     *
+     * @param grade the grade whose value changed
+     * @param oldValue the value before the edit
+     */
+    void onGradeRecorded(Grade grade, double oldValue) {
+        rebuildAggregates();
+        notifyChanged(grade);
+    }
+
+    private void notifyChanged(Grade grade) {
+        StudentChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.studentChanged(this, grade);
+        }
+    }
+
+    public void setChangeListener(StudentChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void accumulate(Subject subject, double value) {
+        if (getGradeCount() == 1) {
+            highestGrade = value;
+            lowestGrade = value;
+        } else {
+            if (value > highestGrade) highestGrade = value;
+            if (value < lowestGrade) lowestGrade = value;
+        }
+        gradeSum += value;
+        if (subject instanceof CoreSubject) {
+            coreSum += value;
+            coreCount++;
+        } else if (subject instanceof ElectiveSubject) {
+            electiveSum += value;
+            electiveCount++;
+        }
+    }
+
+    // O(n) - recomputes every aggregate from the student's store rows; also used after a bulk attach
+    void rebuildAggregates() {
+        gradeSum = 0;
+        coreSum = 0;
+        coreCount = 0;
+        electiveSum = 0;
+        electiveCount = 0;
+        highestGrade = 0;
+        lowestGrade = 0;
+
+        if (gradeStore == null) return;
+        int seen = 0;
+        for (int row = gradeStore.getFirstRow(storeIndex); row >= 0; row = gradeStore.getNextRow(row)) {
+            double value = gradeStore.getScore(row);
+            Subject subject = gradeStore.getSubject(row);
+            if (seen++ == 0) {
+                highestGrade = value;
+                lowestGrade = value;
+            }
+            if (value > highestGrade) highestGrade = value;
+            if (value < lowestGrade) lowestGrade = value;
+            gradeSum += value;
+            if (subject instanceof CoreSubject) {
+                coreSum += value;
+                coreCount++;
+            } else if (subject instanceof ElectiveSubject) {
+                electiveSum += value;
+                electiveCount++;
+            }
+        }
+    }
+
+    /**
+     * Verifies the running aggregates against a full re-scan of the grade list.
+     * Time Complexity: O(n) where n is the number of grades.
+     *
+     * @throws IllegalStateException if any aggregate disagrees with the re-scan
+     */
+    public void verifyAggregates() {
+        double sum = 0, core = 0, elective = 0;
+        int cores = 0, electives = 0;
+        double max = 0, min = 0;
+        int seen = 0;
+
+        for (Grade grade : getGrades()) {
+            double value = grade.getGrade();
+            if (seen++ == 0) {
+                max = value;
+                min = value;
+            }
+            max = Math.max(max, value);
+            min = Math.min(min, value);
+            sum += value;
+            if (grade.getSubject() instanceof CoreSubject) {
+                core += value;
+                cores++;
+            } else if (grade.getSubject() instanceof ElectiveSubject) {
+                elective += value;
+                electives++;
+            }
+        }
+
+        if (!sameValue(sum, gradeSum) || !sameValue(core, coreSum) || !sameValue(elective, electiveSum)
+                || cores != coreCount || electives != electiveCount
+                || (seen > 0 && (max != highestGrade || min != lowestGrade))) {
+            throw new IllegalStateException("Grade aggregates out of sync for " + studentId
+                    + ": cached sum=" + gradeSum + ", scanned sum=" + sum);
+        }
+    }
+
+    private static boolean sameValue(double a, double b) {
+        return Math.abs(a - b) <= 1e-9 * Math.max(1.0, Math.abs(a));
+    }
+
+    private void checkConsistency() {
+        if (consistencyCheckEnabled) {
+            verifyAggregates();
+        }
+    }
+
+    /**
+     * Enables or disables consistency-check mode, in which every aggregate read is
+     * verified against a full re-scan. Intended for tests and debugging only.
+     * Can also be enabled at startup with {@code -Dsgms.student.consistencyCheck=true}.
+     *
+     * @param enabled true to verify aggregates on every read
+     */
+    public static void setConsistencyCheckEnabled(boolean enabled) {
+        consistencyCheckEnabled = enabled;
+    }
+
+    public static boolean isConsistencyCheckEnabled() {
+        return consistencyCheckEnabled;
+    }
+
+    // Grades are written as standalone Grade copies since the store itself is not serialized
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(getGradeCount());
+        for (Grade grade : getGrades()) {
+            out.writeObject(grade);
+        }
+    }
+
+    // Reads grades into a private store and rebuilds the aggregates from them
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        IdAllocator.STUDENTS.ensureAbove(studentNumber);
+        int count = in.readInt();
+        if (count > 0) {
+            new GradeColumnStore(count).attach(this);
+            for (int i = 0; i < count; i++) {
+                Grade grade = (Grade) in.readObject();
+                gradeStore.append(storeIndex, grade.getSubject(), grade.getGrade(),
+                        grade.getEpochDay(), grade.getGradeNumber());
+            }
+        }
+        rebuildAggregates();
+    }
+
+    // Read-only list over this student's store rows; elements are handles created on access
+    private class GradeView extends AbstractList<Grade> {
+        @Override
+        public Grade get(int index) {
+            if (gradeStore == null) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+            }
+            return new Grade(gradeStore, gradeStore.getRow(storeIndex, index));
+        }
+
+        @Override
+        public int size() {
+            return getGradeCount();
+        }
+
+        // O(n) walk of the row chain instead of O(n^2) positional gets
+        @Override
+        public Iterator<Grade> iterator() {
+            final GradeColumnStore store = gradeStore;
+            return new Iterator<Grade>() {
+                private int row = store == null ? -1 : store.getFirstRow(storeIndex);
+
+                @Override
+                public boolean hasNext() {
+                    return row >= 0;
+                }
+
+                @Override
+                public Grade next() {
+                    if (row < 0) throw new NoSuchElementException();
+                    Grade grade = new Grade(store, row);
+                    row = store.getNextRow(row);
+                    return grade;
+                }
+            };
+        }
     }
 
+    // Number the next new student will receive
     public static int getStudentCounter() {
-        return studentCounter;
+        return IdAllocator.STUDENTS.peekNextNumber();
     }
 }
\ No newline at end of file
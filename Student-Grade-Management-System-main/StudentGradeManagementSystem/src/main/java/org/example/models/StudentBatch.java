@@ -0,0 +1,54 @@
+package org.example.models;
+
+/**
+ * A run of new students and their grades laid out as columns, the unit in which bulk loads
+ * such as checkpoint recovery hand data to a {@link GradeColumnStore}.
+ * Grades are grouped by student: student i owns the next gradeCounts[i] entries of the
+ * grade columns. Subject ids are {@link SubjectRegistry} ids.
+ *
+ * The arrays are used as given, not copied.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class StudentBatch {
+    private final Student[] students;
+    private final int[] gradeCounts;
+    private final int[] gradeNumbers;
+    private final int[] subjectIds;
+    private final double[] scores;
+    private final int[] epochDays;
+    private final int gradeCount;
+
+    public StudentBatch(Student[] students, int[] gradeCounts, int[] gradeNumbers, int[] subjectIds,
+                        double[] scores, int[] epochDays) {
+        if (gradeCounts.length != students.length) {
+            throw new IllegalArgumentException("Expected a grade count per student");
+        }
+        int total = 0;
+        for (int count : gradeCounts) {
+            total += count;
+        }
+        if (gradeNumbers.length < total || subjectIds.length < total || scores.length < total || epochDays.length < total) {
+            throw new IllegalArgumentException("Grade columns hold fewer than " + total + " grades");
+        }
+        this.students = students;
+        this.gradeCounts = gradeCounts;
+        this.gradeNumbers = gradeNumbers;
+        this.subjectIds = subjectIds;
+        this.scores = scores;
+        this.epochDays = epochDays;
+        this.gradeCount = total;
+    }
+
+    public int size() { return students.length; }
+    public int getGradeCount() { return gradeCount; }
+    public Student getStudent(int index) { return students[index]; }
+    public int getGradeCount(int index) { return gradeCounts[index]; }
+
+    // Grade columns, valid for the first getGradeCount() entries
+    int[] getGradeNumbers() { return gradeNumbers; }
+    int[] getSubjectIds() { return subjectIds; }
+    double[] getScores() { return scores; }
+    int[] getEpochDays() { return epochDays; }
+}
@@ -1,13 +1,19 @@
 package org.example.models;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 public class StudentManager {
     private Student[] students;
     private int studentCount;
-    private static final int MAX_STUDENTS = 50;
+    private static final int INITIAL_CAPACITY = 50;
+    // Students by ID for O(1) lookup
+    private final Map<String, Student> studentsById = new HashMap<>();
     private GradeManager gradeManager;
 
     public StudentManager() {
-        students = new Student[MAX_STUDENTS];
+        students = new Student[INITIAL_CAPACITY];
         studentCount = 0;
         gradeManager = new GradeManager();
         initializeSampleData();
@@ -63,32 +69,29 @@ public class StudentManager {
     }
 
     private void syncGradesWithStudents() {
-        Grade[] allGrades = gradeManager.getGrades();
-        for (int i = 0; i < gradeManager.getGradeCount(); i++) {
-            if (allGrades[i] != null) {
-                Student student = findStudent(allGrades[i].getStudentId());
-                if (student != null) {
-                    student.addGrade(allGrades[i]);
-                }
+        for (Grade grade : gradeManager.getGrades()) {
+            Student student = findStudent(grade.getStudentId());
+            if (student != null) {
+                student.addGrade(grade);
             }
         }
     }
 
+    // O(1) amortized - the array doubles when full
     public void addStudent(Student student) {
-        if (studentCount < MAX_STUDENTS) {
-            students[studentCount++] = student;
+        if (studentCount == students.length) {
+            students = Arrays.copyOf(students, studentCount * 2);
         }
+        students[studentCount++] = student;
+        studentsById.putIfAbsent(student.getStudentId(), student);
     }
 
+    // O(1) hash lookup
     public Student findStudent(String studentId) {
-        for (int i = 0; i < studentCount; i++) {
-            if (students[i].getStudentId().equals(studentId)) {
-                return students[i];
-            }
-        }
-        return null;
+        return studentsById.get(studentId);
     }
 
+    // O(S + G) - grade counts are O(1) and each student's average walks only its own grades
     public void viewAllStudents() {
         System.out.println("\nSTUDENT LISTING");
         System.out.println("________________________________________________________________________________");
@@ -0,0 +1,55 @@
+package org.example.models;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Students added to or changed in an EnhancedStudentManager. A single change yields an
+ * event naming one student; a batch, such as a bulk import or a checkpoint load, yields
+ * one event naming every student it touched, each once.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public final class StudentMutationEvent {
+    private final List<Student> addedStudents;
+    private final List<Student> changedStudents;
+    private final int mutationCount;
+
+    /**
+     * Creates an event.
+     *
+     * @param addedStudents students new to the manager
+     * @param changedStudents existing students whose grades or status changed, excluding added ones
+     * @param mutationCount individual mutations covered: students added plus grade and status changes
+     */
+    public StudentMutationEvent(List<Student> addedStudents, List<Student> changedStudents, int mutationCount) {
+        this.addedStudents = Collections.unmodifiableList(addedStudents);
+        this.changedStudents = Collections.unmodifiableList(changedStudents);
+        this.mutationCount = mutationCount;
+    }
+
+    public List<Student> getAddedStudents() { return addedStudents; }
+    public List<Student> getChangedStudents() { return changedStudents; }
+    public int getMutationCount() { return mutationCount; }
+
+    // Whether the event summarizes more than one mutation
+    public boolean isBatch() { return mutationCount > 1; }
+
+    /**
+     * IDs of every student the event names, added ones first.
+     * Time Complexity: O(s) for s students.
+     */
+    public Set<String> getStudentIds() {
+        Set<String> ids = new LinkedHashSet<>();
+        for (Student student : addedStudents) {
+            ids.add(student.getStudentId());
+        }
+        for (Student student : changedStudents) {
+            ids.add(student.getStudentId());
+        }
+        return ids;
+    }
+}
@@ -8,6 +8,8 @@ public abstract class Subject implements Serializable {
     private static final long serialVersionUID = 1L;
     private String subjectName;
     private String subjectCode;
+    // Dense id from SubjectRegistry, -1 until this instance is registered
+    private transient int subjectId = -1;
 
     public Subject(String subjectName, String subjectCode) {
         ValidationUtils.validateCourseCode(subjectCode);
@@ -18,6 +20,15 @@ public abstract class Subject implements Serializable {
     // Getters
     public String getSubjectName() { return subjectName; }
     public String getSubjectCode() { return subjectCode; }
+    public int getSubjectId() { return subjectId; }
+
+    void setSubjectId(int subjectId) { this.subjectId = subjectId; }
+
+    // Deserialized subjects resolve to the registry's shared instance
+    protected Object readResolve() {
+        subjectId = -1;
+        return SubjectRegistry.getInstance().intern(this);
+    }
 
     // Abstract methods
     public abstract void displaySubjectDetails();
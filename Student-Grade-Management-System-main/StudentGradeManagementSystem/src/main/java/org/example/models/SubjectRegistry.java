@@ -0,0 +1,114 @@
+package org.example.models;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Flyweight registry of subjects.
+ * Each distinct (name, type) pair is created and validated once, shared by every grade
+ * that references it, and given a dense integer id so per-subject data can be held in
+ * arrays indexed by id instead of maps keyed by name.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public final class SubjectRegistry {
+    private static final SubjectRegistry INSTANCE = new SubjectRegistry();
+
+    // One map per subject type, keyed by subject name
+    private final Map<String, Subject> coreSubjects = new ConcurrentHashMap<>();
+    private final Map<String, Subject> electiveSubjects = new ConcurrentHashMap<>();
+    // Indexed by subject id; replaced on growth so readers never see a partly copied array
+    private volatile Subject[] subjectsById = new Subject[16];
+    private volatile int size;
+
+    private SubjectRegistry() {
+    }
+
+    public static SubjectRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the shared subject for a name and type, creating it on first use.
+     * The code generator only runs, and the code is only validated, when the subject is new.
+     * Time Complexity: O(1) average.
+     *
+     * @param subjectName the subject name
+     * @param subjectType "Core" or "Elective" (case-insensitive); anything else is elective
+     * @param codeGenerator derives the subject code from the name for a new subject
+     * @return the canonical subject
+     * @throws IllegalArgumentException if a new subject's generated code is invalid
+     */
+    public Subject intern(String subjectName, String subjectType, Function<String, String> codeGenerator) {
+        boolean core = "Core".equalsIgnoreCase(subjectType);
+        Subject subject = (core ? coreSubjects : electiveSubjects).get(subjectName);
+        if (subject != null) {
+            return subject;
+        }
+        String code = codeGenerator.apply(subjectName);
+        return register(core ? new CoreSubject(subjectName, code) : new ElectiveSubject(subjectName, code));
+    }
+
+    /**
+     * Returns the shared instance for a subject, registering it if its (name, type) is new.
+     * A later subject with the same name and type but a different code resolves to the
+     * first one registered.
+     * Time Complexity: O(1) average; O(1) for an already canonical subject.
+     *
+     * @param subject the subject to canonicalize
+     * @return the canonical subject
+     */
+    public Subject intern(Subject subject) {
+        if (subject.getSubjectId() >= 0) {
+            return subject;
+        }
+        Subject existing = mapFor(subject).get(subject.getSubjectName());
+        return existing != null ? existing : register(subject);
+    }
+
+    private synchronized Subject register(Subject subject) {
+        Map<String, Subject> subjects = mapFor(subject);
+        Subject existing = subjects.get(subject.getSubjectName());
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = size;
+        Subject[] byId = subjectsById;
+        if (id == byId.length) {
+            byId = Arrays.copyOf(byId, id * 2);
+        }
+        byId[id] = subject;
+        subject.setSubjectId(id);
+        subjectsById = byId;
+        size = id + 1;
+        subjects.put(subject.getSubjectName(), subject);
+        return subject;
+    }
+
+    private Map<String, Subject> mapFor(Subject subject) {
+        return subject instanceof CoreSubject ? coreSubjects : electiveSubjects;
+    }
+
+    /**
+     * Looks up a subject by its id.
+     *
+     * @param subjectId id assigned at registration
+     * @return the subject
+     * @throws IndexOutOfBoundsException if no subject has this id
+     */
+    public Subject get(int subjectId) {
+        if (subjectId < 0 || subjectId >= size) {
+            throw new IndexOutOfBoundsException("Unknown subject id: " + subjectId);
+        }
+        return subjectsById[subjectId];
+    }
+
+    // Number of registered subjects; ids run from 0 to size() - 1
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.persistence;
+
+import org.example.models.Student;
+import org.example.models.StudentBatch;
+import org.example.service.EnhancedStudentManager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Incremental backups: a full base every few backups and, in between, deltas holding only
+ * the students added or changed since the previous backup, each with all of its grades.
+ * Backups are {@link RecordWriter} files of Student records named by sequence number,
+ * block-compressed if a codec is set.
+ *
+ * A base and the deltas after it form a chain. The newest {@value #RETAINED_BASES} chains
+ * are kept. Once a chain has more than {@link #setCompactAfter(int) compactAfter} deltas they
+ * are merged into one, keeping each student's newest copy. A restore loads the newest base
+ * and lets each student's newest copy in the deltas replace it.
+ *
+ * The first backup a manager instance takes is always a base, because changes made before
+ * it, e.g. in a previous run, are not tracked.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class BackupManager {
+    public static final String DEFAULT_DIRECTORY = "./data/backups";
+    private static final String PREFIX = "backup-";
+    private static final String FULL_SUFFIX = "-full.dat";
+    private static final String DELTA_SUFFIX = "-delta.dat";
+    private static final int RETAINED_BASES = 2;
+    private static final int RESTORE_BATCH = 16_384;
+
+    private final Path directory;
+    private int fullEvery = 7;
+    private int compactAfter = 3;
+    // Null writes uncompressed backups; restores read either kind
+    private BlockCodec codec;
+    // The manager the current chain's base was taken from
+    private EnhancedStudentManager baseOf;
+
+    public BackupManager(Path directory) {
+        this.directory = directory;
+    }
+
+    /** What a backup wrote. */
+    public static final class Backup {
+        private final Path path;
+        private final boolean full;
+        private final int studentCount;
+        private final long sizeInBytes;
+        private final long millis;
+
+        Backup(Path path, boolean full, int studentCount, long sizeInBytes, long millis) {
+            this.path = path;
+            this.full = full;
+            this.studentCount = studentCount;
+            this.sizeInBytes = sizeInBytes;
+            this.millis = millis;
+        }
+
+        public Path getPath() { return path; }
+        public boolean isFull() { return full; }
+        public int getStudentCount() { return studentCount; }
+        public long getSizeInBytes() { return sizeInBytes; }
+        public long getMillis() { return millis; }
+    }
+
+    // Backups per chain, the base included; e.g. 7 with daily backups takes a weekly base
+    public synchronized void setFullEvery(int fullEvery) {
+        if (fullEvery < 1) {
+            throw new IllegalArgumentException("fullEvery must be at least 1");
+        }
+        this.fullEvery = fullEvery;
+    }
+
+    // Deltas a chain may hold before they are merged into one
+    public synchronized void setCompactAfter(int compactAfter) {
+        if (compactAfter < 1) {
+            throw new IllegalArgumentException("compactAfter must be at least 1");
+        }
+        this.compactAfter = compactAfter;
+    }
+
+    /**
+     * Writes a base or a delta, whichever is due, then prunes or compacts old files.
+     * Changed students are taken from {@link EnhancedStudentManager#drainDirtyStudents()};
+     * if the backup fails they are marked again so the next one still includes them.
+     * Time Complexity: O(n + g) for a base, O(d + g_d) for d changed students and their grades.
+     *
+     * @param manager the manager to back up
+     * @return the written backup
+     * @throws IOException if the backup cannot be written
+     */
+    public synchronized Backup backup(EnhancedStudentManager manager) throws IOException {
+        long start = System.nanoTime();
+        List<Path> chain = chain(list());
+        long next = chain.isEmpty() ? 1 : sequenceOf(chain.get(chain.size() - 1)) + 1;
+        boolean full = baseOf != manager || chain.isEmpty() || next - sequenceOf(chain.get(0)) >= fullEvery;
+        Path path = directory.resolve(fileName(next, full));
+
+        // Drained before any student is read, see drainDirtyStudents
+        int[] dirty = manager.drainDirtyStudents();
+        int written;
+        long size;
+        try {
+            Collection<Student> students = full ? manager.snapshot().getStudents() : changed(manager, dirty);
+            size = write(path, students);
+            written = students.size();
+        } catch (IOException | RuntimeException e) {
+            manager.markDirty(dirty);
+            throw e;
+        }
+
+        if (full) {
+            baseOf = manager;
+            prune();
+        } else if (chain.size() > compactAfter) {
+            // The chain's deltas, the one just written included, exceed compactAfter
+            List<Path> deltas = new ArrayList<>(chain.subList(1, chain.size()));
+            deltas.add(path);
+            size = compact(deltas);
+        }
+        return new Backup(path, full, written, size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Restores the newest base and the deltas after it into a manager with
+     * {@link EnhancedStudentManager#bulkLoad(List)}. Deltas are read newest first, so each
+     * student is taken from the newest file that holds it and older copies are skipped.
+     * Time Complexity: O(n + g) + O(n log n) to build the indexes.
+     *
+     * @param manager a manager holding none of the backed-up students
+     * @return the number of students restored, or 0 if there is no backup
+     * @throws IOException if a file of the chain cannot be read or fails a checksum
+     */
+    public synchronized int restore(EnhancedStudentManager manager) throws IOException {
+        List<Path> chain = chain(list());
+        if (chain.isEmpty()) return 0;
+        // Each delta holds a student at most once, so the first copy seen is the newest
+        Set<Integer> seen = new HashSet<>();
+        List<StudentBatch> batches = new ArrayList<>();
+        for (int i = chain.size() - 1; i > 0; i--) {
+            read(chain.get(i), seen::add, batches);
+        }
+        read(chain.get(0), number -> !seen.contains(number), batches);
+        manager.bulkLoad(batches);
+        int restored = 0;
+        for (StudentBatch batch : batches) {
+            restored += batch.size();
+        }
+        return restored;
+    }
+
+    public synchronized void setCodec(BlockCodec codec) {
+        this.codec = codec;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static void read(Path path, IntPredicate include, List<StudentBatch> batches) throws IOException {
+        try (RecordReader reader = new RecordReader(path)) {
+            for (StudentBatch batch = reader.readBatch(RESTORE_BATCH, include); batch != null;
+                 batch = reader.readBatch(RESTORE_BATCH, include)) {
+                batches.add(batch);
+            }
+        }
+    }
+
+    // The changed students, skipping any no longer registered
+    private static List<Student> changed(EnhancedStudentManager manager, int[] numbers) {
+        List<Student> students = new ArrayList<>(numbers.length);
+        for (Student student : manager.findAll(numbers)) {
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    // Written to a temporary file and moved into place once complete
+    private long write(Path path, Collection<Student> students) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (RecordWriter writer = new RecordWriter(temp, codec)) {
+            for (Student student : students) {
+                writer.write(student);
+            }
+        }
+        // Forced once complete, so a compressed file's index is on disk too
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            file.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(path);
+    }
+
+    /*
+     * Merges deltas into the newest one. The merged file replaces the newest delta before the
+     * older ones are deleted, so a crash in between leaves files that still restore correctly.
+     */
+    private long compact(List<Path> deltas) throws IOException {
+        Map<Integer, Student> newest = new TreeMap<>();
+        for (Path delta : deltas) {
+            try (RecordReader reader = new RecordReader(delta)) {
+                for (Student student : reader.readAll(Student.class)) {
+                    newest.put(student.getStudentNumber(), student);
+                }
+            }
+        }
+        long size = write(deltas.get(deltas.size() - 1), newest.values());
+        for (int i = 0; i < deltas.size() - 1; i++) {
+            Files.deleteIfExists(deltas.get(i));
+        }
+        return size;
+    }
+
+    // Deletes chains older than the newest RETAINED_BASES
+    private void prune() throws IOException {
+        List<Path> paths = list();
+        int bases = 0;
+        for (int i = paths.size() - 1; i >= 0; i--) {
+            if (bases >= RETAINED_BASES) {
+                Files.deleteIfExists(paths.get(i));
+            } else if (isFull(paths.get(i))) {
+                bases++;
+            }
+        }
+    }
+
+    // The newest base and the deltas after it, oldest first
+    private static List<Path> chain(List<Path> paths) {
+        for (int i = paths.size() - 1; i >= 0; i--) {
+            if (isFull(paths.get(i))) {
+                return new ArrayList<>(paths.subList(i, paths.size()));
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    // Backup files, oldest first
+    List<Path> list() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return paths;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*.dat")) {
+            for (Path path : stream) {
+                if (sequenceOf(path) >= 0) {
+                    paths.add(path);
+                }
+            }
+        }
+        paths.sort(Comparator.comparingLong(BackupManager::sequenceOf));
+        return paths;
+    }
+
+    // Zero-padded so names also sort by sequence
+    private static String fileName(long sequence, boolean full) {
+        return String.format("%s%010d%s", PREFIX, sequence, full ? FULL_SUFFIX : DELTA_SUFFIX);
+    }
+
+    private static boolean isFull(Path path) {
+        return path.getFileName().toString().endsWith(FULL_SUFFIX);
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        String suffix = name.endsWith(FULL_SUFFIX) ? FULL_SUFFIX : name.endsWith(DELTA_SUFFIX) ? DELTA_SUFFIX : null;
+        if (suffix == null) return -1;
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.persistence;
+
+import java.io.IOException;
+
+/**
+ * Compresses the independent blocks of a {@link BlockCompressedOutputStream}. The codec's id is
+ * stored in the file header and resolved with {@link BlockCodecs#forId(int)} when reading, so a
+ * new codec must be registered there before files written with it can be read.
+ *
+ * Implementations are called from several threads at once and must be thread-safe.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public interface BlockCodec {
+
+    // Stored in file headers; 0 to 15 are reserved for the built-in codecs
+    int getId();
+
+    String getName();
+
+    /**
+     * Compresses a block.
+     *
+     * @param source the block's bytes
+     * @param length the number of bytes in the block
+     * @return the compressed bytes, an array exactly as long as the output
+     */
+    byte[] compress(byte[] source, int length);
+
+    /**
+     * Restores a block compressed by {@link #compress(byte[], int)}.
+     *
+     * @param source the compressed bytes
+     * @param length the number of compressed bytes
+     * @param target receives the block
+     * @param targetLength the block's original length
+     * @throws IOException if the data is corrupt or does not restore to targetLength bytes
+     */
+    void decompress(byte[] source, int length, byte[] target, int targetLength) throws IOException;
+}
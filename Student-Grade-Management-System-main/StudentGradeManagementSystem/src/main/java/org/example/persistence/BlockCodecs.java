@@ -0,0 +1,65 @@
+package org.example.persistence;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * The codecs known to readers of block-compressed files, by id.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public final class BlockCodecs {
+    // Blocks copied as they are, e.g. for data that is already compressed
+    public static final BlockCodec STORED = new BlockCodec() {
+        @Override
+        public int getId() { return 0; }
+
+        @Override
+        public String getName() { return "stored"; }
+
+        @Override
+        public byte[] compress(byte[] source, int length) {
+            return Arrays.copyOf(source, length);
+        }
+
+        @Override
+        public void decompress(byte[] source, int length, byte[] target, int targetLength) throws IOException {
+            if (length != targetLength) {
+                throw new IOException("Stored block is " + length + " bytes, expected " + targetLength);
+            }
+            System.arraycopy(source, 0, target, 0, length);
+        }
+    };
+    // Fastest zlib level; backups and logs compress about 3-6x with it
+    public static final BlockCodec DEFLATE = new DeflateCodec(Deflater.BEST_SPEED);
+
+    private static final Map<Integer, BlockCodec> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(STORED);
+        register(DEFLATE);
+    }
+
+    private BlockCodecs() {
+    }
+
+    // The level only matters when writing, so every Deflate level reads with the same codec
+    public static void register(BlockCodec codec) {
+        BlockCodec existing = CODECS.putIfAbsent(codec.getId(), codec);
+        if (existing != null && existing != codec && existing.getClass() != codec.getClass()) {
+            throw new IllegalArgumentException("Codec id " + codec.getId() + " is already used by " + existing.getName());
+        }
+    }
+
+    public static BlockCodec forId(int id) throws IOException {
+        BlockCodec codec = CODECS.get(id);
+        if (codec == null) {
+            throw new IOException("Unknown block codec id " + id);
+        }
+        return codec;
+    }
+}
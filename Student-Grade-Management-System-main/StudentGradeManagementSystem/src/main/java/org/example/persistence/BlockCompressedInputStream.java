@@ -0,0 +1,210 @@
+package org.example.persistence;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a file written by {@link BlockCompressedOutputStream}. The block index is read
+ * first, then up to readAhead blocks are read and decompressed in parallel ahead of the
+ * caller, each checked against its CRC32 before its bytes are returned.
+ *
+ * Not thread-safe.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class BlockCompressedInputStream extends InputStream {
+    private final FileChannel in;
+    private final Path path;
+    private final BlockCodec codec;
+    private final Executor executor;
+    private final int readAhead;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] lengths;
+    private final int[] crcs;
+    private final ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+    private int nextToSubmit;
+    private byte[] block = new byte[0];
+    private int blockPosition;
+
+    /**
+     * Opens a compressed file, decompressing on the common pool two blocks ahead per core.
+     *
+     * @param path the file to read
+     * @throws IOException if the file cannot be read, is incomplete or uses an unknown codec
+     */
+    public BlockCompressedInputStream(Path path) throws IOException {
+        this(path, ForkJoinPool.commonPool(), 2 * ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Opens a compressed file.
+     *
+     * @param path the file to read
+     * @param executor runs the read and decompression of each block
+     * @param readAhead the most blocks decompressed ahead of the caller
+     * @throws IOException if the file cannot be read, is incomplete or uses an unknown codec
+     */
+    public BlockCompressedInputStream(Path path, Executor executor, int readAhead) throws IOException {
+        if (readAhead < 1) {
+            throw new IllegalArgumentException("readAhead must be positive");
+        }
+        this.path = path;
+        this.executor = executor;
+        this.readAhead = readAhead;
+        this.in = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = in.size();
+            if (size < BlockCompressedOutputStream.HEADER_SIZE + BlockCompressedOutputStream.FOOTER_SIZE) {
+                throw new IOException("Not a compressed file: " + path);
+            }
+            ByteBuffer header = ByteBuffer.allocate(BlockCompressedOutputStream.HEADER_SIZE);
+            BufferIO.readFully(in, header, 0);
+            header.flip();
+            if (header.getInt() != BlockCompressedOutputStream.MAGIC) {
+                throw new IOException("Not a compressed file: " + path);
+            }
+            int version = header.getInt();
+            if (version != BlockCompressedOutputStream.VERSION) {
+                throw new IOException("Unsupported compressed file version " + version + ": " + path);
+            }
+            this.codec = BlockCodecs.forId(header.getInt());
+
+            ByteBuffer footer = ByteBuffer.allocate(BlockCompressedOutputStream.FOOTER_SIZE);
+            BufferIO.readFully(in, footer, size - BlockCompressedOutputStream.FOOTER_SIZE);
+            footer.flip();
+            long indexOffset = footer.getLong();
+            int blockCount = footer.getInt();
+            int indexCrc = footer.getInt();
+            long indexLength = (long) blockCount * BlockCompressedOutputStream.INDEX_ENTRY_SIZE;
+            if (footer.getInt() != BlockCompressedOutputStream.MAGIC || blockCount < 0
+                    || indexOffset < BlockCompressedOutputStream.HEADER_SIZE
+                    || indexOffset + indexLength != size - BlockCompressedOutputStream.FOOTER_SIZE) {
+                throw new IOException("Compressed file is incomplete: " + path);
+            }
+            ByteBuffer index = ByteBuffer.allocate((int) indexLength);
+            BufferIO.readFully(in, index, indexOffset);
+            CRC32 checksum = new CRC32();
+            checksum.update(index.array(), 0, index.capacity());
+            if ((int) checksum.getValue() != indexCrc) {
+                throw new IOException("Compressed file index is corrupt: " + path);
+            }
+            index.flip();
+            offsets = new long[blockCount];
+            compressedLengths = new int[blockCount];
+            lengths = new int[blockCount];
+            crcs = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                offsets[i] = index.getLong();
+                compressedLengths[i] = index.getInt();
+                lengths[i] = index.getInt();
+                crcs[i] = index.getInt();
+            }
+        } catch (EOFException e) {
+            in.close();
+            throw new IOException("Compressed file is incomplete: " + path);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    // Whether a file starts like a block-compressed file
+    static boolean isCompressed(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(4);
+        return channel.read(magic, 0) == 4 && magic.getInt(0) == BlockCompressedOutputStream.MAGIC;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (blockPosition == block.length && !nextBlock()) {
+            return -1;
+        }
+        return block[blockPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        if (blockPosition == block.length && !nextBlock()) {
+            return -1;
+        }
+        int chunk = Math.min(length, block.length - blockPosition);
+        System.arraycopy(block, blockPosition, target, offset, chunk);
+        blockPosition += chunk;
+        return chunk;
+    }
+
+    @Override
+    public int available() {
+        return block.length - blockPosition;
+    }
+
+    public int getBlockCount() { return offsets.length; }
+    public BlockCodec getCodec() { return codec; }
+
+    @Override
+    public void close() throws IOException {
+        // Pending blocks finish on their own; their positional reads fail quietly once closed
+        pending.clear();
+        in.close();
+    }
+
+    private boolean nextBlock() throws IOException {
+        while (nextToSubmit < offsets.length && pending.size() < readAhead) {
+            int i = nextToSubmit++;
+            pending.add(CompletableFuture.supplyAsync(() -> decompress(i), executor));
+        }
+        CompletableFuture<byte[]> next = pending.poll();
+        if (next == null) {
+            return false;
+        }
+        try {
+            block = next.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+        blockPosition = 0;
+        return true;
+    }
+
+    private byte[] decompress(int i) {
+        try {
+            ByteBuffer frame = ByteBuffer.allocate(BlockCompressedOutputStream.FRAME_HEADER_SIZE);
+            BufferIO.readFully(in, frame, offsets[i]);
+            frame.flip();
+            if (frame.getInt() != compressedLengths[i] || frame.getInt() != lengths[i] || frame.getInt() != crcs[i]) {
+                throw new IOException("Compressed block " + i + " does not match the index: " + path);
+            }
+            byte[] stored = new byte[compressedLengths[i]];
+            BufferIO.readFully(in, ByteBuffer.wrap(stored), offsets[i] + BlockCompressedOutputStream.FRAME_HEADER_SIZE);
+            byte[] data = stored;
+            if (compressedLengths[i] != lengths[i]) {
+                data = new byte[lengths[i]];
+                codec.decompress(stored, stored.length, data, lengths[i]);
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(data, 0, data.length);
+            if ((int) checksum.getValue() != crcs[i]) {
+                throw new IOException("Compressed block " + i + " is corrupt: " + path);
+            }
+            return data;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.example.persistence;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a byte stream as independently compressed blocks, compressing several blocks at
+ * once on an executor while the caller keeps writing. Read it back with
+ * {@link BlockCompressedInputStream}, which uses the index to decompress in parallel too.
+ *
+ * Layout:
+ *   header  [magic][version][codec id][block size]
+ *   blocks  [compressed length][length][CRC32 of the uncompressed bytes][compressed bytes]
+ *   index   [per block: offset, compressed length, length, CRC32]
+ *   footer  [index offset][block count][index CRC32][magic]
+ *
+ * Blocks are written in stream order. At most maxInFlight blocks are queued or being
+ * compressed; once that many are pending, write() waits for the oldest and writes it, which
+ * bounds memory to about maxInFlight blocks whatever the executor's queue does. A block that
+ * does not get smaller is stored as it is.
+ *
+ * Not thread-safe.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class BlockCompressedOutputStream extends OutputStream {
+    static final int MAGIC = 0x53474D5A;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int FRAME_HEADER_SIZE = 12;
+    static final int INDEX_ENTRY_SIZE = 20;
+    static final int FOOTER_SIZE = 20;
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+
+    private final FileChannel out;
+    private final BlockCodec codec;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final int blockSize;
+    private final ArrayDeque<CompletableFuture<Frame>> inFlight = new ArrayDeque<>();
+    private final ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+    private ByteBuffer index = ByteBuffer.allocate(64 * INDEX_ENTRY_SIZE);
+    private byte[] buffer;
+    private int size;
+    private long position = HEADER_SIZE;
+    private int blockCount;
+    private long bytesIn;
+    private boolean closed;
+
+    // One compressed block ready to be written
+    private static final class Frame {
+        final byte[] data;
+        final int length;
+        final int crc;
+
+        Frame(byte[] data, int length, int crc) {
+            this.data = data;
+            this.length = length;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * Creates or replaces a file compressed on the common pool, with two blocks in flight per
+     * core.
+     *
+     * @param path the file to write
+     * @param codec the block codec
+     * @throws IOException if the file cannot be opened
+     */
+    public BlockCompressedOutputStream(Path path, BlockCodec codec) throws IOException {
+        this(path, codec, ForkJoinPool.commonPool(), 2 * ForkJoinPool.getCommonPoolParallelism(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates or replaces a compressed file.
+     *
+     * @param path the file to write
+     * @param codec the block codec
+     * @param executor runs the compression of each block
+     * @param maxInFlight the most blocks compressing or waiting to be written at once
+     * @param blockSize uncompressed bytes per block
+     * @throws IOException if the file cannot be opened
+     */
+    public BlockCompressedOutputStream(Path path, BlockCodec codec, Executor executor, int maxInFlight,
+                                       int blockSize) throws IOException {
+        if (maxInFlight < 1 || blockSize < 1) {
+            throw new IllegalArgumentException("maxInFlight and blockSize must be positive");
+        }
+        this.codec = codec;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.blockSize = blockSize;
+        this.buffer = new byte[blockSize];
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(codec.getId()).putInt(blockSize).flip();
+        BufferIO.writeFully(out, header);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (size == buffer.length) {
+            submit();
+        }
+        buffer[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (size == buffer.length) {
+                submit();
+            }
+            int chunk = Math.min(length, buffer.length - size);
+            System.arraycopy(bytes, offset, buffer, size, chunk);
+            size += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Writes the last block, the index and the footer, and closes the file.
+     *
+     * @throws IOException if a block cannot be compressed or written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            submit();
+            while (!inFlight.isEmpty()) {
+                writeOldest();
+            }
+            index.flip();
+            CRC32 checksum = new CRC32();
+            checksum.update(index.array(), 0, index.limit());
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            footer.putLong(position).putInt(blockCount).putInt((int) checksum.getValue()).putInt(MAGIC).flip();
+            BufferIO.writeFully(out, index);
+            BufferIO.writeFully(out, footer);
+        } finally {
+            out.close();
+        }
+    }
+
+    public BlockCodec getCodec() { return codec; }
+    // Uncompressed bytes written so far
+    public long getBytesIn() { return bytesIn + size; }
+    // File bytes written so far; the full size once closed
+    public long getBytesOut() { return position + (closed ? index.limit() + FOOTER_SIZE : 0); }
+
+    // Hands the current block to the executor, writing the oldest first if too many are pending
+    private void submit() throws IOException {
+        if (size == 0) return;
+        while (inFlight.size() >= maxInFlight) {
+            writeOldest();
+        }
+        byte[] block = buffer;
+        int length = size;
+        inFlight.add(CompletableFuture.supplyAsync(() -> compress(block, length), executor));
+        bytesIn += length;
+        buffer = new byte[blockSize];
+        size = 0;
+    }
+
+    private Frame compress(byte[] block, int length) {
+        CRC32 checksum = new CRC32();
+        checksum.update(block, 0, length);
+        byte[] compressed = codec.compress(block, length);
+        // Stored blocks are recognized by a compressed length equal to the length
+        return new Frame(compressed.length < length ? compressed : Arrays.copyOf(block, length),
+                length, (int) checksum.getValue());
+    }
+
+    private void writeOldest() throws IOException {
+        Frame frame;
+        try {
+            frame = inFlight.poll().join();
+        } catch (CompletionException e) {
+            throw new IOException("Could not compress block " + blockCount + ": " + e.getCause(), e.getCause());
+        }
+        frameHeader.clear();
+        frameHeader.putInt(frame.data.length).putInt(frame.length).putInt(frame.crc).flip();
+        BufferIO.writeFully(out, frameHeader);
+        BufferIO.writeFully(out, ByteBuffer.wrap(frame.data));
+
+        if (index.remaining() < INDEX_ENTRY_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(index.capacity() * 2);
+            index.flip();
+            index = grown.put(index);
+        }
+        index.putLong(position).putInt(frame.data.length).putInt(frame.length).putInt(frame.crc);
+        position += FRAME_HEADER_SIZE + frame.data.length;
+        blockCount++;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.persistence;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers shared by the binary file formats in this package. Strings are written as an
+ * unsigned 16-bit byte length followed by UTF-8 bytes.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+final class BufferIO {
+    // Bytes a string adds on top of its UTF-8 bytes
+    static final int STRING_OVERHEAD = 2;
+
+    private BufferIO() {
+    }
+
+    static byte[] utf8(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long to store: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    // Positional read until the buffer is full; safe to call from several threads on one channel
+    static void readFully(FileChannel in, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (in.read(target, position + target.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    static void writeFully(FileChannel out, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            out.write(source);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package org.example.persistence;
+
+import org.example.models.*;
+import org.example.service.EnhancedStudentManager;
+import org.example.service.PopulationSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Full binary image of a manager's students and grades, taken at a write-ahead log position.
+ *
+ * Layout:
+ *   header    [magic][version][LSN][created millis]
+ *   chunks    up to 16,384 students each, followed by their grades as columns
+ *   directory [subjects][per chunk: offset, length, student count, grade count, CRC32]
+ *   footer    [directory offset][directory CRC32][magic]
+ *
+ * Grade columns hold grade numbers, subject ids, scores in hundredths and epoch days, about
+ * 12 bytes per grade; a score that is not a whole number of hundredths is kept as a double
+ * after the columns. Chunks are independent, so they are encoded and decoded in parallel.
+ * A checkpoint is written to a temporary file and moved into place once complete.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public final class Checkpoint {
+    private static final int MAGIC = 0x53474D43;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int FOOTER_SIZE = 16;
+    static final int STUDENTS_PER_CHUNK = 16_384;
+    // Fixed bytes per student: number, type, age, grade count and four string lengths
+    private static final int STUDENT_FIXED_BYTES = 4 + 1 + 4 + 4 + 4 * BufferIO.STRING_OVERHEAD;
+    // Grade number, subject id, hundredths, epoch day
+    private static final int GRADE_BYTES = 4 + 2 + 2 + 4;
+    private static final short EXACT_SCORE = -1;
+
+    private static final byte REGULAR = 0;
+    private static final byte HONORS = 1;
+    private static final byte CORE = 0;
+    private static final byte ELECTIVE = 1;
+
+    private final Path path;
+    private final long lsn;
+    private final long createdMillis;
+    private final int studentCount;
+    private final int gradeCount;
+    private final long sizeInBytes;
+
+    private Checkpoint(Path path, long lsn, long createdMillis, int studentCount, int gradeCount, long sizeInBytes) {
+        this.path = path;
+        this.lsn = lsn;
+        this.createdMillis = createdMillis;
+        this.studentCount = studentCount;
+        this.gradeCount = gradeCount;
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    public Path getPath() { return path; }
+    // Every log record up to this LSN is reflected in the checkpoint
+    public long getLsn() { return lsn; }
+    public long getCreatedMillis() { return createdMillis; }
+    public int getStudentCount() { return studentCount; }
+    public int getGradeCount() { return gradeCount; }
+    public long getSizeInBytes() { return sizeInBytes; }
+
+    // One encoded chunk and its directory entry
+    private static final class Chunk {
+        final ByteBuffer data;
+        final int students;
+        final int grades;
+        final int crc;
+
+        Chunk(ByteBuffer data, int students, int grades) {
+            this.data = data;
+            this.students = students;
+            this.grades = grades;
+            CRC32 checksum = new CRC32();
+            checksum.update(data.array(), 0, data.limit());
+            this.crc = (int) checksum.getValue();
+        }
+    }
+
+    /**
+     * Writes a checkpoint of everything in a manager. The population is read through a
+     * {@link PopulationSnapshot}, so writers are not blocked; changes made while the
+     * checkpoint is written may or may not be included and are recovered from the log.
+     * Time Complexity: O(n + g) for n students and g grades, spread across cores.
+     *
+     * @param path the checkpoint file, replaced if it exists
+     * @param manager the manager to capture
+     * @param lsn the last log record already applied to the manager when capture starts
+     * @return the written checkpoint
+     * @throws IOException if the file cannot be written
+     */
+    public static Checkpoint write(Path path, EnhancedStudentManager manager, long lsn) throws IOException {
+        PopulationSnapshot snapshot = manager.snapshot();
+        List<Student> students = snapshot.getStudents();
+        GradeColumnStore.Snapshot grades = snapshot.getGrades();
+        // Read after the snapshot, so it covers every subject the snapshot's rows refer to
+        SubjectRegistry registry = SubjectRegistry.getInstance();
+        int subjectCount = registry.size();
+        if (subjectCount > 0xFFFF) {
+            throw new IOException("Too many subjects for a checkpoint: " + subjectCount);
+        }
+        int chunkCount = (students.size() + STUDENTS_PER_CHUNK - 1) / STUDENTS_PER_CHUNK;
+        long created = System.currentTimeMillis();
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int gradeTotal = 0;
+        long size;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(lsn).putLong(created).flip();
+            BufferIO.writeFully(out, header);
+
+            // Encode a few chunks per core at a time, then write them in order
+            ByteBuffer directory = ByteBuffer.allocate(directorySize(registry, subjectCount, chunkCount));
+            putSubjects(directory, registry, subjectCount);
+            directory.putInt(chunkCount);
+            long position = HEADER_SIZE;
+            int wave = 2 * Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+            for (int start = 0; start < chunkCount; start += wave) {
+                List<Chunk> encoded = IntStream.range(start, Math.min(start + wave, chunkCount)).parallel()
+                        .mapToObj(c -> encodeChunk(students, grades, c))
+                        .collect(Collectors.toList());
+                for (Chunk chunk : encoded) {
+                    directory.putLong(position).putInt(chunk.data.limit())
+                            .putInt(chunk.students).putInt(chunk.grades).putInt(chunk.crc);
+                    position += chunk.data.limit();
+                    gradeTotal += chunk.grades;
+                    BufferIO.writeFully(out, chunk.data);
+                }
+            }
+
+            directory.flip();
+            CRC32 checksum = new CRC32();
+            checksum.update(directory.array(), 0, directory.limit());
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            footer.putLong(position).putInt((int) checksum.getValue()).putInt(MAGIC).flip();
+            BufferIO.writeFully(out, directory);
+            BufferIO.writeFully(out, footer);
+            out.force(true);
+            size = out.size();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Checkpoint(path, lsn, created, students.size(), gradeTotal, size);
+    }
+
+    /**
+     * Loads a checkpoint into a manager with {@link EnhancedStudentManager#bulkLoad(List)}.
+     * Every chunk is read and checked in parallel before anything is added, so a damaged
+     * checkpoint leaves the manager untouched.
+     * Time Complexity: O(n + g), spread across cores, + O(n log n) to build the indexes.
+     *
+     * @param path the checkpoint file
+     * @param manager a manager holding none of the checkpoint's students
+     * @return the loaded checkpoint
+     * @throws IOException if the file cannot be read or fails a checksum
+     */
+    public static Checkpoint load(Path path, EnhancedStudentManager manager) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size < HEADER_SIZE + FOOTER_SIZE) {
+                throw new IOException("Not a checkpoint: " + path);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            BufferIO.readFully(in, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a checkpoint: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version + ": " + path);
+            }
+            long lsn = header.getLong();
+            long created = header.getLong();
+
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            BufferIO.readFully(in, footer, size - FOOTER_SIZE);
+            footer.flip();
+            long directoryOffset = footer.getLong();
+            int directoryCrc = footer.getInt();
+            if (footer.getInt() != MAGIC || directoryOffset < HEADER_SIZE || directoryOffset > size - FOOTER_SIZE) {
+                throw new IOException("Checkpoint is incomplete: " + path);
+            }
+            ByteBuffer directory = ByteBuffer.allocate((int) (size - FOOTER_SIZE - directoryOffset));
+            BufferIO.readFully(in, directory, directoryOffset);
+            CRC32 checksum = new CRC32();
+            checksum.update(directory.array(), 0, directory.capacity());
+            if ((int) checksum.getValue() != directoryCrc) {
+                throw new IOException("Checkpoint directory is corrupt: " + path);
+            }
+            directory.flip();
+
+            int[] subjectIds = getSubjects(directory);
+            int chunkCount = directory.getInt();
+            long[] offsets = new long[chunkCount];
+            int[] lengths = new int[chunkCount];
+            int[] studentCounts = new int[chunkCount];
+            int[] gradeCounts = new int[chunkCount];
+            int[] crcs = new int[chunkCount];
+            int students = 0;
+            int grades = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                offsets[c] = directory.getLong();
+                lengths[c] = directory.getInt();
+                studentCounts[c] = directory.getInt();
+                gradeCounts[c] = directory.getInt();
+                crcs[c] = directory.getInt();
+                students += studentCounts[c];
+                grades += gradeCounts[c];
+            }
+
+            List<StudentBatch> batches;
+            try {
+                batches = IntStream.range(0, chunkCount).parallel()
+                        .mapToObj(c -> decodeChunk(in, offsets[c], lengths[c], crcs[c], studentCounts[c],
+                                gradeCounts[c], subjectIds, path))
+                        .collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            manager.bulkLoad(batches);
+            return new Checkpoint(path, lsn, created, students, grades, size);
+        }
+    }
+
+    private static Chunk encodeChunk(List<Student> students, GradeColumnStore.Snapshot grades, int chunk) {
+        int from = chunk * STUDENTS_PER_CHUNK;
+        int count = Math.min(STUDENTS_PER_CHUNK, students.size() - from);
+        byte[][] strings = new byte[count * 4][];
+        int[] gradeCounts = new int[count];
+        int bytes = 4 + count * STUDENT_FIXED_BYTES;
+        int gradeTotal = 0;
+        int exact = 0;
+        for (int i = 0; i < count; i++) {
+            Student student = students.get(from + i);
+            strings[4 * i] = BufferIO.utf8(student.getName());
+            strings[4 * i + 1] = BufferIO.utf8(student.getEmail());
+            strings[4 * i + 2] = BufferIO.utf8(student.getPhone());
+            strings[4 * i + 3] = BufferIO.utf8(student.getStatus());
+            for (int s = 0; s < 4; s++) {
+                bytes += strings[4 * i + s].length;
+            }
+            for (int row = grades.getFirstRow(student); row >= 0; row = grades.getNextRow(row)) {
+                gradeCounts[i]++;
+                if (hundredths(grades.getScore(row)) == EXACT_SCORE) exact++;
+            }
+            gradeTotal += gradeCounts[i];
+        }
+
+        ByteBuffer data = ByteBuffer.allocate(bytes + gradeTotal * GRADE_BYTES + 4 + exact * 8);
+        data.putInt(count);
+        for (int i = 0; i < count; i++) {
+            Student student = students.get(from + i);
+            data.putInt(student.getStudentNumber());
+            data.put(student instanceof HonorsStudent ? HONORS : REGULAR);
+            data.putInt(student.getAge());
+            for (int s = 0; s < 4; s++) {
+                BufferIO.putString(data, strings[4 * i + s]);
+            }
+            data.putInt(gradeCounts[i]);
+        }
+
+        // Columns are filled by absolute position in one walk over the rows
+        int numbersAt = data.position();
+        int subjectsAt = numbersAt + 4 * gradeTotal;
+        int hundredthsAt = subjectsAt + 2 * gradeTotal;
+        int daysAt = hundredthsAt + 2 * gradeTotal;
+        int exactAt = daysAt + 4 * gradeTotal;
+        data.putInt(exactAt, exact);
+        int exactPosition = exactAt + 4;
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            for (int row = grades.getFirstRow(students.get(from + i)); row >= 0; row = grades.getNextRow(row), j++) {
+                double score = grades.getScore(row);
+                short hundredths = hundredths(score);
+                data.putInt(numbersAt + 4 * j, grades.getGradeNumber(row));
+                data.putChar(subjectsAt + 2 * j, (char) grades.getSubjectId(row));
+                data.putShort(hundredthsAt + 2 * j, hundredths);
+                data.putInt(daysAt + 4 * j, grades.getEpochDay(row));
+                if (hundredths == EXACT_SCORE) {
+                    data.putDouble(exactPosition, score);
+                    exactPosition += 8;
+                }
+            }
+        }
+        data.position(exactPosition).flip();
+        return new Chunk(data, count, gradeTotal);
+    }
+
+    private static StudentBatch decodeChunk(FileChannel in, long offset, int length, int crc, int studentCount,
+                                            int gradeCount, int[] subjectIds, Path path) {
+        try {
+            ByteBuffer data = ByteBuffer.allocate(length);
+            BufferIO.readFully(in, data, offset);
+            CRC32 checksum = new CRC32();
+            checksum.update(data.array(), 0, length);
+            if ((int) checksum.getValue() != crc) {
+                throw new IOException("Checkpoint chunk at offset " + offset + " is corrupt: " + path);
+            }
+            data.flip();
+            if (data.getInt() != studentCount) {
+                throw new IOException("Checkpoint chunk at offset " + offset + " does not match the directory: " + path);
+            }
+
+            Student[] students = new Student[studentCount];
+            int[] counts = new int[studentCount];
+            for (int i = 0; i < studentCount; i++) {
+                int number = data.getInt();
+                byte kind = data.get();
+                int age = data.getInt();
+                String name = BufferIO.getString(data);
+                String email = BufferIO.getString(data);
+                String phone = BufferIO.getString(data);
+                String status = BufferIO.getString(data);
+                counts[i] = data.getInt();
+                students[i] = kind == HONORS
+                        ? new HonorsStudent(number, name, age, email, phone)
+                        : new RegularStudent(number, name, age, email, phone);
+                if (!"Active".equals(status)) {
+                    students[i].setStatus(status);
+                }
+            }
+
+            int[] numbers = new int[gradeCount];
+            int[] subjects = new int[gradeCount];
+            double[] scores = new double[gradeCount];
+            int[] days = new int[gradeCount];
+            for (int j = 0; j < gradeCount; j++) {
+                numbers[j] = data.getInt();
+            }
+            for (int j = 0; j < gradeCount; j++) {
+                subjects[j] = subjectIds[data.getChar()];
+            }
+            int hundredthsAt = data.position();
+            for (int j = 0; j < gradeCount; j++) {
+                scores[j] = data.getShort() / 100.0;
+            }
+            for (int j = 0; j < gradeCount; j++) {
+                days[j] = data.getInt();
+            }
+            int exact = data.getInt();
+            for (int j = 0; j < gradeCount && exact > 0; j++) {
+                if (data.getShort(hundredthsAt + 2 * j) == EXACT_SCORE) {
+                    scores[j] = data.getDouble();
+                    exact--;
+                }
+            }
+            return new StudentBatch(students, counts, numbers, subjects, scores, days);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A score's hundredths when that represents it exactly, otherwise EXACT_SCORE
+    private static short hundredths(double score) {
+        long hundredths = Math.round(score * 100);
+        return hundredths >= 0 && hundredths <= 10_000 && hundredths / 100.0 == score
+                ? (short) hundredths : EXACT_SCORE;
+    }
+
+    private static int directorySize(SubjectRegistry registry, int subjectCount, int chunkCount) {
+        int size = 4 + 4 + chunkCount * (8 + 4 + 4 + 4 + 4);
+        for (int id = 0; id < subjectCount; id++) {
+            Subject subject = registry.get(id);
+            size += 1 + 2 * BufferIO.STRING_OVERHEAD + BufferIO.utf8(subject.getSubjectName()).length
+                    + BufferIO.utf8(subject.getSubjectCode()).length;
+        }
+        return size;
+    }
+
+    // Subjects in registry id order, so grade columns can store registry ids directly
+    private static void putSubjects(ByteBuffer directory, SubjectRegistry registry, int count) {
+        directory.putInt(count);
+        for (int id = 0; id < count; id++) {
+            Subject subject = registry.get(id);
+            directory.put(subject instanceof CoreSubject ? CORE : ELECTIVE);
+            BufferIO.putString(directory, BufferIO.utf8(subject.getSubjectName()));
+            BufferIO.putString(directory, BufferIO.utf8(subject.getSubjectCode()));
+        }
+    }
+
+    // Maps the ids stored in the checkpoint to this process's registry ids
+    private static int[] getSubjects(ByteBuffer directory) {
+        SubjectRegistry registry = SubjectRegistry.getInstance();
+        int[] ids = new int[directory.getInt()];
+        for (int i = 0; i < ids.length; i++) {
+            byte kind = directory.get();
+            String name = BufferIO.getString(directory);
+            String code = BufferIO.getString(directory);
+            Subject subject = kind == CORE ? new CoreSubject(name, code) : new ElectiveSubject(name, code);
+            ids[i] = registry.intern(subject).getSubjectId();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.persistence;
+
+import org.example.service.EnhancedStudentManager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes periodic checkpoints and recovers a manager from the newest one plus the write-ahead
+ * log records after it.
+ *
+ * Checkpoints are named by LSN and the newest {@value #RETAINED} are kept. After a checkpoint
+ * the log is cut back to the records after the previous one, so if the newest checkpoint is
+ * damaged, recovery falls back to the one before it and still finds every record it needs.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class CheckpointManager {
+    public static final String DEFAULT_DIRECTORY = "./data/checkpoints";
+    private static final String PREFIX = "checkpoint-";
+    private static final String SUFFIX = ".ckpt";
+    private static final int RETAINED = 2;
+
+    private final Path directory;
+    private ScheduledExecutorService scheduler;
+
+    public CheckpointManager(Path directory) {
+        this.directory = directory;
+    }
+
+    /** What a recovery loaded and how long it took. */
+    public static final class Recovery {
+        private final Checkpoint checkpoint;
+        private final MutationReplayer replayed;
+        private final long lastLsn;
+        private final long loadMillis;
+        private final long replayMillis;
+
+        Recovery(Checkpoint checkpoint, MutationReplayer replayed, long lastLsn, long loadMillis, long replayMillis) {
+            this.checkpoint = checkpoint;
+            this.replayed = replayed;
+            this.lastLsn = lastLsn;
+            this.loadMillis = loadMillis;
+            this.replayMillis = replayMillis;
+        }
+
+        // The checkpoint loaded, or null if there was none usable
+        public Checkpoint getCheckpoint() { return checkpoint; }
+        public MutationReplayer getReplayed() { return replayed; }
+        // Newest LSN reflected in the manager; pass to WriteAheadLog.startAfter
+        public long getLastLsn() { return lastLsn; }
+        public long getLoadMillis() { return loadMillis; }
+        public long getReplayMillis() { return replayMillis; }
+    }
+
+    public boolean hasCheckpoint() throws IOException {
+        return !list().isEmpty();
+    }
+
+    /**
+     * Loads the newest readable checkpoint into a manager and replays the log records after it.
+     * A checkpoint that fails to load is reported and the next older one is tried.
+     *
+     * @param manager a manager without sample data
+     * @param walPath the write-ahead log; a missing log replays nothing
+     * @return what was recovered
+     * @throws IOException if the log cannot be read
+     */
+    public Recovery recover(EnhancedStudentManager manager, Path walPath) throws IOException {
+        long start = System.nanoTime();
+        Checkpoint loaded = null;
+        for (Path path : list()) {
+            try {
+                loaded = Checkpoint.load(path, manager);
+                break;
+            } catch (IOException e) {
+                System.err.println("Warning: Skipping unreadable checkpoint " + path.getFileName() + ": " + e.getMessage());
+            }
+        }
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        long afterLsn = loaded == null ? 0 : loaded.getLsn();
+        MutationReplayer replayed = new MutationReplayer(manager);
+        long walLsn = WriteAheadLog.replay(walPath, afterLsn, replayed);
+        long replayMillis = (System.nanoTime() - start) / 1_000_000;
+        return new Recovery(loaded, replayed, Math.max(afterLsn, walLsn), loadMillis, replayMillis);
+    }
+
+    /**
+     * Writes a checkpoint at the log's current position, then drops log records older than
+     * the previous checkpoint and checkpoints beyond the newest {@value #RETAINED}.
+     *
+     * @param manager the manager to capture
+     * @param log the manager's log, or null if it has none
+     * @return the new checkpoint
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public synchronized Checkpoint checkpoint(EnhancedStudentManager manager, WriteAheadLog log) throws IOException {
+        // Every record up to this LSN was logged after its change was applied
+        long lsn = log == null ? 0 : log.getLastLsn();
+        Checkpoint checkpoint = Checkpoint.write(directory.resolve(fileName(lsn)), manager, lsn);
+
+        List<Path> checkpoints = list();
+        if (log != null && checkpoints.size() > 1) {
+            log.discardThrough(lsnOf(checkpoints.get(1)));
+        }
+        for (int i = RETAINED; i < checkpoints.size(); i++) {
+            Files.deleteIfExists(checkpoints.get(i));
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Checkpoints in the background at a fixed interval.
+     *
+     * @param manager the manager to capture
+     * @param log the manager's log, or null
+     * @param intervalMinutes minutes between checkpoints
+     */
+    public synchronized void schedule(EnhancedStudentManager manager, WriteAheadLog log, long intervalMinutes) {
+        shutdown();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                checkpoint(manager, log);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: Checkpoint failed: " + e.getMessage());
+            }
+        }, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Checkpoint files, newest first
+    List<Path> list() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return paths;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                if (lsnOf(path) >= 0) {
+                    paths.add(path);
+                }
+            }
+        }
+        paths.sort((a, b) -> Long.compare(lsnOf(b), lsnOf(a)));
+        return paths;
+    }
+
+    // Zero-padded so names also sort by LSN
+    private static String fileName(long lsn) {
+        return String.format("%s%019d%s", PREFIX, lsn, SUFFIX);
+    }
+
+    private static long lsnOf(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.persistence;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link BlockCodec} over the JDK's zlib {@link Deflater} and {@link Inflater}. Each call uses
+ * its own Deflater or Inflater and releases its native memory before returning.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class DeflateCodec implements BlockCodec {
+    static final int ID = 1;
+
+    private final int level;
+
+    // Deflater.BEST_SPEED (1) to Deflater.BEST_COMPRESSION (9)
+    public DeflateCodec(int level) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Deflate level must be 1-9: " + level);
+        }
+        this.level = level;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "deflate-" + level;
+    }
+
+    @Override
+    public byte[] compress(byte[] source, int length) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(source, 0, length);
+            deflater.finish();
+            // Deflate's worst case is a few bytes per 16 KB over the input
+            byte[] output = new byte[length + length / 1000 + 64];
+            int size = 0;
+            while (!deflater.finished()) {
+                if (size == output.length) {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+                size += deflater.deflate(output, size, output.length - size);
+            }
+            return Arrays.copyOf(output, size);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public void decompress(byte[] source, int length, byte[] target, int targetLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(source, 0, length);
+            int size = 0;
+            while (size < targetLength && !inflater.finished()) {
+                int inflated = inflater.inflate(target, size, targetLength - size);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                size += inflated;
+            }
+            if (size != targetLength || !inflater.finished()) {
+                throw new IOException("Compressed block does not restore to " + targetLength + " bytes");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Compressed block is corrupt: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package org.example.persistence;
+
+import org.example.exceptions.StudentNotFoundException;
+import org.example.interfaces.Searchable;
+import org.example.models.*;
+import org.example.utils.IdAllocator;
+import org.example.utils.ValidationUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only view of a snapshot written by {@link MappedSnapshotWriter}, served straight from
+ * memory-mapped file regions. Opening maps the file and reads the header and subject table,
+ * so it costs the same at any population size and leaves the data off the heap; the OS pages
+ * in what queries touch.
+ *
+ * Queries work on record numbers ("rows") and read fields in place. Student objects are only
+ * built when a caller asks for one, through {@link #getStudent(int)} or the
+ * {@link Searchable} methods, which build just the students they return. Statistics scans
+ * read the score column through {@link #getScores()}.
+ *
+ * Only the header is checked when opening; the writer forces the file to disk before moving
+ * it into place. Safe for concurrent use: every read is absolute and never moves a buffer.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class MappedSnapshot implements Searchable {
+    public static final String DEFAULT_PATH = "./data/snapshot/students.snap";
+
+    private final Path path;
+    private final ByteBuffer students;
+    private final ByteBuffer index;
+    private final DoubleBuffer scores;
+    private final IntBuffer gradeNumbers;
+    private final IntBuffer days;
+    private final ShortBuffer subjectColumn;
+    private final ByteBuffer strings;
+    private final Subject[] subjects;
+    private final int studentCount;
+    private final int gradeCount;
+    private final long version;
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param path the snapshot file
+     * @throws IOException if the file cannot be read, is not a snapshot or is incomplete
+     */
+    public MappedSnapshot(Path path) throws IOException {
+        this.path = path;
+        // The mappings stay valid after the channel is closed
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = in.size();
+            ByteBuffer header = ByteBuffer.allocate(MappedSnapshotWriter.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (size < header.capacity()) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            BufferIO.readFully(in, header, 0);
+            if (header.getInt(0) != MappedSnapshotWriter.MAGIC) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            int formatVersion = header.getInt(4);
+            if (formatVersion != MappedSnapshotWriter.VERSION) {
+                throw new IOException("Unsupported snapshot version " + formatVersion + ": " + path);
+            }
+            if (header.getLong(MappedSnapshotWriter.H_FILE_SIZE) != size) {
+                throw new IOException("Snapshot file is incomplete: " + path);
+            }
+            studentCount = header.getInt(MappedSnapshotWriter.H_STUDENT_COUNT);
+            long rows = header.getLong(MappedSnapshotWriter.H_GRADE_COUNT);
+            int subjectCount = header.getInt(MappedSnapshotWriter.H_SUBJECT_COUNT);
+            if (studentCount < 0 || rows < 0 || rows > Integer.MAX_VALUE || subjectCount < 0) {
+                throw new IOException("Snapshot header is corrupt: " + path);
+            }
+            gradeCount = (int) rows;
+            version = header.getLong(MappedSnapshotWriter.H_SNAPSHOT_VERSION);
+
+            students = map(in, header, MappedSnapshotWriter.H_STUDENTS, (long) studentCount * MappedSnapshotWriter.STUDENT_SIZE);
+            index = map(in, header, MappedSnapshotWriter.H_INDEX, (long) studentCount * MappedSnapshotWriter.INDEX_ENTRY_SIZE);
+            scores = map(in, header, MappedSnapshotWriter.H_SCORES, rows * Double.BYTES).asDoubleBuffer();
+            gradeNumbers = map(in, header, MappedSnapshotWriter.H_GRADE_NUMBERS, rows * Integer.BYTES).asIntBuffer();
+            days = map(in, header, MappedSnapshotWriter.H_DAYS, rows * Integer.BYTES).asIntBuffer();
+            subjectColumn = map(in, header, MappedSnapshotWriter.H_SUBJECTS, rows * Short.BYTES).asShortBuffer();
+            long stringsAt = header.getLong(MappedSnapshotWriter.H_STRINGS);
+            strings = map(in, header, MappedSnapshotWriter.H_STRINGS, size - stringsAt);
+
+            ByteBuffer table = map(in, header, MappedSnapshotWriter.H_SUBJECT_TABLE,
+                    (long) subjectCount * MappedSnapshotWriter.SUBJECT_SIZE);
+            subjects = new Subject[subjectCount];
+            for (int i = 0; i < subjectCount; i++) {
+                int at = i * MappedSnapshotWriter.SUBJECT_SIZE;
+                String name = getString(table.getInt(at + 1));
+                String code = getString(table.getInt(at + 5));
+                subjects[i] = SubjectRegistry.getInstance().intern(table.get(at) == MappedSnapshotWriter.CORE
+                        ? new CoreSubject(name, code) : new ElectiveSubject(name, code));
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Snapshot file is corrupt: " + path, e);
+        }
+    }
+
+    // Maps one region after checking it lies inside the file
+    private static ByteBuffer map(FileChannel in, ByteBuffer header, int field, long length) throws IOException {
+        long at = header.getLong(field);
+        if (at < MappedSnapshotWriter.HEADER_SIZE || length < 0 || length > Integer.MAX_VALUE
+                || at + length > in.size()) {
+            throw new IOException("Snapshot header is corrupt");
+        }
+        return in.map(FileChannel.MapMode.READ_ONLY, at, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public Path getPath() { return path; }
+    public int getStudentCount() { return studentCount; }
+    public int getGradeCount() { return gradeCount; }
+    // Version of the population the snapshot was written from
+    public long getVersion() { return version; }
+
+    /**
+     * Finds a student's row by student number.
+     * Time Complexity: O(log n) - binary search of the ID index.
+     *
+     * @param studentNumber numeric part of the student ID
+     * @return the row, or -1 if the student is not in the snapshot
+     */
+    public int rowOf(int studentNumber) {
+        int low = 0;
+        int high = studentCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long entry = index.getLong(mid * MappedSnapshotWriter.INDEX_ENTRY_SIZE);
+            int number = (int) (entry >>> 32);
+            if (number < studentNumber) {
+                low = mid + 1;
+            } else if (number > studentNumber) {
+                high = mid - 1;
+            } else {
+                return (int) entry;
+            }
+        }
+        return -1;
+    }
+
+    // O(log n) - -1 for IDs that are malformed or not in the snapshot
+    public int rowOf(String studentId) {
+        int number = IdAllocator.STUDENTS.parse(studentId);
+        return number < 0 ? -1 : rowOf(number);
+    }
+
+    // Row accessors, valid for rows below getStudentCount()
+    public int getStudentNumber(int row) { return students.getInt(field(row, MappedSnapshotWriter.S_NUMBER)); }
+    public String getStudentId(int row) { return IdAllocator.STUDENTS.format(getStudentNumber(row)); }
+    public String getName(int row) { return getString(students.getInt(field(row, MappedSnapshotWriter.S_NAME))); }
+    public String getEmail(int row) { return getString(students.getInt(field(row, MappedSnapshotWriter.S_EMAIL))); }
+    public String getPhone(int row) { return getString(students.getInt(field(row, MappedSnapshotWriter.S_PHONE))); }
+    public String getStatus(int row) { return getString(students.getInt(field(row, MappedSnapshotWriter.S_STATUS))); }
+    public int getAge(int row) { return students.getInt(field(row, MappedSnapshotWriter.S_AGE)); }
+    public boolean isHonors(int row) { return students.get(field(row, MappedSnapshotWriter.S_KIND)) == MappedSnapshotWriter.HONORS; }
+    public double getAverage(int row) { return students.getDouble(field(row, MappedSnapshotWriter.S_AVERAGE)); }
+    public int getGradeCount(int row) { return students.getInt(field(row, MappedSnapshotWriter.S_GRADE_COUNT)); }
+    // A student's grades are the grade rows from here to here + getGradeCount(row) - 1
+    public int getFirstGrade(int row) { return students.getInt(field(row, MappedSnapshotWriter.S_FIRST_GRADE)); }
+
+    // Grade row accessors, valid for grade rows below getGradeCount()
+    public double getScore(int grade) { return scores.get(grade); }
+    public int getGradeNumber(int grade) { return gradeNumbers.get(grade); }
+    public int getEpochDay(int grade) { return days.get(grade); }
+    public Subject getSubject(int grade) { return subjects[subjectColumn.get(grade)]; }
+
+    // O(1) - every score, grouped by student, as a read-only view of the mapped column
+    public DoubleBuffer getScores() {
+        return scores.asReadOnlyBuffer();
+    }
+
+    /**
+     * Builds a student with its grades from a row.
+     * Time Complexity: O(k) for k grades.
+     *
+     * @param row the student's row
+     * @return a new, unmanaged student
+     */
+    public Student getStudent(int row) {
+        int number = getStudentNumber(row);
+        String name = getName(row);
+        Student student = isHonors(row)
+                ? new HonorsStudent(number, name, getAge(row), getEmail(row), getPhone(row))
+                : new RegularStudent(number, name, getAge(row), getEmail(row), getPhone(row));
+        String status = getStatus(row);
+        if (!"Active".equals(status)) {
+            student.setStatus(status);
+        }
+        int first = getFirstGrade(row);
+        for (int grade = first; grade < first + getGradeCount(row); grade++) {
+            student.addGrade(new Grade(getGradeNumber(grade), student.getStudentId(), getSubject(grade),
+                    getScore(grade), LocalDate.ofEpochDay(getEpochDay(grade))));
+        }
+        return student;
+    }
+
+    /**
+     * Finds the rows whose names contain a term, ignoring case.
+     * Time Complexity: O(n * m) byte comparisons over the mapped names; no strings are built
+     * for ASCII names.
+     *
+     * @param name name or partial name
+     * @return matching rows in population order
+     */
+    public int[] findRowsByName(String name) {
+        String term = name.toLowerCase();
+        byte[] needle = term.getBytes(StandardCharsets.UTF_8);
+        boolean ascii = needle.length == term.length();
+        int[] rows = new int[16];
+        int count = 0;
+        for (int row = 0; row < studentCount; row++) {
+            int ref = students.getInt(field(row, MappedSnapshotWriter.S_NAME));
+            if (ascii ? nameContains(ref, needle, term) : getString(ref).toLowerCase().contains(term)) {
+                if (count == rows.length) rows = Arrays.copyOf(rows, count * 2);
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Finds the rows whose average lies in a range.
+     * Time Complexity: O(n) over the mapped averages.
+     *
+     * @param min minimum grade percentage
+     * @param max maximum grade percentage
+     * @return matching rows in population order
+     */
+    public int[] findRowsByGradeRange(double min, double max) {
+        int[] rows = new int[16];
+        int count = 0;
+        for (int row = 0; row < studentCount; row++) {
+            double average = getAverage(row);
+            if (average >= min && average <= max) {
+                if (count == rows.length) rows = Arrays.copyOf(rows, count * 2);
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // O(n) - rows of one student type in population order; empty for an unknown type
+    public int[] findRowsByType(String studentType) {
+        boolean honors = "honors".equalsIgnoreCase(studentType);
+        if (!honors && !"regular".equalsIgnoreCase(studentType)) {
+            return new int[0];
+        }
+        int[] rows = new int[16];
+        int count = 0;
+        for (int row = 0; row < studentCount; row++) {
+            if (isHonors(row) == honors) {
+                if (count == rows.length) rows = Arrays.copyOf(rows, count * 2);
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Searches for a student by ID.
+     * Time Complexity: O(log n) + O(k) to build the student.
+     *
+     * @param studentId the student ID to search for
+     * @return a new student built from the snapshot
+     * @throws StudentNotFoundException if the student is not in the snapshot
+     */
+    @Override
+    public Student searchById(String studentId) throws StudentNotFoundException {
+        int row = rowOf(studentId);
+        if (row < 0) {
+            ValidationUtils.validateStudentId(studentId);
+            throw new StudentNotFoundException(studentId);
+        }
+        return getStudent(row);
+    }
+
+    // O(n * m) scan + O(m log m) sorting; builds only the matches, sorted by name
+    @Override
+    public List<Student> searchByName(String name) {
+        List<Student> results = getStudents(findRowsByName(name));
+        results.sort(StudentComparator.byNameAscending());
+        return results;
+    }
+
+    // O(n) scan + O(m log m) sorting; builds only the matches, sorted by GPA descending
+    @Override
+    public List<Student> searchByGradeRange(double min, double max) {
+        ValidationUtils.validateGrade(min);
+        ValidationUtils.validateGrade(max);
+        List<Student> results = getStudents(findRowsByGradeRange(min, max));
+        results.sort(StudentComparator.byGPADescending());
+        return results;
+    }
+
+    // O(n) scan + O(m log m) sorting; builds only the matches
+    @Override
+    public List<Student> searchByType(String studentType) {
+        List<Student> results = getStudents(findRowsByType(studentType));
+        results.sort(StudentComparator.byTypeAndGPA());
+        return results;
+    }
+
+    private List<Student> getStudents(int[] rows) {
+        List<Student> results = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            results.add(getStudent(row));
+        }
+        return results;
+    }
+
+    private static int field(int row, int offset) {
+        return row * MappedSnapshotWriter.STUDENT_SIZE + offset;
+    }
+
+    // Substring match of an ASCII lowercase needle against a pooled name, folding ASCII case
+    private boolean nameContains(int ref, byte[] needle, String term) {
+        int length = strings.getShort(ref) & 0xFFFF;
+        int start = ref + BufferIO.STRING_OVERHEAD;
+        for (int i = 0; i < length; i++) {
+            if (strings.get(start + i) < 0) {
+                return getString(ref).toLowerCase().contains(term);
+            }
+        }
+        for (int i = 0; i + needle.length <= length; i++) {
+            int j = 0;
+            while (j < needle.length) {
+                int b = strings.get(start + i + j);
+                if (b >= 'A' && b <= 'Z') b += 'a' - 'A';
+                if (b != needle[j]) break;
+                j++;
+            }
+            if (j == needle.length) return true;
+        }
+        return false;
+    }
+
+    private String getString(int ref) {
+        if (ref == MappedSnapshotWriter.NO_STRING) return null;
+        int length = strings.getShort(ref) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        ByteBuffer view = strings.duplicate();
+        view.position(ref + BufferIO.STRING_OVERHEAD);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,273 @@
+package org.example.persistence;
+
+import org.example.models.*;
+import org.example.service.PopulationSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a population snapshot in the layout {@link MappedSnapshot} maps read-only:
+ *
+ *   header    counts and the offset of every region
+ *   students  one fixed-width record per student, in population order
+ *   index     (student number, record) pairs sorted by number, for lookups by ID
+ *   grades    four columns - scores, grade numbers, epoch days, subjects - with each
+ *             student's grades as one contiguous run
+ *   subjects  kind, name and code of every subject the grades use
+ *   strings   every distinct string once, as [unsigned 16-bit length][UTF-8 bytes]
+ *
+ * Numbers are little-endian, the native order of common hardware, so mapped columns are read
+ * without byte swapping, and every region starts on an 8-byte boundary. The file is written
+ * beside the target and moved into place, so a reader never maps a half-written snapshot
+ * and mappings of the previous file stay valid.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public final class MappedSnapshotWriter {
+    static final int MAGIC = 0x53474D4D;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 128;
+    static final int STUDENT_SIZE = 48;
+    static final int INDEX_ENTRY_SIZE = 8;
+    static final int SUBJECT_SIZE = 9;
+    static final int NO_STRING = -1;
+
+    // Header fields
+    static final int H_STUDENT_COUNT = 8;
+    static final int H_SUBJECT_COUNT = 12;
+    static final int H_GRADE_COUNT = 16;
+    static final int H_SNAPSHOT_VERSION = 24;
+    static final int H_STUDENTS = 32;
+    static final int H_INDEX = 40;
+    static final int H_SCORES = 48;
+    static final int H_GRADE_NUMBERS = 56;
+    static final int H_DAYS = 64;
+    static final int H_SUBJECTS = 72;
+    static final int H_SUBJECT_TABLE = 80;
+    static final int H_STRINGS = 88;
+    static final int H_FILE_SIZE = 96;
+
+    // Student record fields
+    static final int S_AVERAGE = 0;
+    static final int S_NUMBER = 8;
+    static final int S_FIRST_GRADE = 12;
+    static final int S_GRADE_COUNT = 16;
+    static final int S_NAME = 20;
+    static final int S_EMAIL = 24;
+    static final int S_PHONE = 28;
+    static final int S_STATUS = 32;
+    static final int S_AGE = 36;
+    static final int S_KIND = 40;
+
+    static final byte REGULAR = 0;
+    static final byte HONORS = 1;
+    static final byte CORE = 0;
+    static final byte ELECTIVE = 1;
+
+    private static final int CHUNK = 256 * 1024;
+    private static final byte[] PADDING = new byte[STUDENT_SIZE - S_KIND - 1];
+
+    private MappedSnapshotWriter() {
+    }
+
+    /**
+     * Writes a snapshot, replacing the file atomically.
+     * Time Complexity: O(n + g) plus O(n log n) to sort the ID index.
+     *
+     * @param snapshot the population to write
+     * @param path the snapshot file
+     * @return the size of the file in bytes
+     * @throws IOException if the file cannot be written
+     */
+    public static long write(PopulationSnapshot snapshot, Path path) throws IOException {
+        List<Student> students = snapshot.getStudents();
+        GradeColumnStore.Snapshot grades = snapshot.getGrades();
+        int studentCount = students.size();
+
+        // Rows are chained per student, so count them first to size the grade columns
+        long gradeCount = 0;
+        for (int i = 0; i < studentCount; i++) {
+            gradeCount += snapshot.getGradeCount(students.get(i));
+            if (gradeCount > Integer.MAX_VALUE / Double.BYTES) {
+                throw new IOException("Too many grades for one snapshot: " + gradeCount);
+            }
+        }
+        int rows = (int) gradeCount;
+
+        long studentsAt = HEADER_SIZE;
+        long indexAt = align(studentsAt + (long) studentCount * STUDENT_SIZE);
+        long scoresAt = align(indexAt + (long) studentCount * INDEX_ENTRY_SIZE);
+        long numbersAt = align(scoresAt + (long) rows * Double.BYTES);
+        long daysAt = align(numbersAt + (long) rows * Integer.BYTES);
+        long subjectsAt = align(daysAt + (long) rows * Integer.BYTES);
+        long subjectTableAt = align(subjectsAt + (long) rows * Short.BYTES);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        StringPool strings = new StringPool();
+        Map<Integer, Integer> subjectIndex = new HashMap<>();
+        Subject[] subjects = new Subject[16];
+        long[] index = new long[studentCount];
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Sink records = new Sink(out, studentsAt);
+            Sink scores = new Sink(out, scoresAt);
+            Sink numbers = new Sink(out, numbersAt);
+            Sink days = new Sink(out, daysAt);
+            Sink subjectColumn = new Sink(out, subjectsAt);
+
+            int firstGrade = 0;
+            for (int i = 0; i < studentCount; i++) {
+                Student student = students.get(i);
+                double sum = 0;
+                int count = 0;
+                for (int row = grades.getFirstRow(student); row >= 0; row = grades.getNextRow(row)) {
+                    Integer local = subjectIndex.get(grades.getSubjectId(row));
+                    if (local == null) {
+                        if (subjectIndex.size() > Short.MAX_VALUE) {
+                            throw new IOException("Too many subjects for one snapshot");
+                        }
+                        local = subjectIndex.size();
+                        subjectIndex.put(grades.getSubjectId(row), local);
+                        if (local == subjects.length) {
+                            subjects = Arrays.copyOf(subjects, local * 2);
+                        }
+                        subjects[local] = SubjectRegistry.getInstance().get(grades.getSubjectId(row));
+                    }
+                    double score = grades.getScore(row);
+                    sum += score;
+                    count++;
+                    scores.buffer(Double.BYTES).putDouble(score);
+                    numbers.buffer(Integer.BYTES).putInt(grades.getGradeNumber(row));
+                    days.buffer(Integer.BYTES).putInt(grades.getEpochDay(row));
+                    subjectColumn.buffer(Short.BYTES).putShort((short) (int) local);
+                }
+
+                ByteBuffer record = records.buffer(STUDENT_SIZE);
+                record.putDouble(count == 0 ? 0.0 : sum / count)
+                        .putInt(student.getStudentNumber())
+                        .putInt(firstGrade)
+                        .putInt(count)
+                        .putInt(strings.offsetOf(student.getName()))
+                        .putInt(strings.offsetOf(student.getEmail()))
+                        .putInt(strings.offsetOf(student.getPhone()))
+                        .putInt(strings.offsetOf(student.getStatus()))
+                        .putInt(student.getAge())
+                        .put(student instanceof HonorsStudent ? HONORS : REGULAR)
+                        .put(PADDING);
+                index[i] = ((long) student.getStudentNumber() << 32) | i;
+                firstGrade += count;
+            }
+            for (Sink column : new Sink[]{records, scores, numbers, days, subjectColumn}) {
+                column.flush();
+            }
+
+            // Student numbers are positive, so the packed pairs sort by number
+            Arrays.sort(index);
+            Sink ids = new Sink(out, indexAt);
+            for (long entry : index) {
+                ids.buffer(INDEX_ENTRY_SIZE).putLong(entry);
+            }
+            ids.flush();
+
+            Sink table = new Sink(out, subjectTableAt);
+            for (int i = 0; i < subjectIndex.size(); i++) {
+                table.buffer(SUBJECT_SIZE)
+                        .put(subjects[i] instanceof CoreSubject ? CORE : ELECTIVE)
+                        .putInt(strings.offsetOf(subjects[i].getSubjectName()))
+                        .putInt(strings.offsetOf(subjects[i].getSubjectCode()));
+            }
+            table.flush();
+
+            long stringsAt = align(subjectTableAt + (long) subjectIndex.size() * SUBJECT_SIZE);
+            long fileSize = stringsAt + strings.size;
+            BufferIO.writeFully(out.position(stringsAt), ByteBuffer.wrap(strings.bytes, 0, strings.size));
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(studentCount).putInt(subjectIndex.size())
+                    .putLong(rows).putLong(snapshot.getVersion())
+                    .putLong(studentsAt).putLong(indexAt).putLong(scoresAt).putLong(numbersAt)
+                    .putLong(daysAt).putLong(subjectsAt).putLong(subjectTableAt).putLong(stringsAt)
+                    .putLong(fileSize);
+            header.clear();
+            BufferIO.writeFully(out.position(0), header);
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(path);
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    // Buffers one region and writes it at its own position in the file
+    private static final class Sink {
+        private final FileChannel out;
+        private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Sink(FileChannel out, long position) {
+            this.out = out;
+            this.position = position;
+        }
+
+        // The buffer, with room for the given number of bytes
+        ByteBuffer buffer(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += out.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Distinct strings in first-use order; a reference is the entry's byte offset
+    private static final class StringPool {
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private byte[] bytes = new byte[64 * 1024];
+        private int size;
+
+        int offsetOf(String value) throws IOException {
+            if (value == null) return NO_STRING;
+            Integer offset = offsets.get(value);
+            if (offset != null) return offset;
+            byte[] utf8 = BufferIO.utf8(value);
+            if ((long) size + BufferIO.STRING_OVERHEAD + utf8.length > Integer.MAX_VALUE - 8) {
+                throw new IOException("String pool too large for one snapshot");
+            }
+            if (size + BufferIO.STRING_OVERHEAD + utf8.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + BufferIO.STRING_OVERHEAD + utf8.length));
+            }
+            offset = size;
+            bytes[size++] = (byte) utf8.length;
+            bytes[size++] = (byte) (utf8.length >>> 8);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+            offsets.put(value, offset);
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package org.example.persistence;
+
+import org.example.models.*;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a file written by {@link RecordWriter} one block at a time. Every block's checksum
+ * is verified before any of its records are returned. Compressed files are recognized by
+ * their header and decompressed in parallel ahead of the reader.
+ *
+ * Not thread-safe.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class RecordReader implements Closeable {
+    // Well above any real block, which only exceeds the target by its last record
+    private static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+
+    // The file for uncompressed records, otherwise null
+    private final FileChannel in;
+    private final BlockCompressedInputStream compressed;
+    private final Path path;
+    private final ByteBuffer header = ByteBuffer.allocate(RecordWriter.BLOCK_HEADER_SIZE);
+    private final CRC32 checksum = new CRC32();
+    private final List<String> strings = new ArrayList<>();
+    private final List<Subject> subjects = new ArrayList<>();
+    private ByteBuffer block = ByteBuffer.allocate(RecordWriter.BLOCK_TARGET + 1024);
+    private long position;
+    private int lastStudentNumber;
+    private int lastGradeNumber;
+    // Fields of the grade decoded last
+    private int gradeNumber;
+    private Subject gradeSubject;
+    private double gradeScore;
+    private int gradeDay;
+
+    /**
+     * Opens a record file and checks its header.
+     *
+     * @param path the file to read
+     * @throws IOException if the file cannot be read or is not a record file
+     */
+    public RecordReader(Path path) throws IOException {
+        this.path = path;
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (BlockCompressedInputStream.isCompressed(channel)) {
+                channel.close();
+                channel = null;
+                this.compressed = new BlockCompressedInputStream(path);
+            } else {
+                this.compressed = null;
+            }
+        } catch (IOException e) {
+            if (channel != null) channel.close();
+            throw e;
+        }
+        this.in = channel;
+        try {
+            ByteBuffer fileHeader = ByteBuffer.allocate(8);
+            if (!fill(fileHeader, 0)) {
+                throw new EOFException();
+            }
+            fileHeader.flip();
+            if (fileHeader.getInt() != RecordWriter.MAGIC) {
+                throw new IOException("Not a record file: " + path);
+            }
+            int version = fileHeader.getInt();
+            if (version != RecordWriter.VERSION) {
+                throw new IOException("Unsupported record file version " + version + ": " + path);
+            }
+        } catch (EOFException e) {
+            close();
+            throw new IOException("Not a record file: " + path);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        this.position = 8;
+        block.limit(0);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return a {@link Student}, {@link Grade}, {@link Subject} or {@link ScheduledTask},
+     *         or null at the end of the file
+     * @throws IOException if the file is truncated, fails a checksum or holds an unknown record
+     */
+    public Object read() throws IOException {
+        if (!block.hasRemaining() && !nextBlock()) {
+            return null;
+        }
+        try {
+            byte tag = block.get();
+            switch (tag) {
+                case RecordWriter.STUDENT: return getStudent();
+                case RecordWriter.GRADE: return getGrade(getString());
+                case RecordWriter.SUBJECT: return getSubject();
+                case RecordWriter.TASK: return getTask();
+                default: throw new IOException("Unknown record type " + tag + " in " + path);
+            }
+        } catch (RuntimeException e) {
+            // Checksummed data that still does not decode was written by something else
+            throw new IOException("Malformed record in " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads every remaining record, which must all be of one type.
+     *
+     * @param type the expected record type
+     * @return the records in file order
+     * @throws IOException if the file cannot be read or holds a record of another type
+     */
+    public <T> List<T> readAll(Class<T> type) throws IOException {
+        List<T> records = new ArrayList<>();
+        for (Object record = read(); record != null; record = read()) {
+            if (!type.isInstance(record)) {
+                throw new IOException("Expected " + type.getSimpleName() + " records but found "
+                        + record.getClass().getSimpleName() + " in " + path);
+            }
+            records.add(type.cast(record));
+        }
+        return records;
+    }
+
+    /**
+     * Reads the next student records as columns for
+     * {@link org.example.service.EnhancedStudentManager#bulkLoad(List)}, without creating
+     * Grade objects. Students the filter rejects are decoded and dropped.
+     * Time Complexity: O(s + g) for s students and g grades read.
+     *
+     * @param maxStudents the most students to read
+     * @param include tested once per student number; false drops the student
+     * @return the students read and kept, possibly none, or null at the end of the file
+     * @throws IOException if the file cannot be read or holds a record that is not a student
+     */
+    public StudentBatch readBatch(int maxStudents, IntPredicate include) throws IOException {
+        if (!block.hasRemaining() && !nextBlock()) {
+            return null;
+        }
+        List<Student> students = new ArrayList<>();
+        int[] counts = new int[16];
+        int[] numbers = new int[64];
+        int[] subjectIds = new int[64];
+        double[] scores = new double[64];
+        int[] days = new int[64];
+        int grades = 0;
+        try {
+            for (int read = 0; read < maxStudents && (block.hasRemaining() || nextBlock()); read++) {
+                byte tag = block.get();
+                if (tag != RecordWriter.STUDENT) {
+                    throw new IOException("Expected Student records but found type " + tag + " in " + path);
+                }
+                Student student = getStudentFields();
+                int count = (int) getVarLong();
+                boolean keep = include.test(student.getStudentNumber());
+                if (keep) {
+                    if (students.size() == counts.length) {
+                        counts = Arrays.copyOf(counts, counts.length * 2);
+                    }
+                    counts[students.size()] = count;
+                    students.add(student);
+                    if (grades + count > numbers.length) {
+                        int capacity = Math.max(numbers.length * 2, grades + count);
+                        numbers = Arrays.copyOf(numbers, capacity);
+                        subjectIds = Arrays.copyOf(subjectIds, capacity);
+                        scores = Arrays.copyOf(scores, capacity);
+                        days = Arrays.copyOf(days, capacity);
+                    }
+                }
+                for (int g = 0; g < count; g++) {
+                    getGradeFields();
+                    if (keep) {
+                        numbers[grades] = gradeNumber;
+                        subjectIds[grades] = gradeSubject.getSubjectId();
+                        scores[grades] = gradeScore;
+                        days[grades] = gradeDay;
+                        grades++;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed record in " + path + ": " + e.getMessage(), e);
+        }
+        return new StudentBatch(students.toArray(new Student[0]), Arrays.copyOf(counts, students.size()),
+                numbers, subjectIds, scores, days);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        } else {
+            compressed.close();
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        header.clear();
+        try {
+            if (!fill(header, position)) {
+                return false;
+            }
+        } catch (EOFException e) {
+            throw new IOException("Record file is truncated: " + path);
+        }
+        header.flip();
+        int length = header.getInt();
+        int crc = header.getInt();
+        if (length <= 0 || length > MAX_BLOCK_SIZE) {
+            throw new IOException("Record file block at offset " + position + " is corrupt: " + path);
+        }
+        if (block.capacity() < length) {
+            block = ByteBuffer.allocate(length);
+        }
+        block.clear().limit(length);
+        try {
+            if (!fill(block, position + RecordWriter.BLOCK_HEADER_SIZE)) {
+                throw new EOFException();
+            }
+        } catch (EOFException e) {
+            throw new IOException("Record file is truncated: " + path);
+        }
+        checksum.reset();
+        checksum.update(block.array(), 0, length);
+        if ((int) checksum.getValue() != crc) {
+            throw new IOException("Record file block at offset " + position + " is corrupt: " + path);
+        }
+        block.flip();
+        position += RecordWriter.BLOCK_HEADER_SIZE + length;
+        strings.clear();
+        subjects.clear();
+        lastStudentNumber = 0;
+        lastGradeNumber = 0;
+        return true;
+    }
+
+    /*
+     * Fills the buffer from the file at a position, or from the decompressed stream where it
+     * left off. Returns false if there is no data at all, and throws EOFException if the data
+     * ends part way through.
+     */
+    private boolean fill(ByteBuffer target, long at) throws IOException {
+        if (in != null) {
+            if (in.read(target, at) <= 0) {
+                return false;
+            }
+            BufferIO.readFully(in, target, at);
+            return true;
+        }
+        boolean any = false;
+        while (target.hasRemaining()) {
+            int read = compressed.read(target.array(), target.arrayOffset() + target.position(), target.remaining());
+            if (read < 0) {
+                if (!any) return false;
+                throw new EOFException();
+            }
+            target.position(target.position() + read);
+            any = true;
+        }
+        return true;
+    }
+
+    private Student getStudent() {
+        Student student = getStudentFields();
+        for (long count = getVarLong(); count > 0; count--) {
+            student.addGrade(getGrade(student.getStudentId()));
+        }
+        return student;
+    }
+
+    // A student without grades; the grade count follows
+    private Student getStudentFields() {
+        byte kind = block.get();
+        int number = lastStudentNumber + (int) getSignedVarLong();
+        lastStudentNumber = number;
+        String name = getString();
+        int age = (int) getVarLong();
+        String email = getString();
+        String phone = getString();
+        String status = getString();
+        Student student = kind == RecordWriter.HONORS
+                ? new HonorsStudent(number, name, age, email, phone)
+                : new RegularStudent(number, name, age, email, phone);
+        if (!"Active".equals(status)) {
+            student.setStatus(status);
+        }
+        return student;
+    }
+
+    private Grade getGrade(String studentId) {
+        getGradeFields();
+        return new Grade(gradeNumber, studentId, gradeSubject, gradeScore, LocalDate.ofEpochDay(gradeDay));
+    }
+
+    private void getGradeFields() {
+        gradeNumber = lastGradeNumber + (int) getSignedVarLong();
+        lastGradeNumber = gradeNumber;
+        gradeSubject = getSubject();
+        long hundredths = getVarLong();
+        gradeScore = hundredths == RecordWriter.EXACT_SCORE
+                ? Double.longBitsToDouble(block.getLong())
+                : (hundredths - 1) / 100.0;
+        gradeDay = (int) getSignedVarLong();
+    }
+
+    private Subject getSubject() {
+        int ref = (int) getVarLong();
+        if (ref != RecordWriter.NEW_REF) {
+            return subjects.get(ref - 2);
+        }
+        byte kind = block.get();
+        String name = getString();
+        String code = getString();
+        Subject subject = SubjectRegistry.getInstance().intern(kind == RecordWriter.CORE
+                ? new CoreSubject(name, code) : new ElectiveSubject(name, code));
+        subjects.add(subject);
+        return subject;
+    }
+
+    private ScheduledTask getTask() {
+        String taskId = getString();
+        String taskName = getString();
+        ScheduledTask.ScheduleType type = ScheduledTask.ScheduleType.values()[block.get()];
+        long interval = getVarLong();
+        int flags = block.get();
+        ScheduledTask task = new ScheduledTask(taskId, taskName, type, interval);
+        task.setActive((flags & RecordWriter.TASK_ACTIVE) != 0);
+        task.setLastExecution((flags & RecordWriter.TASK_LAST_EXECUTION) != 0 ? getDateTime() : null);
+        task.setNextExecution((flags & RecordWriter.TASK_NEXT_EXECUTION) != 0 ? getDateTime() : null);
+        task.setLastStatus(getString());
+        task.setLastDurationMs(getVarLong());
+        return task;
+    }
+
+    private String getString() {
+        int ref = (int) getVarLong();
+        if (ref == RecordWriter.NULL_REF) {
+            return null;
+        }
+        if (ref != RecordWriter.NEW_REF) {
+            return strings.get(ref - 2);
+        }
+        int length = (int) getVarLong();
+        String value = new String(block.array(), block.position(), length, StandardCharsets.UTF_8);
+        block.position(block.position() + length);
+        strings.add(value);
+        return value;
+    }
+
+    private LocalDateTime getDateTime() {
+        long seconds = getSignedVarLong();
+        return LocalDateTime.ofEpochSecond(seconds, (int) getVarLong(), ZoneOffset.UTC);
+    }
+
+    private long getVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = block.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Varint longer than 10 bytes");
+    }
+
+    private long getSignedVarLong() {
+        long value = getVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,333 @@
+package org.example.persistence;
+
+import org.example.models.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Streams students, grades, subjects and scheduled tasks to a compact binary file, the
+ * format behind backups, binary exports and the saved schedules. Read it back with
+ * {@link RecordReader}.
+ *
+ * Layout:
+ *   header  [magic][version]
+ *   blocks  [body length][CRC32 of body][body], a body holding whole records of about 64 KB
+ *   record  [tag][fields]
+ *
+ * Numbers are varints, signed ones zigzag-encoded, and student and grade numbers are stored
+ * as the difference from the previous one. Each block keeps a dictionary of the strings and
+ * subjects it has written: the first use is written out and later uses are a small index,
+ * so repeated emails, statuses and subjects cost one or two bytes. Dictionaries start empty
+ * in every block, so each block decodes on its own.
+ *
+ * Given a {@link BlockCodec}, the whole stream goes through a {@link BlockCompressedOutputStream}
+ * and is compressed in parallel; {@link RecordReader} recognizes such files by their header.
+ *
+ * Not thread-safe.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class RecordWriter implements Closeable {
+    static final int MAGIC = 0x53474D42;
+    static final int VERSION = 1;
+    static final int BLOCK_HEADER_SIZE = 8;
+    static final int BLOCK_TARGET = 64 * 1024;
+
+    static final byte STUDENT = 1;
+    static final byte GRADE = 2;
+    static final byte SUBJECT = 3;
+    static final byte TASK = 4;
+
+    static final byte REGULAR = 0;
+    static final byte HONORS = 1;
+    static final byte CORE = 0;
+    static final byte ELECTIVE = 1;
+
+    // Dictionary references: 0 is null, 1 is a new entry written inline, n >= 2 is entry n - 2
+    static final int NULL_REF = 0;
+    static final int NEW_REF = 1;
+    // A score that is not a whole number of hundredths, followed by the exact double
+    static final int EXACT_SCORE = 0;
+
+    static final int TASK_ACTIVE = 1;
+    static final int TASK_LAST_EXECUTION = 2;
+    static final int TASK_NEXT_EXECUTION = 4;
+
+    // The file for uncompressed records, otherwise null
+    private final FileChannel out;
+    private final BlockCompressedOutputStream compressed;
+    private final ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+    private final CRC32 checksum = new CRC32();
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<Subject, Integer> subjects = new IdentityHashMap<>();
+    private byte[] block = new byte[BLOCK_TARGET + 1024];
+    private int size;
+    private int lastStudentNumber;
+    private int lastGradeNumber;
+    private long recordCount;
+    private long bytesWritten;
+
+    /**
+     * Creates or replaces a record file.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be opened
+     */
+    public RecordWriter(Path path) throws IOException {
+        this(path, null);
+    }
+
+    /**
+     * Creates or replaces a record file, compressed with a codec on the common pool.
+     *
+     * @param path the file to write
+     * @param codec the block codec, or null to write uncompressed records
+     * @throws IOException if the file cannot be opened
+     */
+    public RecordWriter(Path path, BlockCodec codec) throws IOException {
+        if (codec == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.compressed = null;
+        } else {
+            this.out = null;
+            this.compressed = new BlockCompressedOutputStream(path, codec);
+        }
+        ByteBuffer fileHeader = ByteBuffer.allocate(8);
+        fileHeader.putInt(MAGIC).putInt(VERSION).flip();
+        emit(fileHeader);
+    }
+
+    /**
+     * Writes a student with all of its grades.
+     *
+     * @param student the student
+     * @throws IOException if a full block cannot be written
+     */
+    public void write(Student student) throws IOException {
+        putByte(STUDENT);
+        putByte(student instanceof HonorsStudent ? HONORS : REGULAR);
+        putSignedVarLong(student.getStudentNumber() - lastStudentNumber);
+        lastStudentNumber = student.getStudentNumber();
+        putString(student.getName());
+        putVarLong(student.getAge());
+        putString(student.getEmail());
+        putString(student.getPhone());
+        putString(student.getStatus());
+        // Copied first so the count always matches the grades written
+        Grade[] grades = student.getGrades().toArray(new Grade[0]);
+        putVarLong(grades.length);
+        for (Grade grade : grades) {
+            putGradeFields(grade);
+        }
+        endRecord();
+    }
+
+    /**
+     * Writes a grade on its own, with the ID of the student it belongs to.
+     *
+     * @param grade the grade
+     * @throws IOException if a full block cannot be written
+     */
+    public void write(Grade grade) throws IOException {
+        putByte(GRADE);
+        putString(grade.getStudentId());
+        putGradeFields(grade);
+        endRecord();
+    }
+
+    /**
+     * Writes a subject.
+     *
+     * @param subject the subject
+     * @throws IOException if a full block cannot be written
+     */
+    public void write(Subject subject) throws IOException {
+        putByte(SUBJECT);
+        putSubject(subject);
+        endRecord();
+    }
+
+    /**
+     * Writes a scheduled task with its last run and next run.
+     *
+     * @param task the task
+     * @throws IOException if a full block cannot be written
+     */
+    public void write(ScheduledTask task) throws IOException {
+        putByte(TASK);
+        putString(task.getTaskId());
+        putString(task.getTaskName());
+        putByte((byte) task.getScheduleType().ordinal());
+        putVarLong(task.getIntervalSeconds());
+        int flags = (task.isActive() ? TASK_ACTIVE : 0)
+                | (task.getLastExecution() != null ? TASK_LAST_EXECUTION : 0)
+                | (task.getNextExecution() != null ? TASK_NEXT_EXECUTION : 0);
+        putByte((byte) flags);
+        if (task.getLastExecution() != null) putDateTime(task.getLastExecution());
+        if (task.getNextExecution() != null) putDateTime(task.getNextExecution());
+        putString(task.getLastStatus());
+        putVarLong(task.getLastDurationMs());
+        endRecord();
+    }
+
+    /**
+     * Writes the last partial block and closes the file.
+     *
+     * @throws IOException if the block cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+        } finally {
+            if (out != null) {
+                out.close();
+            } else {
+                compressed.close();
+            }
+        }
+    }
+
+    public long getRecordCount() { return recordCount; }
+    // Record bytes written so far, including the header, before any compression
+    public long getBytesWritten() { return bytesWritten; }
+
+    // Grade number delta, subject, score, epoch day; the student is implied by the record
+    private void putGradeFields(Grade grade) {
+        putSignedVarLong(grade.getGradeNumber() - lastGradeNumber);
+        lastGradeNumber = grade.getGradeNumber();
+        putSubject(grade.getSubject());
+        double score = grade.getGrade();
+        long hundredths = Math.round(score * 100);
+        if (hundredths >= 0 && hundredths <= 10_000 && hundredths / 100.0 == score) {
+            putVarLong(hundredths + 1);
+        } else {
+            putVarLong(EXACT_SCORE);
+            putLong(Double.doubleToLongBits(score));
+        }
+        putSignedVarLong(grade.getEpochDay());
+    }
+
+    private void emit(ByteBuffer bytes) throws IOException {
+        bytesWritten += bytes.remaining();
+        if (out != null) {
+            BufferIO.writeFully(out, bytes);
+        } else {
+            compressed.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            bytes.position(bytes.limit());
+        }
+    }
+
+    private void putSubject(Subject subject) {
+        Integer index = subjects.get(subject);
+        if (index != null) {
+            putVarLong(index + 2);
+            return;
+        }
+        putVarLong(NEW_REF);
+        subjects.put(subject, subjects.size());
+        putByte(subject instanceof CoreSubject ? CORE : ELECTIVE);
+        putString(subject.getSubjectName());
+        putString(subject.getSubjectCode());
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            putVarLong(NULL_REF);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            putVarLong(index + 2);
+            return;
+        }
+        putVarLong(NEW_REF);
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, block, size, bytes.length);
+        size += bytes.length;
+    }
+
+    // UTC seconds and nanoseconds, so the value does not depend on the time zone
+    private void putDateTime(LocalDateTime value) {
+        putSignedVarLong(value.toEpochSecond(ZoneOffset.UTC));
+        putVarLong(value.getNano());
+    }
+
+    private void putByte(byte value) {
+        ensure(1);
+        block[size++] = value;
+    }
+
+    private void putLong(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            block[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    // LEB128: seven bits per byte, low bits first, high bit set while more bytes follow
+    private void putVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            block[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        block[size++] = (byte) value;
+    }
+
+    // Zigzag maps small negative numbers to small varints: 0, -1, 1, -2 ... to 0, 1, 2, 3 ...
+    private void putSignedVarLong(long value) {
+        putVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void ensure(int bytes) {
+        if (size + bytes > block.length) {
+            byte[] grown = new byte[Math.max(block.length * 2, size + bytes)];
+            System.arraycopy(block, 0, grown, 0, size);
+            block = grown;
+        }
+    }
+
+    private void endRecord() throws IOException {
+        recordCount++;
+        if (size >= BLOCK_TARGET) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (size == 0) return;
+        checksum.reset();
+        checksum.update(block, 0, size);
+        header.clear();
+        header.putInt(size).putInt((int) checksum.getValue()).flip();
+        emit(header);
+        emit(ByteBuffer.wrap(block, 0, size));
+        size = 0;
+        strings.clear();
+        subjects.clear();
+        lastStudentNumber = 0;
+        lastGradeNumber = 0;
+    }
+}
@@ -0,0 +1,439 @@
+package org.example.persistence;
+
+import org.example.models.*;
+import org.example.utils.IdAllocator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of student and grade mutations, written before they are considered durable.
+ * Each record is framed as [body length][CRC32 of body][body], where the body is a sequence
+ * number (LSN), a record type and a compact binary payload. A record that is cut short or
+ * fails its checksum marks the end of the log; opening the log truncates anything after it.
+ *
+ * Records are buffered and written out with a group commit: the file is forced to disk once
+ * every N records, and a background flusher forces whatever is pending every M milliseconds.
+ * A crash can lose at most the records appended since the last force. N = 1 forces every record.
+ *
+ * All appends are synchronized.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class WriteAheadLog implements Closeable {
+    public static final String DEFAULT_PATH = "./data/wal/mutations.wal";
+
+    static final byte ADD_STUDENT = 1;
+    static final byte PUT_GRADE = 2;
+    static final byte SET_STATUS = 3;
+
+    private static final byte REGULAR = 0;
+    private static final byte HONORS = 1;
+    private static final byte CORE = 0;
+    private static final byte ELECTIVE = 1;
+    // Length and checksum ahead of each body
+    private static final int FRAME_HEADER = 8;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_BODY = 1 << 20;
+
+    private final Path path;
+    private FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    // One record being encoded; grows for oversized records
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+    private long lastLsn;
+    private long lastSyncedLsn;
+    private int unsyncedRecords;
+    private int syncEveryRecords = 1;
+    private long syncIntervalMillis;
+    private ScheduledExecutorService flusher;
+    private boolean closed;
+
+    /**
+     * Opens a log for appending, creating it if needed. A torn or corrupt tail left by a
+     * crash is cut off so new records follow the last valid one.
+     *
+     * @param path the log file
+     * @throws IOException if the file cannot be opened or read
+     */
+    public WriteAheadLog(Path path) throws IOException {
+        this.path = path;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long[] end = scan(channel, 0, null);
+        lastLsn = end[1];
+        lastSyncedLsn = lastLsn;
+        if (channel.size() > end[0]) {
+            channel.truncate(end[0]);
+        }
+        channel.position(end[0]);
+    }
+
+    /**
+     * Sets the group-commit policy. The log is forced after every {@code everyRecords}
+     * records, and pending records are forced every {@code intervalMillis} by a background
+     * thread. Use 0 to disable either trigger; with both disabled, records reach the file
+     * only when the buffer fills, on {@link #sync()} or on {@link #close()}.
+     *
+     * @param everyRecords records per forced write, or 0
+     * @param intervalMillis longest time a record waits to be forced, or 0
+     */
+    public synchronized void setGroupCommit(int everyRecords, long intervalMillis) {
+        if (everyRecords < 0 || intervalMillis < 0) {
+            throw new IllegalArgumentException("Group commit settings must not be negative");
+        }
+        this.syncEveryRecords = everyRecords;
+        this.syncIntervalMillis = intervalMillis;
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flusher = null;
+        }
+        if (intervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "WAL-Flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Logs a new student, including any grades it already holds.
+     *
+     * @param student the student added
+     * @return the LSN of the student record
+     * @throws IOException if the log cannot be written
+     */
+    public synchronized long logAddStudent(Student student) throws IOException {
+        byte[] name = BufferIO.utf8(student.getName());
+        byte[] email = BufferIO.utf8(student.getEmail());
+        byte[] phone = BufferIO.utf8(student.getPhone());
+        byte[] status = BufferIO.utf8(student.getStatus());
+        ByteBuffer body = begin(ADD_STUDENT, 4 + 1 + 4 + 8 + name.length + email.length + phone.length + status.length);
+        body.putInt(student.getStudentNumber());
+        body.put(student instanceof HonorsStudent ? HONORS : REGULAR);
+        body.putInt(student.getAge());
+        BufferIO.putString(body, name);
+        BufferIO.putString(body, email);
+        BufferIO.putString(body, phone);
+        BufferIO.putString(body, status);
+        long lsn = commit();
+        for (Grade grade : student.getGrades()) {
+            logPutGrade(student, grade);
+        }
+        return lsn;
+    }
+
+    /**
+     * Logs a grade's current values. The same record covers a new grade and an edit:
+     * replay adds the grade if the student does not have it and otherwise sets its score.
+     *
+     * @param student the student the grade belongs to
+     * @param grade the grade added or edited
+     * @return the record's LSN
+     * @throws IOException if the log cannot be written
+     */
+    public synchronized long logPutGrade(Student student, Grade grade) throws IOException {
+        Subject subject = grade.getSubject();
+        byte[] name = BufferIO.utf8(subject.getSubjectName());
+        byte[] code = BufferIO.utf8(subject.getSubjectCode());
+        ByteBuffer body = begin(PUT_GRADE, 4 + 4 + 1 + 4 + name.length + code.length + 8 + 4);
+        body.putInt(student.getStudentNumber());
+        body.putInt(grade.getGradeNumber());
+        body.put(subject instanceof CoreSubject ? CORE : ELECTIVE);
+        BufferIO.putString(body, name);
+        BufferIO.putString(body, code);
+        body.putDouble(grade.getGrade());
+        body.putInt(grade.getEpochDay());
+        return commit();
+    }
+
+    /**
+     * Logs a student's current status.
+     *
+     * @param student the student whose status changed
+     * @return the record's LSN
+     * @throws IOException if the log cannot be written
+     */
+    public synchronized long logSetStatus(Student student) throws IOException {
+        byte[] status = BufferIO.utf8(student.getStatus());
+        ByteBuffer body = begin(SET_STATUS, 4 + 2 + status.length);
+        body.putInt(student.getStudentNumber());
+        BufferIO.putString(body, status);
+        return commit();
+    }
+
+    /**
+     * Writes out buffered records and forces them to disk.
+     *
+     * @throws IOException if the write or force fails
+     */
+    public synchronized void sync() throws IOException {
+        flushBuffer();
+        if (lastSyncedLsn != lastLsn) {
+            channel.force(false);
+            lastSyncedLsn = lastLsn;
+        }
+        unsyncedRecords = 0;
+    }
+
+    /**
+     * Continues numbering after a given LSN if the log is behind it. Called after recovery
+     * with the checkpoint's LSN, so a log emptied by {@link #discardThrough(long)} does not
+     * reuse LSNs the checkpoint already covers.
+     *
+     * @param lsn the last LSN already accounted for
+     */
+    public synchronized void startAfter(long lsn) {
+        if (lastLsn < lsn) {
+            lastLsn = lsn;
+            lastSyncedLsn = Math.max(lastSyncedLsn, lsn);
+        }
+    }
+
+    /**
+     * Drops the records up to and including an LSN, typically one covered by a checkpoint,
+     * by copying the remaining tail to a new file that replaces the log.
+     * Appends wait while the tail is copied.
+     * Time Complexity: O(r + t) to step over r dropped records and copy a t-byte tail.
+     *
+     * @param lsn the last LSN to drop
+     * @throws IOException if the log cannot be rewritten
+     */
+    public synchronized void discardThrough(long lsn) throws IOException {
+        sync();
+        long offset = offsetAfter(lsn);
+        if (offset == 0) return;
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long end = channel.size();
+            for (long position = offset; position < end; ) {
+                position += channel.transferTo(position, end - position, out);
+            }
+            out.force(false);
+        }
+        channel.close();
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+    }
+
+    // Offset of the first record with an LSN above lsn, or the end of the log
+    private long offsetAfter(long lsn) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER + 8);
+        long size = channel.size();
+        long offset = 0;
+        while (offset + header.capacity() <= size) {
+            header.clear();
+            BufferIO.readFully(channel, header, offset);
+            if (header.getLong(FRAME_HEADER) > lsn) break;
+            offset += FRAME_HEADER + header.getInt(0);
+        }
+        return Math.min(offset, size);
+    }
+
+    // LSN of the newest record appended, durable or not; 0 for an empty log
+    public synchronized long getLastLsn() {
+        return lastLsn;
+    }
+
+    // LSN of the newest record known to be on disk
+    public synchronized long getLastSyncedLsn() {
+        return lastSyncedLsn;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        try {
+            sync();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads the records of a log with an LSN above {@code afterLsn}, in order.
+     * Reading stops at the first torn or corrupt record.
+     *
+     * @param path the log file; a missing file reads as empty
+     * @param afterLsn skip records up to and including this LSN, e.g. one covered by a checkpoint
+     * @param visitor receives each record
+     * @return the LSN of the last valid record in the log, or 0 if there is none
+     * @throws IOException if the file cannot be read
+     */
+    public static long replay(Path path, long afterLsn, Visitor visitor) throws IOException {
+        if (!Files.exists(path)) return 0;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            return scan(in, afterLsn, visitor)[1];
+        }
+    }
+
+    /** Receives replayed records as model objects built from their payloads. */
+    public interface Visitor {
+        void addStudent(Student student);
+        void putGrade(int studentNumber, Grade grade);
+        void setStatus(int studentNumber, String status);
+    }
+
+    // Starts a record in the scratch buffer, leaving room for the frame header
+    private ByteBuffer begin(byte type, int payloadSize) throws IOException {
+        if (closed) {
+            throw new IOException("Write-ahead log is closed: " + path);
+        }
+        int size = FRAME_HEADER + 8 + 1 + payloadSize;
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        scratch.position(FRAME_HEADER);
+        scratch.putLong(lastLsn + 1);
+        scratch.put(type);
+        return scratch;
+    }
+
+    // Frames the scratch body, appends it to the buffer and applies the group-commit policy
+    private long commit() throws IOException {
+        int bodyLength = scratch.position() - FRAME_HEADER;
+        crc.reset();
+        crc.update(scratch.array(), FRAME_HEADER, bodyLength);
+        scratch.putInt(0, bodyLength);
+        scratch.putInt(4, (int) crc.getValue());
+        scratch.flip();
+        if (buffer.remaining() < scratch.remaining()) {
+            flushBuffer();
+        }
+        if (scratch.remaining() > buffer.capacity()) {
+            while (scratch.hasRemaining()) {
+                channel.write(scratch);
+            }
+        } else {
+            buffer.put(scratch);
+        }
+        lastLsn++;
+        unsyncedRecords++;
+        if (syncEveryRecords > 0 && unsyncedRecords >= syncEveryRecords) {
+            sync();
+        }
+        return lastLsn;
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private synchronized void flushQuietly() {
+        if (closed || unsyncedRecords == 0) return;
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Warning: Could not sync write-ahead log: " + e.getMessage());
+        }
+    }
+
+    // Returns {end offset of the last valid record, its LSN}; visits records above afterLsn
+    private static long[] scan(FileChannel in, long afterLsn, Visitor visitor) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER);
+        ByteBuffer body = ByteBuffer.allocate(256);
+        CRC32 check = new CRC32();
+        long offset = 0;
+        long lsn = 0;
+        long size = in.size();
+        while (offset + FRAME_HEADER <= size) {
+            header.clear();
+            BufferIO.readFully(in, header, offset);
+            int length = header.getInt(0);
+            if (length < 9 || length > MAX_BODY || offset + FRAME_HEADER + length > size) break;
+            if (body.capacity() < length) {
+                body = ByteBuffer.allocate(length);
+            }
+            body.clear().limit(length);
+            BufferIO.readFully(in, body, offset + FRAME_HEADER);
+            check.reset();
+            check.update(body.array(), 0, length);
+            if ((int) check.getValue() != header.getInt(4)) break;
+
+            body.flip();
+            long recordLsn = body.getLong();
+            if (recordLsn != lsn + 1 && lsn != 0) break;
+            byte type = body.get();
+            if (visitor != null && recordLsn > afterLsn) {
+                decode(type, body, visitor);
+            }
+            lsn = recordLsn;
+            offset += FRAME_HEADER + length;
+        }
+        return new long[]{offset, lsn};
+    }
+
+    private static void decode(byte type, ByteBuffer body, Visitor visitor) {
+        switch (type) {
+            case ADD_STUDENT: {
+                int number = body.getInt();
+                byte kind = body.get();
+                int age = body.getInt();
+                String name = BufferIO.getString(body);
+                String email = BufferIO.getString(body);
+                String phone = BufferIO.getString(body);
+                String status = BufferIO.getString(body);
+                Student student = kind == HONORS
+                        ? new HonorsStudent(number, name, age, email, phone)
+                        : new RegularStudent(number, name, age, email, phone);
+                if (!"Active".equals(status)) {
+                    student.setStatus(status);
+                }
+                visitor.addStudent(student);
+                break;
+            }
+            case PUT_GRADE: {
+                int studentNumber = body.getInt();
+                int gradeNumber = body.getInt();
+                byte kind = body.get();
+                String name = BufferIO.getString(body);
+                String code = BufferIO.getString(body);
+                double score = body.getDouble();
+                int epochDay = body.getInt();
+                Subject subject = kind == CORE ? new CoreSubject(name, code) : new ElectiveSubject(name, code);
+                visitor.putGrade(studentNumber, new Grade(gradeNumber,
+                        IdAllocator.STUDENTS.format(studentNumber), subject, score, LocalDate.ofEpochDay(epochDay)));
+                break;
+            }
+            case SET_STATUS:
+                visitor.setStatus(body.getInt(), BufferIO.getString(body));
+                break;
+            default:
+                throw new IllegalStateException("Unknown write-ahead log record type: " + type);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package org.example.service;
 
 import org.example.models.AuditEntry;
+import org.example.persistence.BlockCodecs;
+import org.example.persistence.BlockCompressedInputStream;
+import org.example.persistence.BlockCompressedOutputStream;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,6 +18,8 @@ import java.util.stream.Collectors;
 public class AuditLogger {
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
     private static final String LOG_DIR = "./logs/audit/";
+    // Rotated logs are block-compressed
+    private static final String COMPRESSED_SUFFIX = ".z";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     private final ConcurrentLinkedQueue<AuditEntry> logQueue = new ConcurrentLinkedQueue<>();
@@ -65,10 +71,28 @@ public class AuditLogger {
             StandardOpenOption.CREATE, StandardOpenOption.APPEND);
     }
     
+    // The live log is only deleted once its compressed copy is complete
     private void rotateLog(Path logFile) throws IOException {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("HHmmss"));
-        Path rotatedFile = Paths.get(logFile.toString().replace(".log", "_" + timestamp + ".log"));
-        Files.move(logFile, rotatedFile);
+        Path rotatedFile = Paths.get(logFile.toString().replace(".log", "_" + timestamp + ".log" + COMPRESSED_SUFFIX));
+        try (OutputStream out = new BlockCompressedOutputStream(rotatedFile, BlockCodecs.DEFLATE)) {
+            Files.copy(logFile, out);
+        }
+        Files.delete(logFile);
+    }
+
+    private static List<String> readLines(Path logFile) throws IOException {
+        if (!logFile.toString().endsWith(COMPRESSED_SUFFIX)) {
+            return Files.readAllLines(logFile);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new BlockCompressedInputStream(logFile), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+        }
+        return lines;
     }
     
     public List<AuditEntry> getRecentEntries(int limit) {
@@ -94,10 +118,10 @@ public class AuditLogger {
         List<AuditEntry> results = new ArrayList<>();
         try {
             Files.list(Paths.get(LOG_DIR))
-                .filter(p -> p.toString().endsWith(".log"))
+                .filter(p -> p.toString().endsWith(".log") || p.toString().endsWith(".log" + COMPRESSED_SUFFIX))
                 .forEach(logFile -> {
                     try {
-                        Files.readAllLines(logFile).stream()
+                        readLines(logFile).stream()
                             .map(this::parseLogLine)
                             .filter(e -> {
                                 LocalDateTime entryTime = e.getTimestampAsDateTime();
@@ -3,6 +3,7 @@ package org.example.service;
 import org.example.exceptions.InvalidGradeException;
 import org.example.exceptions.StudentNotFoundException;
 import org.example.models.*;
+import org.example.utils.IdAllocator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +19,7 @@ public class BulkImportService {
     private EnhancedStudentManager studentManager;
     private CSVParser csvParser;
     private FileExporter fileExporter;
+    private final SubjectRegistry subjectRegistry = SubjectRegistry.getInstance();
 
     public BulkImportService(EnhancedStudentManager studentManager,
                              CSVParser csvParser,
@@ -39,16 +41,29 @@ public class BulkImportService {
 
         try {
             List<GradeRecord> records = csvParser.parseCSV("./imports/" + filename + ".csv");
+            // One atomic reservation covers every grade ID this import can need
+            IdAllocator.Block gradeNumbers = records.isEmpty() ? null : IdAllocator.GRADES.reserve(records.size());
 
-            for (GradeRecord record : records) {
-                try {
-                    processGradeRecord(record);
-                    result.incrementSuccessful();
-                } catch (Exception e) {
-                    errors.add("Row " + record.getRowNumber() + ": " + e.getMessage());
-                    result.incrementFailed();
-                }
+            // Resolve every record's student in one pass over the int-keyed index
+            int[] studentNumbers = new int[records.size()];
+            for (int i = 0; i < studentNumbers.length; i++) {
+                studentNumbers[i] = IdAllocator.STUDENTS.parse(records.get(i).getStudentId());
             }
+            Student[] students = studentManager.findAll(studentNumbers);
+
+            // Listeners hear about the whole import once, not once per grade
+            studentManager.batchMutations(() -> {
+                for (int i = 0; i < records.size(); i++) {
+                    GradeRecord record = records.get(i);
+                    try {
+                        processGradeRecord(record, students[i], gradeNumbers.next());
+                        result.incrementSuccessful();
+                    } catch (Exception e) {
+                        errors.add("Row " + record.getRowNumber() + ": " + e.getMessage());
+                        result.incrementFailed();
+                    }
+                }
+            });
 
             // Log the import
             try {
@@ -67,13 +82,11 @@ public class BulkImportService {
         return result;
     }
 
-    private void processGradeRecord(GradeRecord record)
+    private void processGradeRecord(GradeRecord record, Student student, int gradeNumber)
             throws StudentNotFoundException, InvalidGradeException {
 
         // Validate student exists
-        try {
-            studentManager.searchById(record.getStudentId());
-        } catch (StudentNotFoundException e) {
+        if (student == null || !student.getStudentId().equals(record.getStudentId())) {
             throw new StudentNotFoundException(record.getStudentId());
         }
 
@@ -82,19 +95,15 @@ public class BulkImportService {
             throw new InvalidGradeException(record.getGrade());
         }
 
-        // Create subject based on type
-        Subject subject;
-        if (record.getSubjectType().equalsIgnoreCase("Core")) {
-            subject = new CoreSubject(record.getSubjectName(),
-                    generateSubjectCode(record.getSubjectName()));
-        } else {
-            subject = new ElectiveSubject(record.getSubjectName(),
-                    generateSubjectCode(record.getSubjectName()));
-        }
+        // Shared subject for this name and type; created and validated only on first sight
+        Subject subject = subjectRegistry.intern(record.getSubjectName(), record.getSubjectType(),
+                this::generateSubjectCode);
 
-        // Create and add grade
-        Grade grade = new Grade(record.getStudentId(), subject, record.getGrade());
-        studentManager.addGradeToStudent(record.getStudentId(), grade);
+        // Create and add grade, keeping the recorded date of historical rows
+        Grade grade = record.getDate() == null
+                ? new Grade(gradeNumber, record.getStudentId(), subject, record.getGrade())
+                : new Grade(gradeNumber, record.getStudentId(), subject, record.getGrade(), record.getDate());
+        studentManager.addGradeToStudent(student, grade);
     }
 
     private String generateSubjectCode(String subjectName) {
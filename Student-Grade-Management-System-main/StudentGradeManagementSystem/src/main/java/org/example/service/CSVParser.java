@@ -7,17 +7,23 @@ import org.example.models.GradeRecord;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Parses CSV files containing grade records.
  * Validates format and data integrity during parsing.
+ * Rows are StudentID,SubjectName,SubjectType,Grade with an optional fifth Date column
+ * (dd-MM-yyyy or yyyy-MM-dd) for grades recorded on an earlier day.
  * 
  * @author Student Grade Management System
  * @version 3.0
  */
 public class CSVParser {
+    private static final DateTimeFormatter DAY_FIRST = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
     /**
      * Parses CSV file and returns list of grade records.
@@ -59,9 +65,9 @@ public class CSVParser {
     private GradeRecord parseLine(String line, int rowNumber) throws CSVProcessingException {
         String[] parts = line.split(",");
 
-        if (parts.length != 4) {
+        if (parts.length != 4 && parts.length != 5) {
             throw new CSVProcessingException(rowNumber,
-                    "Expected 4 columns but found " + parts.length);
+                    "Expected 4 or 5 columns but found " + parts.length);
         }
 
         String studentId = parts[0].trim();
@@ -81,6 +87,20 @@ public class CSVParser {
                     "Grade must be a number, found: " + parts[3]);
         }
 
-        return new GradeRecord(studentId, subjectName, subjectType, grade, rowNumber);
+        LocalDate date = parts.length == 5 ? parseDate(parts[4].trim(), rowNumber) : null;
+        return new GradeRecord(studentId, subjectName, subjectType, grade, date, rowNumber);
+    }
+
+    // Accepts dd-MM-yyyy, as grades are displayed, or ISO yyyy-MM-dd; an empty value means today
+    private LocalDate parseDate(String value, int rowNumber) throws CSVProcessingException {
+        if (value.isEmpty()) return null;
+        try {
+            return value.length() == 10 && value.charAt(4) == '-'
+                    ? LocalDate.parse(value)
+                    : LocalDate.parse(value, DAY_FIRST);
+        } catch (DateTimeParseException e) {
+            throw new CSVProcessingException(rowNumber,
+                    "Date must be dd-MM-yyyy or yyyy-MM-dd, found: " + value);
+        }
     }
 }
@@ -1,31 +1,73 @@
 package org.example.service;
 
+import org.example.interfaces.StudentMutationListener;
 import org.example.models.CacheEntry;
 import org.example.models.Student;
+import org.example.models.StudentMutationEvent;
+import org.example.utils.IdAllocator;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Manages LRU caches for students, reports, and statistics.
- * Provides cache warming, auto-refresh, and performance monitoring.
+ * Provides cache warming, per-entry expiry, and performance monitoring.
+ * Lookups load through the caches, so concurrent misses on one key share a single load.
+ * Entries stay until evicted or until the student manager reports a mutation they depend on:
+ * the student's own entry and report, statistics declared to depend on that student, and
+ * every population-wide statistic. Nothing is refreshed on a timer.
  * 
  * @author Student Grade Management System
  * @version 3.0
  */
 public class CacheManager {
+    // Byte limits: a student with a term of grades is under 1 KB, a rendered report several KB
+    public static final long STUDENT_CACHE_BYTES = 256 * 1024;
+    public static final long REPORT_CACHE_BYTES = 1024 * 1024;
+    public static final long STATS_CACHE_BYTES = 256 * 1024;
+    // Batch reports touch every student once, which would flush a pure LRU
+    private static final EvictionPolicy STUDENT_POLICY = EvictionPolicy.W_TINY_LFU;
+    private static final EvictionPolicy REPORT_POLICY = EvictionPolicy.W_TINY_LFU;
+    private static final EvictionPolicy STATS_POLICY = EvictionPolicy.LRU;
+    // Unknown IDs, e.g. from an import file, are remembered briefly so repeats skip the manager
+    private static final long MISSING_STUDENT_TTL_SECONDS = 30;
+
     private final LRUCache<String, Student> studentCache;
     private final LRUCache<String, String> reportCache;
     private final LRUCache<String, Map<String, Object>> statsCache;
     private final EnhancedStudentManager studentManager;
+    private final StudentMutationListener mutationListener = this::studentsMutated;
+    // Statistics keys derived from particular students, by student ID
+    private final Map<String, Set<String>> statsByStudent = new ConcurrentHashMap<>();
+    // Statistics keys derived from the whole population, invalidated by any mutation
+    private final Set<String> populationStats = ConcurrentHashMap.newKeySet();
 
     public CacheManager(EnhancedStudentManager studentManager) {
-        this.studentCache = new LRUCache<>(150);
-        this.reportCache = new LRUCache<>(150);
-        this.statsCache = new LRUCache<>(150);
+        this(studentManager, STUDENT_POLICY, REPORT_POLICY, STATS_POLICY);
+    }
+
+    /**
+     * Creates a cache manager with a chosen eviction policy for each cache.
+     *
+     * @param studentManager source of students
+     * @param studentPolicy policy for the student cache
+     * @param reportPolicy policy for the report cache
+     * @param statsPolicy policy for the statistics cache
+     */
+    public CacheManager(EnhancedStudentManager studentManager, EvictionPolicy studentPolicy,
+                        EvictionPolicy reportPolicy, EvictionPolicy statsPolicy) {
+        this.studentCache = new LRUCache<>(STUDENT_CACHE_BYTES, Weighers.students(), studentPolicy);
+        this.reportCache = new LRUCache<>(REPORT_CACHE_BYTES, Weighers.strings(), reportPolicy);
+        this.statsCache = new LRUCache<>(STATS_CACHE_BYTES, Weighers.statsMaps(), statsPolicy);
         this.studentManager = studentManager;
+        studentCache.setNegativeCaching(MISSING_STUDENT_TTL_SECONDS, TimeUnit.SECONDS);
+        // Subscribed before warming, so no mutation can slip in between
+        studentManager.addMutationListener(mutationListener);
         
         warmCache();
-        startAutoRefresh();
     }
 
     private void warmCache() {
@@ -34,17 +76,8 @@ public class CacheManager {
         for (Student student : students) {
             studentCache.put(student.getStudentId(), student);
         }
-        System.out.println("✓ Cache warmed with " + students.size() + " students");
-    }
-
-    private void startAutoRefresh() {
-        studentCache.startAutoRefresh(() -> {
-            System.out.println("[CACHE REFRESH] Refreshing stale entries...");
-            List<Student> students = studentManager.getAllStudents();
-            for (Student student : students) {
-                studentCache.put(student.getStudentId(), student);
-            }
-        }, 300); // Refresh every 5 minutes
+        System.out.println("✓ Cache warmed with " + studentCache.size() + " of " + students.size()
+                + " students (" + formatBytes(studentCache.getWeightedSize()) + ")");
     }
 
     /**
@@ -54,14 +87,34 @@ public class CacheManager {
      * @return the student, or null if not found
      */
     public Student getStudent(String studentId) {
-        Student cached = studentCache.get(studentId);
-        if (cached == null) {
-            cached = studentManager.findStudent(studentId);
-            if (cached != null) {
-                studentCache.put(studentId, cached);
+        return studentCache.get(studentId, studentManager::findStudent);
+    }
+
+    /**
+     * Retrieves many students, loading all the uncached ones in one pass over the manager.
+     *
+     * @param studentIds the students' IDs
+     * @return students by ID in the given order, without IDs that are not registered
+     */
+    public Map<String, Student> getStudents(Collection<String> studentIds) {
+        return studentCache.getAll(studentIds, this::loadStudents);
+    }
+
+    private Map<String, Student> loadStudents(Set<String> studentIds) {
+        List<String> ids = new ArrayList<>(studentIds);
+        int[] numbers = new int[ids.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = IdAllocator.STUDENTS.parse(ids.get(i));
+        }
+        Student[] found = studentManager.findAll(numbers);
+        Map<String, Student> loaded = new HashMap<>();
+        for (int i = 0; i < found.length; i++) {
+            // Same rule as findStudent: zero-padding variants of an ID do not match
+            if (found[i] != null && found[i].getStudentId().equals(ids.get(i))) {
+                loaded.put(ids.get(i), found[i]);
             }
         }
-        return cached;
+        return loaded;
     }
 
     /**
@@ -72,6 +125,29 @@ public class CacheManager {
     public void invalidateStudent(String studentId) {
         studentCache.invalidate(studentId);
         reportCache.invalidate(studentId + "_report");
+        Set<String> dependentStats = statsByStudent.remove(studentId);
+        if (dependentStats != null) {
+            for (String key : dependentStats) {
+                statsCache.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Invalidates exactly what a batch of mutations made stale: each named student's entry,
+     * which is reloaded and re-weighed on next use, its report and the statistics depending
+     * on it, plus every population-wide statistic.
+     * Time Complexity: O(s + k) for s students and k dependent statistics keys.
+     *
+     * @param event the students added or changed
+     */
+    private void studentsMutated(StudentMutationEvent event) {
+        for (String studentId : event.getStudentIds()) {
+            invalidateStudent(studentId);
+        }
+        for (String key : populationStats) {
+            statsCache.invalidate(key);
+        }
     }
     
     public void putStudent(String studentId, Student student) {
@@ -86,18 +162,97 @@ public class CacheManager {
         return reportCache.get(studentId + "_report");
     }
 
+    /**
+     * Retrieves a student's report, rendering it on a miss. Threads asking for the same
+     * report at once, e.g. during batch report generation, wait for one rendering.
+     *
+     * @param studentId the student's ID
+     * @param renderer renders the report for a student
+     * @return the report, or null if the student is not registered
+     */
+    public String getReport(String studentId, Function<Student, String> renderer) {
+        return reportCache.get(studentId + "_report", key -> {
+            Student student = getStudent(studentId);
+            return student == null ? null : renderer.apply(student);
+        });
+    }
+
+    // Caches statistics over the whole population, invalidated by any student mutation
     public void putStats(String key, Map<String, Object> stats) {
+        populationStats.add(key);
         statsCache.put(key, stats);
     }
 
+    /**
+     * Caches statistics derived only from the given students, e.g. a subject's or a
+     * cohort's, so mutations of other students leave them cached.
+     *
+     * @param key the statistics key
+     * @param stats the statistics
+     * @param studentIds the students the statistics were calculated from
+     */
+    public void putStats(String key, Map<String, Object> stats, Collection<String> studentIds) {
+        dependOn(key, studentIds);
+        statsCache.put(key, stats);
+    }
+
+    /**
+     * Caches statistics with their own time to live, e.g. longer for expensive aggregates.
+     *
+     * @param key the statistics key
+     * @param stats the statistics
+     * @param ttl time to live
+     * @param unit unit of ttl
+     */
+    public void putStats(String key, Map<String, Object> stats, long ttl, TimeUnit unit) {
+        populationStats.add(key);
+        statsCache.put(key, stats, ttl, unit);
+    }
+
     public Map<String, Object> getStats(String key) {
         return statsCache.get(key);
     }
 
+    /**
+     * Retrieves statistics, calculating them on a miss; concurrent misses share one
+     * calculation.
+     *
+     * @param key the statistics key
+     * @param calculator calculates the statistics
+     * @return the statistics
+     */
+    public Map<String, Object> getStats(String key, Supplier<Map<String, Object>> calculator) {
+        // Registered before loading, so a mutation during the calculation discards its result
+        populationStats.add(key);
+        return statsCache.get(key, k -> calculator.get());
+    }
+
+    /**
+     * Retrieves statistics derived only from the given students, calculating them on a miss.
+     *
+     * @param key the statistics key
+     * @param studentIds the students the statistics are calculated from
+     * @param calculator calculates the statistics
+     * @return the statistics
+     */
+    public Map<String, Object> getStats(String key, Collection<String> studentIds,
+                                        Supplier<Map<String, Object>> calculator) {
+        dependOn(key, studentIds);
+        return statsCache.get(key, k -> calculator.get());
+    }
+
+    private void dependOn(String key, Collection<String> studentIds) {
+        for (String studentId : studentIds) {
+            statsByStudent.computeIfAbsent(studentId, id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
     public void clearAll() {
         studentCache.clear();
         reportCache.clear();
         statsCache.clear();
+        statsByStudent.clear();
+        populationStats.clear();
         System.out.println("✓ All caches cleared");
     }
 
@@ -109,6 +264,11 @@ public class CacheManager {
         System.out.println("║              CACHE STATISTICS DASHBOARD                      ║");
         System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
 
+        // Drop expired entries first, so idle caches report what they really hold
+        studentCache.cleanUp();
+        reportCache.cleanUp();
+        statsCache.cleanUp();
+
         displayCacheStats("STUDENT CACHE", studentCache);
         System.out.println();
         displayCacheStats("REPORT CACHE", reportCache);
@@ -122,24 +282,31 @@ public class CacheManager {
         int totalEntries = studentCache.size() + reportCache.size() + statsCache.size();
         long totalMemory = studentCache.getMemoryUsage() + reportCache.getMemoryUsage() + statsCache.getMemoryUsage();
         
-        System.out.println("Total Entries: " + totalEntries + " / 450");
-        System.out.println("Total Memory: " + formatBytes(totalMemory));
-        System.out.println("Cache Utilization: " + String.format("%.1f%%", (totalEntries * 100.0) / 450));
+        long totalCapacity = studentCache.getMaximum() + reportCache.getMaximum() + statsCache.getMaximum();
+        
+        System.out.println("Total Entries: " + totalEntries);
+        System.out.println("Total Memory: " + formatBytes(totalMemory) + " / " + formatBytes(totalCapacity));
+        System.out.println("Cache Utilization: " + String.format("%.1f%%", (totalMemory * 100.0) / totalCapacity));
     }
 
     private void displayCacheStats(String name, LRUCache<?, ?> cache) {
         System.out.println("─────────────────────────────────────────────────────────────");
         System.out.println(name);
         System.out.println("─────────────────────────────────────────────────────────────");
-        System.out.println("Entries: " + cache.size() + " / 150");
+        System.out.println("Policy: " + cache.getEvictionPolicy().getName());
+        System.out.println("Entries: " + cache.size());
         System.out.println("Hit Rate: " + String.format("%.2f%%", cache.getHitRate()));
         System.out.println("Miss Rate: " + String.format("%.2f%%", cache.getMissRate()));
         System.out.println("Hits: " + cache.getHits());
         System.out.println("Misses: " + cache.getMisses());
         System.out.println("Evictions: " + cache.getEvictionCount());
+        System.out.println("Expirations: " + cache.getExpirationCount());
+        System.out.println("Refreshes: " + cache.getRefreshCount());
+        System.out.println("Loads: " + cache.getLoadCount());
+        System.out.println("Avg Load Time: " + cache.getAverageLoadTime() + " ns");
         System.out.println("Avg Hit Time: " + cache.getAverageHitTime() + " ns");
         System.out.println("Avg Miss Time: " + cache.getAverageMissTime() + " ns");
-        System.out.println("Memory Usage: " + formatBytes(cache.getMemoryUsage()));
+        System.out.println("Memory Usage: " + formatBytes(cache.getMemoryUsage()) + " / " + formatBytes(cache.getMaximum()));
     }
 
     public void displayCacheContents() {
@@ -171,6 +338,7 @@ public class CacheManager {
     }
 
     public void shutdown() {
+        studentManager.removeMutationListener(mutationListener);
         studentCache.shutdown();
         reportCache.shutdown();
         statsCache.shutdown();
@@ -0,0 +1,116 @@
+package org.example.service;
+
+/**
+ * Decides which LRUCache entry to evict. Every method is called with the cache's eviction
+ * lock held, so implementations need no synchronization of their own.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+abstract class CachePolicy<K, V> {
+
+    // A new entry was inserted
+    abstract void onAdd(LRUCache.Node<K, V> node);
+
+    // An entry was read (hits are replayed from the read buffers in batches)
+    abstract void onAccess(LRUCache.Node<K, V> node);
+
+    // An entry was invalidated or replaced and must be forgotten
+    abstract void onRemove(LRUCache.Node<K, V> node);
+
+    // An entry's value was replaced or refreshed and now weighs this much
+    abstract void onWeightChange(LRUCache.Node<K, V> node, int weight);
+
+    /**
+     * Unlinks and returns the entry to evict, or null if the policy holds none.
+     */
+    abstract LRUCache.Node<K, V> evict();
+
+    // Total weight of the entries the policy holds
+    abstract long weightedSize();
+
+    abstract void clear();
+
+    /**
+     * Intrusive doubly linked list of nodes in access order: head is the least recently used.
+     * A node is in at most one queue at a time, recorded in its queue field; the queue
+     * keeps the total weight of its nodes next to their count.
+     */
+    static final class Queue<K, V> {
+        private final int id;
+        LRUCache.Node<K, V> head;
+        LRUCache.Node<K, V> tail;
+        int size;
+        long weight;
+
+        Queue(int id) {
+            this.id = id;
+        }
+
+        boolean contains(LRUCache.Node<K, V> node) {
+            return node.queue == id;
+        }
+
+        void linkLast(LRUCache.Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            node.queue = id;
+            size++;
+            weight += node.weight;
+        }
+
+        void unlink(LRUCache.Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.queue = LRUCache.Node.UNLINKED;
+            size--;
+            weight -= node.weight;
+        }
+
+        void moveToTail(LRUCache.Node<K, V> node) {
+            if (node != tail) {
+                unlink(node);
+                linkLast(node);
+            }
+        }
+
+        // Changes the weight of a node in this queue
+        void reweigh(LRUCache.Node<K, V> node, int newWeight) {
+            weight += newWeight - node.weight;
+            node.weight = newWeight;
+        }
+
+        LRUCache.Node<K, V> pollFirst() {
+            LRUCache.Node<K, V> first = head;
+            if (first != null) {
+                unlink(first);
+            }
+            return first;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+            weight = 0;
+        }
+    }
+}
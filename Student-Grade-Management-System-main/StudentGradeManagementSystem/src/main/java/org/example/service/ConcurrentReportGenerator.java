@@ -2,6 +2,7 @@ package org.example.service;
 
 import org.example.exceptions.StudentNotFoundException;
 import org.example.models.Student;
+import org.example.utils.IdAllocator;
 
 import java.io.IOException;
 import java.util.*;
@@ -42,10 +43,18 @@ public class ConcurrentReportGenerator {
             threadStatus.put(i, "Idle");
         }
         
+        // Resolve every student up front in one pass over the int-keyed index
+        int[] studentNumbers = new int[studentIds.size()];
+        for (int i = 0; i < studentNumbers.length; i++) {
+            studentNumbers[i] = IdAllocator.STUDENTS.parse(studentIds.get(i));
+        }
+        Student[] students = studentManager.findAll(studentNumbers);
+        
         // Submit tasks
         for (int i = 0; i < studentIds.size(); i++) {
             String studentId = studentIds.get(i);
-            ReportTask task = new ReportTask(studentId, reportType, startTime, threadStatus, threadStartTimes, i % threadCount + 1);
+            Student student = students[i] != null && students[i].getStudentId().equals(studentId) ? students[i] : null;
+            ReportTask task = new ReportTask(studentId, student, reportType, startTime, threadStatus, threadStartTimes, i % threadCount + 1);
             completionService.submit(task);
         }
         
@@ -94,6 +103,7 @@ public class ConcurrentReportGenerator {
     
     private class ReportTask implements Callable<ReportTask> {
         private final String studentId;
+        private final Student student;
         private final String reportType;
         private final long batchStartTime;
         private final Map<Integer, String> threadStatus;
@@ -101,9 +111,10 @@ public class ConcurrentReportGenerator {
         private final int threadId;
         private ReportResult result;
         
-        public ReportTask(String studentId, String reportType, long batchStartTime, 
+        public ReportTask(String studentId, Student student, String reportType, long batchStartTime, 
                          Map<Integer, String> threadStatus, Map<Integer, Long> threadStartTimes, int threadId) {
             this.studentId = studentId;
+            this.student = student;
             this.reportType = reportType;
             this.batchStartTime = batchStartTime;
             this.threadStatus = threadStatus;
@@ -118,18 +129,21 @@ public class ConcurrentReportGenerator {
             threadStartTimes.put(threadId, taskStart);
             
             try {
+                if (student == null) {
+                    throw new StudentNotFoundException(studentId);
+                }
                 String filename = String.format("%s_%s_%d", studentId, reportType, taskStart);
                 
                 // Map format types to actual export methods
                 if ("pdf".equals(reportType) || "summary".equals(reportType)) {
-                    fileExporter.exportSummaryReport(studentId, filename);
+                    fileExporter.exportSummaryReport(student, filename);
                 } else if ("detailed".equals(reportType) || "excel".equals(reportType)) {
-                    fileExporter.exportDetailedReport(studentId, filename);
+                    fileExporter.exportDetailedReport(student, filename);
                 } else if ("all".equals(reportType)) {
-                    fileExporter.exportSummaryReport(studentId, filename);
-                    fileExporter.exportDetailedReport(studentId, filename);
+                    fileExporter.exportSummaryReport(student, filename);
+                    fileExporter.exportDetailedReport(student, filename);
                 } else {
-                    fileExporter.exportDetailedReport(studentId, filename);
+                    fileExporter.exportDetailedReport(student, filename);
                 }
                 
                 long duration = System.currentTimeMillis() - taskStart;
@@ -3,6 +3,9 @@ package org.example.service;
 import org.example.models.Student;
 import org.example.models.Grade;
 import org.example.exceptions.InvalidFileFormatException;
+import org.example.persistence.BlockCodecs;
+import org.example.persistence.RecordReader;
+import org.example.persistence.RecordWriter;
 
 
 import java.io.*;
@@ -94,7 +97,7 @@ public class EnhancedFileOperations {
             case "BINARY":
                 filepath = BINARY_DIR + filename + "_" + timestamp + ".dat";
                 exportToBinary(student, filepath);
-                displayExportSummary("Binary", filepath, startTime, student.getGrades().size(), "Serialized StudentReport object");
+                displayExportSummary("Binary", filepath, startTime, student.getGrades().size(), "Versioned binary records");
                 break;
             default:
                 throw new InvalidFileFormatException("Unsupported format: " + format);
@@ -166,8 +169,8 @@ public class EnhancedFileOperations {
     private void exportToBinary(Student student, String filepath) throws IOException {
         Path path = Paths.get(filepath);
         
-        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(path))) {
-            oos.writeObject(student);
+        try (RecordWriter writer = new RecordWriter(path, BlockCodecs.DEFLATE)) {
+            writer.write(student);
         }
     }
     
@@ -252,13 +255,14 @@ public class EnhancedFileOperations {
         }
     }
     
-    private void importFromBinary(String filepath) throws IOException, ClassNotFoundException {
+    private void importFromBinary(String filepath) throws IOException {
         Path path = Paths.get(filepath);
         long startTime = System.currentTimeMillis();
         
-        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(path))) {
-            Student student = (Student) ois.readObject();
-            studentManager.addStudent(student);
+        try (RecordReader reader = new RecordReader(path)) {
+            for (Student student : reader.readAll(Student.class)) {
+                studentManager.addStudent(student);
+            }
         }
         
         displayFileInfo(path, startTime, "Binary Import");
@@ -371,7 +375,7 @@ public class EnhancedFileOperations {
         System.out.println("  • File: " + testFile + ".dat");
         System.out.println("  • Location: ./data/binary/");
         System.out.println("  • Size: " + formatFileSize(binarySize) + " (compressed)");
-        System.out.println("  • Format: Serialized StudentReport object");
+        System.out.println("  • Format: Versioned binary records");
         System.out.println("  • Time: " + binaryTime + "ms\n");
         
         long totalTime = csvTime + jsonTime + binaryTime;
@@ -2,47 +2,165 @@ package org.example.service;
 
 import org.example.exceptions.StudentNotFoundException;
 import org.example.interfaces.Searchable;
+import org.example.interfaces.StudentChangeListener;
+import org.example.interfaces.StudentMutationListener;
 import org.example.models.*;
+import org.example.persistence.WriteAheadLog;
+import org.example.utils.IdAllocator;
+import org.example.utils.IntObjectMap;
 import org.example.utils.ValidationUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * Enhanced student manager with advanced search, statistics, and GPA reporting.
- * Uses HashMap for O(1) lookups, TreeMap for sorted rankings, and PriorityQueue for task scheduling.
+ * Uses an int-keyed open-addressing table for O(1) lookups, an order-statistic RankingIndex for O(log n) ranks,
+ * bitmap secondary indexes for attribute queries, a trigram index for name search, and PriorityQueue for task scheduling.
  * Implements Searchable interface for flexible student queries.
+ *
+ * Safe for concurrent use. Lookups and scans take StampedLock optimistic reads of the student
+ * table and only fall back to a read lock if a student was added meanwhile. Grade appends lock
+ * one of a fixed set of per-student stripes, so appends for different students run in parallel;
+ * the ranking move and bitmap updates that follow are short critical sections on each index.
+ *
+ * Observers outside the manager, such as caches, register a StudentMutationListener and are
+ * told about every added or changed student: one event per change, or one per batch for bulk
+ * imports and loads.
  * 
  * @author Student Grade Management System
  * @version 3.0
  */
 public class EnhancedStudentManager implements Searchable {
-    // HashMap for O(1) student lookup by ID
-    private HashMap<String, Student> students;
-    // TreeMap for O(log n) sorted GPA rankings (descending order)
-    private TreeMap<Double, List<Student>> gpaRankings;
-    // PriorityQueue for O(log n) task scheduling by priority
-    private PriorityQueue<Task> taskQueue;
-    // ArrayList for maintaining insertion order of student IDs
-    private ArrayList<String> studentInsertionOrder;
+    private static final int LOCK_STRIPES = stripeCount(Runtime.getRuntime().availableProcessors());
+
+    // Open-addressing table for O(1) student lookup by the numeric part of the ID
+    private IntObjectMap<Student> students;
+    // Order-statistic tree ranking students by average, updated on every grade mutation
+    private final RankingIndex rankingIndex = new RankingIndex();
+    // Bitmaps over store indexes by type, letter-grade band, passing status, subject and status
+    private final StudentBitmapIndex bitmapIndex;
+    // Trigram postings over lowercased names, with a maintained name order
+    private final NameSearchIndex nameIndex = new NameSearchIndex();
+    // PriorityBlockingQueue for O(log n) task scheduling by priority from any thread
+    private PriorityBlockingQueue<Task> taskQueue;
+    // Append-only array of students in insertion order; slices handed to readers are never modified
+    private Student[] population;
+    private int populationSize;
+    // Guards students and population; readers validate optimistic stamps
+    private final StampedLock tableLock = new StampedLock();
+    // Serialize grade appends per student
+    private final Object[] studentLocks;
+    // Column store holding every managed student's grades as primitive rows
+    private GradeColumnStore gradeStore;
+    // Records every student and grade mutation once attached; null until then
+    private volatile WriteAheadLog writeAheadLog;
+    // Numbers of students added or changed since the last backup drained them
+    private final Set<Integer> dirtyStudents = ConcurrentHashMap.newKeySet();
+    // Told about added and changed students, e.g. by caches of reports and statistics
+    private final List<StudentMutationListener> mutationListeners = new CopyOnWriteArrayList<>();
+    // Changes collected by this thread's batchMutations call, if one is running
+    private final ThreadLocal<MutationBatch> mutationBatch = new ThreadLocal<>();
 
     private StatisticsCalculator statisticsCalculator;
     private GPACalculator gpaCalculator;
     private ReportGenerator reportGenerator;
 
     public EnhancedStudentManager() {
-        students = new HashMap<>();
-        gpaRankings = new TreeMap<>(Collections.reverseOrder());
-        taskQueue = new PriorityQueue<>();
-        studentInsertionOrder = new ArrayList<>();
+        this(true);
+    }
+
+    /**
+     * Creates a manager, optionally without the built-in sample students, e.g. when the
+     * population is about to be restored from a checkpoint.
+     *
+     * @param withSampleData whether to add the sample students and grades
+     */
+    public EnhancedStudentManager(boolean withSampleData) {
+        students = new IntObjectMap<>();
+        taskQueue = new PriorityBlockingQueue<>();
+        population = new Student[64];
+        gradeStore = new GradeColumnStore(256);
+        bitmapIndex = new StudentBitmapIndex(gradeStore);
+        studentLocks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < studentLocks.length; i++) {
+            studentLocks[i] = new Object();
+        }
         statisticsCalculator = new StatisticsCalculator();
         gpaCalculator = new GPACalculator();
         reportGenerator = new ReportGenerator();
-        initializeSampleData();
+        if (withSampleData) {
+            initializeSampleData();
+        }
+    }
+
+    // Power of two, about four stripes per core
+    private static int stripeCount(int processors) {
+        int stripes = 16;
+        while (stripes < processors * 4 && stripes < 1024) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    private Object lockFor(Student student) {
+        return studentLocks[student.getStudentNumber() & (studentLocks.length - 1)];
+    }
+
+    // Runs a read of the student table optimistically, repeating it under the read lock if a writer interfered
+    private <T> T readTable(Supplier<T> reader) {
+        long stamp = tableLock.tryOptimisticRead();
+        T result = reader.get();
+        if (!tableLock.validate(stamp)) {
+            stamp = tableLock.readLock();
+            try {
+                result = reader.get();
+            } finally {
+                tableLock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    // O(1) - read-only view of the students added so far, in insertion order
+    private PopulationSnapshot.PopulationView populationView() {
+        long stamp = tableLock.tryOptimisticRead();
+        Student[] array = population;
+        int count = populationSize;
+        if (!tableLock.validate(stamp)) {
+            stamp = tableLock.readLock();
+            try {
+                array = population;
+                count = populationSize;
+            } finally {
+                tableLock.unlockRead(stamp);
+            }
+        }
+        return new PopulationSnapshot.PopulationView(array, count);
+    }
+
+    /**
+     * Takes a frozen, version-stamped view of every student and grade.
+     * Time Complexity: O(1) - shares the population array and grade columns; concurrent
+     * grade writes are not blocked and are not visible through the view.
+     *
+     * @return the snapshot
+     */
+    public PopulationSnapshot snapshot() {
+        // Population first: any student in it was attached to the store before it was published
+        PopulationSnapshot.PopulationView students = populationView();
+        return new PopulationSnapshot(students, gradeStore.snapshot());
     }
 
     /**
      * Searches for a student by ID.
-     * Time Complexity: O(1) using HashMap.
+     * Time Complexity: O(1) - parses the ID's digits and probes the int-keyed table.
      * 
      * @param studentId the student ID to search for
      * @return the student if found
@@ -50,39 +168,63 @@ public class EnhancedStudentManager implements Searchable {
      */
     @Override
     public Student searchById(String studentId) throws StudentNotFoundException {
-        ValidationUtils.validateStudentId(studentId);
-        Student student = students.get(studentId);
+        Student student = findStudent(studentId);
         if (student == null) {
+            ValidationUtils.validateStudentId(studentId);
             throw new StudentNotFoundException(studentId);
         }
         return student;
     }
 
+    // O(1) - looks up a student by the numeric part of its ID
+    public Student findStudent(int studentNumber) {
+        long stamp = tableLock.tryOptimisticRead();
+        Student student = students.get(studentNumber);
+        if (!tableLock.validate(stamp)) {
+            stamp = tableLock.readLock();
+            try {
+                student = students.get(studentNumber);
+            } finally {
+                tableLock.unlockRead(stamp);
+            }
+        }
+        return student;
+    }
+
     /**
-     * Searches for students by name (partial match).
-     * Time Complexity: O(n) iteration + O(n log n) sorting.
+     * Resolves many students in one pass without building ID strings.
+     * Time Complexity: O(k) for k IDs.
+     *
+     * @param studentNumbers numeric parts of the student IDs, e.g. from {@link IdAllocator#parse(String)}
+     * @return students in the same order, with null for numbers that are not registered
+     */
+    public Student[] findAll(int[] studentNumbers) {
+        return readTable(() -> {
+            Student[] found = new Student[studentNumbers.length];
+            for (int i = 0; i < studentNumbers.length; i++) {
+                found[i] = students.get(studentNumbers[i]);
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Searches for students by name (partial match, ignoring case).
+     * Time Complexity: O(c) over the students sharing the query's rarest trigram
+     * + O(m log m) int sort of the matches' name ranks.
      * 
      * @param name name or partial name to search for
      * @return list of matching students sorted by name
      */
     @Override
     public List<Student> searchByName(String name) {
-        List<Student> results = new ArrayList<>();
-        String searchTerm = name.toLowerCase();
-
-        for (Student student : students.values()) {
-            if (student.getName().toLowerCase().contains(searchTerm)) {
-                results.add(student);
-            }
-        }
-        // Sort results by name using custom comparator
-        results.sort(StudentComparator.byNameAscending());
-        return results;
+        return nameIndex.search(name);
     }
 
     /**
      * Searches for students within a grade range.
-     * Time Complexity: O(n) iteration + O(n log n) sorting.
+     * Time Complexity: O(m) over the students in the letter-grade bands the range touches
+     * + O(m log m) sorting.
      * 
      * @param min minimum grade percentage
      * @param max maximum grade percentage
@@ -95,7 +237,8 @@ public class EnhancedStudentManager implements Searchable {
         
         List<Student> results = new ArrayList<>();
 
-        for (Student student : students.values()) {
+        // Bands at the ends of the range may hold averages just outside it
+        for (Student student : bitmapIndex.students(bitmapIndex.ofAverageRange(min, max))) {
             double average = student.calculateAverageGrade();
             if (average >= min && average <= max) {
                 results.add(student);
@@ -105,16 +248,10 @@ public class EnhancedStudentManager implements Searchable {
         return results;
     }
 
-    // O(n) iteration through HashMap values + O(n log n) sorting
+    // O(m) over the type's bitmap + O(m log m) sorting
     @Override
     public List<Student> searchByType(String studentType) {
-        List<Student> results = new ArrayList<>();
-
-        for (Student student : students.values()) {
-            if (student.getStudentType().equalsIgnoreCase(studentType)) {
-                results.add(student);
-            }
-        }
+        List<Student> results = bitmapIndex.students(bitmapIndex.ofType(studentType));
         // Sort by type then GPA using custom comparator
         results.sort(StudentComparator.byTypeAndGPA());
         return results;
@@ -124,22 +261,23 @@ public class EnhancedStudentManager implements Searchable {
      * Displays comprehensive class statistics including distribution and analysis.
      */
     public void calculateAndDisplayStatistics() {
-        List<Double> allGrades = getAllGrades();
+        PopulationSnapshot snapshot = snapshot();
+        double[] allGrades = snapshot.copyScores();
 
-        if (allGrades.isEmpty()) {
+        if (allGrades.length == 0) {
             System.out.println("No grades available for statistics.");
             return;
         }
 
         System.out.println("\n=== CLASS STATISTICS ===\n");
-        System.out.println("Total Students: " + students.size());
-        System.out.println("Total Grades Recorded: " + allGrades.size());
+        System.out.println("Total Students: " + snapshot.getStudentCount());
+        System.out.println("Total Grades Recorded: " + allGrades.length);
 
         System.out.println("\nGRADE DISTRIBUTION");
         System.out.println("================================================================================\n");
         
-        Map<String, Integer> distribution = statisticsCalculator.calculateGradeDistribution(allGrades);
-        int totalGrades = allGrades.size();
+        Map<String, Integer> distribution = statisticsCalculator.calculateGradeDistribution(allGrades, allGrades.length);
+        int totalGrades = allGrades.length;
         
         // Define the order of grade categories
         String[] gradeOrder = {"A (90-100%)", "B (80-89%)", "C (70-79%)", "D (60-69%)", "F (0-59%)"};
@@ -167,17 +305,19 @@ public class EnhancedStudentManager implements Searchable {
         }
 
         System.out.println("\nSTATISTICAL ANALYSIS:");
-        System.out.printf("Mean (Average):    %.1f%%\n", statisticsCalculator.calculateMean(allGrades));
-        System.out.printf("Median:            %.1f%%\n", statisticsCalculator.calculateMedian(allGrades));
-        System.out.printf("Mode:              %.1f%%\n", statisticsCalculator.calculateMode(allGrades));
-        System.out.printf("Standard Deviation: %.1f%%\n", statisticsCalculator.calculateStandardDeviation(allGrades));
-
-        if (!allGrades.isEmpty()) {
-            double min = Collections.min(allGrades);
-            double max = Collections.max(allGrades);
-            System.out.printf("Range:             %.1f%% (%.0f%% - %.0f%%)\n",
-                    max - min, min, max);
+        System.out.printf("Mean (Average):    %.1f%%\n", statisticsCalculator.calculateMean(allGrades, allGrades.length));
+        System.out.printf("Median:            %.1f%%\n", statisticsCalculator.calculateMedian(allGrades, allGrades.length));
+        System.out.printf("Mode:              %.1f%%\n", statisticsCalculator.calculateMode(allGrades, allGrades.length));
+        System.out.printf("Standard Deviation: %.1f%%\n", statisticsCalculator.calculateStandardDeviation(allGrades, allGrades.length));
+
+        double min = allGrades[0];
+        double max = allGrades[0];
+        for (double grade : allGrades) {
+            if (grade < min) min = grade;
+            if (grade > max) max = grade;
         }
+        System.out.printf("Range:             %.1f%% (%.0f%% - %.0f%%)\n",
+                max - min, min, max);
     }
 
     /**
@@ -217,8 +357,9 @@ public class EnhancedStudentManager implements Searchable {
         System.out.println("Letter Grade: " +
                 gpaCalculator.convertPercentageToLetterGrade(student.calculateAverageGrade()));
 
-        int rank = calculateClassRank(student);
-        System.out.println("Class Rank: " + rank + " of " + students.size());
+        int rank = rankingIndex.rankOf(student);
+        System.out.println("Class Rank: " + rank + " of " + rankingIndex.size());
+        System.out.printf("Percentile: %.0f\n", rankingIndex.percentileOf(student));
 
         System.out.println("\nPerformance Analysis:");
         if (cumulativeGPA >= 3.5) {
@@ -233,162 +374,148 @@ public class EnhancedStudentManager implements Searchable {
         }
     }
 
-    // O(n) - uses pre-sorted TreeMap for ranking
-    private int calculateClassRank(Student targetStudent) {
-        int rank = 1;
-        for (Map.Entry<Double, List<Student>> entry : gpaRankings.entrySet()) {
-            for (Student student : entry.getValue()) {
-                if (student.getStudentId().equals(targetStudent.getStudentId())) {
-                    return rank;
-                }
-                rank++;
-            }
-        }
-        return rank;
-    }
-
-    // O(n*m) where n is students and m is grades per student
-    private List<Double> getAllGrades() {
-        List<Double> allGrades = new ArrayList<>();
-        for (Student student : students.values()) {
-            for (Grade grade : student.getGrades()) {
-                allGrades.add(grade.getGrade());
-            }
-        }
-        return allGrades;
-    }
-
-    // O(1) lookup using HashMap.get()
+    // O(1) lookup by ID; zero-padding variants such as STU0001 for STU001 do not match
     public Student findStudent(String studentId) {
-        return students.get(studentId);
+        int number = IdAllocator.STUDENTS.parse(studentId);
+        if (number < 0) return null;
+        Student student = findStudent(number);
+        return student != null && student.getStudentId().equals(studentId) ? student : null;
     }
 
     private void initializeSampleData() {
-        addStudent(new RegularStudent("Alice Johnson", 16, "alice.johnson@school.edu", "+1-555-1001"));
-        addStudent(new HonorsStudent("Bob Smith", 17, "bob.smith@university.edu", "+1-555-1002"));
-        addStudent(new RegularStudent("Carol Martinez", 16, "carol.martinez@college.edu", "+1-555-1003"));
-        addStudent(new HonorsStudent("David Chen", 17, "david.chen@school.edu", "+1-555-1004"));
-        addStudent(new RegularStudent("Emma Wilson", 16, "emma.wilson@academy.edu", "+1-555-1005"));
-        addStudent(new HonorsStudent("Banks Mill", 19, "banksmill@university.edu", "+1-555-1223"));
-        addStudent(new RegularStudent("Nece Kalisha", 18, "necekalisha@school.edu", "+1-203-1071"));
-        addStudent(new HonorsStudent("Bright Tank", 16, "brighttank@college.edu", "+1-550-1122"));
-        addStudent(new RegularStudent("Nece Alisha", 19, "necealisha@academy.edu", "+1-567-1233"));
-        addStudent(new HonorsStudent("Brooke Melendez", 17, "brookemelendez@university.edu", "+1-324-1434"));
-        addStudent(new RegularStudent("Beauty Bri", 18, "beautybri@school.edu", "+1-666-6666"));
-        addStudent(new HonorsStudent("Banny Banv", 19, "bannybanv@college.edu", "+1-555-1009"));
-        addStudent(new RegularStudent("Frank Thompson", 17, "frank.thompson@institute.edu", "+1-444-2001"));
-        addStudent(new HonorsStudent("Grace Anderson", 18, "grace.anderson@university.edu", "+1-444-2002"));
-        addStudent(new RegularStudent("Henry Jackson", 16, "henry.jackson@school.edu", "+1-444-2003"));
-        addStudent(new HonorsStudent("Iris Peterson", 19, "iris.peterson@academy.edu", "+1-444-2004"));
-        addStudent(new RegularStudent("Jack Robinson", 17, "jack.robinson@college.edu", "+1-444-2005"));
-        addStudent(new HonorsStudent("Kelly White", 18, "kelly.white@institute.edu", "+1-444-2006"));
-        addStudent(new RegularStudent("Leo Harris", 16, "leo.harris@university.edu", "+1-444-2007"));
-        addStudent(new HonorsStudent("Mia Clark", 19, "mia.clark@school.edu", "+1-444-2008"));
+        List<Student> sample = new ArrayList<>();
+        sample.add(new RegularStudent("Alice Johnson", 16, "alice.johnson@school.edu", "+1-555-1001"));
+        sample.add(new HonorsStudent("Bob Smith", 17, "bob.smith@university.edu", "+1-555-1002"));
+        sample.add(new RegularStudent("Carol Martinez", 16, "carol.martinez@college.edu", "+1-555-1003"));
+        sample.add(new HonorsStudent("David Chen", 17, "david.chen@school.edu", "+1-555-1004"));
+        sample.add(new RegularStudent("Emma Wilson", 16, "emma.wilson@academy.edu", "+1-555-1005"));
+        sample.add(new HonorsStudent("Banks Mill", 19, "banksmill@university.edu", "+1-555-1223"));
+        sample.add(new RegularStudent("Nece Kalisha", 18, "necekalisha@school.edu", "+1-203-1071"));
+        sample.add(new HonorsStudent("Bright Tank", 16, "brighttank@college.edu", "+1-550-1122"));
+        sample.add(new RegularStudent("Nece Alisha", 19, "necealisha@academy.edu", "+1-567-1233"));
+        sample.add(new HonorsStudent("Brooke Melendez", 17, "brookemelendez@university.edu", "+1-324-1434"));
+        sample.add(new RegularStudent("Beauty Bri", 18, "beautybri@school.edu", "+1-666-6666"));
+        sample.add(new HonorsStudent("Banny Banv", 19, "bannybanv@college.edu", "+1-555-1009"));
+        sample.add(new RegularStudent("Frank Thompson", 17, "frank.thompson@institute.edu", "+1-444-2001"));
+        sample.add(new HonorsStudent("Grace Anderson", 18, "grace.anderson@university.edu", "+1-444-2002"));
+        sample.add(new RegularStudent("Henry Jackson", 16, "henry.jackson@school.edu", "+1-444-2003"));
+        sample.add(new HonorsStudent("Iris Peterson", 19, "iris.peterson@academy.edu", "+1-444-2004"));
+        sample.add(new RegularStudent("Jack Robinson", 17, "jack.robinson@college.edu", "+1-444-2005"));
+        sample.add(new HonorsStudent("Kelly White", 18, "kelly.white@institute.edu", "+1-444-2006"));
+        sample.add(new RegularStudent("Leo Harris", 16, "leo.harris@university.edu", "+1-444-2007"));
+        sample.add(new HonorsStudent("Mia Clark", 19, "mia.clark@school.edu", "+1-444-2008"));
+
+        // Grades refer to the sample students by position, whatever IDs they were given
+        String[] ids = new String[sample.size()];
+        for (int i = 0; i < ids.length; i++) {
+            addStudent(sample.get(i));
+            ids[i] = sample.get(i).getStudentId();
+        }
 
         try {
-            addGradeToStudent("STU001", new Grade("STU001", new CoreSubject("Mathematics", "MAT101"), 85.0));
-            addGradeToStudent("STU001", new Grade("STU001", new CoreSubject("English", "ENG101"), 78.0));
-            addGradeToStudent("STU001", new Grade("STU001", new CoreSubject("Science", "SCI101"), 92.0));
-            addGradeToStudent("STU001", new Grade("STU001", new ElectiveSubject("Art", "ART101"), 65.0));
-            addGradeToStudent("STU001", new Grade("STU001", new ElectiveSubject("Music", "MUS101"), 73.0));
+            addGradeToStudent(ids[0], new Grade(ids[0], new CoreSubject("Mathematics", "MAT101"), 85.0));
+            addGradeToStudent(ids[0], new Grade(ids[0], new CoreSubject("English", "ENG101"), 78.0));
+            addGradeToStudent(ids[0], new Grade(ids[0], new CoreSubject("Science", "SCI101"), 92.0));
+            addGradeToStudent(ids[0], new Grade(ids[0], new ElectiveSubject("Art", "ART101"), 65.0));
+            addGradeToStudent(ids[0], new Grade(ids[0], new ElectiveSubject("Music", "MUS101"), 73.0));
             
-            addGradeToStudent("STU002", new Grade("STU002", new CoreSubject("Mathematics", "MAT101"), 88.0));
-            addGradeToStudent("STU002", new Grade("STU002", new CoreSubject("English", "ENG101"), 92.0));
-            addGradeToStudent("STU002", new Grade("STU002", new CoreSubject("Science", "SCI101"), 90.0));
-            addGradeToStudent("STU002", new Grade("STU002", new ElectiveSubject("Music", "MUS101"), 82.0));
-            addGradeToStudent("STU002", new Grade("STU002", new ElectiveSubject("Physical Education", "PHY101"), 75.0));
-            addGradeToStudent("STU002", new Grade("STU002", new ElectiveSubject("Art", "ART101"), 84.0));
+            addGradeToStudent(ids[1], new Grade(ids[1], new CoreSubject("Mathematics", "MAT101"), 88.0));
+            addGradeToStudent(ids[1], new Grade(ids[1], new CoreSubject("English", "ENG101"), 92.0));
+            addGradeToStudent(ids[1], new Grade(ids[1], new CoreSubject("Science", "SCI101"), 90.0));
+            addGradeToStudent(ids[1], new Grade(ids[1], new ElectiveSubject("Music", "MUS101"), 82.0));
+            addGradeToStudent(ids[1], new Grade(ids[1], new ElectiveSubject("Physical Education", "PHY101"), 75.0));
+            addGradeToStudent(ids[1], new Grade(ids[1], new ElectiveSubject("Art", "ART101"), 84.0));
             
-            addGradeToStudent("STU003", new Grade("STU003", new CoreSubject("Mathematics", "MAT101"), 45.0));
-            addGradeToStudent("STU003", new Grade("STU003", new CoreSubject("English", "ENG101"), 48.0));
-            addGradeToStudent("STU003", new Grade("STU003", new CoreSubject("Science", "SCI101"), 42.0));
-            addGradeToStudent("STU003", new Grade("STU003", new ElectiveSubject("Art", "ART101"), 47.0));
+            addGradeToStudent(ids[2], new Grade(ids[2], new CoreSubject("Mathematics", "MAT101"), 45.0));
+            addGradeToStudent(ids[2], new Grade(ids[2], new CoreSubject("English", "ENG101"), 48.0));
+            addGradeToStudent(ids[2], new Grade(ids[2], new CoreSubject("Science", "SCI101"), 42.0));
+            addGradeToStudent(ids[2], new Grade(ids[2], new ElectiveSubject("Art", "ART101"), 47.0));
             
-            addGradeToStudent("STU004", new Grade("STU004", new CoreSubject("Mathematics", "MAT101"), 95.0));
-            addGradeToStudent("STU004", new Grade("STU004", new CoreSubject("English", "ENG101"), 93.0));
-            addGradeToStudent("STU004", new Grade("STU004", new CoreSubject("Science", "SCI101"), 94.0));
-            addGradeToStudent("STU004", new Grade("STU004", new ElectiveSubject("Music", "MUS101"), 91.0));
-            addGradeToStudent("STU004", new Grade("STU004", new ElectiveSubject("Physical Education", "PHY101"), 88.0));
-            addGradeToStudent("STU004", new Grade("STU004", new ElectiveSubject("Art", "ART101"), 96.0));
+            addGradeToStudent(ids[3], new Grade(ids[3], new CoreSubject("Mathematics", "MAT101"), 95.0));
+            addGradeToStudent(ids[3], new Grade(ids[3], new CoreSubject("English", "ENG101"), 93.0));
+            addGradeToStudent(ids[3], new Grade(ids[3], new CoreSubject("Science", "SCI101"), 94.0));
+            addGradeToStudent(ids[3], new Grade(ids[3], new ElectiveSubject("Music", "MUS101"), 91.0));
+            addGradeToStudent(ids[3], new Grade(ids[3], new ElectiveSubject("Physical Education", "PHY101"), 88.0));
+            addGradeToStudent(ids[3], new Grade(ids[3], new ElectiveSubject("Art", "ART101"), 96.0));
             
-            addGradeToStudent("STU005", new Grade("STU005", new CoreSubject("Mathematics", "MAT101"), 65.0));
-            addGradeToStudent("STU005", new Grade("STU005", new CoreSubject("English", "ENG101"), 70.0));
-            addGradeToStudent("STU005", new Grade("STU005", new CoreSubject("Science", "SCI101"), 68.0));
-            addGradeToStudent("STU005", new Grade("STU005", new ElectiveSubject("Art", "ART101"), 72.0));
-            addGradeToStudent("STU005", new Grade("STU005", new ElectiveSubject("Music", "MUS101"), 60.0));
-
-            addGradeToStudent("STU006", new Grade("STU006", new CoreSubject("Mathematics", "MAT101"), 95.0));
-            addGradeToStudent("STU006", new Grade("STU006", new CoreSubject("English", "ENG101"), 93.0));
-            addGradeToStudent("STU006", new Grade("STU006", new CoreSubject("Science", "SCI101"), 94.0));
-            addGradeToStudent("STU006", new Grade("STU006", new ElectiveSubject("Music", "MUS101"), 91.0));
-            addGradeToStudent("STU006", new Grade("STU006", new ElectiveSubject("Art", "ART101"), 96.0));
-
-            addGradeToStudent("STU007", new Grade("STU007", new CoreSubject("Mathematics", "MAT101"), 88.0));
-            addGradeToStudent("STU007", new Grade("STU007", new CoreSubject("English", "ENG101"), 85.0));
-            addGradeToStudent("STU007", new Grade("STU007", new CoreSubject("Science", "SCI101"), 87.0));
-            addGradeToStudent("STU007", new Grade("STU007", new ElectiveSubject("Art", "ART101"), 86.0));
-
-            addGradeToStudent("STU008", new Grade("STU008", new CoreSubject("Mathematics", "MAT101"), 93.0));
-            addGradeToStudent("STU008", new Grade("STU008", new CoreSubject("English", "ENG101"), 90.0));
-            addGradeToStudent("STU008", new Grade("STU008", new CoreSubject("Science", "SCI101"), 92.0));
-            addGradeToStudent("STU008", new Grade("STU008", new ElectiveSubject("Music", "MUS101"), 89.0));
-            addGradeToStudent("STU008", new Grade("STU008", new ElectiveSubject("Art", "ART101"), 92.0));
-
-            addGradeToStudent("STU009", new Grade("STU009", new CoreSubject("Mathematics", "MAT101"), 75.0));
-            addGradeToStudent("STU009", new Grade("STU009", new CoreSubject("English", "ENG101"), 72.0));
-            addGradeToStudent("STU009", new Grade("STU009", new CoreSubject("Science", "SCI101"), 74.0));
-            addGradeToStudent("STU009", new Grade("STU009", new ElectiveSubject("Art", "ART101"), 73.0));
-
-            addGradeToStudent("STU010", new Grade("STU010", new CoreSubject("Mathematics", "MAT101"), 90.0));
-            addGradeToStudent("STU010", new Grade("STU010", new CoreSubject("English", "ENG101"), 88.0));
-            addGradeToStudent("STU010", new Grade("STU010", new CoreSubject("Science", "SCI101"), 89.0));
-            addGradeToStudent("STU010", new Grade("STU010", new ElectiveSubject("Music", "MUS101"), 89.0));
-
-            addGradeToStudent("STU011", new Grade("STU011", new CoreSubject("Mathematics", "MAT101"), 80.0));
-            addGradeToStudent("STU011", new Grade("STU011", new CoreSubject("English", "ENG101"), 84.0));
-            addGradeToStudent("STU011", new Grade("STU011", new CoreSubject("Science", "SCI101"), 82.0));
-
-            addGradeToStudent("STU012", new Grade("STU012", new CoreSubject("Mathematics", "MAT101"), 88.0));
-            addGradeToStudent("STU012", new Grade("STU012", new CoreSubject("English", "ENG101"), 87.0));
-            addGradeToStudent("STU012", new Grade("STU012", new CoreSubject("Science", "SCI101"), 87.0));
-            addGradeToStudent("STU012", new Grade("STU012", new ElectiveSubject("Music", "MUS101"), 88.0));
-
-            addGradeToStudent("STU013", new Grade("STU013", new CoreSubject("Mathematics", "MAT101"), 77.0));
-            addGradeToStudent("STU013", new Grade("STU013", new CoreSubject("English", "ENG101"), 79.0));
-            addGradeToStudent("STU013", new Grade("STU013", new CoreSubject("Science", "SCI101"), 81.0));
-            addGradeToStudent("STU013", new Grade("STU013", new ElectiveSubject("Art", "ART101"), 76.0));
-
-            addGradeToStudent("STU014", new Grade("STU014", new CoreSubject("Mathematics", "MAT101"), 91.0));
-            addGradeToStudent("STU014", new Grade("STU014", new CoreSubject("English", "ENG101"), 94.0));
-            addGradeToStudent("STU014", new Grade("STU014", new CoreSubject("Science", "SCI101"), 92.0));
-            addGradeToStudent("STU014", new Grade("STU014", new ElectiveSubject("Music", "MUS101"), 90.0));
-
-            addGradeToStudent("STU015", new Grade("STU015", new CoreSubject("Mathematics", "MAT101"), 83.0));
-            addGradeToStudent("STU015", new Grade("STU015", new CoreSubject("English", "ENG101"), 85.0));
-            addGradeToStudent("STU015", new Grade("STU015", new CoreSubject("Science", "SCI101"), 84.0));
-
-            addGradeToStudent("STU016", new Grade("STU016", new CoreSubject("Mathematics", "MAT101"), 89.0));
-            addGradeToStudent("STU016", new Grade("STU016", new CoreSubject("English", "ENG101"), 87.0));
-            addGradeToStudent("STU016", new Grade("STU016", new CoreSubject("Science", "SCI101"), 90.0));
-            addGradeToStudent("STU016", new Grade("STU016", new ElectiveSubject("Art", "ART101"), 88.0));
-
-            addGradeToStudent("STU017", new Grade("STU017", new CoreSubject("Mathematics", "MAT101"), 72.0));
-            addGradeToStudent("STU017", new Grade("STU017", new CoreSubject("English", "ENG101"), 74.0));
-            addGradeToStudent("STU017", new Grade("STU017", new CoreSubject("Science", "SCI101"), 73.0));
-
-            addGradeToStudent("STU018", new Grade("STU018", new CoreSubject("Mathematics", "MAT101"), 96.0));
-            addGradeToStudent("STU018", new Grade("STU018", new CoreSubject("English", "ENG101"), 95.0));
-            addGradeToStudent("STU018", new Grade("STU018", new CoreSubject("Science", "SCI101"), 97.0));
-            addGradeToStudent("STU018", new Grade("STU018", new ElectiveSubject("Music", "MUS101"), 94.0));
-
-            addGradeToStudent("STU019", new Grade("STU019", new CoreSubject("Mathematics", "MAT101"), 81.0));
-            addGradeToStudent("STU019", new Grade("STU019", new CoreSubject("English", "ENG101"), 83.0));
-            addGradeToStudent("STU019", new Grade("STU019", new CoreSubject("Science", "SCI101"), 82.0));
-
-            addGradeToStudent("STU020", new Grade("STU020", new CoreSubject("Mathematics", "MAT101"), 92.0));
-            addGradeToStudent("STU020", new Grade("STU020", new CoreSubject("English", "ENG101"), 91.0));
-            addGradeToStudent("STU020", new Grade("STU020", new CoreSubject("Science", "SCI101"), 93.0));
-            addGradeToStudent("STU020", new Grade("STU020", new ElectiveSubject("Art", "ART101"), 90.0));
+            addGradeToStudent(ids[4], new Grade(ids[4], new CoreSubject("Mathematics", "MAT101"), 65.0));
+            addGradeToStudent(ids[4], new Grade(ids[4], new CoreSubject("English", "ENG101"), 70.0));
+            addGradeToStudent(ids[4], new Grade(ids[4], new CoreSubject("Science", "SCI101"), 68.0));
+            addGradeToStudent(ids[4], new Grade(ids[4], new ElectiveSubject("Art", "ART101"), 72.0));
+            addGradeToStudent(ids[4], new Grade(ids[4], new ElectiveSubject("Music", "MUS101"), 60.0));
+
+            addGradeToStudent(ids[5], new Grade(ids[5], new CoreSubject("Mathematics", "MAT101"), 95.0));
+            addGradeToStudent(ids[5], new Grade(ids[5], new CoreSubject("English", "ENG101"), 93.0));
+            addGradeToStudent(ids[5], new Grade(ids[5], new CoreSubject("Science", "SCI101"), 94.0));
+            addGradeToStudent(ids[5], new Grade(ids[5], new ElectiveSubject("Music", "MUS101"), 91.0));
+            addGradeToStudent(ids[5], new Grade(ids[5], new ElectiveSubject("Art", "ART101"), 96.0));
+
+            addGradeToStudent(ids[6], new Grade(ids[6], new CoreSubject("Mathematics", "MAT101"), 88.0));
+            addGradeToStudent(ids[6], new Grade(ids[6], new CoreSubject("English", "ENG101"), 85.0));
+            addGradeToStudent(ids[6], new Grade(ids[6], new CoreSubject("Science", "SCI101"), 87.0));
+            addGradeToStudent(ids[6], new Grade(ids[6], new ElectiveSubject("Art", "ART101"), 86.0));
+
+            addGradeToStudent(ids[7], new Grade(ids[7], new CoreSubject("Mathematics", "MAT101"), 93.0));
+            addGradeToStudent(ids[7], new Grade(ids[7], new CoreSubject("English", "ENG101"), 90.0));
+            addGradeToStudent(ids[7], new Grade(ids[7], new CoreSubject("Science", "SCI101"), 92.0));
+            addGradeToStudent(ids[7], new Grade(ids[7], new ElectiveSubject("Music", "MUS101"), 89.0));
+            addGradeToStudent(ids[7], new Grade(ids[7], new ElectiveSubject("Art", "ART101"), 92.0));
+
+            addGradeToStudent(ids[8], new Grade(ids[8], new CoreSubject("Mathematics", "MAT101"), 75.0));
+            addGradeToStudent(ids[8], new Grade(ids[8], new CoreSubject("English", "ENG101"), 72.0));
+            addGradeToStudent(ids[8], new Grade(ids[8], new CoreSubject("Science", "SCI101"), 74.0));
+            addGradeToStudent(ids[8], new Grade(ids[8], new ElectiveSubject("Art", "ART101"), 73.0));
+
+            addGradeToStudent(ids[9], new Grade(ids[9], new CoreSubject("Mathematics", "MAT101"), 90.0));
+            addGradeToStudent(ids[9], new Grade(ids[9], new CoreSubject("English", "ENG101"), 88.0));
+            addGradeToStudent(ids[9], new Grade(ids[9], new CoreSubject("Science", "SCI101"), 89.0));
+            addGradeToStudent(ids[9], new Grade(ids[9], new ElectiveSubject("Music", "MUS101"), 89.0));
+
+            addGradeToStudent(ids[10], new Grade(ids[10], new CoreSubject("Mathematics", "MAT101"), 80.0));
+            addGradeToStudent(ids[10], new Grade(ids[10], new CoreSubject("English", "ENG101"), 84.0));
+            addGradeToStudent(ids[10], new Grade(ids[10], new CoreSubject("Science", "SCI101"), 82.0));
+
+            addGradeToStudent(ids[11], new Grade(ids[11], new CoreSubject("Mathematics", "MAT101"), 88.0));
+            addGradeToStudent(ids[11], new Grade(ids[11], new CoreSubject("English", "ENG101"), 87.0));
+            addGradeToStudent(ids[11], new Grade(ids[11], new CoreSubject("Science", "SCI101"), 87.0));
+            addGradeToStudent(ids[11], new Grade(ids[11], new ElectiveSubject("Music", "MUS101"), 88.0));
+
+            addGradeToStudent(ids[12], new Grade(ids[12], new CoreSubject("Mathematics", "MAT101"), 77.0));
+            addGradeToStudent(ids[12], new Grade(ids[12], new CoreSubject("English", "ENG101"), 79.0));
+            addGradeToStudent(ids[12], new Grade(ids[12], new CoreSubject("Science", "SCI101"), 81.0));
+            addGradeToStudent(ids[12], new Grade(ids[12], new ElectiveSubject("Art", "ART101"), 76.0));
+
+            addGradeToStudent(ids[13], new Grade(ids[13], new CoreSubject("Mathematics", "MAT101"), 91.0));
+            addGradeToStudent(ids[13], new Grade(ids[13], new CoreSubject("English", "ENG101"), 94.0));
+            addGradeToStudent(ids[13], new Grade(ids[13], new CoreSubject("Science", "SCI101"), 92.0));
+            addGradeToStudent(ids[13], new Grade(ids[13], new ElectiveSubject("Music", "MUS101"), 90.0));
+
+            addGradeToStudent(ids[14], new Grade(ids[14], new CoreSubject("Mathematics", "MAT101"), 83.0));
+            addGradeToStudent(ids[14], new Grade(ids[14], new CoreSubject("English", "ENG101"), 85.0));
+            addGradeToStudent(ids[14], new Grade(ids[14], new CoreSubject("Science", "SCI101"), 84.0));
+
+            addGradeToStudent(ids[15], new Grade(ids[15], new CoreSubject("Mathematics", "MAT101"), 89.0));
+            addGradeToStudent(ids[15], new Grade(ids[15], new CoreSubject("English", "ENG101"), 87.0));
+            addGradeToStudent(ids[15], new Grade(ids[15], new CoreSubject("Science", "SCI101"), 90.0));
+            addGradeToStudent(ids[15], new Grade(ids[15], new ElectiveSubject("Art", "ART101"), 88.0));
+
+            addGradeToStudent(ids[16], new Grade(ids[16], new CoreSubject("Mathematics", "MAT101"), 72.0));
+            addGradeToStudent(ids[16], new Grade(ids[16], new CoreSubject("English", "ENG101"), 74.0));
+            addGradeToStudent(ids[16], new Grade(ids[16], new CoreSubject("Science", "SCI101"), 73.0));
+
+            addGradeToStudent(ids[17], new Grade(ids[17], new CoreSubject("Mathematics", "MAT101"), 96.0));
+            addGradeToStudent(ids[17], new Grade(ids[17], new CoreSubject("English", "ENG101"), 95.0));
+            addGradeToStudent(ids[17], new Grade(ids[17], new CoreSubject("Science", "SCI101"), 97.0));
+            addGradeToStudent(ids[17], new Grade(ids[17], new ElectiveSubject("Music", "MUS101"), 94.0));
+
+            addGradeToStudent(ids[18], new Grade(ids[18], new CoreSubject("Mathematics", "MAT101"), 81.0));
+            addGradeToStudent(ids[18], new Grade(ids[18], new CoreSubject("English", "ENG101"), 83.0));
+            addGradeToStudent(ids[18], new Grade(ids[18], new CoreSubject("Science", "SCI101"), 82.0));
+
+            addGradeToStudent(ids[19], new Grade(ids[19], new CoreSubject("Mathematics", "MAT101"), 92.0));
+            addGradeToStudent(ids[19], new Grade(ids[19], new CoreSubject("English", "ENG101"), 91.0));
+            addGradeToStudent(ids[19], new Grade(ids[19], new CoreSubject("Science", "SCI101"), 93.0));
+            addGradeToStudent(ids[19], new Grade(ids[19], new ElectiveSubject("Art", "ART101"), 90.0));
 
         } catch (Exception e) {
             System.out.println("Error initializing sample data: " + e.getMessage());
@@ -397,24 +524,108 @@ public class EnhancedStudentManager implements Searchable {
     }
 
     /**
-     * Adds a student to the system and updates rankings.
-     * Time Complexity: O(1) HashMap + O(log n) TreeMap + O(1) ArrayList.
+     * Adds a student to the system and updates rankings and the bitmap and name indexes.
+     * Time Complexity: O(1) table insert + O(log n) ranking insert + O(k) bitmap inserts for k grades
+     * + O(L) trigram inserts for a name of L characters.
      * 
      * @param student the student to add
      */
     public void addStudent(Student student) {
-        students.put(student.getStudentId(), student);
-        studentInsertionOrder.add(student.getStudentId());
-        updateGPARankings(student);
+        synchronized (lockFor(student)) {
+            gradeStore.attach(student);
+            long stamp = tableLock.writeLock();
+            try {
+                students.put(student.getStudentNumber(), student);
+                if (populationSize == population.length) {
+                    // Readers keep the old array; only the new one is appended to
+                    population = Arrays.copyOf(population, populationSize * 2);
+                }
+                population[populationSize++] = student;
+            } finally {
+                tableLock.unlockWrite(stamp);
+            }
+            student.setChangeListener(this::studentChanged);
+            rankingIndex.update(student);
+            bitmapIndex.add(student);
+            nameIndex.add(student);
+            dirtyStudents.add(student.getStudentNumber());
+            WriteAheadLog log = writeAheadLog;
+            if (log != null) {
+                try {
+                    log.logAddStudent(student);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not log new student " + student.getStudentId(), e);
+                }
+            }
+        }
         
         scheduleTask(new Task("Review enrollment for " + student.getName(), 
             Task.TaskPriority.MEDIUM, student.getStudentId()));
+        recordMutation(student, true);
     }
 
-    // O(log n) - updates TreeMap with student's GPA
-    private void updateGPARankings(Student student) {
-        double gpa = student.calculateAverageGrade();
-        gpaRankings.computeIfAbsent(gpa, k -> new ArrayList<>()).add(student);
+    /**
+     * Adds batches of new students with their grades, e.g. when restoring a checkpoint.
+     * Grades are copied into the store as columns without creating Grade objects, and the
+     * indexes are built in bulk: one sort for the ranking, in-order bitmap appends and one
+     * merge into the name order. No enrollment tasks are scheduled and nothing is logged.
+     * Time Complexity: O(g) for g grades + O(n log n) for n students.
+     *
+     * @param batches students not yet in this manager or any grade store
+     * @throws IllegalArgumentException if a student number is already in use
+     */
+    public void bulkLoad(List<StudentBatch> batches) {
+        int total = 0;
+        int grades = 0;
+        for (StudentBatch batch : batches) {
+            for (int i = 0; i < batch.size(); i++) {
+                if (findStudent(batch.getStudent(i).getStudentNumber()) != null) {
+                    throw new IllegalArgumentException("Student already exists: " + batch.getStudent(i).getStudentId());
+                }
+            }
+            total += batch.size();
+            grades += batch.getGradeCount();
+        }
+        // Headroom so the first grades recorded afterwards do not copy every column
+        gradeStore.ensureCapacity(gradeStore.size() + grades + grades / 16);
+
+        List<Student> added = new ArrayList<>(total);
+        for (StudentBatch batch : batches) {
+            gradeStore.attachAll(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                added.add(batch.getStudent(i));
+            }
+        }
+        long stamp = tableLock.writeLock();
+        try {
+            if (populationSize + total > population.length) {
+                // Readers keep the old array; only the new one is appended to
+                population = Arrays.copyOf(population, Math.max(population.length * 2, populationSize + total));
+            }
+            for (Student student : added) {
+                students.put(student.getStudentNumber(), student);
+                population[populationSize++] = student;
+            }
+        } finally {
+            tableLock.unlockWrite(stamp);
+        }
+        StudentChangeListener listener = this::studentChanged;
+        for (Student student : added) {
+            student.setChangeListener(listener);
+        }
+        rankingIndex.addAll(added);
+        bitmapIndex.addAll(added);
+        nameIndex.addAll(added);
+        if (!mutationListeners.isEmpty()) {
+            MutationBatch batch = mutationBatch.get();
+            if (batch != null) {
+                for (Student student : added) {
+                    batch.record(student, true);
+                }
+            } else if (!added.isEmpty()) {
+                fireMutation(new StudentMutationEvent(added, Collections.<Student>emptyList(), added.size()));
+            }
+        }
     }
 
     /**
@@ -425,30 +636,206 @@ public class EnhancedStudentManager implements Searchable {
      * @throws StudentNotFoundException if student doesn't exist
      */
     public void addGradeToStudent(String studentId, Grade grade) throws StudentNotFoundException {
-        Student student = searchById(studentId);
-        removeFromGPARankings(student);
-        student.addGrade(grade);
-        updateGPARankings(student);
+        addGradeToStudent(searchById(studentId), grade);
+    }
+
+    // Same as above for a student already resolved, e.g. through findAll()
+    void addGradeToStudent(Student student, Grade grade) {
+        // The student's listener moves it in the ranking and bitmap indexes
+        synchronized (lockFor(student)) {
+            student.addGrade(grade);
+        }
         
         if (!student.isPassing()) {
             scheduleTask(new Task("Student failing - intervention needed: " + student.getName(),
-                Task.TaskPriority.HIGH, studentId));
+                Task.TaskPriority.HIGH, student.getStudentId()));
+        }
+    }
+
+    /**
+     * Edits a recorded grade under its student's lock. The edit rebuilds the student's
+     * aggregates from scratch, so without the lock a grade added to the same student on
+     * another thread could be lost from them.
+     * Time Complexity: O(k) aggregate rebuild for the student's k grades + O(log n) ranking update.
+     *
+     * @param grade a grade already added to one of the manager's students
+     * @param value the new value (0-100)
+     * @return true if the value was valid and recorded
+     */
+    public boolean recordGrade(Grade grade, double value) {
+        Student student = findStudent(grade.getStudentId());
+        if (student == null) {
+            return grade.recordGrade(value);
+        }
+        synchronized (lockFor(student)) {
+            return grade.recordGrade(value);
+        }
+    }
+
+    /**
+     * Changes a student's status under its lock, so that the status a replay of the
+     * write-ahead log ends with is the one the student was left with.
+     * Time Complexity: O(log n) ranking update + O(1) bitmap updates.
+     *
+     * @param student one of the manager's students
+     * @param status the new status
+     */
+    public void setStudentStatus(Student student, String status) {
+        synchronized (lockFor(student)) {
+            student.setStatus(status);
+        }
+    }
+
+    // Keeps every index derived from a student in step with its grades and status, and logs the change.
+    // Changes made through the manager reach here under the student's lock, so its log records follow
+    // the order its changes were applied in, as addStudent's do.
+    private void studentChanged(Student student, Grade grade) {
+        rankingIndex.update(student);
+        bitmapIndex.update(student, grade);
+        // Marked after the change is applied, so a backup that drains the mark also sees the change
+        dirtyStudents.add(student.getStudentNumber());
+        WriteAheadLog log = writeAheadLog;
+        if (log != null) {
+            try {
+                if (grade != null) {
+                    log.logPutGrade(student, grade);
+                } else {
+                    log.logSetStatus(student);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not log change to " + student.getStudentId(), e);
+            }
+        }
+        recordMutation(student, false);
+    }
+
+    public void addMutationListener(StudentMutationListener listener) {
+        mutationListeners.add(listener);
+    }
+
+    public void removeMutationListener(StudentMutationListener listener) {
+        mutationListeners.remove(listener);
+    }
+
+    /**
+     * Runs a group of mutations, e.g. a bulk import, and tells mutation listeners about them
+     * in one event afterwards instead of one per grade. Mutations made meanwhile by other
+     * threads are reported as usual, and a nested call joins the outer batch. If work throws,
+     * the changes it made before failing are still reported.
+     * Time Complexity: O(m) for m mutations, plus the listeners' handling of one event.
+     *
+     * @param work the mutations to run on this thread
+     */
+    public void batchMutations(Runnable work) {
+        if (mutationBatch.get() != null) {
+            work.run();
+            return;
+        }
+        MutationBatch batch = new MutationBatch();
+        mutationBatch.set(batch);
+        try {
+            work.run();
+        } finally {
+            mutationBatch.remove();
+            if (batch.mutations > 0) {
+                fireMutation(new StudentMutationEvent(new ArrayList<>(batch.added),
+                        new ArrayList<>(batch.changed), batch.mutations));
+            }
+        }
+    }
+
+    // Reports one added or changed student now, or adds it to this thread's batch
+    private void recordMutation(Student student, boolean added) {
+        if (mutationListeners.isEmpty()) return;
+        MutationBatch batch = mutationBatch.get();
+        if (batch != null) {
+            batch.record(student, added);
+            return;
+        }
+        List<Student> students = Collections.singletonList(student);
+        List<Student> none = Collections.emptyList();
+        fireMutation(added ? new StudentMutationEvent(students, none, 1) : new StudentMutationEvent(none, students, 1));
+    }
+
+    private void fireMutation(StudentMutationEvent event) {
+        for (StudentMutationListener listener : mutationListeners) {
+            try {
+                listener.studentsMutated(event);
+            } catch (RuntimeException e) {
+                // The mutation itself has succeeded; one failing observer must not undo that
+                System.err.println("Warning: Student mutation listener failed: " + e.getMessage());
+            }
         }
     }
 
-    // O(n) - removes student from old GPA ranking
-    private void removeFromGPARankings(Student student) {
-        double oldGpa = student.calculateAverageGrade();
-        List<Student> studentsAtGpa = gpaRankings.get(oldGpa);
-        if (studentsAtGpa != null) {
-            studentsAtGpa.remove(student);
-            if (studentsAtGpa.isEmpty()) {
-                gpaRankings.remove(oldGpa);
+    // Distinct students touched by a batch; one added in the batch is not also listed as changed
+    private static final class MutationBatch {
+        private final Set<Student> added = new LinkedHashSet<>();
+        private final Set<Student> changed = new LinkedHashSet<>();
+        private int mutations;
+
+        void record(Student student, boolean isNew) {
+            mutations++;
+            if (isNew) {
+                added.add(student);
+                changed.remove(student);
+            } else if (!added.contains(student)) {
+                changed.add(student);
+            }
+        }
+    }
+
+    /**
+     * Attaches a write-ahead log. From then on every added student, added or edited grade
+     * and status change is appended to it. Replay the log into the manager before attaching it.
+     *
+     * @param writeAheadLog the log, or null to stop logging
+     */
+    public void setWriteAheadLog(WriteAheadLog writeAheadLog) {
+        this.writeAheadLog = writeAheadLog;
+    }
+
+    public WriteAheadLog getWriteAheadLog() {
+        return writeAheadLog;
+    }
+
+    /**
+     * Takes the numbers of the students added or changed since the last call. A change made
+     * while the backup that called this is reading students is marked again for the next one,
+     * so nothing is missed; at worst a student is written twice.
+     * Time Complexity: O(d) for d changed students.
+     *
+     * @return the changed students' numbers in ascending order
+     */
+    public int[] drainDirtyStudents() {
+        int[] numbers = new int[dirtyStudents.size()];
+        int count = 0;
+        for (Iterator<Integer> it = dirtyStudents.iterator(); it.hasNext(); ) {
+            Integer number = it.next();
+            // Removed before the student is read, never after
+            it.remove();
+            if (count == numbers.length) {
+                numbers = Arrays.copyOf(numbers, count * 2 + 1);
             }
+            numbers[count++] = number;
         }
+        numbers = Arrays.copyOf(numbers, count);
+        Arrays.sort(numbers);
+        return numbers;
     }
 
-    // O(n) iteration through HashMap values
+    // Puts drained marks back, e.g. after a backup that took them failed
+    public void markDirty(int[] studentNumbers) {
+        for (int number : studentNumbers) {
+            dirtyStudents.add(number);
+        }
+    }
+
+    public int getDirtyStudentCount() {
+        return dirtyStudents.size();
+    }
+
+    // O(n) iteration through the student table
     public void viewAllStudents() {
         System.out.println("\nSTUDENT LISTING");
         System.out.println("________________________________________________________________________________");
@@ -458,7 +845,7 @@ public class EnhancedStudentManager implements Searchable {
         System.out.println();
 
         // Sort students by ID for consistent display
-        List<Student> sortedStudents = new ArrayList<>(students.values());
+        List<Student> sortedStudents = new ArrayList<>(populationView());
         sortedStudents.sort((s1, s2) -> s1.getStudentId().compareTo(s2.getStudentId()));
 
         for (Student student : sortedStudents) {
@@ -485,48 +872,76 @@ public class EnhancedStudentManager implements Searchable {
             System.out.println();
         }
 
-        System.out.println("Total Students: " + students.size());
+        System.out.println("Total Students: " + getStudentCount());
         System.out.printf("Average Class Grade: %.1f%%\n", getAverageClassGrade());
     }
 
-    // O(n) iteration through HashMap values
+    // O(n) iteration through the student table
     public double getAverageClassGrade() {
-        if (students.isEmpty()) return 0.0;
+        List<Student> all = populationView();
+        if (all.isEmpty()) return 0.0;
 
         double sum = 0;
-        for (Student student : students.values()) {
+        for (Student student : all) {
             sum += student.calculateAverageGrade();
         }
-        return sum / students.size();
+        return sum / all.size();
     }
 
     public int getStudentCount() {
-        return students.size();
+        return readTable(students::size);
     }
 
-    // Returns collection of students for iteration
+    // Returns a read-only view of the students for iteration
     public Collection<Student> getStudents() {
-        return students.values();
+        return populationView();
     }
 
-    // O(n) - creates list from HashMap values
+    // O(1) - read-only view of the students in insertion order; students added later are not included
     public List<Student> getAllStudents() {
-        return new ArrayList<>(students.values());
+        return populationView();
     }
 
-    // O(n) - creates list from HashMap keys
+    // O(n) - collects the IDs of the table's values
     public List<String> getAllStudentIds() {
-        return new ArrayList<>(students.keySet());
+        List<Student> all = populationView();
+        List<String> ids = new ArrayList<>(all.size());
+        for (Student student : all) {
+            ids.add(student.getStudentId());
+        }
+        return ids;
     }
     
-    // O(1) - returns ArrayList maintaining insertion order
+    // O(n) - student IDs in insertion order
     public List<String> getStudentIdsByInsertionOrder() {
-        return new ArrayList<>(studentInsertionOrder);
+        return getAllStudentIds();
     }
 
-    // O(1) - returns sorted GPA rankings
+    // Grade rows of every managed student, for whole-population scans
+    public GradeColumnStore getGradeStore() {
+        return gradeStore;
+    }
+
+    // O(n) - groups the ranking by average, highest first
     public TreeMap<Double, List<Student>> getGPARankings() {
-        return gpaRankings;
+        TreeMap<Double, List<Student>> rankings = new TreeMap<>(Collections.reverseOrder());
+        for (Student student : rankingIndex.toList()) {
+            rankings.computeIfAbsent(student.calculateAverageGrade(), k -> new ArrayList<>()).add(student);
+        }
+        return rankings;
+    }
+
+    // O(log n + k) - highest-ranked students that have at least one grade
+    public List<Student> getTopStudents(int k) {
+        return rankingIndex.topK(k, student -> student.getGradeCount() > 0);
+    }
+
+    public RankingIndex getRankingIndex() {
+        return rankingIndex;
+    }
+
+    public StudentBitmapIndex getBitmapIndex() {
+        return bitmapIndex;
     }
     
     // O(log n) - adds task to priority queue
@@ -551,7 +966,7 @@ public class EnhancedStudentManager implements Searchable {
     
     // O(n log n) - sorts students by custom criteria
     public List<Student> getSortedStudents(StudentComparator comparator) {
-        List<Student> sortedList = new ArrayList<>(students.values());
+        List<Student> sortedList = new ArrayList<>(populationView());
         sortedList.sort(comparator);
         return sortedList;
     }
@@ -0,0 +1,52 @@
+package org.example.service;
+
+/**
+ * Eviction policies an LRUCache can be built with.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public enum EvictionPolicy {
+    /**
+     * Evicts the least recently used entry. Best when recent keys are the ones reused,
+     * but a single pass over many keys, like a batch report, flushes the whole cache.
+     */
+    LRU("LRU") {
+        @Override
+        <K, V> CachePolicy<K, V> newPolicy(long maximum, int expectedEntries) {
+            return new LruPolicy<>();
+        }
+    },
+
+    /**
+     * W-TinyLFU: new entries enter a small LRU window (1% of the capacity, by weight); an entry leaving
+     * the window only replaces the main region's victim if a count-min sketch of recent
+     * accesses has seen it more often. The main region is a segmented LRU, so entries hit
+     * twice are protected from one-off keys. Scan-resistant, at a few bytes of sketch per
+     * entry.
+     */
+    W_TINY_LFU("W-TinyLFU") {
+        @Override
+        <K, V> CachePolicy<K, V> newPolicy(long maximum, int expectedEntries) {
+            return new WindowTinyLfuPolicy<>(maximum, expectedEntries);
+        }
+    };
+
+    private final String name;
+
+    EvictionPolicy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Creates the policy's state for one cache.
+     *
+     * @param maximum the cache's capacity in weight units (entries, for an unweighted cache)
+     * @param expectedEntries roughly how many entries fill that capacity
+     */
+    abstract <K, V> CachePolicy<K, V> newPolicy(long maximum, int expectedEntries);
+}
@@ -58,7 +58,18 @@ public class FileExporter implements Exportable {
             throw new IllegalStateException("StudentManager not set. Call setStudentManager() first.");
         }
         
-        Student student = studentManager.searchById(studentId);
+        exportSummaryReport(studentManager.searchById(studentId), filename);
+    }
+
+    /**
+     * Exports a summary report for a student that has already been resolved,
+     * e.g. through {@link EnhancedStudentManager#findAll(int[])}.
+     * 
+     * @param student the student
+     * @param filename output filename (without extension)
+     * @throws IOException if file operations fail
+     */
+    public void exportSummaryReport(Student student, String filename) throws IOException {
         StringBuilder report = new StringBuilder();
         
         report.append("==========================================\n");
@@ -105,7 +116,18 @@ public class FileExporter implements Exportable {
             throw new IllegalStateException("StudentManager not set. Call setStudentManager() first.");
         }
         
-        Student student = studentManager.searchById(studentId);
+        exportDetailedReport(studentManager.searchById(studentId), filename);
+    }
+
+    /**
+     * Exports a detailed report for a student that has already been resolved,
+     * e.g. through {@link EnhancedStudentManager#findAll(int[])}.
+     * 
+     * @param student the student
+     * @param filename output filename (without extension)
+     * @throws IOException if file operations fail
+     */
+    public void exportDetailedReport(Student student, String filename) throws IOException {
         StringBuilder report = new StringBuilder();
         
         report.append("==========================================\n");
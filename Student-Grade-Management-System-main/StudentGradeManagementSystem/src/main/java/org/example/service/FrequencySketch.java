@@ -0,0 +1,103 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch estimating how often each key was seen recently, in 4-bit counters
+ * (saturating at 15) packed sixteen to a long. Each key maps to four counters and its
+ * estimate is the smallest of them. Once ten times the table's width of increments have
+ * been recorded, every counter is halved, so old popularity fades.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    // Clears the bit each counter receives from its neighbour when a word is shifted right
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int width = 16;
+        while (width < maximumSize && width < (1 << 26)) {
+            width <<= 1;
+        }
+        this.table = new long[width];
+        this.tableMask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /**
+     * Estimates how often a key was seen since the counters were last halved.
+     * Time Complexity: O(1).
+     *
+     * @param key the key
+     * @return estimated frequency, 0-15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int row = 0; row < 4; row++) {
+            long h = indexHash(hash, row);
+            int offset = counterOffset(h);
+            frequency = Math.min(frequency, (int) ((table[(int) h & tableMask] >>> offset) & 0xF));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records one occurrence of a key.
+     * Time Complexity: O(1) amortized; every sampleSize additions halve the whole table.
+     *
+     * @param key the key
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            long h = indexHash(hash, row);
+            int index = (int) h & tableMask;
+            int offset = counterOffset(h);
+            if (((table[index] >>> offset) & 0xF) != 0xF) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    void clear() {
+        Arrays.fill(table, 0L);
+        additions = 0;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static long indexHash(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return h + (h >>> 32);
+    }
+
+    // Which of the sixteen counters in the word, taken from bits the index does not use
+    private static int counterOffset(long h) {
+        return (int) ((h >>> 40) & 15) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -2,160 +2,884 @@ package org.example.service;
 
 import org.example.models.CacheEntry;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * Least Recently Used (LRU) cache implementation with thread-safe operations.
  * Provides automatic eviction, hit/miss tracking, and performance metrics.
- * 
+ *
+ * Entries live in a ConcurrentHashMap that get() reads without locking. Which entry to
+ * evict is decided by an {@link EvictionPolicy} (LRU by default) whose state is guarded by
+ * a single eviction lock, which writes take and hits never wait for: a hit is appended to a
+ * small per-thread-stripe read buffer, and a full buffer is replayed into the policy in one
+ * batch by whichever thread gets the lock. A hit that finds its buffer full is dropped,
+ * which only leaves that entry slightly older than it is. put() drains pending hits before
+ * evicting, so capacity is exact and the policy sees every recorded access first.
+ *
+ * Capacity is either an entry count or, with a {@link Weigher}, a maximum total weight,
+ * normally bytes: entries are evicted until the weights of those left fit, so one large
+ * report can displace many small entries. An entry heavier than the whole cache is not
+ * kept at all.
+ *
+ * Entries can also expire after write (per entry or by default) or after their last
+ * access, and be refreshed in the background once they reach a given age while the old
+ * value keeps being served. An expired entry is never returned; it is removed by a
+ * hierarchical {@link TimingWheel} the next time the lock holder does maintenance.
+ *
+ * get(key, loader) and getAll(keys, bulkLoader) make it a loading cache: a miss runs the
+ * loader once per key however many threads miss on it at the same time, and the others
+ * wait for that result. Keys the loader finds nothing for can be cached as absent for a
+ * short time, so repeated lookups of bad keys do not reach the loader.
+ *
  * @param <K> key type
  * @param <V> value type
  * @author Student Grade Management System
  * @version 3.0
  */
 public class LRUCache<K, V> {
-    private final int maxSize;
-    private final ConcurrentHashMap<K, CacheEntry<V>> cache;
-    private final ConcurrentLinkedDeque<K> accessOrder;
-    
-    private final AtomicLong hits = new AtomicLong(0);
-    private final AtomicLong misses = new AtomicLong(0);
-    private final AtomicLong evictions = new AtomicLong(0);
-    private final AtomicLong totalHitTime = new AtomicLong(0);
-    private final AtomicLong totalMissTime = new AtomicLong(0);
-    
-    private final ScheduledExecutorService refreshScheduler;
+    private static final int MAX_READ_BUFFERS = 64;
+    // Assumed average entry size, for sizing a weighted cache's frequency sketch
+    private static final int ESTIMATED_ENTRY_BYTES = 512;
+
+    // In weight units; entries when not weighted
+    private final long maximum;
+    private final Weigher<? super K, ? super V> weigher;
+    private final boolean weighted;
+    private final ConcurrentHashMap<K, Node<K, V>> cache;
+    // Loads in progress by key; a write or invalidation removes the key, so the load's
+    // result, read before that change, is not cached over it
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final int readBufferMask;
+    private final EvictionPolicy evictionPolicy;
+    // Guarded by evictionLock
+    private final CachePolicy<K, V> policy;
+    // Guarded by evictionLock; created with the first entry that can expire
+    private TimingWheel<K, V> timingWheel;
+
+    // Expiry and refresh settings in ticker nanoseconds; 0 disables each
+    private volatile long expireAfterWriteNanos;
+    private volatile long expireAfterAccessNanos;
+    private volatile long refreshAfterWriteNanos;
+    private volatile Function<K, V> refreshLoader;
+    private volatile long negativeTtlNanos;
+    // Whether get() needs the time at all; writes always read it
+    private volatile boolean timed;
+    private volatile LongSupplier ticker = System::nanoTime;
+
+    // Striped counters, so recording a hit does not contend across cores
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder totalHitTime = new LongAdder();
+    private final LongAdder totalMissTime = new LongAdder();
+
+    // Created on first use, so caches that never refresh own no thread
+    private ScheduledExecutorService refreshScheduler;
 
     public LRUCache(int maxSize) {
-        this.maxSize = maxSize;
-        this.cache = new ConcurrentHashMap<>(maxSize);
-        this.accessOrder = new ConcurrentLinkedDeque<>();
-        this.refreshScheduler = Executors.newSingleThreadScheduledExecutor();
+        this(maxSize, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Creates a cache that evicts according to the given policy.
+     *
+     * @param maxSize maximum number of entries
+     * @param evictionPolicy how to choose the entry to evict
+     */
+    public LRUCache(int maxSize, EvictionPolicy evictionPolicy) {
+        this(maxSize, Weighers.singleton(), false, evictionPolicy, maxSize);
+    }
+
+    /**
+     * Creates a cache bounded by the total weight of its entries.
+     *
+     * @param maximumWeight maximum total weight, in the weigher's unit (bytes for the
+     *                      built-in {@link Weighers})
+     * @param weigher weighs each entry when it is written
+     * @param evictionPolicy how to choose the entry to evict
+     */
+    public LRUCache(long maximumWeight, Weigher<? super K, ? super V> weigher, EvictionPolicy evictionPolicy) {
+        this(maximumWeight, weigher, true, evictionPolicy,
+                (int) Math.max(16, Math.min(1 << 20, maximumWeight / ESTIMATED_ENTRY_BYTES)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private LRUCache(long maximum, Weigher<? super K, ? super V> weigher, boolean weighted,
+                     EvictionPolicy evictionPolicy, int expectedEntries) {
+        if (maximum < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + maximum);
+        }
+        this.maximum = maximum;
+        this.weigher = weigher;
+        this.weighted = weighted;
+        this.evictionPolicy = evictionPolicy;
+        this.policy = evictionPolicy.newPolicy(maximum, expectedEntries);
+        this.cache = new ConcurrentHashMap<>(Math.min(expectedEntries, 1 << 16));
+        int bufferCount = 1;
+        while (bufferCount < Math.min(Runtime.getRuntime().availableProcessors() * 4, MAX_READ_BUFFERS)) {
+            bufferCount *= 2;
+        }
+        this.readBuffers = (ReadBuffer<K, V>[]) new ReadBuffer<?, ?>[bufferCount];
+        for (int i = 0; i < bufferCount; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+        this.readBufferMask = bufferCount - 1;
+    }
+
+    /**
+     * Expires entries a fixed time after they were last written. Applies to entries
+     * written from now on; put(key, value, duration, unit) overrides it per entry.
+     *
+     * @param duration time to live, or 0 for no limit
+     * @param unit unit of duration
+     */
+    public void setExpireAfterWrite(long duration, TimeUnit unit) {
+        expireAfterWriteNanos = unit.toNanos(duration);
+        timed |= duration > 0;
     }
 
     /**
-     * Retrieves value from cache and updates access order.
-     * 
+     * Expires entries a fixed time after they were last read or written.
+     *
+     * @param duration idle time allowed, or 0 for no limit
+     * @param unit unit of duration
+     */
+    public void setExpireAfterAccess(long duration, TimeUnit unit) {
+        expireAfterAccessNanos = unit.toNanos(duration);
+        timed |= duration > 0;
+    }
+
+    /**
+     * Reloads an entry in the background the first time it is read once it is older than
+     * the given age. Until the reload completes, readers keep getting the old value; a
+     * loader returning null removes the entry, and one that throws leaves it as it was.
+     *
+     * @param duration age at which entries are refreshed, or 0 to disable
+     * @param unit unit of duration
+     * @param loader loads the current value for a key
+     */
+    public void setRefreshAfterWrite(long duration, TimeUnit unit, Function<K, V> loader) {
+        refreshLoader = loader;
+        refreshAfterWriteNanos = unit.toNanos(duration);
+        timed |= duration > 0;
+    }
+
+    /**
+     * Caches a loader's null result for the given time, so repeated lookups of keys that
+     * do not exist, such as mistyped IDs, do not reach the loader each time. get(key)
+     * returns null for such an entry and counts it as a hit. A weighted cache's weigher is
+     * called with a null value for these entries; the built-in weighers count the key.
+     *
+     * @param duration how long a key is remembered as absent, or 0 to not cache absence
+     * @param unit unit of duration
+     */
+    public void setNegativeCaching(long duration, TimeUnit unit) {
+        negativeTtlNanos = unit.toNanos(duration);
+        timed |= duration > 0;
+    }
+
+    // Time source for expiry and refresh, in nanoseconds; set before the cache is used
+    public void setTicker(LongSupplier ticker) {
+        this.ticker = ticker;
+    }
+
+    /**
+     * Retrieves value from cache and records the access. Expired entries are misses; an
+     * entry due for refresh is returned and reloaded in the background.
+     * Time Complexity: O(1).
+     *
      * @param key the cache key
      * @return cached value, or null if not found
      */
     public V get(K key) {
+        Node<K, V> node = lookup(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns the value for a key, loading and caching it on a miss. Concurrent misses on
+     * the same key share one load: the first caller runs the loader and the rest wait for
+     * its result. If the loader throws, every waiting caller gets the exception and nothing
+     * is cached. The loader must not load other keys through this cache.
+     * Time Complexity: O(1) on a hit.
+     *
+     * @param key the cache key
+     * @param loader loads the value for a missing key, returning null if there is none
+     * @return the cached or loaded value, or null if the key has none
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Node<K, V> node = lookup(key);
+        if (node != null) {
+            return node.value;
+        }
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            // A load may have finished between the miss and claiming the key
+            Node<K, V> current = liveNode(key);
+            V value;
+            if (current != null) {
+                value = current.value;
+            } else {
+                long startTime = System.nanoTime();
+                value = loader.apply(key);
+                recordLoads(1, startTime);
+                store(key, value, load);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Returns the values for many keys, loading all the missing ones in a single call to
+     * bulkLoader. Keys another thread is already loading are waited for rather than loaded
+     * again. Keys the loader returns nothing for are left out of the result.
+     * Time Complexity: O(k) for k keys, plus one bulk load.
+     *
+     * @param keys the keys to look up
+     * @param bulkLoader loads the values for a set of missing keys, omitting keys that have none
+     * @return values by key, in the order of keys
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys,
+                            Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        Map<K, V> found = new HashMap<>();
+        Map<K, CompletableFuture<V>> claimed = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> waiting = new HashMap<>();
+        for (K key : keys) {
+            if (found.containsKey(key) || claimed.containsKey(key) || waiting.containsKey(key)) continue;
+            Node<K, V> node = lookup(key);
+            if (node != null) {
+                found.put(key, node.value);
+                continue;
+            }
+            CompletableFuture<V> load = new CompletableFuture<>();
+            CompletableFuture<V> running = inFlight.putIfAbsent(key, load);
+            if (running != null) {
+                waiting.put(key, running);
+                continue;
+            }
+            Node<K, V> current = liveNode(key);
+            if (current != null) {
+                found.put(key, current.value);
+                load.complete(current.value);
+                inFlight.remove(key, load);
+            } else {
+                claimed.put(key, load);
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            try {
+                long startTime = System.nanoTime();
+                Map<? extends K, ? extends V> loaded = bulkLoader.apply(Collections.unmodifiableSet(claimed.keySet()));
+                recordLoads(claimed.size(), startTime);
+                for (Map.Entry<K, CompletableFuture<V>> entry : claimed.entrySet()) {
+                    V value = loaded.get(entry.getKey());
+                    store(entry.getKey(), value, entry.getValue());
+                    entry.getValue().complete(value);
+                    found.put(entry.getKey(), value);
+                }
+            } catch (RuntimeException | Error e) {
+                for (CompletableFuture<V> load : claimed.values()) {
+                    load.completeExceptionally(e);
+                }
+                throw e;
+            } finally {
+                for (Map.Entry<K, CompletableFuture<V>> entry : claimed.entrySet()) {
+                    inFlight.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        // Only now, so this thread's own loads never wait on a thread waiting for them
+        for (Map.Entry<K, CompletableFuture<V>> entry : waiting.entrySet()) {
+            found.put(entry.getKey(), await(entry.getValue()));
+        }
+
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = found.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    // Finds the live entry for a key, recording a hit or a miss
+    private Node<K, V> lookup(K key) {
         long startTime = System.nanoTime();
-        CacheEntry<V> entry = cache.get(key);
-        
-        if (entry != null) {
-            entry.recordAccess();
-            updateAccessOrder(key);
-            hits.incrementAndGet();
-            totalHitTime.addAndGet(System.nanoTime() - startTime);
-            return entry.getValue();
+        Node<K, V> node = cache.get(key);
+
+        if (node != null && timed) {
+            long now = ticker.getAsLong();
+            if (hasExpired(node, now)) {
+                node = null;
+            } else {
+                node.accessTime = now;
+                refreshIfDue(node, now);
+            }
+        }
+        if (node != null) {
+            node.recordAccess();
+            recordHit(node);
+            hits.increment();
+            totalHitTime.add(System.nanoTime() - startTime);
         } else {
-            misses.incrementAndGet();
-            totalMissTime.addAndGet(System.nanoTime() - startTime);
-            return null;
+            misses.increment();
+            totalMissTime.add(System.nanoTime() - startTime);
+        }
+        return node;
+    }
+
+    // Finds the live entry for a key without recording statistics
+    private Node<K, V> liveNode(K key) {
+        Node<K, V> node = cache.get(key);
+        return node != null && timed && hasExpired(node, ticker.getAsLong()) ? null : node;
+    }
+
+    // Caches a loaded value, or the key's absence when negative caching is on
+    private void store(K key, V value, CompletableFuture<V> load) {
+        if (value != null) {
+            write(key, value, expireAfterWriteNanos, load);
+        } else if (negativeTtlNanos > 0) {
+            write(key, null, negativeTtlNanos, load);
+        }
+    }
+
+    private void recordLoads(int count, long startTime) {
+        loads.add(count);
+        totalLoadTime.add(System.nanoTime() - startTime);
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
         }
     }
 
     /**
-     * Stores value in cache with automatic eviction if full.
-     * 
+     * Stores value in cache, evicting the entries the policy chooses until the rest fit.
+     * Time Complexity: O(1) amortized, plus weighing the entry.
+     *
      * @param key the cache key
      * @param value the value to cache
      */
     public void put(K key, V value) {
-        if (cache.size() >= maxSize && !cache.containsKey(key)) {
-            evictLRU();
-        }
-        
-        cache.put(key, new CacheEntry<>(key.toString(), value));
-        updateAccessOrder(key);
+        write(key, value, expireAfterWriteNanos, null);
     }
 
-    private void updateAccessOrder(K key) {
-        accessOrder.remove(key);
-        accessOrder.addLast(key);
+    /**
+     * Stores value in cache with its own time to live, overriding setExpireAfterWrite.
+     *
+     * @param key the cache key
+     * @param value the value to cache
+     * @param expireAfterWrite time to live, or 0 for no limit
+     * @param unit unit of expireAfterWrite
+     */
+    public void put(K key, V value, long expireAfterWrite, TimeUnit unit) {
+        if (expireAfterWrite > 0) {
+            timed = true;
+        }
+        write(key, value, unit.toNanos(expireAfterWrite), null);
     }
 
-    private void evictLRU() {
-        K lruKey = accessOrder.pollFirst();
-        if (lruKey != null) {
-            cache.remove(lruKey);
-            evictions.incrementAndGet();
+    // A load's result is only written if no write or invalidation of the key came first
+    private void write(K key, V value, long expireAfterWrite, CompletableFuture<V> load) {
+        // Weighed outside the lock, as it may walk the whole value
+        int weight = weigh(key, value);
+        evictionLock.lock();
+        try {
+            if (load == null) {
+                inFlight.remove(key);
+            } else if (inFlight.get(key) != load) {
+                return;
+            }
+            long now = ticker.getAsLong();
+            maintain(now);
+            Node<K, V> node = cache.get(key);
+            if (weight > maximum) {
+                // Would flush everything else and still not fit
+                if (node != null) {
+                    cache.remove(key, node);
+                    policy.onRemove(node);
+                    unschedule(node);
+                }
+                evictions.increment();
+                return;
+            }
+            if (node != null) {
+                node.value = value;
+                node.createdAt = System.currentTimeMillis();
+                node.writeTime = now;
+                node.accessTime = now;
+                node.expireAfterWrite = expireAfterWrite;
+                policy.onWeightChange(node, weight);
+                policy.onAccess(node);
+            } else {
+                node = new Node<>(key, value, now);
+                node.expireAfterWrite = expireAfterWrite;
+                node.weight = weight;
+                policy.onAdd(node);
+            }
+            // Evict before publishing a new entry, so the cache never overshoots its bound
+            evictOverweight();
+            if (node.queue != Node.UNLINKED) {
+                updateExpiry(node);
+                cache.put(key, node);
+            }
+        } finally {
+            evictionLock.unlock();
         }
     }
 
     public void invalidate(K key) {
-        cache.remove(key);
-        accessOrder.remove(key);
+        evictionLock.lock();
+        try {
+            inFlight.remove(key);
+            Node<K, V> node = cache.remove(key);
+            if (node != null) {
+                policy.onRemove(node);
+                unschedule(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
     }
 
     public void clear() {
-        cache.clear();
-        accessOrder.clear();
-        hits.set(0);
-        misses.set(0);
-        evictions.set(0);
-        totalHitTime.set(0);
-        totalMissTime.set(0);
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            inFlight.clear();
+            cache.clear();
+            policy.clear();
+            if (timingWheel != null) {
+                timingWheel.clear();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        expirations.reset();
+        refreshes.reset();
+        loads.reset();
+        totalLoadTime.reset();
+        totalHitTime.reset();
+        totalMissTime.reset();
+    }
+
+    /**
+     * Applies pending hits and removes expired entries now rather than on the next write,
+     * e.g. before reporting size() of an idle cache.
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintain(ticker.getAsLong());
+        } finally {
+            evictionLock.unlock();
+        }
     }
 
     /**
      * Calculates cache hit rate as percentage.
-     * 
+     *
      * @return hit rate (0-100)
      */
     public double getHitRate() {
-        long total = hits.get() + misses.get();
-        return total == 0 ? 0 : (hits.get() * 100.0) / total;
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (hitCount * 100.0) / total;
     }
 
     public double getMissRate() {
-        long total = hits.get() + misses.get();
-        return total == 0 ? 0 : (misses.get() * 100.0) / total;
+        long missCount = misses.sum();
+        long total = hits.sum() + missCount;
+        return total == 0 ? 0 : (missCount * 100.0) / total;
     }
 
     public long getAverageHitTime() {
-        long hitCount = hits.get();
-        return hitCount == 0 ? 0 : totalHitTime.get() / hitCount;
+        long hitCount = hits.sum();
+        return hitCount == 0 ? 0 : totalHitTime.sum() / hitCount;
     }
 
     public long getAverageMissTime() {
-        long missCount = misses.get();
-        return missCount == 0 ? 0 : totalMissTime.get() / missCount;
+        long missCount = misses.sum();
+        return missCount == 0 ? 0 : totalMissTime.sum() / missCount;
     }
 
     public int size() {
         return cache.size();
     }
 
+    /**
+     * Returns the capacity: the maximum total weight of a weighted cache, otherwise the
+     * maximum number of entries.
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    /**
+     * Returns the total weight of the cached entries, which is their number for a cache
+     * that is not weighted.
+     */
+    public long getWeightedSize() {
+        evictionLock.lock();
+        try {
+            return policy.weightedSize();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
     public long getEvictionCount() {
-        return evictions.get();
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    // Keys loaded by get(key, loader) and getAll, counting each key of a bulk load
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getAverageLoadTime() {
+        long loadCount = loads.sum();
+        return loadCount == 0 ? 0 : totalLoadTime.sum() / loadCount;
     }
 
     public long getHits() {
-        return hits.get();
+        return hits.sum();
     }
 
     public long getMisses() {
-        return misses.get();
+        return misses.sum();
     }
 
+    /**
+     * Estimates the bytes the cached entries retain, including keys and per-entry overhead.
+     * For a weighted cache this is its weighted size, assuming its weigher counts bytes as
+     * the built-in ones do; other caches are weighed on demand with
+     * {@link Weighers#objects()}.
+     * Time Complexity: O(1) for a weighted cache, O(n) otherwise.
+     *
+     * @return estimated bytes
+     */
     public long getMemoryUsage() {
-        return cache.size() * 1024; // Rough estimate
+        if (weighted) {
+            return getWeightedSize();
+        }
+        Weigher<Object, Object> estimator = Weighers.objects();
+        long bytes = 0;
+        for (Node<K, V> node : cache.values()) {
+            bytes += estimator.weigh(node.key, node.value);
+        }
+        return bytes;
     }
 
     public List<CacheEntry<V>> getEntries() {
-        return new ArrayList<>(cache.values());
+        List<CacheEntry<V>> entries = new ArrayList<>(cache.size());
+        for (Node<K, V> node : cache.values()) {
+            // Keys cached as absent have no value to show
+            if (node.value == null) continue;
+            entries.add(new CacheEntry<>(node.key.toString(), node.value, toDateTime(node.createdAt),
+                    toDateTime(node.lastAccessed), node.accessCount));
+        }
+        return entries;
     }
 
     public void startAutoRefresh(Runnable refreshTask, long intervalSeconds) {
-        refreshScheduler.scheduleAtFixedRate(refreshTask, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        scheduler().scheduleAtFixedRate(refreshTask, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void shutdown() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdown();
+        }
+    }
+
+    private synchronized ScheduledExecutorService scheduler() {
+        if (refreshScheduler == null) {
+            refreshScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "cache-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return refreshScheduler;
+    }
+
+    private boolean hasExpired(Node<K, V> node, long now) {
+        long afterAccess = expireAfterAccessNanos;
+        return (node.expireAfterWrite > 0 && now - node.writeTime >= node.expireAfterWrite)
+                || (afterAccess > 0 && now - node.accessTime >= afterAccess);
+    }
+
+    private void refreshIfDue(Node<K, V> node, long now) {
+        Function<K, V> loader = refreshLoader;
+        long refreshAfter = refreshAfterWriteNanos;
+        if (loader == null || refreshAfter <= 0 || node.value == null || now - node.writeTime < refreshAfter
+                || !node.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long writeTime = node.writeTime;
+        try {
+            scheduler().execute(() -> reload(node, writeTime, loader));
+        } catch (RejectedExecutionException e) {
+            // Shut down: keep serving what is cached
+            node.refreshing.set(false);
+        }
+    }
+
+    private void reload(Node<K, V> node, long writeTime, Function<K, V> loader) {
+        try {
+            V value = loader.apply(node.key);
+            int weight = value == null ? 0 : weigh(node.key, value);
+            evictionLock.lock();
+            try {
+                // Skip if the entry was removed or rewritten while loading
+                if (cache.get(node.key) != node || node.writeTime != writeTime) return;
+                if (value == null || weight > maximum) {
+                    cache.remove(node.key, node);
+                    policy.onRemove(node);
+                    unschedule(node);
+                    return;
+                }
+                node.value = value;
+                node.createdAt = System.currentTimeMillis();
+                node.writeTime = ticker.getAsLong();
+                policy.onWeightChange(node, weight);
+                refreshes.increment();
+                // A grown value may push others out, or the entry itself
+                evictOverweight();
+                if (node.queue != Node.UNLINKED) {
+                    updateExpiry(node);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Warning: Cache refresh failed for " + node.key + ": " + e.getMessage());
+        } finally {
+            node.refreshing.set(false);
+        }
     }
 
-    public void shutdown() {
-        refreshScheduler.shutdown();
+    private int weigh(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight " + weight + " for " + key);
+        }
+        return weight;
+    }
+
+    // Caller holds evictionLock
+    private void evictOverweight() {
+        while (policy.weightedSize() > maximum) {
+            Node<K, V> victim = policy.evict();
+            unschedule(victim);
+            cache.remove(victim.key, victim);
+            evictions.increment();
+        }
+    }
+
+    // Caller holds evictionLock
+    private void maintain(long now) {
+        drainReadBuffers();
+        if (timingWheel != null) {
+            timingWheel.advance(now, expired -> {
+                // The wheel's deadline may predate hits still in flight
+                if (hasExpired(expired, now)) {
+                    cache.remove(expired.key, expired);
+                    policy.onRemove(expired);
+                    expirations.increment();
+                } else {
+                    updateExpiry(expired);
+                }
+            });
+        }
+    }
+
+    // Files the node under its next deadline; caller holds evictionLock
+    private void updateExpiry(Node<K, V> node) {
+        boolean byWrite = node.expireAfterWrite > 0;
+        long afterAccess = expireAfterAccessNanos;
+        if (!byWrite && afterAccess <= 0) {
+            unschedule(node);
+            return;
+        }
+        long expiresAt = node.writeTime + node.expireAfterWrite;
+        if (afterAccess > 0) {
+            long idleAt = node.accessTime + afterAccess;
+            if (!byWrite || idleAt - expiresAt < 0) {
+                expiresAt = idleAt;
+            }
+        }
+        if (timingWheel == null) {
+            timingWheel = new TimingWheel<>(ticker.getAsLong());
+        }
+        timingWheel.deschedule(node);
+        node.expiresAt = expiresAt;
+        timingWheel.schedule(node);
+    }
+
+    private void unschedule(Node<K, V> node) {
+        if (timingWheel != null) {
+            timingWheel.deschedule(node);
+        }
+    }
+
+    private void recordHit(Node<K, V> node) {
+        int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+        ReadBuffer<K, V> buffer = readBuffers[(h >>> 16) & readBufferMask];
+        if (buffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                maintain(ticker.getAsLong());
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    // Caller holds evictionLock
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drainTo(this);
+        }
+    }
+
+    // Replays a buffered hit; caller holds evictionLock
+    private void onAccess(Node<K, V> node) {
+        // No-op for a node evicted or invalidated since it was read
+        if (node.queue != Node.UNLINKED) {
+            policy.onAccess(node);
+            if (expireAfterAccessNanos > 0) {
+                updateExpiry(node);
+            }
+        }
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    // One cached entry; links, queue and expiresAt are guarded by evictionLock
+    static final class Node<K, V> {
+        static final int UNLINKED = 0;
+
+        final K key;
+        volatile V value;
+        volatile long createdAt;
+        volatile long lastAccessed;
+        // Approximate under concurrent hits, like the timestamps it is shown with
+        volatile int accessCount;
+        Node<K, V> prev;
+        Node<K, V> next;
+        // Which policy queue holds the node, or UNLINKED once it has left the cache
+        int queue;
+        // Counted against the cache's maximum; changed only through the policy
+        int weight;
+
+        // Ticker times, and this entry's time to live after a write (0 for none)
+        volatile long writeTime;
+        volatile long accessTime;
+        volatile long expireAfterWrite;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        long expiresAt;
+        Node<K, V> wheelPrev;
+        Node<K, V> wheelNext;
+
+        Node(K key, V value, long now) {
+            this.key = key;
+            this.value = value;
+            this.createdAt = System.currentTimeMillis();
+            this.lastAccessed = createdAt;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+
+        void recordAccess() {
+            lastAccessed = System.currentTimeMillis();
+            accessCount++;
+        }
+    }
+
+    // Bounded ring of recent hits; any thread may offer, only the lock holder drains
+    private static final class ReadBuffer<K, V> {
+        private static final int SIZE = 16;
+        private final AtomicReferenceArray<Node<K, V>> slots = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writeCount = new AtomicLong();
+        private volatile long readCount;
+
+        // Records a hit, dropping it if the ring is full; returns whether a drain is due
+        boolean offer(Node<K, V> node) {
+            long written = writeCount.get();
+            long pending = written - readCount;
+            if (pending >= SIZE) return true;
+            if (writeCount.compareAndSet(written, written + 1)) {
+                slots.lazySet((int) written & (SIZE - 1), node);
+                return pending + 1 >= SIZE;
+            }
+            // Lost a race with another reader on this stripe: drop rather than spin
+            return false;
+        }
+
+        void drainTo(LRUCache<K, V> cache) {
+            long read = readCount;
+            long written = writeCount.get();
+            for (; read < written; read++) {
+                int index = (int) read & (SIZE - 1);
+                Node<K, V> node = slots.get(index);
+                // Claimed but not yet stored; picked up by the next drain
+                if (node == null) break;
+                slots.lazySet(index, null);
+                cache.onAccess(node);
+            }
+            readCount = read;
+        }
     }
 }
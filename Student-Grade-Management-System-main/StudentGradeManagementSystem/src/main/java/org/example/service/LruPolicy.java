@@ -0,0 +1,54 @@
+package org.example.service;
+
+/**
+ * Plain least-recently-used eviction over a single access-ordered queue.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+final class LruPolicy<K, V> extends CachePolicy<K, V> {
+    private final Queue<K, V> queue = new Queue<>(1);
+
+    @Override
+    void onAdd(LRUCache.Node<K, V> node) {
+        queue.linkLast(node);
+    }
+
+    @Override
+    void onAccess(LRUCache.Node<K, V> node) {
+        if (queue.contains(node)) {
+            queue.moveToTail(node);
+        }
+    }
+
+    @Override
+    void onRemove(LRUCache.Node<K, V> node) {
+        if (queue.contains(node)) {
+            queue.unlink(node);
+        }
+    }
+
+    @Override
+    void onWeightChange(LRUCache.Node<K, V> node, int weight) {
+        if (queue.contains(node)) {
+            queue.reweigh(node, weight);
+        }
+    }
+
+    @Override
+    LRUCache.Node<K, V> evict() {
+        return queue.pollFirst();
+    }
+
+    @Override
+    long weightedSize() {
+        return queue.weight;
+    }
+
+    @Override
+    void clear() {
+        queue.clear();
+    }
+}
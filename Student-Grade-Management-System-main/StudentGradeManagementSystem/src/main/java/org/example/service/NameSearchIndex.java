@@ -0,0 +1,225 @@
+package org.example.service;
+
+import org.example.models.Student;
+import org.example.models.StudentComparator;
+import org.example.utils.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Trigram index for case-insensitive substring search over student names.
+ * Every three-character window of a lowercased name maps to a posting list of the ids of
+ * students whose name contains it, so a query only looks at students that contain all of
+ * its trigrams. Candidates are then checked against the whole query, which also covers
+ * trigram keys that collide.
+ *
+ * Students are also kept in name order (case-insensitive, ties in insertion order), and
+ * results come back in that order by sorting the matches' int ranks rather than comparing
+ * names. Students added since the order was last rebuilt are not ranked yet; a search sorts
+ * just the ones it matches by name and merges them into its ranked results. Once they
+ * outnumber an eighth of the ranked students, the next search merges them all into the
+ * order, so each rebuild's O(n) cost is spread over at least n/8 adds.
+ *
+ * All operations are synchronized.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class NameSearchIndex {
+    private static final int GRAM = 3;
+    private static final Comparator<Student> NAME_ORDER = StudentComparator.byNameAscending();
+    // Unranked students a search tolerates before merging them into the order
+    private static final int MIN_PENDING = 64;
+
+    // Ids in ascending order per trigram key; ids are assigned in insertion order
+    private final IntObjectMap<Postings> postings = new IntObjectMap<>();
+    private Student[] students = new Student[64];
+    private String[] names = new String[64];
+    private int size;
+
+    // Ids sorted by name, and each id's position in that order
+    private int[] order = new int[0];
+    private int[] rank = new int[64];
+    // Ids [ordered, size) are not yet merged into the order
+    private int ordered;
+
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            // Repeated trigrams in one name are recorded once
+            if (size > 0 && ids[size - 1] == id) return;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    /**
+     * Indexes a student's name.
+     * Time Complexity: O(L) for a name of L characters.
+     *
+     * @param student the student to index
+     */
+    public synchronized void add(Student student) {
+        ensureCapacity(size + 1);
+        index(student);
+    }
+
+    /**
+     * Indexes many names and merges them into the name order with a single sort, so the
+     * index is ready for searching when this returns.
+     * Time Complexity: O(L) per name + O(n + m log m) to merge m names into n.
+     *
+     * @param added the students to index
+     */
+    public synchronized void addAll(Collection<? extends Student> added) {
+        ensureCapacity(size + added.size());
+        for (Student student : added) {
+            index(student);
+        }
+        mergePending();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > students.length) {
+            capacity = Math.max(students.length * 2, capacity);
+            students = Arrays.copyOf(students, capacity);
+            names = Arrays.copyOf(names, capacity);
+            rank = Arrays.copyOf(rank, capacity);
+        }
+    }
+
+    private void index(Student student) {
+        int id = size++;
+        String name = normalize(student.getName());
+        students[id] = student;
+        names[id] = name;
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            int key = key(name, i);
+            Postings list = postings.get(key);
+            if (list == null) {
+                list = new Postings();
+                postings.put(key, list);
+            }
+            list.add(id);
+        }
+    }
+
+    /**
+     * Finds students whose name contains the query, ignoring case.
+     * Time Complexity: O(c) to check the c students holding the query's rarest trigram,
+     * + O(m log m) int sort of the m matches' ranks + O(q log q) name comparisons for the
+     * q matches not yet ranked. Queries under three characters check every name. First
+     * merges unranked students into the name order if there are too many of them.
+     *
+     * @param query name or partial name
+     * @return matching students sorted by name
+     */
+    public synchronized List<Student> search(String query) {
+        String term = normalize(query);
+        if (size - ordered > Math.max(MIN_PENDING, ordered >> 3)) {
+            mergePending();
+        }
+
+        int[] candidates;
+        int count;
+        if (term.length() < GRAM) {
+            candidates = null;
+            count = size;
+        } else {
+            Postings rarest = null;
+            for (int i = 0; i + GRAM <= term.length(); i++) {
+                Postings list = postings.get(key(term, i));
+                if (list == null) return new ArrayList<>();
+                if (rarest == null || list.size < rarest.size) {
+                    rarest = list;
+                }
+            }
+            candidates = rarest.ids;
+            count = rarest.size;
+        }
+
+        int[] ranks = new int[count];
+        int matches = 0;
+        // Candidates come in id order, so unranked ones are listed in insertion order
+        List<Integer> unranked = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int id = candidates == null ? i : candidates[i];
+            if (names[id].contains(term)) {
+                if (id < ordered) {
+                    ranks[matches++] = rank[id];
+                } else {
+                    unranked.add(id);
+                }
+            }
+        }
+        Arrays.sort(ranks, 0, matches);
+        // Stable, so equal names keep insertion order
+        unranked.sort((a, b) -> NAME_ORDER.compare(students[a], students[b]));
+
+        List<Student> results = new ArrayList<>(matches + unranked.size());
+        int i = 0;
+        int j = 0;
+        while (i < matches || j < unranked.size()) {
+            // Ranked ids are older, so they win ties
+            if (j == unranked.size()
+                    || (i < matches && NAME_ORDER.compare(students[order[ranks[i]]], students[unranked.get(j)]) <= 0)) {
+                results.add(students[order[ranks[i++]]]);
+            } else {
+                results.add(students[unranked.get(j++)]);
+            }
+        }
+        return results;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // O(n + p log p) - merges the p ids added since the last search into the name order
+    private void mergePending() {
+        if (ordered == size) return;
+        Integer[] pending = new Integer[size - ordered];
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = ordered + i;
+        }
+        // Stable, so equal names keep insertion order
+        Arrays.sort(pending, (a, b) -> NAME_ORDER.compare(students[a], students[b]));
+
+        int[] merged = new int[size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < order.length || j < pending.length) {
+            // Earlier ids win ties
+            if (j == pending.length
+                    || (i < order.length && NAME_ORDER.compare(students[order[i]], students[pending[j]]) <= 0)) {
+                merged[k++] = order[i++];
+            } else {
+                merged[k++] = pending[j++];
+            }
+        }
+        for (int r = 0; r < merged.length; r++) {
+            rank[merged[r]] = r;
+        }
+        order = merged;
+        ordered = size;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase();
+    }
+
+    // Packs three characters into an int; characters beyond 10 bits may collide, which the
+    // full contains() check on every candidate absorbs
+    private static int key(String s, int i) {
+        return (s.charAt(i) & 0x3FF) << 20 | (s.charAt(i + 1) & 0x3FF) << 10 | (s.charAt(i + 2) & 0x3FF);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.service;
+
+import org.example.models.GradeColumnStore;
+import org.example.models.Student;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Frozen, version-stamped read view of a manager's students and their grades.
+ * Taking one is O(1): it shares the manager's append-only student array and the grade
+ * store's columns instead of copying them, and grade writes carry on while it is read.
+ * Students added and grades recorded or edited after the snapshot are not visible through it.
+ *
+ * Grades must be read through the snapshot ({@link #getScores(Student)},
+ * {@link #getAverage(Student)}); the Student objects themselves remain live.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class PopulationSnapshot {
+    private final List<Student> students;
+    private final GradeColumnStore.Snapshot grades;
+
+    PopulationSnapshot(PopulationView students, GradeColumnStore.Snapshot grades) {
+        this.students = students;
+        this.grades = grades;
+    }
+
+    // Increases with every student added and every grade recorded or edited
+    public long getVersion() {
+        return grades.getVersion();
+    }
+
+    // O(1) - read-only view in insertion order, no copy
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    public int getStudentCount() {
+        return students.size();
+    }
+
+    public int getGradeCount() {
+        return grades.getLiveRowCount();
+    }
+
+    // Column view for whole-population scans
+    public GradeColumnStore.Snapshot getGrades() {
+        return grades;
+    }
+
+    // O(g) - every grade in the view
+    public double[] copyScores() {
+        return grades.copyScores();
+    }
+
+    // O(k) - the student's grades as of this snapshot
+    public double[] getScores(Student student) {
+        double[] scores = new double[getGradeCount(student)];
+        int i = 0;
+        for (int row = grades.getFirstRow(student); row >= 0; row = grades.getNextRow(row)) {
+            scores[i++] = grades.getScore(row);
+        }
+        return scores;
+    }
+
+    // O(k) - walks the student's rows in the view
+    public int getGradeCount(Student student) {
+        int count = 0;
+        for (int row = grades.getFirstRow(student); row >= 0; row = grades.getNextRow(row)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a student's average as of this snapshot.
+     * Time Complexity: O(k) for k grades.
+     *
+     * @param student the student
+     * @return the average, or 0.0 if the student had no grades
+     */
+    public double getAverage(Student student) {
+        double sum = 0;
+        int count = 0;
+        for (int row = grades.getFirstRow(student); row >= 0; row = grades.getNextRow(row)) {
+            sum += grades.getScore(row);
+            count++;
+        }
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * Read-only list over a prefix of the manager's append-only student array.
+     * Entries below the count never change, so the view needs no copy and no lock.
+     * Serializes as a plain ArrayList.
+     */
+    static final class PopulationView extends AbstractList<Student> implements RandomAccess, Serializable {
+        private static final long serialVersionUID = 1L;
+        private final transient Student[] population;
+        private final int count;
+
+        PopulationView(Student[] population, int count) {
+            this.population = population;
+            this.count = count;
+        }
+
+        @Override
+        public Student get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            return population[index];
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        private Object writeReplace() {
+            return new ArrayList<>(this);
+        }
+    }
+}
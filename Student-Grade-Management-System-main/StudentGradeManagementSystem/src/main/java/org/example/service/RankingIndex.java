@@ -0,0 +1,356 @@
+package org.example.service;
+
+import org.example.models.Student;
+import org.example.utils.IntObjectMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Class ranking by average grade, kept as an order-statistic treap.
+ * Students are ordered by average descending, then by student number, so every student
+ * has a distinct position. Each node records its subtree size, which gives the rank of a
+ * student, the student at a rank and percentiles in O(log n) without walking the ranking.
+ * Each node remembers the average it was filed under, so a student whose grades changed
+ * can be found and moved even though its current average no longer matches.
+ *
+ * All operations are synchronized.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class RankingIndex {
+
+    private static final class Node {
+        final Student student;
+        final int studentNumber;
+        final int priority;
+        double average;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(Student student, int priority) {
+            this.student = student;
+            this.studentNumber = student.getStudentNumber();
+            this.priority = priority;
+        }
+    }
+
+    private Node root;
+    // Node per ranked student, keyed by student number
+    private final IntObjectMap<Node> nodes = new IntObjectMap<>();
+    private int seed = 0x2545F491;
+
+    /**
+     * Files a student under its current average, moving it if it is already ranked.
+     * Time Complexity: O(log n) expected.
+     *
+     * @param student the student to rank
+     */
+    public synchronized void update(Student student) {
+        Node node = nodes.get(student.getStudentNumber());
+        if (node == null) {
+            node = new Node(student, nextPriority());
+            nodes.put(node.studentNumber, node);
+        } else {
+            root = remove(root, node.average, node.studentNumber);
+            node.left = null;
+            node.right = null;
+            node.size = 1;
+        }
+        node.average = student.calculateAverageGrade();
+        root = insert(root, node);
+    }
+
+    /**
+     * Files many students at once, e.g. after a bulk load. The whole ranking is rebuilt from
+     * one sort instead of one treap insert per student: nodes are sorted by rank and linked
+     * into a treap in a single left-to-right pass.
+     * Time Complexity: O((n + m) log(n + m)) for m students added to n ranked.
+     *
+     * @param added the students to rank; those already ranked are refiled
+     */
+    public synchronized void addAll(Collection<? extends Student> added) {
+        Node[] all = new Node[size(root) + added.size()];
+        int count = collect(root, all);
+        for (Student student : added) {
+            Node node = nodes.get(student.getStudentNumber());
+            if (node == null) {
+                node = new Node(student, nextPriority());
+                nodes.put(node.studentNumber, node);
+                all[count++] = node;
+            }
+            node.average = student.calculateAverageGrade();
+        }
+        Arrays.sort(all, 0, count, (a, b) -> compare(a.average, a.studentNumber, b));
+        root = build(all, count);
+    }
+
+    // In-order nodes of a subtree into the array; returns how many were written
+    private static int collect(Node root, Node[] into) {
+        int count = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        Node t = root;
+        while (t != null || !stack.isEmpty()) {
+            while (t != null) {
+                stack.push(t);
+                t = t.left;
+            }
+            t = stack.pop();
+            into[count++] = t;
+            t = t.right;
+        }
+        return count;
+    }
+
+    // O(n) - links nodes already in rank order into a treap, keeping the right spine on a stack
+    private static Node build(Node[] sorted, int count) {
+        Node[] spine = new Node[count];
+        int top = 0;
+        for (int i = 0; i < count; i++) {
+            Node node = sorted[i];
+            node.right = null;
+            Node last = null;
+            while (top > 0 && spine[top - 1].priority < node.priority) {
+                last = spine[--top];
+            }
+            node.left = last;
+            if (top > 0) {
+                spine[top - 1].right = node;
+            }
+            spine[top++] = node;
+        }
+        if (top == 0) return null;
+        fixSizes(spine[0]);
+        return spine[0];
+    }
+
+    // Expected depth is O(log n), so recursion is safe
+    private static int fixSizes(Node node) {
+        if (node == null) return 0;
+        node.size = fixSizes(node.left) + fixSizes(node.right) + 1;
+        return node.size;
+    }
+
+    /**
+     * Removes a student from the ranking.
+     * Time Complexity: O(log n) expected.
+     *
+     * @param student the student to remove
+     * @return true if the student was ranked
+     */
+    public synchronized boolean remove(Student student) {
+        Node node = nodes.remove(student.getStudentNumber());
+        if (node == null) return false;
+        root = remove(root, node.average, node.studentNumber);
+        return true;
+    }
+
+    /**
+     * Returns a student's 1-based class rank.
+     * Time Complexity: O(log n).
+     *
+     * @param student the student
+     * @return the rank, or 0 if the student is not ranked
+     */
+    public synchronized int rankOf(Student student) {
+        Node node = nodes.get(student.getStudentNumber());
+        if (node == null) return 0;
+        int rank = 0;
+        Node t = root;
+        while (t != null) {
+            int c = compare(node.average, node.studentNumber, t);
+            if (c < 0) {
+                t = t.left;
+            } else {
+                rank += size(t.left) + 1;
+                if (c == 0) return rank;
+                t = t.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the student at a 1-based rank.
+     * Time Complexity: O(log n).
+     *
+     * @param rank the rank
+     * @return the student, or null if the rank is out of range
+     */
+    public synchronized Student select(int rank) {
+        if (rank < 1 || rank > size(root)) return null;
+        Node t = root;
+        while (true) {
+            int leftSize = size(t.left);
+            if (rank <= leftSize) {
+                t = t.left;
+            } else if (rank == leftSize + 1) {
+                return t.student;
+            } else {
+                rank -= leftSize + 1;
+                t = t.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the percentage of ranked students placed below a student.
+     * Time Complexity: O(log n).
+     *
+     * @param student the student
+     * @return percentile from 0 (last) to just under 100 (first), or -1 if not ranked
+     */
+    public synchronized double percentileOf(Student student) {
+        int rank = rankOf(student);
+        if (rank == 0) return -1;
+        int n = size(root);
+        return 100.0 * (n - rank) / n;
+    }
+
+    /**
+     * Returns the student at a percentile: the lowest-ranked student with at least that
+     * percentage of the class placed below it. 0 is the last-ranked student, 100 the first.
+     * Time Complexity: O(log n).
+     *
+     * @param percentile value from 0 to 100
+     * @return the student, or null if nobody is ranked
+     */
+    public synchronized Student atPercentile(double percentile) {
+        int n = size(root);
+        if (n == 0) return null;
+        double clamped = Math.max(0.0, Math.min(100.0, percentile));
+        int rank = n - (int) Math.floor(clamped / 100.0 * n);
+        return select(Math.max(1, rank));
+    }
+
+    /**
+     * Returns the k highest-ranked students.
+     * Time Complexity: O(log n + k).
+     *
+     * @param k how many students to return
+     * @return students in rank order
+     */
+    public List<Student> topK(int k) {
+        return topK(k, student -> true);
+    }
+
+    /**
+     * Returns the k highest-ranked students that pass a filter.
+     * Time Complexity: O(log n + k + s) where s is the number of students skipped.
+     *
+     * @param k how many students to return
+     * @param filter which students qualify
+     * @return students in rank order
+     */
+    public synchronized List<Student> topK(int k, Predicate<? super Student> filter) {
+        List<Student> result = new ArrayList<>(Math.max(0, Math.min(k, size(root))));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node t = root;
+        while (result.size() < k && (t != null || !stack.isEmpty())) {
+            while (t != null) {
+                stack.push(t);
+                t = t.left;
+            }
+            t = stack.pop();
+            if (filter.test(t.student)) {
+                result.add(t.student);
+            }
+            t = t.right;
+        }
+        return result;
+    }
+
+    // O(n) - every ranked student in rank order
+    public List<Student> toList() {
+        return topK(Integer.MAX_VALUE);
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    // Average descending, then student number ascending
+    private static int compare(double average, int studentNumber, Node node) {
+        int c = Double.compare(node.average, average);
+        return c != 0 ? c : Integer.compare(studentNumber, node.studentNumber);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node fix(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private Node insert(Node t, Node node) {
+        if (t == null) return node;
+        if (node.priority > t.priority) {
+            // node becomes the root of this subtree: split t around it
+            Node[] parts = split(t, node.average, node.studentNumber);
+            node.left = parts[0];
+            node.right = parts[1];
+            return fix(node);
+        }
+        if (compare(node.average, node.studentNumber, t) < 0) {
+            t.left = insert(t.left, node);
+        } else {
+            t.right = insert(t.right, node);
+        }
+        return fix(t);
+    }
+
+    // Splits t into nodes ordered before the key and nodes after it
+    private static Node[] split(Node t, double average, int studentNumber) {
+        if (t == null) return new Node[2];
+        if (compare(average, studentNumber, t) < 0) {
+            Node[] parts = split(t.left, average, studentNumber);
+            t.left = parts[1];
+            parts[1] = fix(t);
+            return parts;
+        }
+        Node[] parts = split(t.right, average, studentNumber);
+        t.right = parts[0];
+        parts[0] = fix(t);
+        return parts;
+    }
+
+    private static Node remove(Node t, double average, int studentNumber) {
+        if (t == null) return null;
+        int c = compare(average, studentNumber, t);
+        if (c == 0) return merge(t.left, t.right);
+        if (c < 0) {
+            t.left = remove(t.left, average, studentNumber);
+        } else {
+            t.right = remove(t.right, average, studentNumber);
+        }
+        return fix(t);
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return fix(left);
+        }
+        right.left = merge(left, right.left);
+        return fix(right);
+    }
+
+    // xorshift; treap balance only needs priorities to look random
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
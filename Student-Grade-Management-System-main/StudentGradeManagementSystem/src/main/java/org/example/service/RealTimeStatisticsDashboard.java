@@ -64,34 +64,27 @@ public class RealTimeStatisticsDashboard {
     }
     
     private void calculateStatistics() {
-        List<Student> students = studentManager.getAllStudents();
-        List<Double> allGrades = new ArrayList<>();
-        
-        // Collect all grades
-        for (Student student : students) {
-            for (org.example.models.Grade grade : student.getGrades()) {
-                allGrades.add(grade.getGrade());
-            }
-        }
+        // One consistent view per refresh, read without blocking grade writes
+        PopulationSnapshot snapshot = studentManager.snapshot();
+        double[] allGrades = snapshot.copyScores();
+        int count = allGrades.length;
         
         // Calculate statistics
-        if (!allGrades.isEmpty()) {
-            cachedStats.put("totalStudents", students.size());
-            cachedStats.put("totalGrades", allGrades.size());
-            cachedStats.put("mean", statisticsCalculator.calculateMean(allGrades));
-            cachedStats.put("median", statisticsCalculator.calculateMedian(allGrades));
-            cachedStats.put("mode", statisticsCalculator.calculateMode(allGrades));
-            cachedStats.put("stdDev", statisticsCalculator.calculateStandardDeviation(allGrades));
-            cachedStats.put("gradeDistribution", statisticsCalculator.calculateGradeDistribution(allGrades));
-            cachedStats.put("topPerformers", getTopPerformers(students));
+        if (count > 0) {
+            cachedStats.put("totalStudents", snapshot.getStudentCount());
+            cachedStats.put("totalGrades", count);
+            cachedStats.put("mean", statisticsCalculator.calculateMean(allGrades, count));
+            cachedStats.put("median", statisticsCalculator.calculateMedian(allGrades, count));
+            cachedStats.put("mode", statisticsCalculator.calculateMode(allGrades, count));
+            cachedStats.put("stdDev", statisticsCalculator.calculateStandardDeviation(allGrades, count));
+            cachedStats.put("gradeDistribution", statisticsCalculator.calculateGradeDistribution(allGrades, count));
+            cachedStats.put("topPerformers", getTopPerformers());
         }
     }
     
-    private List<String> getTopPerformers(List<Student> students) {
-        return students.stream()
-            .filter(s -> !s.getGrades().isEmpty())
-            .sorted((s1, s2) -> Double.compare(s2.calculateAverageGrade(), s1.calculateAverageGrade()))
-            .limit(3)
+    // Reads the top of the manager's ranking index instead of sorting every student
+    private List<String> getTopPerformers() {
+        return studentManager.getTopStudents(3).stream()
             .map(s -> s.getName() + " (" + String.format("%.1f", s.calculateAverageGrade()) + "%)")
             .collect(java.util.stream.Collectors.toList());
     }
@@ -1,9 +1,9 @@
 package org.example.service;
 
-import org.example.models.CoreSubject;
-import org.example.models.ElectiveSubject;
 import org.example.models.Grade;
 import org.example.models.Student;
+import org.example.models.Subject;
+import org.example.models.SubjectRegistry;
 
 import java.util.stream.Collectors;
 
@@ -30,19 +30,22 @@ public class ReportGenerator {
         report.append("GRD ID | DATE       | SUBJECT     | TYPE    | GRADE | LETTER\n");
         report.append("------------------------------------------------------------\n");
 
+        SubjectRegistry subjects = SubjectRegistry.getInstance();
         for (Grade grade : student.getGrades()) {
+            // Shared subject instance looked up by its dense id
+            Subject subject = subjects.get(grade.getSubjectId());
             report.append(String.format("%-6s | %-10s | %-11s | %-7s | %-5.1f | %s\n",
                     grade.getGradeId(),
                     grade.getDate(),
-                    grade.getSubject().getSubjectName(),
-                    grade.getSubject().getSubjectType(),
+                    subject.getSubjectName(),
+                    subject.getSubjectType(),
                     grade.getGrade(),
                     gpaCalculator.convertPercentageToLetterGrade(grade.getGrade())));
         }
 
         // Calculate averages by subject type
-        double coreAvg = calculateCoreAverage(student);
-        double electiveAvg = calculateElectiveAverage(student);
+        double coreAvg = student.getCoreAverage();
+        double electiveAvg = student.getElectiveAverage();
 
         report.append("\n=== PERFORMANCE ANALYSIS ===\n");
         report.append(String.format("Core Subjects Average: %.1f%%\n", coreAvg));
@@ -55,28 +58,4 @@ public class ReportGenerator {
 
         return report.toString();
     }
-
-    private double calculateCoreAverage(Student student) {
-        double sum = 0;
-        int count = 0;
-        for (Grade grade : student.getGrades()) {
-            if (grade.getSubject() instanceof CoreSubject) {
-                sum += grade.getGrade();
-                count++;
-            }
-        }
-        return count > 0 ? sum / count : 0.0;
-    }
-
-    private double calculateElectiveAverage(Student student) {
-        double sum = 0;
-        int count = 0;
-        for (Grade grade : student.getGrades()) {
-            if (grade.getSubject() instanceof ElectiveSubject) {
-                sum += grade.getGrade();
-                count++;
-            }
-        }
-        return count > 0 ? sum / count : 0.0;
-    }
 }
\ No newline at end of file
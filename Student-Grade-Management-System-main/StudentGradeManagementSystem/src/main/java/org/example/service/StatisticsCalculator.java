@@ -1,5 +1,6 @@
 package org.example.service;
 
+import java.nio.DoubleBuffer;
 import java.util.*;
 
 /**
@@ -10,6 +11,8 @@ import java.util.*;
  * @version 3.0
  */
 public class StatisticsCalculator {
+    // Letter bands of the grade distribution, highest first
+    private static final String[] BANDS = {"A (90-100%)", "B (80-89%)", "C (70-79%)", "D (60-69%)", "F (0-59%)"};
 
     /**
      * Calculates the arithmetic mean (average) of grades.
@@ -100,27 +103,221 @@ public class StatisticsCalculator {
      * @return map of grade categories to counts
      */
     public Map<String, Integer> calculateGradeDistribution(List<Double> grades) {
-        Map<String, Integer> distribution = new LinkedHashMap<>();
-        distribution.put("A (90-100%)", 0);
-        distribution.put("B (80-89%)", 0);
-        distribution.put("C (70-79%)", 0);
-        distribution.put("D (60-69%)", 0);
-        distribution.put("F (0-59%)", 0);
-
+        int[] counts = new int[BANDS.length];
         for (Double grade : grades) {
-            if (grade >= 90) {
-                distribution.put("A (90-100%)", distribution.get("A (90-100%)") + 1);
-            } else if (grade >= 80) {
-                distribution.put("B (80-89%)", distribution.get("B (80-89%)") + 1);
-            } else if (grade >= 70) {
-                distribution.put("C (70-79%)", distribution.get("C (70-79%)") + 1);
-            } else if (grade >= 60) {
-                distribution.put("D (60-69%)", distribution.get("D (60-69%)") + 1);
-            } else {
-                distribution.put("F (0-59%)", distribution.get("F (0-59%)") + 1);
+            counts[band(grade)]++;
+        }
+        return toDistribution(counts);
+    }
+
+    /**
+     * Calculates the arithmetic mean of a primitive grade array.
+     * Time Complexity: O(n) with no boxing.
+     *
+     * @param grades grade values
+     * @param count number of leading entries to use
+     * @return mean value, or 0.0 if array is empty/null
+     */
+    public double calculateMean(double[] grades, int count) {
+        if (grades == null || count == 0) return 0.0;
+
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += grades[i];
+        }
+        return sum / count;
+    }
+
+    /**
+     * Calculates the median of a primitive grade array.
+     * Time Complexity: O(n log n) - sorts a copy.
+     *
+     * @param grades grade values
+     * @param count number of leading entries to use
+     * @return median value, or 0.0 if array is empty/null
+     */
+    public double calculateMedian(double[] grades, int count) {
+        if (grades == null || count == 0) return 0.0;
+
+        double[] sorted = Arrays.copyOf(grades, count);
+        Arrays.sort(sorted);
+
+        int size = sorted.length;
+        if (size % 2 == 0) {
+            return (sorted[size/2 - 1] + sorted[size/2]) / 2.0;
+        } else {
+            return sorted[size/2];
+        }
+    }
+
+    /**
+     * Calculates the mode of a primitive grade array by counting runs in a sorted copy.
+     * Time Complexity: O(n log n).
+     *
+     * @param grades grade values
+     * @param count number of leading entries to use
+     * @return mode value (the smallest on ties), or 0.0 if array is empty/null
+     */
+    public double calculateMode(double[] grades, int count) {
+        if (grades == null || count == 0) return 0.0;
+
+        double[] sorted = Arrays.copyOf(grades, count);
+        Arrays.sort(sorted);
+
+        double mode = sorted[0];
+        int maxCount = 0;
+        int runStart = 0;
+        for (int i = 1; i <= sorted.length; i++) {
+            if (i == sorted.length || sorted[i] != sorted[runStart]) {
+                if (i - runStart > maxCount) {
+                    maxCount = i - runStart;
+                    mode = sorted[runStart];
+                }
+                runStart = i;
             }
         }
+        return mode;
+    }
+
+    /**
+     * Calculates the sample standard deviation of a primitive grade array.
+     *
+     * @param grades grade values
+     * @param count number of leading entries to use
+     * @return standard deviation, or 0.0 if array has fewer than 2 elements
+     */
+    public double calculateStandardDeviation(double[] grades, int count) {
+        if (grades == null || count < 2) return 0.0;
+
+        double mean = calculateMean(grades, count);
+        double sum = 0;
+
+        for (int i = 0; i < count; i++) {
+            double diff = grades[i] - mean;
+            sum += diff * diff;
+        }
+
+        return Math.sqrt(sum / (count - 1));
+    }
+
+    /**
+     * Calculates grade distribution for a primitive grade array.
+     *
+     * @param grades grade values
+     * @param count number of leading entries to use
+     * @return map of grade categories to counts
+     */
+    public Map<String, Integer> calculateGradeDistribution(double[] grades, int count) {
+        int[] counts = new int[BANDS.length];
+        for (int i = 0; i < count; i++) {
+            counts[band(grades[i])]++;
+        }
+        return toDistribution(counts);
+    }
+
+    /**
+     * Calculates the arithmetic mean of a grade buffer, e.g. a memory-mapped score column,
+     * without copying it.
+     * Time Complexity: O(n).
+     *
+     * @param grades grade values, read by absolute index
+     * @param count number of leading entries to use
+     * @return mean value, or 0.0 if buffer is empty/null
+     */
+    public double calculateMean(DoubleBuffer grades, int count) {
+        if (grades == null || count == 0) return 0.0;
+
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += grades.get(i);
+        }
+        return sum / count;
+    }
+
+    /**
+     * Calculates the median of a grade buffer.
+     * Time Complexity: O(n log n) - sorts a heap copy.
+     *
+     * @param grades grade values, read by absolute index
+     * @param count number of leading entries to use
+     * @return median value, or 0.0 if buffer is empty/null
+     */
+    public double calculateMedian(DoubleBuffer grades, int count) {
+        if (grades == null || count == 0) return 0.0;
+        return calculateMedian(copyOf(grades, count), count);
+    }
+
+    /**
+     * Calculates the mode of a grade buffer.
+     * Time Complexity: O(n log n) - sorts a heap copy.
+     *
+     * @param grades grade values, read by absolute index
+     * @param count number of leading entries to use
+     * @return mode value (the smallest on ties), or 0.0 if buffer is empty/null
+     */
+    public double calculateMode(DoubleBuffer grades, int count) {
+        if (grades == null || count == 0) return 0.0;
+        return calculateMode(copyOf(grades, count), count);
+    }
+
+    /**
+     * Calculates the sample standard deviation of a grade buffer without copying it.
+     *
+     * @param grades grade values, read by absolute index
+     * @param count number of leading entries to use
+     * @return standard deviation, or 0.0 if buffer has fewer than 2 elements
+     */
+    public double calculateStandardDeviation(DoubleBuffer grades, int count) {
+        if (grades == null || count < 2) return 0.0;
+
+        double mean = calculateMean(grades, count);
+        double sum = 0;
+
+        for (int i = 0; i < count; i++) {
+            double diff = grades.get(i) - mean;
+            sum += diff * diff;
+        }
+
+        return Math.sqrt(sum / (count - 1));
+    }
+
+    /**
+     * Calculates grade distribution for a grade buffer without copying it.
+     *
+     * @param grades grade values, read by absolute index
+     * @param count number of leading entries to use
+     * @return map of grade categories to counts
+     */
+    public Map<String, Integer> calculateGradeDistribution(DoubleBuffer grades, int count) {
+        int[] counts = new int[BANDS.length];
+        for (int i = 0; i < count; i++) {
+            counts[band(grades.get(i))]++;
+        }
+        return toDistribution(counts);
+    }
+
+    // Index into BANDS of the letter band a grade falls in
+    private static int band(double grade) {
+        if (grade >= 90) return 0;
+        if (grade >= 80) return 1;
+        if (grade >= 70) return 2;
+        if (grade >= 60) return 3;
+        return 4;
+    }
 
+    private static Map<String, Integer> toDistribution(int[] counts) {
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < BANDS.length; i++) {
+            distribution.put(BANDS[i], counts[i]);
+        }
         return distribution;
     }
+
+    private static double[] copyOf(DoubleBuffer grades, int count) {
+        double[] copy = new double[count];
+        for (int i = 0; i < count; i++) {
+            copy[i] = grades.get(i);
+        }
+        return copy;
+    }
 }
@@ -1,12 +1,14 @@
 package org.example.service;
 
 import org.example.models.*;
+import org.example.utils.CompressedBitmap;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class StreamDataProcessor {
@@ -18,14 +20,18 @@ public class StreamDataProcessor {
         this.gpaCalculator = gpaCalculator;
     }
 
-    // Filter: Find honors students with GPA > 3.5
+    // Filter: Find honors students with GPA > 3.5 - Honors bitmap AND the bands whose GPA clears the bar
     public List<Student> findHonorsStudentsAboveGPA(double minGPA) {
         long startTime = System.nanoTime();
         
-        List<Student> result = studentManager.getAllStudents().stream()
-            .filter(s -> s instanceof HonorsStudent)
-            .filter(s -> gpaCalculator.convertPercentageToGPA(s.calculateAverageGrade()) > minGPA)
-            .collect(Collectors.toList());
+        StudentBitmapIndex index = studentManager.getBitmapIndex();
+        CompressedBitmap bands = new CompressedBitmap();
+        for (int band = 0; band < StudentBitmapIndex.BAND_COUNT; band++) {
+            if (gpaCalculator.convertPercentageToGPA(StudentBitmapIndex.bandFloor(band)) > minGPA) {
+                bands = bands.or(index.ofBand(band));
+            }
+        }
+        List<Student> result = index.students(index.ofType("Honors").and(bands));
         
         long duration = System.nanoTime() - startTime;
         System.out.printf("Stream execution time: %.2f ms\n", duration / 1_000_000.0);
@@ -47,14 +53,18 @@ public class StreamDataProcessor {
         return emails;
     }
 
-    // Reduce: Calculate total of all grades
+    // Reduce: Calculate total of all grades - O(g) pass over a snapshot of the score column
     public double calculateTotalGrades() {
         long startTime = System.nanoTime();
         
-        double total = studentManager.getAllStudents().stream()
-            .flatMap(s -> s.getGrades().stream())
-            .map(Grade::getGrade)
-            .reduce(0.0, Double::sum);
+        GradeColumnStore.Snapshot grades = studentManager.snapshot().getGrades();
+        int rows = grades.size();
+        double total = 0.0;
+        for (int row = 0; row < rows; row++) {
+            if (grades.isLive(row)) {
+                total += grades.getScore(row);
+            }
+        }
         
         long duration = System.nanoTime() - startTime;
         System.out.printf("Stream execution time: %.2f ms\n", duration / 1_000_000.0);
@@ -62,19 +72,27 @@ public class StreamDataProcessor {
         return total;
     }
 
-    // Collect with grouping: Group students by grade range
+    // Collect with grouping: Group students by grade range - each range is an OR of letter-grade band bitmaps
     public Map<String, List<Student>> groupStudentsByGradeRange() {
         long startTime = System.nanoTime();
         
-        Map<String, List<Student>> grouped = studentManager.getAllStudents().stream()
-            .collect(Collectors.groupingBy(s -> {
-                double avg = s.calculateAverageGrade();
-                if (avg >= 90) return "A (90-100)";
-                if (avg >= 80) return "B (80-89)";
-                if (avg >= 70) return "C (70-79)";
-                if (avg >= 60) return "D (60-69)";
-                return "F (0-59)";
-            }));
+        StudentBitmapIndex index = studentManager.getBitmapIndex();
+        String[] ranges = {"A (90-100)", "B (80-89)", "C (70-79)", "D (60-69)", "F (0-59)"};
+        double[] floors = {90, 80, 70, 60, 0};
+        Map<String, List<Student>> grouped = new HashMap<>();
+        for (int i = 0; i < ranges.length; i++) {
+            double ceiling = i == 0 ? Double.POSITIVE_INFINITY : floors[i - 1];
+            CompressedBitmap members = new CompressedBitmap();
+            for (int band = 0; band < StudentBitmapIndex.BAND_COUNT; band++) {
+                double bandFloor = StudentBitmapIndex.bandFloor(band);
+                if (bandFloor >= floors[i] && bandFloor < ceiling) {
+                    members = members.or(index.ofBand(band));
+                }
+            }
+            if (!members.isEmpty()) {
+                grouped.put(ranges[i], index.students(members));
+            }
+        }
         
         long duration = System.nanoTime() - startTime;
         System.out.printf("Stream execution time: %.2f ms\n", duration / 1_000_000.0);
@@ -82,12 +100,14 @@ public class StreamDataProcessor {
         return grouped;
     }
 
-    // Collect with partitioning: Partition students by passing status
+    // Collect with partitioning: Partition students by passing status - read straight off the passing and failing bitmaps
     public Map<Boolean, List<Student>> partitionByPassingStatus() {
         long startTime = System.nanoTime();
         
-        Map<Boolean, List<Student>> partitioned = studentManager.getAllStudents().stream()
-            .collect(Collectors.partitioningBy(Student::isPassing));
+        StudentBitmapIndex index = studentManager.getBitmapIndex();
+        Map<Boolean, List<Student>> partitioned = new HashMap<>();
+        partitioned.put(true, index.students(index.passing()));
+        partitioned.put(false, index.students(index.failing()));
         
         long duration = System.nanoTime() - startTime;
         System.out.printf("Stream execution time: %.2f ms\n", duration / 1_000_000.0);
@@ -95,16 +115,17 @@ public class StreamDataProcessor {
         return partitioned;
     }
 
-    // Calculate average grade per subject using streams
+    // Calculate average grade per subject - sums indexed by subject id over a snapshot of the store columns
     public Map<String, Double> calculateAverageGradePerSubject() {
         long startTime = System.nanoTime();
         
-        Map<String, Double> avgBySubject = studentManager.getAllStudents().stream()
-            .flatMap(s -> s.getGrades().stream())
-            .collect(Collectors.groupingBy(
-                g -> g.getSubject().getSubjectName(),
-                Collectors.averagingDouble(Grade::getGrade)
-            ));
+        GradeColumnStore.Snapshot grades = studentManager.snapshot().getGrades();
+        int rows = grades.size();
+        double[] totals = new double[SubjectRegistry.getInstance().size() * 2];
+        for (int row = 0; row < rows; row++) {
+            accumulateSubject(grades, totals, row);
+        }
+        Map<String, Double> avgBySubject = averagesBySubjectName(totals);
         
         long duration = System.nanoTime() - startTime;
         System.out.printf("Stream execution time: %.2f ms\n", duration / 1_000_000.0);
@@ -112,14 +133,25 @@ public class StreamDataProcessor {
         return avgBySubject;
     }
 
-    // Extract unique course codes
+    // Extract unique course codes - marks subject ids seen in the store, then maps each once
     public Set<String> extractUniqueCourses() {
         long startTime = System.nanoTime();
         
-        Set<String> courses = studentManager.getAllStudents().stream()
-            .flatMap(s -> s.getGrades().stream())
-            .map(g -> g.getSubject().getSubjectCode())
-            .collect(Collectors.toSet());
+        GradeColumnStore.Snapshot grades = studentManager.snapshot().getGrades();
+        SubjectRegistry registry = SubjectRegistry.getInstance();
+        int rows = grades.size();
+        boolean[] seen = new boolean[registry.size()];
+        for (int row = 0; row < rows; row++) {
+            if (grades.isLive(row)) {
+                seen[grades.getSubjectId(row)] = true;
+            }
+        }
+        Set<String> courses = new HashSet<>();
+        for (int id = 0; id < seen.length; id++) {
+            if (seen[id]) {
+                courses.add(registry.get(id).getSubjectCode());
+            }
+        }
         
         long duration = System.nanoTime() - startTime;
         System.out.printf("Stream execution time: %.2f ms\n", duration / 1_000_000.0);
@@ -127,15 +159,11 @@ public class StreamDataProcessor {
         return courses;
     }
 
-    // Chain operations: Find top 5 students by average grade
+    // Find top 5 students by average grade - O(log n + 5) walk of the ranking index
     public List<Student> findTop5Students() {
         long startTime = System.nanoTime();
         
-        List<Student> top5 = studentManager.getAllStudents().stream()
-            .filter(s -> !s.getGrades().isEmpty())
-            .sorted((s1, s2) -> Double.compare(s2.calculateAverageGrade(), s1.calculateAverageGrade()))
-            .limit(5)
-            .collect(Collectors.toList());
+        List<Student> top5 = studentManager.getTopStudents(5);
         
         long duration = System.nanoTime() - startTime;
         System.out.printf("Stream execution time: %.2f ms\n", duration / 1_000_000.0);
@@ -196,16 +224,22 @@ public class StreamDataProcessor {
         return result;
     }
 
-    // Parallel stream processing
+    // Parallel stream processing - each worker sums a range of store rows into its own array
     public Map<String, Double> calculateAverageGradePerSubjectParallel() {
         long startTime = System.nanoTime();
         
-        Map<String, Double> avgBySubject = studentManager.getAllStudents().parallelStream()
-            .flatMap(s -> s.getGrades().stream())
-            .collect(Collectors.groupingByConcurrent(
-                g -> g.getSubject().getSubjectName(),
-                Collectors.averagingDouble(Grade::getGrade)
-            ));
+        GradeColumnStore.Snapshot grades = studentManager.snapshot().getGrades();
+        int rows = grades.size();
+        int width = SubjectRegistry.getInstance().size() * 2;
+        double[] totals = IntStream.range(0, rows).parallel()
+            .collect(() -> new double[width],
+                (acc, row) -> accumulateSubject(grades, acc, row),
+                (left, right) -> {
+                    for (int i = 0; i < width; i++) {
+                        left[i] += right[i];
+                    }
+                });
+        Map<String, Double> avgBySubject = averagesBySubjectName(totals);
         
         long duration = System.nanoTime() - startTime;
         System.out.printf("Parallel stream execution time: %.2f ms\n", duration / 1_000_000.0);
@@ -213,6 +247,33 @@ public class StreamDataProcessor {
         return avgBySubject;
     }
 
+    // totals holds [sum, count] pairs indexed by subject id
+    private static void accumulateSubject(GradeColumnStore.Snapshot grades, double[] totals, int row) {
+        if (grades.isLive(row)) {
+            int slot = grades.getSubjectId(row) * 2;
+            if (slot < totals.length) {
+                totals[slot] += grades.getScore(row);
+                totals[slot + 1]++;
+            }
+        }
+    }
+
+    // A core and an elective subject sharing a name are reported together
+    private static Map<String, Double> averagesBySubjectName(double[] totals) {
+        SubjectRegistry registry = SubjectRegistry.getInstance();
+        Map<String, double[]> byName = new HashMap<>();
+        for (int id = 0; id < totals.length / 2; id++) {
+            if (totals[id * 2 + 1] > 0) {
+                double[] pair = byName.computeIfAbsent(registry.get(id).getSubjectName(), k -> new double[2]);
+                pair[0] += totals[id * 2];
+                pair[1] += totals[id * 2 + 1];
+            }
+        }
+        Map<String, Double> averages = new HashMap<>();
+        byName.forEach((name, pair) -> averages.put(name, pair[0] / pair[1]));
+        return averages;
+    }
+
     // Process CSV file line-by-line using Files.lines()
     public long processCSVFileWithStreams(String filepath) throws IOException {
         long startTime = System.nanoTime();
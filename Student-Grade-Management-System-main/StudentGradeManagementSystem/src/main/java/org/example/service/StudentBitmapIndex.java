@@ -0,0 +1,298 @@
+package org.example.service;
+
+import org.example.models.Grade;
+import org.example.models.GradeColumnStore;
+import org.example.models.Student;
+import org.example.models.SubjectRegistry;
+import org.example.utils.CompressedBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Secondary indexes over a grade store's students, one compressed bitmap per attribute value.
+ * A student's bit is its dense index in the store, so bitmaps for student type, letter-grade
+ * band, passing status, subjects taken and status can be combined with AND / OR and the
+ * result read back as students without touching anyone who does not match.
+ *
+ * Bands and passing status follow the student's average, so the owner must call
+ * {@link #update(Student, Grade)} after every grade or status change. Queries return copies
+ * that the caller may combine freely. All operations are synchronized.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class StudentBitmapIndex {
+    // Lowest average of each letter-grade band, best first; same cut-offs as GPACalculator
+    private static final double[] BAND_FLOORS = {93, 90, 87, 83, 80, 77, 73, 70, 67, 60, 0};
+    private static final String[] LETTER_GRADES = {"A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "F"};
+    public static final int BAND_COUNT = BAND_FLOORS.length;
+
+    private final GradeColumnStore store;
+    private final Map<String, CompressedBitmap> byType = new HashMap<>();
+    private final CompressedBitmap[] byBand = new CompressedBitmap[BAND_COUNT];
+    private final CompressedBitmap passing = new CompressedBitmap();
+    private final CompressedBitmap failing = new CompressedBitmap();
+    // Indexed by subject id
+    private CompressedBitmap[] bySubject = new CompressedBitmap[16];
+    private final Map<String, CompressedBitmap> byStatus = new HashMap<>();
+    private final CompressedBitmap all = new CompressedBitmap();
+
+    // Per dense index: the student and the band and status it is filed under
+    private Student[] students = new Student[64];
+    private byte[] bands = new byte[64];
+    private String[] statuses = new String[64];
+
+    public StudentBitmapIndex(GradeColumnStore store) {
+        this.store = store;
+        for (int band = 0; band < BAND_COUNT; band++) {
+            byBand[band] = new CompressedBitmap();
+        }
+    }
+
+    /**
+     * Files a newly attached student under all of its attributes.
+     * Time Complexity: O(k) for the subjects of its k existing grades.
+     *
+     * @param student a student attached to this index's store
+     * @throws IllegalArgumentException if the student is not attached to the store
+     */
+    public synchronized void add(Student student) {
+        int index = indexOf(student);
+        ensureCapacity(index + 1);
+        file(student, index);
+    }
+
+    /**
+     * Files many newly attached students, growing the per-student arrays once. Students
+     * attached together have ascending indexes, so every bitmap is appended to in order.
+     * Time Complexity: O(n + g) for n students holding g grades.
+     *
+     * @param added students attached to this index's store
+     * @throws IllegalArgumentException if a student is not attached to the store
+     */
+    public synchronized void addAll(Collection<? extends Student> added) {
+        int highest = -1;
+        for (Student student : added) {
+            highest = Math.max(highest, indexOf(student));
+        }
+        ensureCapacity(highest + 1);
+        for (Student student : added) {
+            file(student, indexOf(student));
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > students.length) {
+            capacity = Math.max(students.length * 2, capacity);
+            students = Arrays.copyOf(students, capacity);
+            bands = Arrays.copyOf(bands, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+        }
+    }
+
+    private void file(Student student, int index) {
+        if (students[index] != null) {
+            update(student, null);
+            return;
+        }
+        students[index] = student;
+        all.add(index);
+        byType.computeIfAbsent(typeKey(student.getStudentType()), k -> new CompressedBitmap()).add(index);
+        // Walks the store rows rather than getGrades(), which would create a Grade per row
+        for (int row = store.getFirstRow(index); row >= 0; row = store.getNextRow(row)) {
+            subjectBitmap(store.getSubjectId(row)).add(index);
+        }
+        int band = bandOf(student.calculateAverageGrade());
+        bands[index] = (byte) band;
+        byBand[band].add(index);
+        (student.isPassing() ? passing : failing).add(index);
+        statuses[index] = student.getStatus();
+        byStatus.computeIfAbsent(student.getStatus(), k -> new CompressedBitmap()).add(index);
+    }
+
+    /**
+     * Refiles a student after a grade or status change.
+     * Time Complexity: O(log c) bitmap updates for c chunks.
+     *
+     * @param student the student that changed
+     * @param grade the grade added or edited, or null for a non-grade change
+     */
+    public synchronized void update(Student student, Grade grade) {
+        int index = indexOf(student);
+        if (index >= students.length || students[index] != student) return;
+
+        if (grade != null && grade.getSubjectId() >= 0) {
+            subjectBitmap(grade.getSubjectId()).add(index);
+        }
+        int band = bandOf(student.calculateAverageGrade());
+        if (band != bands[index]) {
+            byBand[bands[index]].remove(index);
+            byBand[band].add(index);
+            bands[index] = (byte) band;
+        }
+        if (student.isPassing()) {
+            failing.remove(index);
+            passing.add(index);
+        } else {
+            passing.remove(index);
+            failing.add(index);
+        }
+        String status = student.getStatus();
+        if (!equal(status, statuses[index])) {
+            CompressedBitmap old = byStatus.get(statuses[index]);
+            old.remove(index);
+            if (old.isEmpty()) {
+                byStatus.remove(statuses[index]);
+            }
+            byStatus.computeIfAbsent(status, k -> new CompressedBitmap()).add(index);
+            statuses[index] = status;
+        }
+    }
+
+    // Every indexed student
+    public synchronized CompressedBitmap all() {
+        return all.copy();
+    }
+
+    // Students whose type matches, ignoring case
+    public synchronized CompressedBitmap ofType(String studentType) {
+        return copyOf(byType.get(typeKey(studentType)));
+    }
+
+    /**
+     * Returns the students in one letter-grade band.
+     *
+     * @param band band number from 0 (A) to {@link #BAND_COUNT} - 1 (F)
+     * @return a new bitmap
+     */
+    public synchronized CompressedBitmap ofBand(int band) {
+        return byBand[band].copy();
+    }
+
+    // Students whose average earns the letter grade, e.g. "B+"; empty for an unknown letter
+    public CompressedBitmap ofLetterGrade(String letterGrade) {
+        for (int band = 0; band < BAND_COUNT; band++) {
+            if (LETTER_GRADES[band].equals(letterGrade)) {
+                return ofBand(band);
+            }
+        }
+        return new CompressedBitmap();
+    }
+
+    /**
+     * Returns the students in every band that overlaps an average range. The result is a
+     * superset of the students whose average is within the range; callers that need the
+     * exact range filter the candidates by average.
+     *
+     * @param min lowest average, inclusive
+     * @param max highest average, inclusive
+     * @return a new bitmap
+     */
+    public synchronized CompressedBitmap ofAverageRange(double min, double max) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (int band = 0; band < BAND_COUNT; band++) {
+            double ceiling = band == 0 ? Double.POSITIVE_INFINITY : BAND_FLOORS[band - 1];
+            if (BAND_FLOORS[band] <= max && ceiling > min) {
+                result = result.or(byBand[band]);
+            }
+        }
+        return result;
+    }
+
+    public synchronized CompressedBitmap passing() {
+        return passing.copy();
+    }
+
+    public synchronized CompressedBitmap failing() {
+        return failing.copy();
+    }
+
+    // Students with at least one grade in the subject
+    public synchronized CompressedBitmap ofSubject(int subjectId) {
+        return copyOf(subjectId >= 0 && subjectId < bySubject.length ? bySubject[subjectId] : null);
+    }
+
+    // O(s) - students with a grade in any subject carrying the code, core or elective
+    public synchronized CompressedBitmap ofSubjectCode(String subjectCode) {
+        SubjectRegistry registry = SubjectRegistry.getInstance();
+        CompressedBitmap result = new CompressedBitmap();
+        for (int id = 0; id < bySubject.length; id++) {
+            if (bySubject[id] != null && registry.get(id).getSubjectCode().equalsIgnoreCase(subjectCode)) {
+                result = result.or(bySubject[id]);
+            }
+        }
+        return result;
+    }
+
+    public synchronized CompressedBitmap ofStatus(String status) {
+        return copyOf(byStatus.get(status));
+    }
+
+    /**
+     * Returns the students whose bits are set, in dense index order (the order they were
+     * attached to the store).
+     * Time Complexity: O(m) for m set bits.
+     *
+     * @param matches a bitmap returned by this index, possibly combined with others
+     * @return the matching students
+     */
+    public synchronized List<Student> students(CompressedBitmap matches) {
+        List<Student> result = new ArrayList<>(matches.cardinality());
+        matches.forEach(index -> {
+            if (index < students.length && students[index] != null) {
+                result.add(students[index]);
+            }
+        });
+        return result;
+    }
+
+    // Band number from 0 (A) to BAND_COUNT - 1 (F) for an average
+    public static int bandOf(double average) {
+        int band = 0;
+        while (average < BAND_FLOORS[band] && band < BAND_COUNT - 1) {
+            band++;
+        }
+        return band;
+    }
+
+    // Lowest average in a band; every average in the band converts to the same GPA
+    public static double bandFloor(int band) {
+        return BAND_FLOORS[band];
+    }
+
+    private int indexOf(Student student) {
+        int index = store.indexOf(student);
+        if (index < 0) {
+            throw new IllegalArgumentException("Student " + student.getStudentId() + " is not in the indexed store");
+        }
+        return index;
+    }
+
+    private CompressedBitmap subjectBitmap(int subjectId) {
+        if (subjectId >= bySubject.length) {
+            bySubject = Arrays.copyOf(bySubject, Math.max(bySubject.length * 2, subjectId + 1));
+        }
+        if (bySubject[subjectId] == null) {
+            bySubject[subjectId] = new CompressedBitmap();
+        }
+        return bySubject[subjectId];
+    }
+
+    private static String typeKey(String studentType) {
+        return studentType.toLowerCase(Locale.ROOT);
+    }
+
+    private static CompressedBitmap copyOf(CompressedBitmap bitmap) {
+        return bitmap == null ? new CompressedBitmap() : bitmap.copy();
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
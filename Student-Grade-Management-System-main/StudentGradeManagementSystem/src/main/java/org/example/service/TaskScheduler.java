@@ -2,6 +2,12 @@ package org.example.service;
 
 import org.example.models.ScheduledTask;
 import org.example.models.Student;
+import org.example.persistence.BackupManager;
+import org.example.persistence.BlockCodecs;
+import org.example.persistence.MappedSnapshot;
+import org.example.persistence.MappedSnapshotWriter;
+import org.example.persistence.RecordReader;
+import org.example.persistence.RecordWriter;
 
 import java.io.*;
 import java.nio.file.*;
@@ -15,6 +21,8 @@ public class TaskScheduler {
     private final StatisticsCalculator statisticsCalculator;
     private final Map<String, ScheduledTask> tasks;
     private final Map<String, ScheduledFuture<?>> futures;
+    // Weekly full base with daily deltas of the students changed since the previous backup
+    private final BackupManager backupManager = new BackupManager(Paths.get(BackupManager.DEFAULT_DIRECTORY));
     private static final String SCHEDULE_FILE = "./data/schedules.dat";
 
     public TaskScheduler(EnhancedStudentManager studentManager) {
@@ -23,6 +31,7 @@ public class TaskScheduler {
         this.statisticsCalculator = new StatisticsCalculator();
         this.tasks = new ConcurrentHashMap<>();
         this.futures = new ConcurrentHashMap<>();
+        backupManager.setCodec(BlockCodecs.DEFLATE);
         loadSchedules();
         initializeDefaultTasks();
     }
@@ -76,14 +85,10 @@ public class TaskScheduler {
 
     private void hourlyStatisticsRefresh() {
         System.out.println("\n[SCHEDULED TASK] Hourly Statistics Refresh - " + LocalDateTime.now());
-        List<Double> grades = new ArrayList<>();
-        for (Student student : studentManager.getAllStudents()) {
-            for (org.example.models.Grade grade : student.getGrades()) {
-                grades.add(grade.getGrade());
-            }
-        }
-        if (!grades.isEmpty()) {
-            double mean = statisticsCalculator.calculateMean(grades);
+        // Frozen view: concurrent grade writes neither block nor skew the refresh
+        double[] grades = studentManager.snapshot().copyScores();
+        if (grades.length > 0) {
+            double mean = statisticsCalculator.calculateMean(grades, grades.length);
             System.out.println("✓ Statistics refreshed - Class average: " + String.format("%.1f%%", mean));
         }
     }
@@ -97,18 +102,22 @@ public class TaskScheduler {
     private void dailyDatabaseBackup() {
         System.out.println("\n[SCHEDULED TASK] Daily Database Backup - " + LocalDateTime.now());
         try {
-            Path backupDir = Paths.get("./data/backups");
-            Files.createDirectories(backupDir);
-            String timestamp = LocalDateTime.now().toString().replace(":", "-");
-            Path backupFile = backupDir.resolve("backup_" + timestamp + ".dat");
-            
-            try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(backupFile))) {
-                oos.writeObject(studentManager.getAllStudents());
-            }
-            System.out.println("✓ Database backed up to: " + backupFile.getFileName());
+            BackupManager.Backup backup = backupManager.backup(studentManager);
+            System.out.printf("✓ %s backup of %d students (%.1f KB, %d ms) written to: %s\n",
+                    backup.isFull() ? "Full" : "Incremental", backup.getStudentCount(),
+                    backup.getSizeInBytes() / 1024.0, backup.getMillis(), backup.getPath().getFileName());
         } catch (IOException e) {
             System.out.println("✗ Backup failed: " + e.getMessage());
         }
+        // Read-only copy that reporting nodes map instead of restoring
+        try {
+            long start = System.currentTimeMillis();
+            long size = MappedSnapshotWriter.write(studentManager.snapshot(), Paths.get(MappedSnapshot.DEFAULT_PATH));
+            System.out.printf("✓ Reporting snapshot (%.1f KB, %d ms) written to: %s\n",
+                    size / 1024.0, System.currentTimeMillis() - start, MappedSnapshot.DEFAULT_PATH);
+        } catch (IOException e) {
+            System.out.println("✗ Reporting snapshot failed: " + e.getMessage());
+        }
     }
 
     private void sendNotification(String taskName, String status) {
@@ -354,26 +363,26 @@ public class TaskScheduler {
     private void saveSchedules() {
         try {
             Files.createDirectories(Paths.get("./data"));
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(SCHEDULE_FILE))) {
-                oos.writeObject(new ArrayList<>(tasks.values()));
+            try (RecordWriter writer = new RecordWriter(Paths.get(SCHEDULE_FILE))) {
+                for (ScheduledTask task : tasks.values()) {
+                    writer.write(task);
+                }
             }
         } catch (IOException e) {
             System.err.println("Warning: Could not save schedules: " + e.getMessage());
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void loadSchedules() {
         try {
             if (Files.exists(Paths.get(SCHEDULE_FILE))) {
-                try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(SCHEDULE_FILE))) {
-                    List<ScheduledTask> loadedTasks = (List<ScheduledTask>) ois.readObject();
-                    for (ScheduledTask task : loadedTasks) {
+                try (RecordReader reader = new RecordReader(Paths.get(SCHEDULE_FILE))) {
+                    for (ScheduledTask task : reader.readAll(ScheduledTask.class)) {
                         tasks.put(task.getTaskId(), task);
                     }
                 }
             }
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             System.err.println("Warning: Could not load schedules: " + e.getMessage());
         }
     }
@@ -0,0 +1,129 @@
+package org.example.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding LRUCache entries by expiry time. Level 0 has 64
+ * buckets of about a second each, level 1 64 buckets of about a minute, then 32 of about
+ * an hour, 16 of about 19 hours and one overflow bucket. Each level spans at least one
+ * bucket of the next, so an entry is filed where its bucket comes round only once before
+ * it is due. Scheduling is O(1); advancing the clock visits only the buckets whose time
+ * span has passed, expiring their entries and re-filing the rest into finer buckets. All
+ * methods are called with the cache's eviction lock held.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+final class TimingWheel<K, V> {
+    private static final int[] BUCKETS = {64, 64, 32, 16, 1};
+    // Bucket spans as powers of two nanoseconds: 1.07 s, 1.14 min, 1.22 h, 19.5 h, 13 days
+    private static final int[] SHIFTS = {30, 36, 42, 46, 50};
+
+    // Each bucket is a circular list headed by a sentinel node
+    private final LRUCache.Node<K, V>[][] wheel;
+    private long nanos;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long now) {
+        this.nanos = now;
+        this.wheel = (LRUCache.Node<K, V>[][]) new LRUCache.Node<?, ?>[BUCKETS.length][];
+        for (int level = 0; level < BUCKETS.length; level++) {
+            wheel[level] = (LRUCache.Node<K, V>[]) new LRUCache.Node<?, ?>[BUCKETS[level]];
+            for (int i = 0; i < BUCKETS[level]; i++) {
+                LRUCache.Node<K, V> sentinel = new LRUCache.Node<>(null, null, now);
+                sentinel.wheelPrev = sentinel;
+                sentinel.wheelNext = sentinel;
+                wheel[level][i] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Files a node under its expiresAt time.
+     * Time Complexity: O(1).
+     */
+    void schedule(LRUCache.Node<K, V> node) {
+        LRUCache.Node<K, V> sentinel = findBucket(node.expiresAt);
+        node.wheelNext = sentinel;
+        node.wheelPrev = sentinel.wheelPrev;
+        sentinel.wheelPrev.wheelNext = node;
+        sentinel.wheelPrev = node;
+    }
+
+    // Removes a node if it is scheduled
+    void deschedule(LRUCache.Node<K, V> node) {
+        if (node.wheelNext != null) {
+            node.wheelPrev.wheelNext = node.wheelNext;
+            node.wheelNext.wheelPrev = node.wheelPrev;
+            node.wheelNext = null;
+            node.wheelPrev = null;
+        }
+    }
+
+    /**
+     * Moves the clock to now, passing every node whose expiresAt has been reached to expired.
+     * Time Complexity: O(buckets passed + nodes in them).
+     *
+     * @param now current ticker time in nanoseconds
+     * @param expired called for each expired node, which is no longer scheduled
+     */
+    void advance(long now, Consumer<LRUCache.Node<K, V>> expired) {
+        long previous = nanos;
+        nanos = now;
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previous >>> SHIFTS[level];
+            long currentTicks = now >>> SHIFTS[level];
+            // Coarser levels cannot have moved if this one has not
+            if (currentTicks - previousTicks <= 0) break;
+            expire(level, previousTicks, currentTicks - previousTicks, expired);
+        }
+    }
+
+    void clear() {
+        for (LRUCache.Node<K, V>[] buckets : wheel) {
+            for (LRUCache.Node<K, V> sentinel : buckets) {
+                sentinel.wheelPrev = sentinel;
+                sentinel.wheelNext = sentinel;
+            }
+        }
+    }
+
+    private void expire(int level, long previousTicks, long delta, Consumer<LRUCache.Node<K, V>> expired) {
+        LRUCache.Node<K, V>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(delta + 1, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            LRUCache.Node<K, V> sentinel = buckets[i & mask];
+            LRUCache.Node<K, V> node = sentinel.wheelNext;
+            // Detach the whole bucket; nodes not yet due are re-filed, possibly into it again
+            sentinel.wheelPrev = sentinel;
+            sentinel.wheelNext = sentinel;
+            while (node != sentinel) {
+                LRUCache.Node<K, V> next = node.wheelNext;
+                node.wheelPrev = null;
+                node.wheelNext = null;
+                if (node.expiresAt - nanos <= 0) {
+                    expired.accept(node);
+                } else {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private LRUCache.Node<K, V> findBucket(long time) {
+        long duration = time - nanos;
+        int last = wheel.length - 1;
+        for (int level = 0; level < last; level++) {
+            if (duration < 1L << SHIFTS[level + 1]) {
+                long ticks = time >>> SHIFTS[level];
+                return wheel[level][(int) (ticks & (wheel[level].length - 1))];
+            }
+        }
+        return wheel[last][0];
+    }
+}
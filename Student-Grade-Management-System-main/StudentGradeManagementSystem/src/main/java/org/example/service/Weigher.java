@@ -0,0 +1,25 @@
+package org.example.service;
+
+/**
+ * Computes how much of a weighted LRUCache's capacity an entry uses, normally its
+ * estimated size in bytes. An entry is weighed when it is written or refreshed, so a
+ * value that grows while cached is counted at its earlier weight until then. See
+ * {@link Weighers} for the built-in weighers.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Weighs an entry.
+     *
+     * @param key the cache key
+     * @param value the cached value
+     * @return the entry's weight, zero or more
+     */
+    int weigh(K key, V value);
+}
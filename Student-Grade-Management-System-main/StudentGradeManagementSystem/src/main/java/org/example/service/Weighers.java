@@ -0,0 +1,166 @@
+package org.example.service;
+
+import org.example.models.Student;
+
+import java.util.*;
+
+/**
+ * Built-in {@link Weigher}s that estimate an entry's retained size in bytes, so cache
+ * limits can be set in bytes. Estimates assume a 64-bit JVM with compressed references
+ * (12-byte object headers, 4-byte references, 8-byte alignment) and compact strings, and
+ * include the key and the cache's own per-entry bookkeeping. Objects shared across entries,
+ * such as subjects, enum constants and cached Boolean values, are not counted.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public final class Weighers {
+    // LRUCache.Node with its AtomicBoolean, plus the ConcurrentHashMap node and table slot
+    static final int ENTRY_OVERHEAD = 168;
+
+    private static final int STRING_SHALLOW = 24;
+    private static final int ARRAY_HEADER = 16;
+    private static final int BOXED = 16;
+    private static final int UNKNOWN_OBJECT = 16;
+    // Student fields, including the subclass's passing grade
+    private static final int STUDENT_SHALLOW = 112;
+    // One column-store row: student index, subject ID, score, date, grade number and next link
+    private static final int GRADE_ROW = 28;
+    private static final int HASH_MAP_SHALLOW = 48;
+    private static final int HASH_MAP_ENTRY = 32;
+    private static final int LINKED_HASH_MAP_EXTRA = 8;
+    private static final int ARRAY_LIST_SHALLOW = 24;
+    private static final int LINKED_NODE = 24;
+    // Stats maps nest rarely and never deeply; guards against a map that contains itself
+    private static final int MAX_DEPTH = 8;
+
+    private Weighers() {
+    }
+
+    /**
+     * Weighs every entry as 1, making the weight bound an entry count.
+     */
+    public static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+
+    /**
+     * Weighs String values such as rendered reports.
+     */
+    public static Weigher<Object, String> strings() {
+        return (key, value) -> entry(key, sizeOf(value));
+    }
+
+    /**
+     * Weighs students including their grades.
+     */
+    public static Weigher<Object, Student> students() {
+        return (key, value) -> entry(key, sizeOf(value));
+    }
+
+    /**
+     * Weighs statistics maps, including nested maps, collections, boxed numbers and strings.
+     */
+    public static Weigher<Object, Map<String, ?>> statsMaps() {
+        return (key, value) -> entry(key, estimate(value, 0));
+    }
+
+    /**
+     * Weighs any value the other weighers understand, estimating other objects as a bare
+     * object header. Used for caches that are bounded by entry count.
+     */
+    public static Weigher<Object, Object> objects() {
+        return (key, value) -> entry(key, estimate(value, 0));
+    }
+
+    /**
+     * Estimates a String's size, including its backing array.
+     * Time Complexity: O(n) in the string's length, to tell Latin-1 from UTF-16 contents.
+     *
+     * @param value the string
+     * @return estimated bytes, 0 for null
+     */
+    public static long sizeOf(String value) {
+        if (value == null) return 0;
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_SHALLOW + align(ARRAY_HEADER + (long) value.length() * bytesPerChar);
+    }
+
+    /**
+     * Estimates a student's size: its fields, its strings and its rows in the grade store.
+     * Time Complexity: O(length of its strings); grades are counted, not visited.
+     *
+     * @param student the student
+     * @return estimated bytes, 0 for null
+     */
+    public static long sizeOf(Student student) {
+        if (student == null) return 0;
+        // Status values are shared literals
+        return STUDENT_SHALLOW + sizeOf(student.getStudentId()) + sizeOf(student.getName())
+                + sizeOf(student.getEmail()) + sizeOf(student.getPhone())
+                + (long) student.getGradeCount() * GRADE_ROW;
+    }
+
+    private static int entry(Object key, long valueSize) {
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + estimate(key, 0) + valueSize);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null || value instanceof Boolean || value instanceof Enum) return 0;
+        if (value instanceof String) return sizeOf((String) value);
+        if (value instanceof Student) return sizeOf((Student) value);
+        if (value instanceof Number || value instanceof Character) return BOXED;
+        if (depth >= MAX_DEPTH) return UNKNOWN_OBJECT;
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            int perEntry = HASH_MAP_ENTRY + (map instanceof LinkedHashMap ? LINKED_HASH_MAP_EXTRA : 0);
+            long size = HASH_MAP_SHALLOW + tableSize(map.size()) + (long) map.size() * perEntry;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            long size = value instanceof LinkedList
+                    ? ARRAY_LIST_SHALLOW + (long) collection.size() * LINKED_NODE
+                    : ARRAY_LIST_SHALLOW + align(ARRAY_HEADER + 4L * collection.size());
+            for (Object element : collection) {
+                size += estimate(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof double[]) return align(ARRAY_HEADER + 8L * ((double[]) value).length);
+        if (value instanceof long[]) return align(ARRAY_HEADER + 8L * ((long[]) value).length);
+        if (value instanceof int[]) return align(ARRAY_HEADER + 4L * ((int[]) value).length);
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            long size = align(ARRAY_HEADER + 4L * array.length);
+            for (Object element : array) {
+                size += estimate(element, depth + 1);
+            }
+            return size;
+        }
+        return UNKNOWN_OBJECT;
+    }
+
+    // HashMap's bucket array at the default load factor
+    private static long tableSize(int entries) {
+        if (entries == 0) return 0;
+        int capacity = 16;
+        while (capacity * 0.75 < entries) {
+            capacity <<= 1;
+        }
+        return align(ARRAY_HEADER + 4L * capacity);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.service;
+
+/**
+ * W-TinyLFU eviction. New entries go into an LRU admission window holding 1% of the
+ * capacity, measured by weight like every share here. The main region is a segmented LRU:
+ * entries start in probation and move to the protected segment (80% of the main region)
+ * when hit again. When the cache is full, the entry most recently pushed out of the window
+ * competes with probation's least recently used entry and the one the frequency sketch has
+ * seen less often is evicted, so a scan of one-off keys cycles through the window without
+ * displacing frequently used entries.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+final class WindowTinyLfuPolicy<K, V> extends CachePolicy<K, V> {
+    private static final double WINDOW_SHARE = 0.01;
+    private static final double PROTECTED_SHARE = 0.80;
+
+    private final Queue<K, V> window = new Queue<>(1);
+    private final Queue<K, V> probation = new Queue<>(2);
+    private final Queue<K, V> protectedQueue = new Queue<>(3);
+    private final long windowMax;
+    private final long protectedMax;
+    private final FrequencySketch sketch;
+    // Last entry moved from the window into probation, still waiting to be admitted
+    private LRUCache.Node<K, V> candidate;
+
+    WindowTinyLfuPolicy(long maximum, int expectedEntries) {
+        this.windowMax = Math.max(1, (long) (maximum * WINDOW_SHARE));
+        this.protectedMax = (long) ((maximum - windowMax) * PROTECTED_SHARE);
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    @Override
+    void onAdd(LRUCache.Node<K, V> node) {
+        sketch.increment(node.key);
+        window.linkLast(node);
+        // An entry heavier than the whole window still gets its turn in it
+        while (window.weight > windowMax && window.head != node) {
+            LRUCache.Node<K, V> leaving = window.pollFirst();
+            probation.linkLast(leaving);
+            candidate = leaving;
+        }
+    }
+
+    @Override
+    void onAccess(LRUCache.Node<K, V> node) {
+        sketch.increment(node.key);
+        if (window.contains(node)) {
+            window.moveToTail(node);
+        } else if (probation.contains(node)) {
+            // A second hit earns protection; the protected segment's oldest entry drops back
+            probation.unlink(node);
+            protectedQueue.linkLast(node);
+            if (node == candidate) {
+                candidate = null;
+            }
+            while (protectedQueue.weight > protectedMax && protectedQueue.head != node) {
+                probation.linkLast(protectedQueue.pollFirst());
+            }
+        } else if (protectedQueue.contains(node)) {
+            protectedQueue.moveToTail(node);
+        }
+    }
+
+    @Override
+    void onRemove(LRUCache.Node<K, V> node) {
+        if (node == candidate) {
+            candidate = null;
+        }
+        if (window.contains(node)) {
+            window.unlink(node);
+        } else if (probation.contains(node)) {
+            probation.unlink(node);
+        } else if (protectedQueue.contains(node)) {
+            protectedQueue.unlink(node);
+        }
+    }
+
+    @Override
+    void onWeightChange(LRUCache.Node<K, V> node, int weight) {
+        if (window.contains(node)) {
+            window.reweigh(node, weight);
+        } else if (probation.contains(node)) {
+            probation.reweigh(node, weight);
+        } else if (protectedQueue.contains(node)) {
+            protectedQueue.reweigh(node, weight);
+        }
+    }
+
+    @Override
+    LRUCache.Node<K, V> evict() {
+        LRUCache.Node<K, V> victim = probation.head;
+        if (victim == null) {
+            // Main region still filling or all protected: fall back to plain LRU order
+            victim = protectedQueue.head != null ? protectedQueue.head : window.head;
+        } else if (candidate != null && candidate != victim && probation.contains(candidate)
+                && sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+            // Ties go to the incumbent, so one-off keys cannot displace each other's betters
+            victim = candidate;
+        }
+        if (victim == null) return null;
+        // The candidate has had its chance; the winner stays in probation
+        candidate = null;
+        onRemove(victim);
+        return victim;
+    }
+
+    @Override
+    long weightedSize() {
+        return window.weight + probation.weight + protectedQueue.weight;
+    }
+
+    @Override
+    void clear() {
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+        sketch.clear();
+        candidate = null;
+    }
+}
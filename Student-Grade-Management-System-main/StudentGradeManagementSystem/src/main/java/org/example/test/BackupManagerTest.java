@@ -0,0 +1,119 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.persistence.BackupManager;
+import org.example.service.EnhancedStudentManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.example.test.TestPopulations.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackupManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDeltasHoldOnlyChangedStudentsAndRestoreMergesThem() throws Exception {
+        BackupManager backups = new BackupManager(tempDir);
+        EnhancedStudentManager source = new EnhancedStudentManager(false);
+        Random random = new Random(16);
+        addStudents(source, random, 200, 5);
+
+        BackupManager.Backup base = backups.backup(source);
+        assertTrue(base.isFull());
+        assertEquals(200, base.getStudentCount());
+        assertEquals(0, source.getDirtyStudentCount());
+
+        List<Student> students = source.getAllStudents();
+        source.addGradeToStudent(students.get(3).getStudentId(),
+                new Grade(students.get(3).getStudentId(), SUBJECTS[0], 91.5));
+        students.get(8).setStatus("Suspended");
+        BackupManager.Backup first = backups.backup(source);
+        assertFalse(first.isFull());
+        assertEquals(2, first.getStudentCount());
+        assertTrue(first.getSizeInBytes() < base.getSizeInBytes() / 20);
+
+        students.get(3).getGrades().get(0).recordGrade(12.25);
+        addStudents(source, random, 5, 5);
+        BackupManager.Backup second = backups.backup(source);
+        assertEquals(6, second.getStudentCount());
+
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        assertEquals(205, backups.restore(restored));
+        assertEquals(describe(sortedByNumber(source.getAllStudents())),
+                describe(sortedByNumber(restored.getAllStudents())));
+        assertEquals(numbers(sortedByNumber(source.searchByType("Honors"))),
+                numbers(sortedByNumber(restored.searchByType("Honors"))));
+    }
+
+    @Test
+    void testDeltasAreCompactedAndOldChainsPruned() throws Exception {
+        BackupManager backups = new BackupManager(tempDir);
+        backups.setFullEvery(5);
+        backups.setCompactAfter(2);
+        EnhancedStudentManager source = new EnhancedStudentManager(false);
+        Random random = new Random(17);
+        addStudents(source, random, 50, 5);
+
+        for (int day = 0; day < 12; day++) {
+            List<Student> students = source.getAllStudents();
+            for (int i = 0; i < 3; i++) {
+                Student student = students.get(random.nextInt(students.size()));
+                source.addGradeToStudent(student.getStudentId(),
+                        new Grade(student.getStudentId(), SUBJECTS[i], random.nextInt(101)));
+            }
+            backups.backup(source);
+            assertTrue(backupFiles().stream().filter(name -> name.endsWith("-delta.dat")).count() <= 2 * 2,
+                    "Each retained chain holds at most compactAfter deltas");
+        }
+        // Backups 1, 6 and 11 were bases; only the newest two chains remain
+        List<String> files = backupFiles();
+        assertEquals(Arrays.asList("backup-0000000006-full.dat", "backup-0000000011-full.dat"),
+                files.stream().filter(name -> name.endsWith("-full.dat")).collect(Collectors.toList()));
+        assertFalse(files.contains("backup-0000000005-delta.dat"));
+
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        backups.restore(restored);
+        assertEquals(describe(sortedByNumber(source.getAllStudents())),
+                describe(sortedByNumber(restored.getAllStudents())));
+    }
+
+    @Test
+    void testFailedBackupKeepsChangesForTheNextOne() throws Exception {
+        EnhancedStudentManager source = new EnhancedStudentManager(false);
+        addStudents(source, new Random(18), 10, 5);
+        // A regular file where the backup directory should be
+        Path blocked = Files.createFile(tempDir.resolve("blocked"));
+        assertThrows(IOException.class, () -> new BackupManager(blocked).backup(source));
+        assertEquals(10, source.getDirtyStudentCount());
+    }
+
+    @Test
+    void testFirstBackupOfAManagerIsAlwaysFull() throws Exception {
+        BackupManager backups = new BackupManager(tempDir);
+        EnhancedStudentManager first = new EnhancedStudentManager(false);
+        addStudents(first, new Random(19), 20, 5);
+        backups.backup(first);
+
+        // E.g. after a restart, nothing says which students changed since that base
+        EnhancedStudentManager second = new EnhancedStudentManager(false);
+        backups.restore(second);
+        assertTrue(backups.backup(second).isFull());
+        assertFalse(backups.backup(second).isFull());
+    }
+
+    private List<String> backupFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.test;
+
+import org.example.models.Student;
+import org.example.persistence.RecordReader;
+import org.example.persistence.RecordWriter;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Backup-sized write and read throughput and file size of the binary record format
+ * against Java serialization with ObjectOutputStream, the format it replaced.
+ * 100,000 students with 10 grades each are written and read back. MB/s counts each format's
+ * own bytes, so the closing line compares wall time for the same students.
+ * Pass a directory as the first argument to measure a particular disk.
+ */
+public class BinaryCodecPerformanceTest {
+    private static final int STUDENTS = 100_000;
+    private static final int GRADES_PER_STUDENT = 10;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║     BINARY FORMAT BENCHMARK (records vs Java serialization)  ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        Path dir = args.length > 0 ? Files.createDirectories(Paths.get(args[0]))
+                : Files.createTempDirectory("codec-bench");
+        List<Student> students = TestPopulations.generateStudents(STUDENTS, GRADES_PER_STUDENT,
+                TestPopulations.benchmarkSubjects(), new Random(15));
+        Path records = dir.resolve("backup.dat");
+        Path serialized = dir.resolve("backup.ser");
+
+        // Rounds 0 and 1 only let the JIT compile both formats
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] times = {
+                    time(() -> writeRecords(records, students)),
+                    time(() -> readRecords(records)),
+                    time(() -> writeSerialized(serialized, students)),
+                    time(() -> readSerialized(serialized))};
+            if (round >= 2) {
+                for (int i = 0; i < times.length; i++) {
+                    best[i] = Math.min(best[i], times[i]);
+                }
+            }
+        }
+
+        long recordBytes = Files.size(records);
+        long serializedBytes = Files.size(serialized);
+        System.out.printf("%,d students, %,d grades, best of %d rounds\n",
+                STUDENTS, STUDENTS * GRADES_PER_STUDENT, ROUNDS - 2);
+        System.out.println("Format            | Size (MB) | Bytes/grade | Write MB/s | Read MB/s");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        print("Binary records", recordBytes, best[0], best[1]);
+        print("ObjectOutputStream", serializedBytes, best[2], best[3]);
+        System.out.printf("\nSize: %.1fx smaller, write: %.1fx faster, read: %.1fx faster (wall time)\n",
+                (double) serializedBytes / recordBytes, (double) best[2] / best[0], (double) best[3] / best[1]);
+
+        Files.delete(records);
+        Files.delete(serialized);
+    }
+
+    private static void print(String format, long bytes, long writeNanos, long readNanos) {
+        double megabytes = bytes / (1024.0 * 1024);
+        System.out.printf("%-18s | %9.1f | %11.1f | %10.1f | %9.1f\n", format, megabytes,
+                (double) bytes / (STUDENTS * GRADES_PER_STUDENT),
+                megabytes / (writeNanos / 1e9), megabytes / (readNanos / 1e9));
+    }
+
+    private static void writeRecords(Path path, List<Student> students) throws IOException {
+        try (RecordWriter writer = new RecordWriter(path)) {
+            for (Student student : students) {
+                writer.write(student);
+            }
+        }
+    }
+
+    private static void readRecords(Path path) throws IOException {
+        try (RecordReader reader = new RecordReader(path)) {
+            check(reader.readAll(Student.class));
+        }
+    }
+
+    private static void writeSerialized(Path path, List<Student> students) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeObject(students);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readSerialized(Path path) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            check((List<Student>) in.readObject());
+        }
+    }
+
+    private static void check(List<Student> students) {
+        if (students.size() != STUDENTS || students.get(STUDENTS - 1).getGradeCount() != GRADES_PER_STUDENT) {
+            throw new IllegalStateException("Read back the wrong data");
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private static long time(Step step) throws Exception {
+        long start = System.nanoTime();
+        step.run();
+        return System.nanoTime() - start;
+    }
+}
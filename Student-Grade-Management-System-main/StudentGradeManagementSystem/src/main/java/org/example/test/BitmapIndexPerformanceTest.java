@@ -0,0 +1,128 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.GPACalculator;
+import org.example.service.StudentBitmapIndex;
+import org.example.utils.CompressedBitmap;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the full-scan Searchable and StreamDataProcessor queries against the same
+ * queries answered from StudentBitmapIndex, at 1M students with 1-6 grades each.
+ * Run with -Xmx3g.
+ */
+public class BitmapIndexPerformanceTest {
+    private static final int STUDENT_COUNT = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║        BITMAP SECONDARY INDEX BENCHMARK (1M students)        ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        Subject[] subjects = {
+                new CoreSubject("Mathematics", "MAT101"), new CoreSubject("English", "ENG101"),
+                new CoreSubject("Science", "SCI101"), new ElectiveSubject("Art", "ART101"),
+                new ElectiveSubject("Music", "MUS101"), new ElectiveSubject("Physical Education", "PHY101")
+        };
+        GradeColumnStore store = new GradeColumnStore(STUDENT_COUNT * 4);
+        StudentBitmapIndex index = new StudentBitmapIndex(store);
+        List<Student> students = new ArrayList<>(STUDENT_COUNT);
+        Random random = new Random(17);
+
+        long start = System.nanoTime();
+        for (int n = 1; n <= STUDENT_COUNT; n++) {
+            Student student = random.nextInt(4) == 0
+                    ? new HonorsStudent(n, "Bench Student", 18, "bench@test.edu", "555-123-4567")
+                    : new RegularStudent(n, "Bench Student", 18, "bench@test.edu", "555-123-4567");
+            store.attach(student);
+            student.setChangeListener(index::update);
+            index.add(student);
+            students.add(student);
+            int grades = 1 + random.nextInt(6);
+            for (int g = 0; g < grades; g++) {
+                student.addGrade(new Grade(student.getStudentId(),
+                        subjects[random.nextInt(subjects.length)], 50 + random.nextInt(51)));
+            }
+        }
+        System.out.printf("Built %,d students with bitmap maintenance in %.0f ms\n\n",
+                STUDENT_COUNT, (System.nanoTime() - start) / 1_000_000.0);
+
+        GPACalculator gpaCalculator = new GPACalculator();
+        System.out.println("Query                              | Full scan (ms) | Bitmap (ms) | Matches");
+        System.out.println("─────────────────────────────────────────────────────────────────────────────");
+
+        compare("searchByType(Honors)",
+                () -> students.stream()
+                        .filter(s -> s.getStudentType().equalsIgnoreCase("Honors"))
+                        .collect(Collectors.toList()),
+                () -> index.students(index.ofType("Honors")));
+
+        compare("searchByGradeRange(85, 92) *",
+                () -> students.stream()
+                        .filter(s -> s.calculateAverageGrade() >= 85 && s.calculateAverageGrade() <= 92)
+                        .collect(Collectors.toList()),
+                () -> index.students(index.ofAverageRange(85, 92)).stream()
+                        .filter(s -> s.calculateAverageGrade() >= 85 && s.calculateAverageGrade() <= 92)
+                        .collect(Collectors.toList()));
+
+        compare("Failing students",
+                () -> students.stream().filter(s -> !s.isPassing()).collect(Collectors.toList()),
+                () -> index.students(index.failing()));
+
+        compare("Honors with GPA > 3.5",
+                () -> students.stream()
+                        .filter(s -> s instanceof HonorsStudent)
+                        .filter(s -> gpaCalculator.convertPercentageToGPA(s.calculateAverageGrade()) > 3.5)
+                        .collect(Collectors.toList()),
+                () -> index.students(index.ofType("Honors")
+                        .and(index.ofLetterGrade("A").or(index.ofLetterGrade("A-")))));
+
+        compare("Honors AND band A AND took MUS101",
+                () -> students.stream()
+                        .filter(s -> s instanceof HonorsStudent)
+                        .filter(s -> gpaCalculator.convertPercentageToLetterGrade(s.calculateAverageGrade()).equals("A"))
+                        .filter(s -> s.getGrades().stream()
+                                .anyMatch(g -> g.getSubject().getSubjectCode().equals("MUS101")))
+                        .collect(Collectors.toList()),
+                () -> index.students(index.ofType("Honors").and(index.ofLetterGrade("A"))
+                        .and(index.ofSubjectCode("MUS101"))));
+
+        System.out.println("\n* bitmap side reads the overlapping bands, then filters by exact average");
+
+        long bytes = 0;
+        for (int band = 0; band < StudentBitmapIndex.BAND_COUNT; band++) {
+            bytes += index.ofBand(band).getSizeInBytes();
+        }
+        CompressedBitmap honors = index.ofType("Honors");
+        System.out.printf("\nBand bitmaps: %.1f KB total; Honors bitmap: %.1f KB for %,d students\n",
+                bytes / 1024.0, honors.getSizeInBytes() / 1024.0, honors.cardinality());
+    }
+
+    private static void compare(String name, Supplier<List<Student>> scan, Supplier<List<Student>> bitmap) {
+        long scanTime = Long.MAX_VALUE;
+        long bitmapTime = Long.MAX_VALUE;
+        List<Student> expected = null;
+        List<Student> actual = null;
+        // The first two rounds are warm-up for the JIT
+        for (int round = 0; round < ROUNDS + 2; round++) {
+            long start = System.nanoTime();
+            expected = scan.get();
+            long elapsed = System.nanoTime() - start;
+            if (round >= 2) scanTime = Math.min(scanTime, elapsed);
+
+            start = System.nanoTime();
+            actual = bitmap.get();
+            elapsed = System.nanoTime() - start;
+            if (round >= 2) bitmapTime = Math.min(bitmapTime, elapsed);
+        }
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(name + ": bitmap result differs from the full scan");
+        }
+        System.out.printf("%-34s | %14.2f | %11.2f | %,d (%.1fx)\n", name,
+                scanTime / 1_000_000.0, bitmapTime / 1_000_000.0, actual.size(), (double) scanTime / bitmapTime);
+    }
+}
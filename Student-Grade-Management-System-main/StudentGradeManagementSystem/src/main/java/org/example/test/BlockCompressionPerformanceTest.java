@@ -0,0 +1,127 @@
+package org.example.test;
+
+import org.example.models.Subject;
+import org.example.persistence.BlockCodec;
+import org.example.persistence.BlockCodecs;
+import org.example.persistence.BlockCompressedInputStream;
+import org.example.persistence.BlockCompressedOutputStream;
+import org.example.persistence.DeflateCodec;
+import org.example.persistence.RecordWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses a backup-sized record stream (200,000 students with 20 grades each) with block
+ * compression on pools of 1, 2, 4 ... threads up to the number of cores, and reads it back
+ * with the same pools, against a single gzip stream. Reports throughput and compression
+ * ratio per codec, each the best of three rounds after two untimed ones. Scaling with
+ * threads only shows on a machine with several cores. The first argument overrides the
+ * student count.
+ */
+public class BlockCompressionPerformanceTest {
+    private static final int GRADES_PER_STUDENT = 20;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║     BLOCK COMPRESSION BENCHMARK (parallel codec pipeline)    ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Path dir = Files.createTempDirectory("compression-bench");
+        Path records = dir.resolve("records.dat");
+        writeRecords(records, studentCount);
+        byte[] data = Files.readAllBytes(records);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%,d students as %.1f MB of records, %d core(s)\n\n",
+                studentCount, data.length / (1024.0 * 1024), cores);
+
+        Path gzip = dir.resolve("records.gz");
+        long gzipNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip), 64 * 1024)) {
+                out.write(data);
+            }
+            gzipNanos = round < 2 ? gzipNanos : Math.min(gzipNanos, System.nanoTime() - start);
+        }
+        System.out.printf("Single gzip stream:      %7.1f MB/s, ratio %.2f\n\n",
+                mbPerSecond(data.length, gzipNanos), (double) data.length / Files.size(gzip));
+
+        System.out.println("Codec      | Threads | Compress (MB/s) | Decompress (MB/s) | Ratio");
+        System.out.println("─────────────────────────────────────────────────────────────────");
+        Path compressed = dir.resolve("records.z");
+        for (BlockCodec codec : new BlockCodec[]{BlockCodecs.DEFLATE, new DeflateCodec(6)}) {
+            for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+                ExecutorService pool = Executors.newFixedThreadPool(threads);
+                long writeNanos = Long.MAX_VALUE;
+                long readNanos = Long.MAX_VALUE;
+                try {
+                    for (int round = 0; round < ROUNDS; round++) {
+                        long start = System.nanoTime();
+                        try (OutputStream out = new BlockCompressedOutputStream(compressed, codec, pool,
+                                2 * threads, BlockCompressedOutputStream.DEFAULT_BLOCK_SIZE)) {
+                            out.write(data);
+                        }
+                        long written = System.nanoTime() - start;
+                        start = System.nanoTime();
+                        long read = drain(new BlockCompressedInputStream(compressed, pool, 2 * threads));
+                        long readBack = System.nanoTime() - start;
+                        if (read != data.length) {
+                            throw new IllegalStateException("Read back " + read + " of " + data.length + " bytes");
+                        }
+                        if (round >= 2) {
+                            writeNanos = Math.min(writeNanos, written);
+                            readNanos = Math.min(readNanos, readBack);
+                        }
+                    }
+                } finally {
+                    pool.shutdown();
+                }
+                System.out.printf("%-10s | %7d | %15.1f | %17.1f | %5.2f\n", codec.getName(), threads,
+                        mbPerSecond(data.length, writeNanos), mbPerSecond(data.length, readNanos),
+                        (double) data.length / Files.size(compressed));
+                if (threads >= cores) break;
+            }
+        }
+
+        for (Path path : new Path[]{records, gzip, compressed}) {
+            Files.deleteIfExists(path);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static void writeRecords(Path path, int studentCount) throws IOException {
+        Subject[] subjects = TestPopulations.benchmarkSubjects();
+        Random random = new Random(17);
+        // Written as generated, so the population is never all in the heap at once
+        try (RecordWriter writer = new RecordWriter(path)) {
+            for (int i = 0; i < studentCount; i++) {
+                writer.write(TestPopulations.generateStudent(GRADES_PER_STUDENT, subjects, random));
+            }
+        }
+    }
+
+    private static long drain(InputStream in) throws IOException {
+        long total = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream stream = in) {
+            for (int n = stream.read(buffer); n >= 0; n = stream.read(buffer)) {
+                total += n;
+            }
+        }
+        return total;
+    }
+
+    private static double mbPerSecond(long bytes, long nanos) {
+        return bytes / (1024.0 * 1024) / (nanos / 1e9);
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.persistence.*;
+import org.example.service.EnhancedStudentManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockCompressionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testMultiBlockStreamRoundTripsWithEachCodec() throws Exception {
+        byte[] data = sample(300_000);
+        for (BlockCodec codec : new BlockCodec[]{BlockCodecs.DEFLATE, BlockCodecs.STORED}) {
+            Path path = tempDir.resolve("data-" + codec.getId() + ".z");
+            try (OutputStream out = new BlockCompressedOutputStream(path, codec, pool, 3, 4096)) {
+                // Odd chunk sizes so writes straddle block boundaries
+                for (int offset = 0; offset < data.length; offset += 1234) {
+                    out.write(data, offset, Math.min(1234, data.length - offset));
+                }
+                out.write(7);
+            }
+            try (BlockCompressedInputStream in = new BlockCompressedInputStream(path, pool, 3)) {
+                assertEquals(codec.getId(), in.getCodec().getId());
+                assertEquals((data.length + 1 + 4095) / 4096, in.getBlockCount());
+                byte[] read = readAll(in);
+                assertEquals(data.length + 1, read.length);
+                assertEquals(7, read[data.length]);
+                for (int i = 0; i < data.length; i++) {
+                    if (read[i] != data[i]) fail("Byte " + i + " differs with " + codec.getName());
+                }
+            }
+        }
+        assertTrue(Files.size(tempDir.resolve("data-1.z")) < Files.size(tempDir.resolve("data-0.z")) / 2);
+    }
+
+    @Test
+    void testCorruptBlockIsDetected() throws Exception {
+        Path path = tempDir.resolve("corrupt.z");
+        try (OutputStream out = new BlockCompressedOutputStream(path, BlockCodecs.DEFLATE, pool, 2, 4096)) {
+            out.write(sample(40_000));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // Inside the data of the second or third block
+            channel.write(ByteBuffer.wrap(new byte[]{0x55, 0x55, 0x55, 0x55}), Files.size(path) / 3);
+        }
+        IOException error = assertThrows(IOException.class, () -> {
+            try (InputStream in = new BlockCompressedInputStream(path, pool, 2)) {
+                readAll(in);
+            }
+        });
+        assertTrue(error.getMessage().contains("corrupt") || error.getMessage().contains("index"),
+                error.getMessage());
+    }
+
+    @Test
+    void testFileWithoutFooterIsRejected() throws Exception {
+        Path path = tempDir.resolve("partial.z");
+        try (OutputStream out = new BlockCompressedOutputStream(path, BlockCodecs.DEFLATE, pool, 2, 4096)) {
+            out.write(sample(20_000));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(path) - 7);
+        }
+        IOException error = assertThrows(IOException.class, () -> new BlockCompressedInputStream(path));
+        assertTrue(error.getMessage().contains("incomplete"), error.getMessage());
+    }
+
+    @Test
+    void testCompressedRecordFileReadsBackLikeAPlainOne() throws Exception {
+        Subject math = new CoreSubject("Mathematics", "MAT101");
+        List<Student> students = new ArrayList<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 3000; i++) {
+            Student student = new RegularStudent("Ada Lovelace", 18 + random.nextInt(5), "ada@test.edu", "555-123-4567");
+            student.addGrade(new Grade(student.getStudentId(), math, random.nextInt(201) / 2.0));
+            students.add(student);
+        }
+        Path plain = tempDir.resolve("plain.dat");
+        Path compressed = tempDir.resolve("compressed.dat");
+        try (RecordWriter writer = new RecordWriter(plain)) {
+            for (Student student : students) writer.write(student);
+        }
+        try (RecordWriter writer = new RecordWriter(compressed, BlockCodecs.DEFLATE)) {
+            for (Student student : students) writer.write(student);
+        }
+        assertTrue(Files.size(compressed) < Files.size(plain));
+
+        List<Student> read;
+        try (RecordReader reader = new RecordReader(compressed)) {
+            read = reader.readAll(Student.class);
+        }
+        assertEquals(students.size(), read.size());
+        for (int i = 0; i < students.size(); i++) {
+            assertEquals(students.get(i).getStudentId(), read.get(i).getStudentId());
+            assertEquals(students.get(i).calculateAverageGrade(), read.get(i).calculateAverageGrade());
+        }
+    }
+
+    @Test
+    void testCompressedBackupsRestore() throws Exception {
+        BackupManager backups = new BackupManager(tempDir);
+        backups.setCodec(BlockCodecs.DEFLATE);
+        EnhancedStudentManager source = new EnhancedStudentManager(false);
+        Subject music = new ElectiveSubject("Music", "MUS101");
+        for (int i = 0; i < 500; i++) {
+            Student student = new HonorsStudent("Grace Hopper", 20, "grace@test.edu", "555-987-6543");
+            source.addStudent(student);
+            source.addGradeToStudent(student.getStudentId(), new Grade(student.getStudentId(), music, i % 101));
+        }
+        assertTrue(backups.backup(source).isFull());
+        Student changed = source.getAllStudents().get(42);
+        source.addGradeToStudent(changed.getStudentId(), new Grade(changed.getStudentId(), music, 99.5));
+        assertFalse(backups.backup(source).isFull());
+
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        assertEquals(500, backups.restore(restored));
+        assertEquals(source.getAverageClassGrade(), restored.getAverageClassGrade(), 1e-9);
+        assertEquals(2, restored.findStudent(changed.getStudentId()).getGrades().size());
+    }
+
+    // Text-like bytes: compressible, but not trivially
+    private static byte[] sample(int length) {
+        Random random = new Random(length);
+        String[] words = {"student ", "grade ", "Mathematics ", "92.5 ", "honors ", "active ", "\n"};
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        while (out.size() < length) {
+            byte[] word = words[random.nextInt(words.length)].getBytes();
+            out.write(word, 0, word.length);
+            out.write('0' + random.nextInt(10));
+        }
+        byte[] bytes = out.toByteArray();
+        byte[] exact = new byte[length];
+        System.arraycopy(bytes, 0, exact, 0, length);
+        return exact;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[5000];
+        for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.test;
+
+import org.example.service.EvictionPolicy;
+import org.example.service.LRUCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheExpiryTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private LRUCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LRUCache<>(1_000);
+        cache.setTicker(clock::get);
+    }
+
+    @Test
+    void testExpireAfterWriteWithPerEntryOverride() {
+        cache.setExpireAfterWrite(60, TimeUnit.SECONDS);
+        cache.put("report", "v1");
+        cache.put("stats", "s1", 5, TimeUnit.SECONDS);
+
+        advance(TimeUnit.SECONDS, 4);
+        assertEquals("s1", cache.get("stats"));
+        advance(TimeUnit.SECONDS, 1);
+        assertNull(cache.get("stats"));
+        assertEquals("v1", cache.get("report"));
+
+        // Rewriting restarts the clock
+        advance(TimeUnit.SECONDS, 50);
+        cache.put("report", "v2");
+        advance(TimeUnit.SECONDS, 30);
+        assertEquals("v2", cache.get("report"));
+        advance(TimeUnit.SECONDS, 30);
+        assertNull(cache.get("report"));
+
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getExpirationCount());
+    }
+
+    @Test
+    void testExpireAfterAccessKeepsEntriesThatAreRead() {
+        cache.setExpireAfterAccess(10, TimeUnit.MINUTES);
+        cache.put("busy", "b");
+        cache.put("idle", "i");
+        for (int i = 0; i < 6; i++) {
+            advance(TimeUnit.MINUTES, 5);
+            assertEquals("b", cache.get("busy"));
+        }
+        cache.cleanUp();
+        assertEquals(1, cache.size());
+        assertNull(cache.get("idle"));
+
+        advance(TimeUnit.MINUTES, 11);
+        assertNull(cache.get("busy"));
+    }
+
+    @Test
+    void testRefreshServesOldValueUntilReloadCompletes() throws Exception {
+        CountDownLatch reloadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        cache.setRefreshAfterWrite(5, TimeUnit.MINUTES, key -> {
+            loads.incrementAndGet();
+            reloadStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return key + "-fresh";
+        });
+        cache.put("STU001", "stale");
+
+        advance(TimeUnit.MINUTES, 4);
+        assertEquals("stale", cache.get("STU001"));
+        assertEquals(0, loads.get());
+
+        advance(TimeUnit.MINUTES, 2);
+        assertEquals("stale", cache.get("STU001"));
+        assertTrue(reloadStarted.await(5, TimeUnit.SECONDS));
+        // Still loading: readers get the old value and do not start another load
+        assertEquals("stale", cache.get("STU001"));
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cache.getRefreshCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals("STU001-fresh", cache.get("STU001"));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getRefreshCount());
+        cache.shutdown();
+    }
+
+    @Test
+    void testRefreshRemovesEntriesTheLoaderNoLongerFinds() throws Exception {
+        cache.setRefreshAfterWrite(1, TimeUnit.MINUTES, key -> null);
+        cache.put("STU404", "withdrawn");
+        advance(TimeUnit.MINUTES, 2);
+        assertEquals("withdrawn", cache.get("STU404"));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cache.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertNull(cache.get("STU404"));
+        cache.shutdown();
+    }
+
+    @Test
+    void testTimingWheelExpiresExactlyTheDueEntriesAcrossAllLevels() {
+        LRUCache<Integer, Integer> wheelCache = new LRUCache<>(20_000, EvictionPolicy.W_TINY_LFU);
+        wheelCache.setTicker(clock::get);
+        Random random = new Random(22);
+        long start = clock.get();
+        long[] deadlines = new long[10_000];
+        for (int i = 0; i < deadlines.length; i++) {
+            // From under a second to about a month, covering every wheel level
+            long ttl = (long) Math.pow(10, 8 + random.nextDouble() * 7.5);
+            deadlines[i] = start + ttl;
+            wheelCache.put(i, i, ttl, TimeUnit.NANOSECONDS);
+        }
+
+        long step = TimeUnit.SECONDS.toNanos(1);
+        while (clock.get() - start < TimeUnit.DAYS.toNanos(40)) {
+            clock.addAndGet(step);
+            step = step * 3 / 2 + random.nextInt(1_000_000);
+            wheelCache.cleanUp();
+            int live = 0;
+            for (long deadline : deadlines) {
+                if (deadline - clock.get() > 0) live++;
+            }
+            assertEquals(live, wheelCache.size(), "at +" + (clock.get() - start) / 1_000_000_000 + " s");
+        }
+        assertEquals(0, wheelCache.size());
+        assertEquals(deadlines.length, wheelCache.getExpirationCount());
+    }
+
+    @Test
+    void testTimingWheelHoldsMultiDayEntriesUntilTheyAreDue() {
+        LRUCache<String, String> wheelCache = new LRUCache<>(100, EvictionPolicy.LRU);
+        wheelCache.setTicker(clock::get);
+        long start = clock.get();
+        // Between 2^48 ns (3.3 days) and 2^50 ns (13 days), filed on the coarsest bucketed level
+        long[] ttls = {TimeUnit.HOURS.toNanos(80), TimeUnit.DAYS.toNanos(5), TimeUnit.DAYS.toNanos(9),
+                TimeUnit.HOURS.toNanos(310)};
+        for (int i = 0; i < ttls.length; i++) {
+            wheelCache.put("STU00" + i, "report " + i, ttls[i], TimeUnit.NANOSECONDS);
+        }
+
+        while (clock.get() - start < TimeUnit.DAYS.toNanos(14)) {
+            advance(TimeUnit.MINUTES, 17);
+            wheelCache.cleanUp();
+            int live = 0;
+            for (long ttl : ttls) {
+                if (clock.get() - start < ttl) live++;
+            }
+            assertEquals(live, wheelCache.size(), "at +" + TimeUnit.NANOSECONDS.toHours(clock.get() - start) + " h");
+        }
+        assertEquals(ttls.length, wheelCache.getExpirationCount());
+    }
+
+    private void advance(TimeUnit unit, long amount) {
+        clock.addAndGet(unit.toNanos(amount));
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.test;
+
+import org.example.service.LRUCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hit throughput of LRUCache against its previous design (a ConcurrentLinkedDeque of keys
+ * reordered with remove + addLast on every get and put) at 1, 4 and 16 threads and cache
+ * sizes of 150 and 1,000,000. Every key is cached, so 95% of operations are hits and the
+ * rest replace a value. Each cell runs for a fixed time; a first pass at 4 threads is
+ * warm-up for the JIT. Finally both are filled from 16 threads with new keys to show
+ * whether the size bound holds.
+ * Run with -Xmx2g.
+ */
+public class CachePerformanceTest {
+    private static final int[] SIZES = {150, 1_000_000};
+    private static final int[] THREAD_COUNTS = {1, 4, 16};
+    private static final long RUN_MILLIS = 1_000;
+    private static final int PUT_PERCENT = 5;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║       LRU CACHE BENCHMARK (deque reorder vs read buffers)    ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+        System.out.printf("%d processors, %d%% puts, %,d ms per run\n\n",
+                Runtime.getRuntime().availableProcessors(), PUT_PERCENT, RUN_MILLIS);
+
+        for (int size : SIZES) {
+            Integer[] keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i;
+            }
+            DequeCache<Integer, Integer> deque = new DequeCache<>(size);
+            LRUCache<Integer, Integer> buffered = new LRUCache<>(size);
+            for (Integer key : keys) {
+                // put would scan the whole deque for every new key; the resulting order is the same
+                deque.load(key, key);
+                buffered.put(key, key);
+            }
+            run(deque::get, deque::put, keys, 4);
+            run(buffered::get, buffered::put, keys, 4);
+
+            System.out.printf("Cache size %,d\n", size);
+            System.out.println("Threads | Deque (ops/ms) |  Buffered (ops/ms) | Speedup");
+            System.out.println("─────────────────────────────────────────────────────────────");
+            for (int threads : THREAD_COUNTS) {
+                double before = run(deque::get, deque::put, keys, threads);
+                double after = run(buffered::get, buffered::put, keys, threads);
+                System.out.printf("%7d | %14.1f | %18.0f | %6.0fx\n", threads, before, after, after / before);
+            }
+            System.out.println();
+        }
+
+        DequeCache<Integer, Integer> deque = new DequeCache<>(150);
+        LRUCache<Integer, Integer> buffered = new LRUCache<>(150);
+        int dequeMax = fill(deque::put, deque::size);
+        int bufferedMax = fill(buffered::put, buffered::size);
+        System.out.printf("Largest size seen while 16 threads insert into a 150-entry cache: deque %d, buffered %d\n",
+                dequeMax, bufferedMax);
+    }
+
+    // Returns throughput in operations per millisecond
+    private static double run(Getter getter, Putter putter, Integer[] keys, int threadCount) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                int[] picks = new int[4096];
+                for (int i = 0; i < picks.length; i++) {
+                    picks[i] = random.nextInt(keys.length);
+                }
+                ready.countDown();
+                start.await();
+                long deadline = System.nanoTime() + RUN_MILLIS * 1_000_000;
+                long ops = 0;
+                while (true) {
+                    for (int i = 0; i < 64; i++, ops++) {
+                        Integer key = keys[picks[(int) ops & (picks.length - 1)]];
+                        if (ops % 100 < PUT_PERCENT) {
+                            putter.put(key, key);
+                        } else if (getter.get(key) == null) {
+                            throw new IllegalStateException("Cached key " + key + " missed");
+                        }
+                    }
+                    if (System.nanoTime() >= deadline) return ops;
+                }
+            }));
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        long total = 0;
+        for (Future<Long> future : futures) {
+            total += future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return total / (elapsed / 1e6);
+    }
+
+    private static int fill(Putter putter, Size size) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger largest = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    int key = next.getAndIncrement();
+                    putter.put(key, key);
+                    largest.accumulateAndGet(size.size(), Math::max);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        return largest.get();
+    }
+
+    private interface Getter {
+        Integer get(Integer key);
+    }
+
+    private interface Putter {
+        void put(Integer key, Integer value);
+    }
+
+    private interface Size {
+        int size();
+    }
+
+    // LRUCache's previous implementation, reduced to the parts being measured
+    private static final class DequeCache<K, V> {
+        private final int maxSize;
+        private final ConcurrentHashMap<K, V> cache;
+        private final ConcurrentLinkedDeque<K> accessOrder = new ConcurrentLinkedDeque<>();
+
+        DequeCache(int maxSize) {
+            this.maxSize = maxSize;
+            this.cache = new ConcurrentHashMap<>(maxSize);
+        }
+
+        V get(K key) {
+            V value = cache.get(key);
+            if (value != null) {
+                accessOrder.remove(key);
+                accessOrder.addLast(key);
+            }
+            return value;
+        }
+
+        void put(K key, V value) {
+            if (cache.size() >= maxSize && !cache.containsKey(key)) {
+                K lruKey = accessOrder.pollFirst();
+                if (lruKey != null) {
+                    cache.remove(lruKey);
+                }
+            }
+            cache.put(key, value);
+            accessOrder.remove(key);
+            accessOrder.addLast(key);
+        }
+
+        void load(K key, V value) {
+            cache.put(key, value);
+            accessOrder.addLast(key);
+        }
+
+        int size() {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.test;
+
+import org.example.service.EvictionPolicy;
+import org.example.service.LRUCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replays key sequences through LRUCache with each eviction policy and reports the hit
+ * rate, treating every miss as a load followed by a put, like CacheManager.getStudent.
+ *
+ * Pass trace files as arguments to replay recorded traffic: one key per line, blank lines
+ * and lines starting with # ignored. Without arguments, synthetic traces modelled on the
+ * cache's traffic are used: interactive lookups that favour a few popular students (Zipf,
+ * s = 0.9) over 5,000 students, the same with a batch report touching every student once
+ * after each 20,000 lookups, and a loop over 2,000 students.
+ */
+public class CachePolicySimulator {
+    private static final int[] CACHE_SIZES = {150, 500, 1_500};
+    private static final int STUDENTS = 5_000;
+    private static final int LOOKUPS = 200_000;
+    private static final int BATCH_EVERY = 20_000;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║          CACHE POLICY SIMULATOR (hit rate per policy)        ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        Map<String, List<String>> traces = new LinkedHashMap<>();
+        if (args.length > 0) {
+            for (String arg : args) {
+                traces.put(Paths.get(arg).getFileName().toString(), readTrace(Paths.get(arg)));
+            }
+        } else {
+            traces.put("Interactive (Zipf)", interactive(false, new Random(21)));
+            traces.put("Interactive + batch scans", interactive(true, new Random(21)));
+            traces.put("Loop over 2,000 students", loop(2_000, 100_000));
+        }
+
+        EvictionPolicy[] policies = EvictionPolicy.values();
+        for (Map.Entry<String, List<String>> trace : traces.entrySet()) {
+            List<String> keys = trace.getValue();
+            System.out.printf("%s: %,d requests, %,d distinct keys\n",
+                    trace.getKey(), keys.size(), new HashSet<>(keys).size());
+            StringBuilder header = new StringBuilder("Cache size");
+            for (EvictionPolicy policy : policies) {
+                header.append(String.format(" | %10s", policy.getName()));
+            }
+            System.out.println(header);
+            System.out.println("─────────────────────────────────────────────────────────────");
+            for (int size : CACHE_SIZES) {
+                StringBuilder row = new StringBuilder(String.format("%10s", String.format("%,d", size)));
+                for (EvictionPolicy policy : policies) {
+                    row.append(String.format(" | %9.2f%%", replay(keys, size, policy)));
+                }
+                System.out.println(row);
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Replays a trace through a fresh cache.
+     *
+     * @return hit rate as a percentage
+     */
+    static double replay(List<String> keys, int cacheSize, EvictionPolicy policy) {
+        LRUCache<String, String> cache = new LRUCache<>(cacheSize, policy);
+        for (String key : keys) {
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        return cache.getHitRate();
+    }
+
+    private static List<String> readTrace(Path path) throws IOException {
+        try (Stream<String> lines = Files.lines(path)) {
+            return lines.map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> interactive(boolean batches, Random random) {
+        String[] ids = new String[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            ids[i] = String.format("STU%05d", i + 1);
+        }
+        // Popularity is unrelated to ID order
+        List<String> byPopularity = new ArrayList<>(Arrays.asList(ids));
+        Collections.shuffle(byPopularity, random);
+
+        double[] cumulative = new double[STUDENTS];
+        double total = 0;
+        for (int rank = 0; rank < STUDENTS; rank++) {
+            total += 1.0 / Math.pow(rank + 1, 0.9);
+            cumulative[rank] = total;
+        }
+
+        List<String> trace = new ArrayList<>();
+        for (int i = 1; i <= LOOKUPS; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            trace.add(byPopularity.get(rank < 0 ? -rank - 1 : rank));
+            if (batches && i % BATCH_EVERY == 0) {
+                trace.addAll(Arrays.asList(ids));
+            }
+        }
+        return trace;
+    }
+
+    private static List<String> loop(int distinct, int length) {
+        List<String> trace = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            trace.add(String.format("STU%05d", i % distinct + 1));
+        }
+        return trace;
+    }
+}
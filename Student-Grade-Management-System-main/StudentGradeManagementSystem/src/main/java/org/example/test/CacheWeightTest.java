@@ -0,0 +1,147 @@
+package org.example.test;
+
+import org.example.models.CoreSubject;
+import org.example.models.Grade;
+import org.example.models.RegularStudent;
+import org.example.models.Student;
+import org.example.models.Subject;
+import org.example.service.EvictionPolicy;
+import org.example.service.LRUCache;
+import org.example.service.Weigher;
+import org.example.service.Weighers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheWeightTest {
+
+    // Weight is the string's length, so expected evictions are easy to work out
+    private static final Weigher<String, String> LENGTH = (key, value) -> value.length();
+
+    @Test
+    void testLargeEntryDisplacesAsManySmallOnesAsNeeded() {
+        LRUCache<String, String> cache = new LRUCache<>(100, LENGTH, EvictionPolicy.LRU);
+        for (int i = 0; i < 10; i++) {
+            cache.put("small" + i, repeat('s', 10));
+        }
+        assertEquals(10, cache.size());
+        assertEquals(100, cache.getWeightedSize());
+
+        cache.put("report", repeat('r', 45));
+        // The five oldest entries made room
+        assertEquals(6, cache.size());
+        assertEquals(95, cache.getWeightedSize());
+        assertEquals(5, cache.getEvictionCount());
+        assertNull(cache.get("small4"));
+        assertNotNull(cache.get("small5"));
+        assertNotNull(cache.get("report"));
+    }
+
+    @Test
+    void testEntryHeavierThanTheCacheIsNotKept() {
+        LRUCache<String, String> cache = new LRUCache<>(100, LENGTH, EvictionPolicy.W_TINY_LFU);
+        cache.put("a", repeat('a', 30));
+        cache.put("b", repeat('b', 30));
+        cache.put("a", repeat('a', 101));
+
+        assertNull(cache.get("a"));
+        assertEquals("bbbbbbbbbbbbbbbbbbbbbbbbbbbbbb", cache.get("b"));
+        assertEquals(30, cache.getWeightedSize());
+    }
+
+    @Test
+    void testReplacingAValueReweighsIt() {
+        LRUCache<String, String> cache = new LRUCache<>(100, LENGTH, EvictionPolicy.LRU);
+        cache.put("a", repeat('a', 20));
+        cache.put("b", repeat('b', 20));
+        cache.put("c", repeat('c', 20));
+        cache.put("b", repeat('b', 70));
+
+        // a was least recently used, c still fits next to the grown b
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(90, cache.getWeightedSize());
+
+        cache.put("b", "b");
+        assertEquals(21, cache.getWeightedSize());
+        assertThrows(IllegalArgumentException.class, () -> new LRUCache<String, String>(0, LENGTH, EvictionPolicy.LRU));
+    }
+
+    @Test
+    void testWeightBoundHoldsUnderMixedSizesForBothPolicies() {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            LRUCache<String, String> cache = new LRUCache<>(50_000, Weighers.strings(), policy);
+            Random random = new Random(23);
+            for (int i = 0; i < 20_000; i++) {
+                String key = "STU" + random.nextInt(2_000);
+                if (cache.get(key) == null) {
+                    cache.put(key, repeat('x', random.nextInt(4_000)));
+                }
+                assertTrue(cache.getWeightedSize() <= 50_000, policy.getName());
+            }
+            assertEquals(cache.getWeightedSize(), cache.getMemoryUsage());
+            long weighed = 0;
+            for (int i = 0; i < 2_000; i++) {
+                String value = cache.get("STU" + i);
+                if (value != null) {
+                    weighed += Weighers.strings().weigh("STU" + i, value);
+                }
+            }
+            assertEquals(cache.getWeightedSize(), weighed, policy.getName());
+        }
+    }
+
+    @Test
+    void testBuiltInWeighersTrackContentSize() {
+        Weigher<Object, String> strings = Weighers.strings();
+        assertTrue(strings.weigh("k", repeat('a', 2_000)) > strings.weigh("k", repeat('a', 1_000)) + 900);
+        // Characters outside Latin-1 take two bytes each
+        assertTrue(strings.weigh("k", repeat('é', 1_000)) < strings.weigh("k", repeat('€', 1_000)));
+
+        Student student = new RegularStudent("Alice Smith", 20, "alice@test.edu", "555-123-4567");
+        int withoutGrades = Weighers.students().weigh(student.getStudentId(), student);
+        Subject math = new CoreSubject("Mathematics", "MAT101");
+        for (int i = 0; i < 10; i++) {
+            student.addGrade(new Grade(student.getStudentId(), math, 80 + i));
+        }
+        int withGrades = Weighers.students().weigh(student.getStudentId(), student);
+        assertTrue(withGrades - withoutGrades >= 10 * 20, withoutGrades + " -> " + withGrades);
+
+        Map<String, Object> flat = new HashMap<>();
+        flat.put("average", 81.5);
+        flat.put("count", 120);
+        Map<String, Object> nested = new HashMap<>(flat);
+        List<Double> averages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            averages.add(i * 1.0);
+        }
+        nested.put("averages", averages);
+        nested.put("bySubject", new HashMap<>(flat));
+        int flatWeight = Weighers.statsMaps().weigh("overall", flat);
+        assertTrue(Weighers.statsMaps().weigh("overall", nested) > flatWeight + 100 * 16);
+    }
+
+    @Test
+    void testUnweightedCacheReportsEstimatedBytes() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        cache.put("a", repeat('a', 5_000));
+        cache.put("b", "b");
+        assertFalse(cache.isWeighted());
+        assertEquals(2, cache.getWeightedSize());
+        assertEquals(Weighers.objects().weigh("a", repeat('a', 5_000)) + Weighers.objects().weigh("b", "b"),
+                cache.getMemoryUsage());
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.persistence.Checkpoint;
+import org.example.persistence.CheckpointManager;
+import org.example.persistence.WriteAheadLog;
+import org.example.service.EnhancedStudentManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Time-to-ready for a restart with 1,000,000 students and 20,000,000 grades: loading the
+ * newest checkpoint in parallel, bulk-building the indexes and replaying a write-ahead log
+ * tail, against re-adding every student and grade one by one as an import does.
+ * The one-by-one path is measured on 50,000 students and scaled up. The full run needs
+ * -Xmx4g; a smaller student count can be passed as the first argument.
+ */
+public class CheckpointRecoveryPerformanceTest {
+    private static final int GRADES_PER_STUDENT = 20;
+    private static final int TAIL_GRADES = 10_000;
+    private static final int BASELINE_STUDENTS = 50_000;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║   RESTART BENCHMARK (checkpoint + WAL tail vs re-import)     ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path dir = Files.createTempDirectory("checkpoint-bench");
+        Path walPath = dir.resolve("mutations.wal");
+        CheckpointManager checkpoints = new CheckpointManager(dir.resolve("checkpoints"));
+        Subject[] subjects = TestPopulations.benchmarkSubjects();
+
+        System.out.printf("%,d students, %,d grades, %d cores\n", studentCount,
+                (long) studentCount * GRADES_PER_STUDENT, Runtime.getRuntime().availableProcessors());
+        System.out.println("─────────────────────────────────────────────────────────────");
+        EnhancedStudentManager source = new EnhancedStudentManager(false);
+        List<StudentBatch> batches = TestPopulations.generateBatches(studentCount, GRADES_PER_STUDENT, subjects,
+                new Random(14));
+        long start = System.nanoTime();
+        source.bulkLoad(batches);
+        System.out.printf("Bulk load of generated data:   %,8d ms\n", millisSince(start));
+        batches = null;
+
+        Checkpoint checkpoint;
+        try (WriteAheadLog log = new WriteAheadLog(walPath)) {
+            source.setWriteAheadLog(log);
+            start = System.nanoTime();
+            checkpoint = checkpoints.checkpoint(source, log);
+            System.out.printf("Checkpoint write:              %,8d ms  (%.1f MB, %.1f bytes/grade)\n",
+                    millisSince(start), checkpoint.getSizeInBytes() / (1024.0 * 1024),
+                    (double) checkpoint.getSizeInBytes() / checkpoint.getGradeCount());
+            Random random = new Random(15);
+            List<Student> students = source.snapshot().getStudents();
+            for (int i = 0; i < TAIL_GRADES; i++) {
+                Student student = students.get(random.nextInt(studentCount));
+                source.addGradeToStudent(student.getStudentId(), new Grade(student.getStudentId(),
+                        subjects[random.nextInt(subjects.length)], random.nextInt(101)));
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        double expectedAverage = source.getAverageClassGrade();
+        source = null;
+        System.gc();
+
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        start = System.nanoTime();
+        CheckpointManager.Recovery recovery = checkpoints.recover(restored, walPath);
+        long ready = millisSince(start);
+        if (restored.getStudentCount() != studentCount || Math.abs(restored.getAverageClassGrade() - expectedAverage) > 1e-9) {
+            throw new IllegalStateException("Restored state differs from the original");
+        }
+        System.out.printf("Checkpoint load + indexes:     %,8d ms\n", recovery.getLoadMillis());
+        System.out.printf("WAL tail replay (%,d grades): %,8d ms\n", TAIL_GRADES, recovery.getReplayMillis());
+        System.out.printf("Time to ready:                 %,8d ms\n", ready);
+        restored = null;
+        System.gc();
+
+        // The previous restart path: every row through addStudent / addGradeToStudent
+        int baseline = Math.min(BASELINE_STUDENTS, studentCount);
+        EnhancedStudentManager imported = new EnhancedStudentManager(false);
+        List<StudentBatch> rows = TestPopulations.generateBatches(baseline, GRADES_PER_STUDENT, subjects,
+                new Random(16));
+        start = System.nanoTime();
+        try {
+            for (StudentBatch batch : rows) {
+                for (int i = 0; i < batch.size(); i++) {
+                    Student student = batch.getStudent(i);
+                    imported.addStudent(student);
+                    for (int g = 0; g < GRADES_PER_STUDENT; g++) {
+                        imported.addGradeToStudent(student.getStudentId(), new Grade(student.getStudentId(),
+                                subjects[g % subjects.length], 40 + (student.getStudentNumber() + g) % 61));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        long perRow = millisSince(start);
+        long scaled = perRow * studentCount / baseline;
+        System.out.printf("Row-by-row re-import:          %,8d ms  (%,d ms at %,d students, scaled)\n",
+                scaled, perRow, baseline);
+        System.out.printf("Speed-up: %.1fx\n", (double) scaled / ready);
+
+        TestPopulations.deleteRecursively(dir);
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
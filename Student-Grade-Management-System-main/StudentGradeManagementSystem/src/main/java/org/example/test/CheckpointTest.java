@@ -0,0 +1,92 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.persistence.Checkpoint;
+import org.example.persistence.CheckpointManager;
+import org.example.persistence.WriteAheadLog;
+import org.example.service.EnhancedStudentManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.example.test.TestPopulations.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCheckpointPlusLogTailRestoresEverything() throws Exception {
+        Path walPath = tempDir.resolve("mutations.wal");
+        CheckpointManager checkpoints = new CheckpointManager(tempDir.resolve("checkpoints"));
+        EnhancedStudentManager source = new EnhancedStudentManager();
+        Random random = new Random(14);
+        Checkpoint written;
+        try (WriteAheadLog log = new WriteAheadLog(walPath)) {
+            source.setWriteAheadLog(log);
+            addStudents(source, random, 300, 6);
+            // Not a whole number of hundredths, so stored as an exact double
+            source.getAllStudents().get(0).getGrades().get(0).recordGrade(72.345);
+            source.getAllStudents().get(5).setStatus("Suspended");
+            written = checkpoints.checkpoint(source, log);
+            assertEquals(log.getLastLsn(), written.getLsn());
+            assertEquals(source.getStudentCount(), written.getStudentCount());
+
+            // The tail after the checkpoint
+            addStudents(source, random, 20, 6);
+            source.getAllStudents().get(1).getGrades().get(0).recordGrade(12.5);
+            source.getAllStudents().get(7).setStatus("Graduated");
+        }
+
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        CheckpointManager.Recovery recovery = checkpoints.recover(restored, walPath);
+        assertEquals(written.getLsn(), recovery.getCheckpoint().getLsn());
+        assertEquals(20, recovery.getReplayed().getStudentsAdded());
+        assertSameState(source, restored);
+    }
+
+    @Test
+    void testDamagedCheckpointFallsBackToThePreviousOne() throws Exception {
+        Path walPath = tempDir.resolve("mutations.wal");
+        CheckpointManager checkpoints = new CheckpointManager(tempDir.resolve("checkpoints"));
+        EnhancedStudentManager source = new EnhancedStudentManager(false);
+        Random random = new Random(15);
+        Checkpoint newest;
+        try (WriteAheadLog log = new WriteAheadLog(walPath)) {
+            source.setWriteAheadLog(log);
+            addStudents(source, random, 100, 6);
+            checkpoints.checkpoint(source, log);
+            addStudents(source, random, 100, 6);
+            newest = checkpoints.checkpoint(source, log);
+            addStudents(source, random, 10, 6);
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(newest.getPath().toFile(), "rw")) {
+            file.seek(newest.getSizeInBytes() / 2);
+            int b = file.read();
+            file.seek(newest.getSizeInBytes() / 2);
+            file.write(b ^ 0x10);
+        }
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        CheckpointManager.Recovery recovery = checkpoints.recover(restored, walPath);
+        assertEquals(100, recovery.getCheckpoint().getStudentCount());
+        assertEquals(110, recovery.getReplayed().getStudentsAdded());
+        assertSameState(source, restored);
+        assertTrue(Files.exists(newest.getPath()));
+    }
+
+    private static void assertSameState(EnhancedStudentManager expected, EnhancedStudentManager actual) {
+        assertEquals(describe(expected.getAllStudents()), describe(actual.getAllStudents()));
+        assertEquals(numbers(expected.getRankingIndex().toList()), numbers(actual.getRankingIndex().toList()));
+        assertEquals(numbers(expected.getBitmapIndex().students(expected.getBitmapIndex().passing())),
+                numbers(actual.getBitmapIndex().students(actual.getBitmapIndex().passing())));
+        assertEquals(numbers(expected.searchByName("ace")), numbers(actual.searchByName("ace")));
+        assertEquals(numbers(expected.searchByType("Honors")), numbers(actual.searchByType("Honors")));
+    }
+}
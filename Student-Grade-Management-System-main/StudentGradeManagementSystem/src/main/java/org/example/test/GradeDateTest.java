@@ -0,0 +1,63 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.CSVParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeDateTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testExplicitDateSurvivesStoreAndSerialization() throws Exception {
+        Subject math = new CoreSubject("Mathematics", "MAT101");
+        LocalDate date = LocalDate.of(2021, 3, 9);
+        Grade detached = new Grade("STU001", math, 80.0, date);
+        assertEquals("09-03-2021", detached.getDate());
+        assertEquals(LocalDate.now(), new Grade("STU001", math, 80.0).getLocalDate());
+
+        Student student = new RegularStudent("Dated Student", 18, "dated@test.edu", "555-123-4567");
+        Grade stored = new Grade(student.getStudentId(), math, 70.0, date);
+        student.addGrade(stored);
+        assertEquals(date, stored.getLocalDate());
+        assertEquals(date, student.getGrades().get(0).getLocalDate());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(detached);
+            out.writeObject(student);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals("09-03-2021", ((Grade) in.readObject()).getDate());
+            assertEquals(date, ((Student) in.readObject()).getGrades().get(0).getLocalDate());
+        }
+    }
+
+    @Test
+    void testCsvDateColumnIsOptional() throws Exception {
+        Path csv = tempDir.resolve("dated.csv");
+        Files.write(csv, Arrays.asList(
+                "StudentID,SubjectName,SubjectType,Grade,Date",
+                "STU001,Mathematics,Core,85",
+                "STU001,English,Core,78,15-01-2020",
+                "STU002,Art,Elective,90,2019-06-30",
+                "STU002,Music,Elective,70,31-31-2019"));
+
+        List<GradeRecord> records = new CSVParser().parseCSV(csv.toString());
+        assertEquals(3, records.size());
+        assertNull(records.get(0).getDate());
+        assertEquals(LocalDate.of(2020, 1, 15), records.get(1).getDate());
+        assertEquals(LocalDate.of(2019, 6, 30), records.get(2).getDate());
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.StatisticsCalculator;
+import org.example.utils.IdAllocator;
+
+import java.util.*;
+
+/**
+ * Reports retained bytes per grade for the old layout (a Grade object with its Strings and
+ * Subject in a LinkedList node per student) against the GradeColumnStore rows, and times a
+ * whole-population mean over each.
+ */
+public class GradeStoreFootprintTest {
+    private static final int STUDENT_COUNT = 50_000;
+    private static final int GRADES_PER_STUDENT = 10;
+
+    public static void main(String[] args) {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║     GRADE STORAGE FOOTPRINT (500k grades)                    ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        int gradeCount = STUDENT_COUNT * GRADES_PER_STUDENT;
+        Random random = new Random(7);
+
+        // Before: what each student used to retain - one LinkedList of Grade objects
+        long base = usedMemory();
+        List<LinkedList<Grade>> legacy = new ArrayList<>(STUDENT_COUNT);
+        for (int s = 0; s < STUDENT_COUNT; s++) {
+            LinkedList<Grade> grades = new LinkedList<>();
+            for (int g = 0; g < GRADES_PER_STUDENT; g++) {
+                grades.add(new Grade(studentId(s), newSubject(g), 40 + random.nextInt(61)));
+            }
+            legacy.add(grades);
+        }
+        double legacyBytes = (double) (usedMemory() - base) / gradeCount;
+
+        long start = System.nanoTime();
+        double legacySum = 0;
+        for (LinkedList<Grade> grades : legacy) {
+            for (Grade grade : grades) {
+                legacySum += grade.getGrade();
+            }
+        }
+        long legacyScan = System.nanoTime() - start;
+        legacy = null;
+
+        // After: the same grades as rows of one column store
+        List<Student> students = new ArrayList<>(STUDENT_COUNT);
+        for (int s = 0; s < STUDENT_COUNT; s++) {
+            students.add(new RegularStudent("Student Number", 18, "student@test.edu", "555-123-4567"));
+        }
+        base = usedMemory();
+        GradeColumnStore store = new GradeColumnStore();
+        for (Student student : students) {
+            store.attach(student);
+            for (int g = 0; g < GRADES_PER_STUDENT; g++) {
+                student.addGrade(new Grade(studentId(0), newSubject(g), 40 + random.nextInt(61)));
+            }
+        }
+        double columnBytes = (double) (usedMemory() - base) / gradeCount;
+
+        StatisticsCalculator calculator = new StatisticsCalculator();
+        start = System.nanoTime();
+        double columnMean = calculator.calculateMean(store.getScoreColumn(), store.size());
+        long columnScan = System.nanoTime() - start;
+
+        System.out.println("─────────────────────────────────────────────────────────────");
+        System.out.printf("Grade objects + LinkedList: %8.1f bytes/grade\n", legacyBytes);
+        System.out.printf("GradeColumnStore (heap):    %8.1f bytes/grade\n", columnBytes);
+        System.out.printf("GradeColumnStore (arrays):  %8.1f bytes/grade\n", store.getBytesPerGrade());
+        System.out.println();
+        System.out.printf("Mean over Grade objects:    %8.2f ms\n", legacyScan / 1_000_000.0);
+        System.out.printf("Mean over score column:     %8.2f ms\n", columnScan / 1_000_000.0);
+        System.out.printf("\n✓ %d grades stored, mean %.2f (legacy sum %.0f)\n",
+                store.getLiveRowCount(), columnMean, legacySum);
+    }
+
+    private static String studentId(int index) {
+        return IdAllocator.STUDENTS.format(index + 1);
+    }
+
+    // Callers used to create a new Subject for every grade
+    private static Subject newSubject(int index) {
+        switch (index % 5) {
+            case 0: return new CoreSubject("Mathematics", "MAT101");
+            case 1: return new CoreSubject("English", "ENG101");
+            case 2: return new CoreSubject("Science", "SCI101");
+            case 3: return new ElectiveSubject("Art", "ART101");
+            default: return new ElectiveSubject("Music", "MUS101");
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
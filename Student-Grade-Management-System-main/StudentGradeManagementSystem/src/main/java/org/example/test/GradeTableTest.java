@@ -0,0 +1,81 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeTableTest {
+
+    @Test
+    void testIndexesSurviveDeletesAndCompaction() throws Exception {
+        GradeTable table = new GradeTable(4);
+        List<Grade> reference = new ArrayList<>();
+        Subject[] subjects = {new CoreSubject("Mathematics", "MAT101"), new ElectiveSubject("Music", "MUS101")};
+        String[] studentIds = {"STU901", "STU902", "STU903", "STU904"};
+        Random random = new Random(12);
+
+        for (int i = 0; i < 2000; i++) {
+            Grade grade = new Grade(studentIds[random.nextInt(studentIds.length)],
+                    subjects[random.nextInt(subjects.length)], random.nextInt(101));
+            table.add(grade);
+            reference.add(grade);
+        }
+        // Enough deletes to trigger background compaction
+        Collections.shuffle(reference, new Random(3));
+        List<Grade> deleted = new ArrayList<>(reference.subList(0, 1500));
+        for (Grade grade : deleted) {
+            assertTrue(table.remove(grade.getGradeId()));
+        }
+        assertFalse(table.remove(deleted.get(0).getGradeId()));
+        reference.removeAll(deleted);
+        table.compact();
+        assertEquals(0, table.getTombstoneCount());
+
+        List<Grade> expected = table.toList();
+        assertEquals(reference.size(), expected.size());
+        assertEquals(new HashSet<>(reference), new HashSet<>(expected));
+        for (Grade grade : reference) {
+            assertSame(grade, table.find(grade.getGradeId()));
+        }
+        for (Grade grade : deleted.subList(0, 20)) {
+            assertNull(table.find(grade.getGradeId()));
+        }
+        for (String studentId : studentIds) {
+            List<Grade> forStudent = expected.stream()
+                    .filter(g -> g.getStudentId().equals(studentId))
+                    .collect(Collectors.toList());
+            assertEquals(forStudent, table.forStudent(studentId));
+            assertEquals(forStudent.size(), table.countForStudent(studentId));
+            for (Subject subject : subjects) {
+                boolean taken = forStudent.stream()
+                        .anyMatch(g -> g.getSubject().getSubjectName().equals(subject.getSubjectName()));
+                assertEquals(taken, table.hasTaken(studentId, subject.getSubjectName().toUpperCase()));
+            }
+        }
+        assertNull(table.find("STU901"));
+    }
+
+    @Test
+    void testGradeManagerHasNoCapacityLimit() {
+        GradeManager manager = new GradeManager();
+        Subject art = new ElectiveSubject("Art", "ART101");
+        Grade first = null;
+        for (int i = 0; i < 500; i++) {
+            Grade grade = new Grade("STU950", art, 70);
+            if (first == null) first = grade;
+            manager.addGrade(grade);
+        }
+        assertEquals(500, manager.getGradeCount());
+        assertEquals(500, manager.getGradesForStudent("STU950").size());
+        assertTrue(manager.updateGrade(first.getGradeId(), 100));
+        assertEquals(70.06, manager.calculateOverallAverage("STU950"), 1e-9);
+        assertTrue(manager.deleteGrade(first.getGradeId()));
+        assertEquals(70.0, manager.calculateOverallAverage("STU950"), 1e-9);
+        assertTrue(manager.hasStudentTakenSubject("STU950", "art"));
+        assertFalse(manager.hasStudentTakenSubject("STU951", "art"));
+    }
+}
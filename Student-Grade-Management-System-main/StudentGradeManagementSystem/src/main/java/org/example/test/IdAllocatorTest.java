@@ -0,0 +1,91 @@
+package org.example.test;
+
+import org.example.utils.IdAllocator;
+import org.example.utils.ValidationUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdAllocatorTest {
+
+    @Test
+    void testConcurrentAllocationNeverDuplicates() throws InterruptedException {
+        IdAllocator allocator = new IdAllocator("STU", 3);
+        int threadCount = 8;
+        int idsPerThread = 10_000;
+        Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            final boolean useBlocks = i % 2 == 0;
+            executor.submit(() -> {
+                try {
+                    if (useBlocks) {
+                        for (int b = 0; b < idsPerThread / 100; b++) {
+                            IdAllocator.Block block = allocator.reserve(100);
+                            while (block.hasNext()) {
+                                numbers.add(block.next());
+                            }
+                        }
+                    } else {
+                        for (int j = 0; j < idsPerThread; j++) {
+                            numbers.add(allocator.nextNumber());
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executor.shutdown();
+
+        assertEquals(threadCount * idsPerThread, numbers.size(), "Every allocated number should be unique");
+        assertEquals(threadCount * idsPerThread + 1, allocator.peekNextNumber());
+    }
+
+    @Test
+    void testFormatPadsToConfiguredWidth() {
+        assertEquals("STU001", new IdAllocator("STU", 3).format(1));
+        assertEquals("STU1234", new IdAllocator("STU", 3).format(1234));
+        assertEquals("STU0000001", new IdAllocator("STU", 7).format(1));
+        assertEquals("GRD000042", new IdAllocator("GRD", 6).format(42));
+    }
+
+    @Test
+    void testParseMatchesFormat() {
+        IdAllocator allocator = new IdAllocator("STU", 7);
+        for (int number : new int[]{1, 99, 1000, 123_456_789}) {
+            assertEquals(number, allocator.parse(allocator.format(number)));
+        }
+        assertEquals(-1, allocator.parse("STU12"));
+        assertEquals(-1, allocator.parse("STU1234567890"));
+        assertEquals(-1, allocator.parse("STX001"));
+        assertEquals(-1, allocator.parse("STU0A1"));
+        assertEquals(-1, allocator.parse(null));
+    }
+
+    @Test
+    void testStudentIdValidationAcceptsWiderIds() {
+        assertTrue(ValidationUtils.isValidStudentId("STU001"));
+        assertTrue(ValidationUtils.isValidStudentId("STU0000001"));
+        assertTrue(ValidationUtils.isValidStudentId("STU123456789"));
+        assertFalse(ValidationUtils.isValidStudentId("STU01"));
+        assertFalse(ValidationUtils.isValidStudentId("stu001"));
+        assertFalse(ValidationUtils.isValidStudentId(" STU001"));
+    }
+
+    @Test
+    void testEnsureAboveSkipsExplicitNumbers() {
+        IdAllocator allocator = new IdAllocator("GRD", 3);
+        allocator.ensureAbove(500);
+        assertEquals(501, allocator.nextNumber());
+        allocator.ensureAbove(10);
+        assertEquals(502, allocator.nextNumber());
+    }
+}
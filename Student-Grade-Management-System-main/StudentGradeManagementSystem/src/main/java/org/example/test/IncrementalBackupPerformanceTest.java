@@ -0,0 +1,96 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.persistence.BackupManager;
+import org.example.service.EnhancedStudentManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * A week of daily backups of 1,000,000 students with 20 grades each, where 1% of the students
+ * get a new grade every day: a full base on day 0 and deltas after it, against writing the
+ * whole population every day as the scheduler used to. Ends with a restore of base plus deltas.
+ * Backups are taken once a day, so the timings are cold, as in production. Give it a 4 GB
+ * heap, or a smaller student count as the first argument.
+ */
+public class IncrementalBackupPerformanceTest {
+    private static final int GRADES_PER_STUDENT = 20;
+    private static final int DAYS = 7;
+    private static final double DAILY_CHURN = 0.01;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║     INCREMENTAL BACKUP BENCHMARK (base + daily deltas)       ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int churn = (int) (studentCount * DAILY_CHURN);
+        Path dir = Files.createTempDirectory("backup-bench");
+        BackupManager backups = new BackupManager(dir);
+        Subject[] subjects = TestPopulations.benchmarkSubjects();
+
+        EnhancedStudentManager manager = new EnhancedStudentManager(false);
+        manager.bulkLoad(TestPopulations.generateBatches(studentCount, GRADES_PER_STUDENT, subjects, new Random(16)));
+        List<Student> students = manager.snapshot().getStudents();
+        System.out.printf("%,d students, %,d grades, %,d students changed per day\n",
+                studentCount, (long) studentCount * GRADES_PER_STUDENT, churn);
+        System.out.println("Day | Kind  | Students  | Size (MB) | Time (ms)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(17);
+        long fullBytes = 0;
+        long fullMillis = 0;
+        long incrementalMillis = 0;
+        for (int day = 0; day < DAYS; day++) {
+            if (day > 0) {
+                for (int i = 0; i < churn; i++) {
+                    Student student = students.get(random.nextInt(studentCount));
+                    manager.addGradeToStudent(student.getStudentId(), new Grade(student.getStudentId(),
+                            subjects[random.nextInt(subjects.length)], random.nextInt(101)));
+                }
+            }
+            BackupManager.Backup backup = backups.backup(manager);
+            System.out.printf("%3d | %-5s | %,9d | %9.2f | %,9d\n", day, backup.isFull() ? "full" : "delta",
+                    backup.getStudentCount(), backup.getSizeInBytes() / (1024.0 * 1024), backup.getMillis());
+            if (backup.isFull()) {
+                fullBytes = backup.getSizeInBytes();
+                fullMillis = backup.getMillis();
+            } else {
+                incrementalMillis += backup.getMillis();
+            }
+        }
+
+        long onDisk = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                onDisk += Files.size(path);
+            }
+        }
+        System.out.println("─────────────────────────────────────────────────────────────");
+        System.out.printf("Week of full backups:    %,9.1f MB written, %,8d ms\n",
+                DAYS * fullBytes / (1024.0 * 1024), DAYS * fullMillis);
+        System.out.printf("Base + %d deltas:         %,9.1f MB on disk,  %,8d ms\n",
+                DAYS - 1, onDisk / (1024.0 * 1024), fullMillis + incrementalMillis);
+        System.out.printf("Daily delta vs full:     %.0fx less time\n",
+                (double) fullMillis * (DAYS - 1) / Math.max(1, incrementalMillis));
+
+        double expectedAverage = manager.getAverageClassGrade();
+        manager = null;
+        students = null;
+        System.gc();
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        long start = System.nanoTime();
+        int count = backups.restore(restored);
+        long restoreMillis = (System.nanoTime() - start) / 1_000_000;
+        if (count != studentCount || Math.abs(restored.getAverageClassGrade() - expectedAverage) > 1e-9) {
+            throw new IllegalStateException("Restored state differs from the original");
+        }
+        System.out.printf("Restore (base + deltas): %,9d ms\n", restoreMillis);
+
+        TestPopulations.deleteRecursively(dir);
+    }
+}
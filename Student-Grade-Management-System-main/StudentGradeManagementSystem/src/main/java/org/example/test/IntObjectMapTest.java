@@ -0,0 +1,64 @@
+package org.example.test;
+
+import org.example.models.RegularStudent;
+import org.example.models.Student;
+import org.example.service.EnhancedStudentManager;
+import org.example.utils.IntObjectMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntObjectMapTest {
+
+    @Test
+    void testRandomOperationsMatchHashMap() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Small key range so removals hit long probe chains
+            int key = random.nextInt(5_000) - 100;
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            } else if (op == 1) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+    }
+
+    @Test
+    void testFindAllResolvesInOrder() {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        Student student = new RegularStudent("Index Test", 20, "index@test.edu", "555-123-4567");
+        manager.addStudent(student);
+
+        Student[] found = manager.findAll(new int[]{student.getStudentNumber(), -1, 999_999_999});
+        assertSame(student, found[0]);
+        assertNull(found[1]);
+        assertNull(found[2]);
+    }
+
+    @Test
+    void testSearchByIdRejectsPaddingAliases() throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        Student student = new RegularStudent("Alias Test", 20, "alias@test.edu", "555-123-4567");
+        manager.addStudent(student);
+
+        assertSame(student, manager.searchById(student.getStudentId()));
+        assertNull(manager.findStudent("STU0" + student.getStudentId().substring(3)));
+        assertThrows(IllegalArgumentException.class, () -> manager.searchById("BAD001"));
+    }
+}
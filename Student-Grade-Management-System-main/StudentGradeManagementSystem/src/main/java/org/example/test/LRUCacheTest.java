@@ -0,0 +1,193 @@
+package org.example.test;
+
+import org.example.models.CacheEntry;
+import org.example.service.EvictionPolicy;
+import org.example.service.LRUCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheTest {
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        LRUCache<String, Integer> cache = new LRUCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(1, cache.get("a"));
+        cache.put("d", 4);
+
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+        assertEquals(1, cache.getEvictionCount());
+
+        // Replacing a value counts as a use
+        cache.put("a", 10);
+        cache.put("e", 5);
+        assertNull(cache.get("c"));
+        assertEquals(10, cache.get("a"));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testInvalidateClearAndStatistics() {
+        LRUCache<String, String> cache = new LRUCache<>(150);
+        for (int i = 0; i < 10; i++) {
+            cache.put("STU" + i, "Student " + i);
+        }
+        cache.invalidate("STU3");
+        cache.invalidate("missing");
+        assertNull(cache.get("STU3"));
+        assertEquals("Student 4", cache.get("STU4"));
+        assertEquals(9, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(50.0, cache.getHitRate());
+
+        List<CacheEntry<String>> entries = cache.getEntries();
+        assertEquals(9, entries.size());
+        CacheEntry<String> hit = entries.stream().filter(e -> e.getKey().equals("STU4")).findFirst().get();
+        assertEquals(1, hit.getAccessCount());
+        assertFalse(hit.getLastAccessed().isBefore(hit.getCreatedAt()));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertNull(cache.get("STU4"));
+        assertThrows(IllegalArgumentException.class, () -> new LRUCache<String, String>(0));
+    }
+
+    @Test
+    void testBufferedHitsKeepHotEntriesThroughAScan() {
+        LRUCache<Integer, Integer> cache = new LRUCache<>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+        // Many more hits than one read buffer holds, then a scan evicting half the cache
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(i);
+            }
+        }
+        for (int i = 100; i < 150; i++) {
+            cache.put(i, i);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, cache.get(i));
+        }
+        for (int i = 50; i < 100; i++) {
+            assertNull(cache.get(i));
+        }
+    }
+
+    @Test
+    void testWindowTinyLfuKeepsFrequentEntriesThroughABatchScan() {
+        LRUCache<String, String> lru = new LRUCache<>(100, EvictionPolicy.LRU);
+        LRUCache<String, String> tinyLfu = new LRUCache<>(100, EvictionPolicy.W_TINY_LFU);
+        assertEquals(EvictionPolicy.W_TINY_LFU, tinyLfu.getEvictionPolicy());
+        for (LRUCache<String, String> cache : Arrays.asList(lru, tinyLfu)) {
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 50; i++) {
+                    load(cache, "HOT" + i);
+                }
+            }
+            // A batch report touching 5,000 students once each
+            for (int i = 0; i < 5_000; i++) {
+                load(cache, "STU" + i);
+            }
+            assertEquals(100, cache.size());
+        }
+
+        assertEquals(0, countCached(lru, "HOT", 50));
+        assertTrue(countCached(tinyLfu, "HOT", 50) >= 45, "kept " + countCached(tinyLfu, "HOT", 50));
+    }
+
+    @Test
+    void testWindowTinyLfuInvalidateAndClear() {
+        LRUCache<Integer, Integer> cache = new LRUCache<>(20, EvictionPolicy.W_TINY_LFU);
+        Random random = new Random(21);
+        for (int i = 0; i < 2_000; i++) {
+            int key = random.nextInt(60);
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+            if (i % 7 == 0) {
+                cache.invalidate(random.nextInt(60));
+            }
+            assertTrue(cache.size() <= 20);
+        }
+        assertEquals(cache.size(), cache.getEntries().size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        for (int i = 0; i < 20; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(20, cache.size());
+    }
+
+    @Test
+    void testCapacityIsNeverExceededUnderConcurrentWrites() throws Exception {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            assertCapacityHolds(new LRUCache<>(150, policy));
+        }
+    }
+
+    private static void assertCapacityHolds(LRUCache<Integer, Integer> cache) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger maxSeen = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 50_000; i++) {
+                    int key = random.nextInt(1_000);
+                    if (random.nextInt(4) == 0) {
+                        cache.put(key, key);
+                    } else {
+                        Integer value = cache.get(key);
+                        assertTrue(value == null || value == key);
+                    }
+                    if (i % 64 == 0) {
+                        maxSeen.accumulateAndGet(cache.size(), Math::max);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertTrue(maxSeen.get() <= 150, "size reached " + maxSeen.get());
+        assertEquals(150, cache.size());
+        assertEquals(150, cache.getEntries().size());
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    private static void load(LRUCache<String, String> cache, String key) {
+        if (cache.get(key) == null) {
+            cache.put(key, key);
+        }
+    }
+
+    private static int countCached(LRUCache<String, String> cache, String prefix, int count) {
+        int cached = 0;
+        for (int i = 0; i < count; i++) {
+            if (cache.get(prefix + i) != null) cached++;
+        }
+        return cached;
+    }
+}
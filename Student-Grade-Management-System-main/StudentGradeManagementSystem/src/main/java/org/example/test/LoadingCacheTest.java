@@ -0,0 +1,220 @@
+package org.example.test;
+
+import org.example.models.RegularStudent;
+import org.example.models.Student;
+import org.example.service.CacheManager;
+import org.example.service.EnhancedStudentManager;
+import org.example.service.EvictionPolicy;
+import org.example.service.LRUCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadingCacheTest {
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        LRUCache<String, String> cache = new LRUCache<>(100, EvictionPolicy.W_TINY_LFU);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.get("STU001", key -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return key + "-loaded";
+                })));
+            }
+            // Let every thread reach the cache before the load finishes
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("STU001-loaded", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getLoadCount());
+        assertEquals("STU001-loaded", cache.get("STU001"));
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> cache.get("STU001", key -> { throw failure; })));
+        assertEquals(0, cache.size());
+        assertEquals("ok", cache.get("STU001", key -> "ok"));
+    }
+
+    @Test
+    void testNegativeCachingRemembersMissingKeysBriefly() {
+        AtomicLong clock = new AtomicLong();
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        cache.setTicker(clock::get);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, String> loader = key -> {
+            loads.incrementAndGet();
+            return null;
+        };
+
+        // Without negative caching every lookup reaches the loader
+        assertNull(cache.get("BAD001", loader));
+        assertNull(cache.get("BAD001", loader));
+        assertEquals(2, loads.get());
+
+        cache.setNegativeCaching(30, TimeUnit.SECONDS);
+        assertNull(cache.get("BAD001", loader));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertNull(cache.get("BAD001", loader));
+        assertNull(cache.get("BAD001"));
+        assertEquals(3, loads.get());
+        assertTrue(cache.getEntries().isEmpty());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertNull(cache.get("BAD001", loader));
+        assertEquals(4, loads.get());
+
+        // A later write replaces the remembered absence
+        cache.put("BAD001", "created");
+        assertEquals("created", cache.get("BAD001", loader));
+    }
+
+    @Test
+    void testGetAllLoadsOnlyMissingKeysInOneCall() {
+        LRUCache<String, String> cache = new LRUCache<>(100);
+        cache.put("STU001", "cached");
+        List<Set<String>> batches = new ArrayList<>();
+        Map<String, String> result = cache.getAll(Arrays.asList("STU003", "STU001", "BAD999", "STU002", "STU003"),
+                keys -> {
+                    batches.add(new HashSet<>(keys));
+                    Map<String, String> loaded = new HashMap<>();
+                    for (String key : keys) {
+                        if (key.startsWith("STU")) loaded.put(key, key + "-loaded");
+                    }
+                    return loaded;
+                });
+
+        assertEquals(Arrays.asList("STU003", "STU001", "STU002"), new ArrayList<>(result.keySet()));
+        assertEquals("cached", result.get("STU001"));
+        assertEquals(Collections.singletonList(new HashSet<>(Arrays.asList("STU003", "BAD999", "STU002"))), batches);
+        assertEquals(3, cache.getLoadCount());
+        assertEquals("STU002-loaded", cache.get("STU002"));
+    }
+
+    @Test
+    void testGetAllWaitsForKeysAlreadyBeingLoaded() throws Exception {
+        LRUCache<String, String> cache = new LRUCache<>(100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> single = executor.submit(() -> cache.get("STU001", key -> {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "single";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            List<Set<String>> batches = new ArrayList<>();
+            CompletableFuture<Map<String, String>> bulk = CompletableFuture.supplyAsync(() ->
+                    cache.getAll(Arrays.asList("STU001", "STU002"), keys -> {
+                        batches.add(new HashSet<>(keys));
+                        return Collections.singletonMap("STU002", "bulk");
+                    }));
+            Thread.sleep(100);
+            assertFalse(bulk.isDone());
+            release.countDown();
+
+            assertEquals("single", single.get(5, TimeUnit.SECONDS));
+            Map<String, String> result = bulk.get(5, TimeUnit.SECONDS);
+            assertEquals("single", result.get("STU001"));
+            assertEquals("bulk", result.get("STU002"));
+            assertEquals(Collections.singletonList(Collections.singleton("STU002")), batches);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInvalidationDuringALoadDiscardsItsResult() throws Exception {
+        LRUCache<String, String> cache = new LRUCache<>(10);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get("STU001", key -> {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "before grade change";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.invalidate("STU001");
+            release.countDown();
+
+            // The caller that started the load still gets what it read
+            assertEquals("before grade change", stale.get(5, TimeUnit.SECONDS));
+            assertNull(cache.get("STU001"));
+            assertEquals("after grade change", cache.get("STU001", key -> "after grade change"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCacheManagerLoadsStudentsReportsAndStats() {
+        EnhancedStudentManager manager = new EnhancedStudentManager(false);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Student student = new RegularStudent("Student " + (char) ('A' + i), 18, "student" + i + "@test.edu", "555-123-4567");
+            manager.addStudent(student);
+            ids.add(student.getStudentId());
+        }
+        CacheManager cacheManager = new CacheManager(manager);
+        try {
+            Map<String, Student> students = cacheManager.getStudents(Arrays.asList(ids.get(3), "STU99999", ids.get(1)));
+            assertEquals(Arrays.asList(ids.get(3), ids.get(1)), new ArrayList<>(students.keySet()));
+            assertNull(cacheManager.getStudent("STU99999"));
+
+            AtomicInteger renders = new AtomicInteger();
+            for (int i = 0; i < 3; i++) {
+                assertEquals("Report for Student C", cacheManager.getReport(ids.get(2), student -> {
+                    renders.incrementAndGet();
+                    return "Report for " + student.getName();
+                }));
+            }
+            assertEquals(1, renders.get());
+            assertNull(cacheManager.getReport("STU99999", student -> "never"));
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("count", 5);
+            assertSame(stats, cacheManager.getStats("overall", () -> stats));
+            assertSame(stats, cacheManager.getStats("overall", HashMap::new));
+        } finally {
+            cacheManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.test;
+
+import org.example.persistence.BackupManager;
+import org.example.persistence.MappedSnapshot;
+import org.example.persistence.MappedSnapshotWriter;
+import org.example.service.EnhancedStudentManager;
+import org.example.service.StatisticsCalculator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Startup time and heap footprint of a reporting node at 1,000,000 students with 20 grades
+ * each: mapping last night's snapshot against restoring the full backup into an in-heap
+ * manager, followed by the same reporting queries on each. Both files are freshly written,
+ * so both start from a warm page cache, and each query reports its best time once the JIT
+ * has compiled it. The default size needs a 4 GB heap; the first argument sets another.
+ */
+public class MappedSnapshotPerformanceTest {
+    private static final int GRADES_PER_STUDENT = 20;
+    private static final int LOOKUPS = 100_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║     MAPPED SNAPSHOT BENCHMARK (reporting node startup)       ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path dir = Files.createTempDirectory("snapshot-bench");
+        Path snapshotPath = dir.resolve("students.snap");
+        BackupManager backups = new BackupManager(dir.resolve("backups"));
+
+        EnhancedStudentManager source = new EnhancedStudentManager(false);
+        source.bulkLoad(TestPopulations.generateBatches(studentCount, GRADES_PER_STUDENT,
+                TestPopulations.benchmarkSubjects(), new Random(18)));
+        int base = source.getAllStudents().get(0).getStudentNumber();
+        long start = System.nanoTime();
+        long snapshotBytes = MappedSnapshotWriter.write(source.snapshot(), snapshotPath);
+        long writeMillis = (System.nanoTime() - start) / 1_000_000;
+        BackupManager.Backup backup = backups.backup(source);
+        double expectedAverage = source.getAverageClassGrade();
+        // The backup manager keeps the manager its base was taken from
+        source = null;
+        backups = null;
+        System.out.printf("%,d students, %,d grades\n", studentCount, (long) studentCount * GRADES_PER_STUDENT);
+        System.out.printf("Snapshot file: %,.1f MB written in %,d ms; full backup: %,.1f MB\n\n",
+                snapshotBytes / (1024.0 * 1024), writeMillis, backup.getSizeInBytes() / (1024.0 * 1024));
+
+        StatisticsCalculator calculator = new StatisticsCalculator();
+
+        // Mapped snapshot
+        long heapBefore = usedHeap();
+        start = System.nanoTime();
+        MappedSnapshot mapped = new MappedSnapshot(snapshotPath);
+        long mappedStartup = System.nanoTime() - start;
+        long mappedHeap = usedHeap() - heapBefore;
+
+        MappedSnapshot view = mapped;
+        double mean = calculator.calculateMean(mapped.getScores(), mapped.getGradeCount());
+        double deviation = calculator.calculateStandardDeviation(mapped.getScores(), mapped.getGradeCount());
+        long mappedStats = time(() -> {
+            calculator.calculateMean(view.getScores(), view.getGradeCount());
+            calculator.calculateStandardDeviation(view.getScores(), view.getGradeCount());
+            calculator.calculateGradeDistribution(view.getScores(), view.getGradeCount());
+        });
+        int mappedRange = mapped.searchByGradeRange(80, 100).size();
+        long mappedRangeNanos = time(() -> view.searchByGradeRange(80, 100));
+        int mappedNames = mapped.findRowsByName("grace s").length;
+        long mappedNameNanos = time(() -> view.findRowsByName("grace s"));
+        long mappedLookups = time(() -> {
+            Random ids = new Random(19);
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (view.rowOf(base + ids.nextInt(studentCount)) < 0) {
+                    throw new IllegalStateException("Lookups missed students in the snapshot");
+                }
+            }
+        });
+        mapped = null;
+
+        // In-heap model restored from the backup
+        heapBefore = usedHeap();
+        start = System.nanoTime();
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        new BackupManager(dir.resolve("backups")).restore(restored);
+        long heapStartup = System.nanoTime() - start;
+        long heapFootprint = usedHeap() - heapBefore;
+        if (Math.abs(restored.getAverageClassGrade() - expectedAverage) > 1e-9) {
+            throw new IllegalStateException("Restored state differs from the original");
+        }
+
+        double[] allScores = restored.snapshot().copyScores();
+        double heapMean = calculator.calculateMean(allScores, allScores.length);
+        double heapDeviation = calculator.calculateStandardDeviation(allScores, allScores.length);
+        long heapStats = time(() -> {
+            double[] scores = restored.snapshot().copyScores();
+            calculator.calculateMean(scores, scores.length);
+            calculator.calculateStandardDeviation(scores, scores.length);
+            calculator.calculateGradeDistribution(scores, scores.length);
+        });
+        int heapRange = restored.searchByGradeRange(80, 100).size();
+        long heapRangeNanos = time(() -> restored.searchByGradeRange(80, 100));
+        int heapNames = restored.searchByName("grace s").size();
+        long heapNameNanos = time(() -> restored.searchByName("grace s"));
+        long heapLookups = time(() -> {
+            Random ids = new Random(19);
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (restored.findStudent(base + ids.nextInt(studentCount)) == null) {
+                    throw new IllegalStateException("Lookups missed restored students");
+                }
+            }
+        });
+        if (mappedRange != heapRange || mappedNames != heapNames
+                || Math.abs(mean - heapMean) > 1e-9 || Math.abs(deviation - heapDeviation) > 1e-9) {
+            throw new IllegalStateException("Mapped queries differ from the in-heap ones");
+        }
+
+        System.out.println("                          | Mapped snapshot | In-heap restore");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        System.out.printf("Startup (ms)              | %15.1f | %15.1f\n", mappedStartup / 1e6, heapStartup / 1e6);
+        System.out.printf("Heap retained (MB)        | %15.1f | %15.1f\n",
+                mappedHeap / (1024.0 * 1024), heapFootprint / (1024.0 * 1024));
+        System.out.printf("Mean, std dev, bands (ms) | %15.1f | %15.1f\n", mappedStats / 1e6, heapStats / 1e6);
+        System.out.printf("Grade range, %,6d (ms)  | %15.1f | %15.1f\n", heapRange, mappedRangeNanos / 1e6, heapRangeNanos / 1e6);
+        System.out.printf("Name search, %,6d (ms)  | %15.1f | %15.1f\n", heapNames, mappedNameNanos / 1e6, heapNameNanos / 1e6);
+        System.out.printf("%,d ID lookups (ms)   | %15.1f | %15.1f\n", LOOKUPS, mappedLookups / 1e6, heapLookups / 1e6);
+        System.out.println("─────────────────────────────────────────────────────────────");
+        System.out.printf("Startup: %.0fx faster; %,.0f MB less heap\n",
+                (double) heapStartup / Math.max(1, mappedStartup), (heapFootprint - mappedHeap) / (1024.0 * 1024));
+
+        TestPopulations.deleteRecursively(dir);
+    }
+
+    // Best of the rounds after the first two, which warm up the JIT
+    private static long time(Runnable query) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            query.run();
+            long elapsed = System.nanoTime() - start;
+            if (round >= 2) best = Math.min(best, elapsed);
+        }
+        return best;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.test;
+
+import org.example.exceptions.StudentNotFoundException;
+import org.example.models.*;
+import org.example.persistence.MappedSnapshot;
+import org.example.persistence.MappedSnapshotWriter;
+import org.example.service.EnhancedStudentManager;
+import org.example.service.StatisticsCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.example.test.TestPopulations.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private EnhancedStudentManager manager;
+    private MappedSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        manager = new EnhancedStudentManager(false);
+        addStudents(manager, new Random(18), 300, 6);
+        manager.getAllStudents().get(7).setStatus("Suspended");
+        Path path = tempDir.resolve("students.snap");
+        MappedSnapshotWriter.write(manager.snapshot(), path);
+        snapshot = new MappedSnapshot(path);
+    }
+
+    @Test
+    void testSearchesMatchTheManager() throws Exception {
+        assertEquals(300, snapshot.getStudentCount());
+        assertEquals(ids(manager.searchByName("ace")), ids(snapshot.searchByName("ACE")));
+        assertEquals(ids(manager.searchByName("ov")), ids(snapshot.searchByName("ov")));
+        assertEquals(ids(manager.searchByGradeRange(60, 85)), ids(snapshot.searchByGradeRange(60, 85)));
+        assertEquals(ids(manager.searchByType("honors")), ids(snapshot.searchByType("Honors")));
+        assertTrue(snapshot.searchByType("Exchange").isEmpty());
+
+        String id = manager.getAllStudents().get(42).getStudentId();
+        assertEquals(manager.searchById(id).getName(), snapshot.searchById(id).getName());
+        assertThrows(StudentNotFoundException.class, () -> snapshot.searchById("STU999999"));
+    }
+
+    @Test
+    void testMaterializedStudentMatchesTheOriginal() throws Exception {
+        for (Student original : manager.getAllStudents()) {
+            int row = snapshot.rowOf(original.getStudentId());
+            Student copy = snapshot.getStudent(row);
+            assertEquals(original.getStudentType(), copy.getStudentType());
+            assertEquals(original.getStatus(), copy.getStatus());
+            assertEquals(original.getEmail(), copy.getEmail());
+            assertEquals(original.calculateAverageGrade(), snapshot.getAverage(row));
+            assertEquals(original.calculateAverageGrade(), copy.calculateAverageGrade());
+            assertEquals(describeGrades(original.getGrades()), describeGrades(copy.getGrades()));
+        }
+    }
+
+    @Test
+    void testStatisticsReadTheMappedColumn() {
+        StatisticsCalculator calculator = new StatisticsCalculator();
+        double[] scores = manager.snapshot().copyScores();
+        int count = snapshot.getGradeCount();
+        assertEquals(scores.length, count);
+        assertEquals(calculator.calculateMean(scores, scores.length),
+                calculator.calculateMean(snapshot.getScores(), count), 1e-9);
+        assertEquals(calculator.calculateMedian(scores, scores.length),
+                calculator.calculateMedian(snapshot.getScores(), count));
+        assertEquals(calculator.calculateMode(scores, scores.length),
+                calculator.calculateMode(snapshot.getScores(), count));
+        assertEquals(calculator.calculateStandardDeviation(scores, scores.length),
+                calculator.calculateStandardDeviation(snapshot.getScores(), count), 1e-9);
+        assertEquals(calculator.calculateGradeDistribution(scores, scores.length),
+                calculator.calculateGradeDistribution(snapshot.getScores(), count));
+    }
+
+    @Test
+    void testTruncatedOrForeignFileIsRejected() throws Exception {
+        Path path = snapshot.getPath();
+        Path copy = tempDir.resolve("truncated.snap");
+        Files.copy(path, copy);
+        try (FileChannel channel = FileChannel.open(copy, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(copy) - 10);
+        }
+        IOException error = assertThrows(IOException.class, () -> new MappedSnapshot(copy));
+        assertTrue(error.getMessage().contains("incomplete"), error.getMessage());
+
+        Path foreign = Files.write(tempDir.resolve("foreign.snap"), new byte[256]);
+        assertThrows(IOException.class, () -> new MappedSnapshot(foreign));
+    }
+
+    private static List<String> ids(List<Student> students) {
+        return students.stream().map(Student::getStudentId).collect(Collectors.toList());
+    }
+}
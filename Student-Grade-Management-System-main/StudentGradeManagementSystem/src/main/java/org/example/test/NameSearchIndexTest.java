@@ -0,0 +1,78 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.EnhancedStudentManager;
+import org.example.service.NameSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameSearchIndexTest {
+
+    private static final String[] FIRST = {"Alice", "Bob", "Carol", "Dave", "Eve", "Ann", "Anna", "Nance"};
+    private static final String[] LAST = {"Annan", "Smith", "Banks", "Nance", "Johnson", "Lee"};
+
+    @Test
+    void testSearchMatchesScanAndSort() {
+        NameSearchIndex index = new NameSearchIndex();
+        List<Student> students = new ArrayList<>();
+        Random random = new Random(8);
+        String[] queries = {"ann", "AN", "a", "", "nce", "nance j", "smith", "xyz", "lee", "ob b"};
+
+        for (int batch = 0; batch < 4; batch++) {
+            // Searches between batches merge the new students into the maintained order
+            for (int i = 0; i < 250; i++) {
+                Student student = new RegularStudent(FIRST[random.nextInt(FIRST.length)] + " "
+                        + LAST[random.nextInt(LAST.length)], 18, "name@test.edu", "555-123-4567");
+                students.add(student);
+                index.add(student);
+            }
+            for (String query : queries) {
+                String term = query.toLowerCase();
+                List<Student> expected = students.stream()
+                        .filter(s -> s.getName().toLowerCase().contains(term))
+                        .sorted(StudentComparator.byNameAscending())
+                        .collect(Collectors.toList());
+                assertEquals(expected, index.search(query), query);
+            }
+        }
+        assertEquals(students.size(), index.size());
+    }
+
+    @Test
+    void testSearchesBetweenSingleAddsMatchScanAndSort() {
+        NameSearchIndex index = new NameSearchIndex();
+        List<Student> students = new ArrayList<>();
+        Random random = new Random(10);
+        String[] queries = {"ann", "a", "nance", "lee"};
+
+        // A few unranked students at a time stay unmerged, a long run of adds forces merges
+        for (int i = 0; i < 1_500; i++) {
+            Student student = new RegularStudent(FIRST[random.nextInt(FIRST.length)] + " "
+                    + LAST[random.nextInt(LAST.length)], 18, "name@test.edu", "555-123-4567");
+            students.add(student);
+            index.add(student);
+            String term = queries[i % queries.length];
+            List<Student> expected = students.stream()
+                    .filter(s -> s.getName().toLowerCase().contains(term))
+                    .sorted(StudentComparator.byNameAscending())
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.search(term), term + " after " + (i + 1) + " adds");
+        }
+    }
+
+    @Test
+    void testManagerSearchSeesNewStudents() {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        assertEquals(Arrays.asList("Nece Alisha", "Nece Kalisha"),
+                manager.searchByName("nece").stream().map(Student::getName).collect(Collectors.toList()));
+
+        manager.addStudent(new RegularStudent("Aaron Necessary", 18, "aaron@test.edu", "555-123-4567"));
+        assertEquals(Arrays.asList("Aaron Necessary", "Nece Alisha", "Nece Kalisha"),
+                manager.searchByName("NECE").stream().map(Student::getName).collect(Collectors.toList()));
+        assertTrue(manager.searchByName("zzz").isEmpty());
+    }
+}
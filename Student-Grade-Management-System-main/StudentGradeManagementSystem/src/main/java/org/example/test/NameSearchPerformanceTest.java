@@ -0,0 +1,98 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.NameSearchIndex;
+
+import java.util.*;
+
+/**
+ * Compares searchByName's previous full scan (lowercase every name, contains, then sort
+ * the matches by name) against the trigram NameSearchIndex, at 100k and 500k students.
+ * Run with -Xmx2g.
+ */
+public class NameSearchPerformanceTest {
+    private static final int[] STUDENT_COUNTS = {100_000, 500_000};
+    private static final int ROUNDS = 5;
+    private static final String[] FIRST = {
+            "Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace", "Henry", "Iris", "Jack",
+            "Kelly", "Leo", "Mia", "Nece", "Banks", "Bright", "Brooke", "Beauty", "Olivia", "Noah"};
+    private static final String[] QUERIES = {"nece kal", "son", "mia", "Thompson", "ly w", "rooke", "qzx"};
+
+    public static void main(String[] args) {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║         NAME SEARCH BENCHMARK (full scan vs trigrams)        ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        for (int count : STUDENT_COUNTS) {
+            run(count);
+        }
+    }
+
+    private static void run(int studentCount) {
+        Random random = new Random(3);
+        List<Student> students = new ArrayList<>(studentCount);
+        NameSearchIndex index = new NameSearchIndex();
+        long start = System.nanoTime();
+        for (int n = 1; n <= studentCount; n++) {
+            // Generated surnames keep most trigrams rare, as real surnames are
+            Student student = new RegularStudent(n, FIRST[random.nextInt(FIRST.length)] + " "
+                    + surname(random), 18, "student@test.edu", "555-123-4567");
+            students.add(student);
+            index.add(student);
+        }
+        index.search("warm");
+        long buildTime = System.nanoTime() - start;
+
+        System.out.printf("%,d students (index built and ordered in %.0f ms)\n", studentCount, buildTime / 1_000_000.0);
+        System.out.println("Query        | Full scan (ms) | Trigram (ms) | Matches");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        for (String query : QUERIES) {
+            long scanTime = Long.MAX_VALUE;
+            long indexTime = Long.MAX_VALUE;
+            List<Student> expected = null;
+            List<Student> actual = null;
+            // The first two rounds are warm-up for the JIT
+            for (int round = 0; round < ROUNDS + 2; round++) {
+                long t = System.nanoTime();
+                expected = scan(students, query);
+                long elapsed = System.nanoTime() - t;
+                if (round >= 2) scanTime = Math.min(scanTime, elapsed);
+
+                t = System.nanoTime();
+                actual = index.search(query);
+                elapsed = System.nanoTime() - t;
+                if (round >= 2) indexTime = Math.min(indexTime, elapsed);
+            }
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Results differ for " + query);
+            }
+            System.out.printf("%-12s | %14.2f | %12.3f | %,d\n", "\"" + query + "\"",
+                    scanTime / 1_000_000.0, indexTime / 1_000_000.0, actual.size());
+        }
+        System.out.println();
+    }
+
+    // The previous EnhancedStudentManager.searchByName
+    private static List<Student> scan(List<Student> students, String name) {
+        List<Student> results = new ArrayList<>();
+        String searchTerm = name.toLowerCase();
+        for (Student student : students) {
+            if (student.getName().toLowerCase().contains(searchTerm)) {
+                results.add(student);
+            }
+        }
+        results.sort(StudentComparator.byNameAscending());
+        return results;
+    }
+
+    private static String surname(Random random) {
+        String[] syllables = {"son", "ber", "kal", "ish", "mor", "tan", "wil", "ham", "ton", "ley", "rick", "ford"};
+        StringBuilder name = new StringBuilder();
+        int parts = 2 + random.nextInt(2);
+        for (int i = 0; i < parts; i++) {
+            name.append(syllables[random.nextInt(syllables.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+}
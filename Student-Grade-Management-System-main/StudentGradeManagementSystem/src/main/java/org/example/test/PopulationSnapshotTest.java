@@ -0,0 +1,72 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.EnhancedStudentManager;
+import org.example.service.PopulationSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopulationSnapshotTest {
+
+    @Test
+    void testSnapshotIgnoresLaterWrites() throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        Student student = manager.getAllStudents().get(0);
+        PopulationSnapshot before = manager.snapshot();
+        double[] scoresBefore = before.getScores(student);
+        double averageBefore = before.getAverage(student);
+        double[] allBefore = before.copyScores();
+
+        // Append, edit an existing grade and enroll a new student
+        manager.addGradeToStudent(student.getStudentId(),
+                new Grade(student.getStudentId(), new CoreSubject("Mathematics", "MAT101"), 12.0));
+        student.getGrades().get(0).recordGrade(student.getGrades().get(0).getGrade() == 1.0 ? 2.0 : 1.0);
+        manager.addStudent(new RegularStudent("Late Enrollment", 18, "late@test.edu", "555-123-4567"));
+
+        assertArrayEquals(scoresBefore, before.getScores(student));
+        assertEquals(averageBefore, before.getAverage(student), 1e-9);
+        assertArrayEquals(allBefore, before.copyScores());
+        assertEquals(manager.getStudentCount() - 1, before.getStudentCount());
+
+        PopulationSnapshot after = manager.snapshot();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(scoresBefore.length + 1, after.getGradeCount(student));
+        assertEquals(student.calculateAverageGrade(), after.getAverage(student), 1e-9);
+        assertEquals(manager.getStudentCount(), after.getStudentCount());
+    }
+
+    @Test
+    void testSnapshotStaysFrozenUnderConcurrentWrites() throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        List<Student> students = new ArrayList<>(manager.getAllStudents());
+        Subject art = new ElectiveSubject("Art", "ART101");
+        PopulationSnapshot snapshot = manager.snapshot();
+        double[] expected = snapshot.copyScores();
+
+        Thread writer = new Thread(() -> {
+            Random random = new Random(9);
+            for (int i = 0; i < 20_000; i++) {
+                Student student = students.get(random.nextInt(students.size()));
+                if (i % 10 == 0 && student.getGradeCount() > 0) {
+                    student.getGrades().get(0).recordGrade(random.nextInt(101));
+                } else {
+                    try {
+                        manager.addGradeToStudent(student.getStudentId(),
+                                new Grade(student.getStudentId(), art, random.nextInt(101)));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            assertArrayEquals(expected, snapshot.copyScores());
+        }
+        writer.join();
+        assertArrayEquals(expected, snapshot.copyScores());
+    }
+}
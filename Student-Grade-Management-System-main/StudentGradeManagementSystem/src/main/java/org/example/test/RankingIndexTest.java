@@ -0,0 +1,74 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.EnhancedStudentManager;
+import org.example.service.RankingIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingIndexTest {
+
+    private static final Comparator<Student> RANK_ORDER = (s1, s2) -> {
+        int result = Double.compare(s2.calculateAverageGrade(), s1.calculateAverageGrade());
+        return result != 0 ? result : Integer.compare(s1.getStudentNumber(), s2.getStudentNumber());
+    };
+
+    @Test
+    void testRandomUpdatesMatchSortedOrder() {
+        RankingIndex index = new RankingIndex();
+        List<Student> students = new ArrayList<>();
+        Subject math = new CoreSubject("Mathematics", "MAT101");
+        Random random = new Random(5);
+
+        for (int i = 0; i < 300; i++) {
+            Student student = new RegularStudent("Rank Student", 18, "rank@test.edu", "555-123-4567");
+            student.setChangeListener((changed, grade) -> index.update(changed));
+            students.add(student);
+            index.update(student);
+        }
+        for (int i = 0; i < 3000; i++) {
+            Student student = students.get(random.nextInt(students.size()));
+            if (student.getGradeCount() > 0 && random.nextBoolean()) {
+                // Edits go through Grade.recordGrade, which used to leave the rankings stale
+                student.getGrades().get(0).recordGrade(random.nextInt(101));
+            } else {
+                student.addGrade(new Grade(student.getStudentId(), math, random.nextInt(101)));
+            }
+        }
+
+        List<Student> expected = new ArrayList<>(students);
+        expected.sort(RANK_ORDER);
+        assertEquals(expected, index.toList());
+        assertEquals(expected.subList(0, 10), index.topK(10));
+        for (int rank = 1; rank <= expected.size(); rank++) {
+            Student student = expected.get(rank - 1);
+            assertEquals(rank, index.rankOf(student));
+            assertSame(student, index.select(rank));
+        }
+        assertSame(expected.get(0), index.atPercentile(100));
+        assertSame(expected.get(expected.size() - 1), index.atPercentile(0));
+        assertEquals(0.0, index.percentileOf(expected.get(expected.size() - 1)), 1e-9);
+
+        assertTrue(index.remove(expected.get(0)));
+        assertEquals(0, index.rankOf(expected.get(0)));
+        assertEquals(1, index.rankOf(expected.get(1)));
+        assertEquals(students.size() - 1, index.size());
+    }
+
+    @Test
+    void testManagerRankingFollowsGradeEdits() throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        Student student = new RegularStudent("Late Bloomer", 18, "late@test.edu", "555-123-4567");
+        manager.addStudent(student);
+        manager.addGradeToStudent(student.getStudentId(),
+                new Grade(student.getStudentId(), new CoreSubject("Mathematics", "MAT101"), 10.0));
+        assertNotEquals(student, manager.getTopStudents(1).get(0));
+
+        student.getGrades().get(0).recordGrade(100.0);
+        assertEquals(1, manager.getRankingIndex().rankOf(student));
+        assertSame(student, manager.getTopStudents(1).get(0));
+    }
+}
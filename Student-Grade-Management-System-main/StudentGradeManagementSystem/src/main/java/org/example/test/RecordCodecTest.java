@@ -0,0 +1,144 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.persistence.RecordReader;
+import org.example.persistence.RecordWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.test.TestPopulations.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordCodecTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Subject math = new CoreSubject("Mathematics", "MAT101");
+    private final Subject music = new ElectiveSubject("Music", "MUS101");
+
+    @Test
+    void testStudentsRoundTripAcrossBlocks() throws IOException {
+        Random random = new Random(15);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            Student student = i % 3 == 0
+                    ? new HonorsStudent("Grace Hopper", 18 + i % 5, "honors@test.edu", "555-987-6543")
+                    : new RegularStudent("Alan Turing", 18 + i % 5, "student@test.edu", "555-123-4567");
+            for (int g = random.nextInt(6); g > 0; g--) {
+                student.addGrade(new Grade(student.getStudentId(), g % 2 == 0 ? math : music,
+                        random.nextInt(201) / 2.0, LocalDate.of(2024, 1 + g, 10)));
+            }
+            students.add(student);
+        }
+        // Not a whole number of hundredths, so written as an exact double
+        students.get(0).addGrade(new Grade(students.get(0).getStudentId(), math, 72.345));
+        students.get(1).setStatus("Suspended");
+
+        Path path = tempDir.resolve("students.dat");
+        try (RecordWriter writer = new RecordWriter(path)) {
+            for (Student student : students) {
+                writer.write(student);
+            }
+            assertEquals(students.size(), writer.getRecordCount());
+        }
+        assertTrue(Files.size(path) > 64 * 1024, "Expected several blocks");
+
+        List<Student> read;
+        try (RecordReader reader = new RecordReader(path)) {
+            read = reader.readAll(Student.class);
+        }
+        assertEquals(describe(students), describe(read));
+    }
+
+    @Test
+    void testGradesSubjectsAndTasksRoundTrip() throws IOException {
+        Student student = new RegularStudent("Ada Lovelace", 20, "ada@test.edu", "555-123-4567");
+        Grade grade = new Grade(student.getStudentId(), music, 88.5, LocalDate.of(2023, 5, 1));
+        ScheduledTask never = new ScheduledTask("Weekly Batch Reports", ScheduledTask.ScheduleType.WEEKLY, 604800);
+        never.setNextExecution(null);
+        ScheduledTask ran = new ScheduledTask("Daily Database Backup", ScheduledTask.ScheduleType.DAILY, 86400);
+        ran.setLastExecution(LocalDateTime.of(2024, 3, 9, 2, 30, 15, 123_456_789));
+        ran.setLastStatus("Failed: disk full");
+        ran.setLastDurationMs(1234);
+        ran.setActive(false);
+
+        Path path = tempDir.resolve("mixed.dat");
+        try (RecordWriter writer = new RecordWriter(path)) {
+            writer.write(grade);
+            writer.write(math);
+            writer.write(never);
+            writer.write(ran);
+        }
+
+        try (RecordReader reader = new RecordReader(path)) {
+            Grade readGrade = (Grade) reader.read();
+            assertEquals(grade.getGradeId(), readGrade.getGradeId());
+            assertEquals(student.getStudentId(), readGrade.getStudentId());
+            assertSame(grade.getSubject(), readGrade.getSubject());
+            assertEquals(88.5, readGrade.getGrade());
+            assertEquals(grade.getDate(), readGrade.getDate());
+            assertSame(SubjectRegistry.getInstance().intern(math), reader.read());
+            assertSameTask(never, (ScheduledTask) reader.read());
+            assertSameTask(ran, (ScheduledTask) reader.read());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testCorruptBlockIsRejected() throws IOException {
+        Path path = tempDir.resolve("corrupt.dat");
+        try (RecordWriter writer = new RecordWriter(path)) {
+            for (int i = 0; i < 50; i++) {
+                writer.write(new RegularStudent("Barbara Liskov", 30, "barbara@test.edu", "555-123-4567"));
+            }
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length() / 2);
+            int b = file.read();
+            file.seek(file.length() / 2);
+            file.write(b ^ 0x04);
+        }
+        try (RecordReader reader = new RecordReader(path)) {
+            IOException e = assertThrows(IOException.class, () -> reader.readAll(Student.class));
+            assertTrue(e.getMessage().contains("corrupt"));
+        }
+    }
+
+    @Test
+    void testWrongRecordTypeAndForeignFilesAreRejected() throws IOException {
+        Path path = tempDir.resolve("subjects.dat");
+        try (RecordWriter writer = new RecordWriter(path)) {
+            writer.write(music);
+        }
+        try (RecordReader reader = new RecordReader(path)) {
+            assertThrows(IOException.class, () -> reader.readAll(Student.class));
+        }
+
+        Path foreign = tempDir.resolve("foreign.dat");
+        Files.write(foreign, "StudentID,Name\n".getBytes());
+        assertThrows(IOException.class, () -> new RecordReader(foreign));
+    }
+
+    private static void assertSameTask(ScheduledTask expected, ScheduledTask actual) {
+        assertEquals(expected.getTaskId(), actual.getTaskId());
+        assertEquals(expected.getTaskName(), actual.getTaskName());
+        assertEquals(expected.getScheduleType(), actual.getScheduleType());
+        assertEquals(expected.getIntervalSeconds(), actual.getIntervalSeconds());
+        assertEquals(expected.getLastExecution(), actual.getLastExecution());
+        assertEquals(expected.getNextExecution(), actual.getNextExecution());
+        assertEquals(expected.getLastStatus(), actual.getLastStatus());
+        assertEquals(expected.getLastDurationMs(), actual.getLastDurationMs());
+        assertEquals(expected.isActive(), actual.isActive());
+    }
+}
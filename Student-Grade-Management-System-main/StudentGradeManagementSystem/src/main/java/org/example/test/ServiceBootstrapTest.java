@@ -0,0 +1,135 @@
+package org.example.test;
+
+import org.example.utils.ServiceBootstrap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceBootstrapTest {
+
+    @Test
+    void testLazyServiceIsBuiltOnceOnFirstUse() throws Exception {
+        ServiceBootstrap bootstrap = new ServiceBootstrap();
+        AtomicInteger builds = new AtomicInteger();
+        ServiceBootstrap.Service<StringBuilder> service = bootstrap.lazy("Builder", () -> {
+            builds.incrementAndGet();
+            sleep(50);
+            return new StringBuilder("ready");
+        });
+        assertFalse(service.isStarted());
+        assertEquals(0, builds.get());
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<StringBuilder>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(service::get));
+        }
+        StringBuilder first = results.get(0).get();
+        for (Future<StringBuilder> result : results) {
+            assertSame(first, result.get());
+        }
+        callers.shutdown();
+        assertEquals(1, builds.get());
+        assertTrue(service.isStarted());
+    }
+
+    @Test
+    void testBackgroundServicesStartAtOnceAndInParallel() throws Exception {
+        ServiceBootstrap bootstrap = new ServiceBootstrap();
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        // Each factory only finishes once the other is running too
+        ServiceBootstrap.Service<String> first = bootstrap.background("First", () -> rendezvous(bothRunning, "a"));
+        ServiceBootstrap.Service<String> second = bootstrap.background("Second", () -> rendezvous(bothRunning, "b"));
+        assertTrue(first.isStarted());
+        assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+        assertEquals("a", first.get());
+        assertEquals("b", second.get());
+
+        // A background factory can wait on the service it depends on
+        ServiceBootstrap.Service<String> dependent = bootstrap.background("Dependent", () -> first.get() + second.get());
+        assertEquals("ab", dependent.get());
+    }
+
+    @Test
+    void testTimelineRecordsServicesAndMilestones() {
+        ServiceBootstrap bootstrap = new ServiceBootstrap();
+        ServiceBootstrap.Service<Integer> eager = bootstrap.background("Eager", () -> 1);
+        ServiceBootstrap.Service<Integer> unused = bootstrap.lazy("Unused", () -> 2);
+        ServiceBootstrap.Service<Integer> slow = bootstrap.lazy("Slow", () -> {
+            sleep(30);
+            return 3;
+        });
+        eager.get();
+        slow.get();
+        long ready = bootstrap.mark("Menu ready");
+
+        List<ServiceBootstrap.Event> timeline = bootstrap.getTimeline();
+        List<String> names = timeline.stream().map(ServiceBootstrap.Event::getName).collect(Collectors.toList());
+        assertTrue(names.containsAll(Arrays.asList("Eager", "Slow", "Menu ready")), names.toString());
+        assertFalse(names.contains("Unused"));
+
+        ServiceBootstrap.Event slowEvent = timeline.get(names.indexOf("Slow"));
+        assertEquals("on demand", slowEvent.getMode());
+        assertTrue(slowEvent.getInitMillis() >= 25, "init " + slowEvent.getInitMillis());
+        assertEquals("background", timeline.get(names.indexOf("Eager")).getMode());
+        ServiceBootstrap.Event milestone = timeline.get(names.indexOf("Menu ready"));
+        assertTrue(milestone.isMilestone());
+        assertEquals(ready, milestone.getStartMillis());
+        assertTrue(ready > 0);
+        assertFalse(unused.isStarted());
+    }
+
+    @Test
+    void testIfStartedSkipsServicesNeverUsedAndFailuresRepeat() {
+        ServiceBootstrap bootstrap = new ServiceBootstrap();
+        AtomicInteger shutdowns = new AtomicInteger();
+        ServiceBootstrap.Service<AtomicInteger> unused = bootstrap.lazy("Unused", AtomicInteger::new);
+        unused.ifStarted(counter -> shutdowns.incrementAndGet());
+        assertFalse(unused.isStarted());
+        assertEquals(0, shutdowns.get());
+
+        ServiceBootstrap.Service<AtomicInteger> unavailable = bootstrap.lazy("Unavailable", () -> null);
+        assertNull(unavailable.get());
+        unavailable.ifStarted(counter -> shutdowns.incrementAndGet());
+        assertEquals(0, shutdowns.get());
+
+        ServiceBootstrap.Service<String> broken = bootstrap.background("Broken", () -> {
+            throw new IllegalStateException("no disk");
+        });
+        assertEquals("no disk", assertThrows(IllegalStateException.class, broken::get).getMessage());
+        assertThrows(IllegalStateException.class, broken::get);
+        broken.ifStarted(service -> shutdowns.incrementAndGet());
+        assertEquals(0, shutdowns.get());
+    }
+
+    private static String rendezvous(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Bootstraps ran one after the other");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.test;
+
+import org.example.models.*;
+
+import java.util.*;
+
+/**
+ * Compares sorting students by GPA using the O(1) running aggregates in Student
+ * against the previous behaviour of re-scanning every grade inside the comparator.
+ */
+public class StudentAggregatePerformanceTest {
+    private static final int STUDENT_COUNT = 100_000;
+    private static final int GRADES_PER_STUDENT = 8;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║     STUDENT AGGREGATE SORT BENCHMARK (100k students)         ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : STUDENT_COUNT;
+        List<Student> students = createStudents(studentCount);
+        System.out.println("✓ Created " + students.size() + " students with " + GRADES_PER_STUDENT + " grades each\n");
+
+        // Step 1: Consistency check mode on a sample, including an edit through Grade.recordGrade
+        System.out.println("Step 1: Consistency check on 1,000 students");
+        Student.setConsistencyCheckEnabled(true);
+        for (int i = 0; i < 1000; i++) {
+            Student student = students.get(i);
+            student.getGrades().get(0).recordGrade(100.0 - (i % 40));
+            student.calculateAverageGrade();
+            student.getCoreAverage();
+            student.getElectiveAverage();
+            student.getHighestGrade();
+            student.getLowestGrade();
+        }
+        Student.setConsistencyCheckEnabled(false);
+        System.out.println("✓ Aggregates match a full re-scan\n");
+
+        Comparator<Student> aggregate = StudentComparator.byGPADescending();
+        Comparator<Student> rescan = (s1, s2) -> {
+            int result = Double.compare(rescanAverage(s2), rescanAverage(s1));
+            return result != 0 ? result : s1.getName().compareToIgnoreCase(s2.getName());
+        };
+
+        // Warm up both paths so the JIT has compiled them before timing
+        for (int i = 0; i < 2; i++) {
+            sortCopy(students, aggregate);
+            sortCopy(students, rescan);
+        }
+
+        System.out.println("Step 2: Sort by GPA (" + ROUNDS + " rounds each)");
+        long rescanTime = Long.MAX_VALUE;
+        long aggregateTime = Long.MAX_VALUE;
+        List<Student> rescanSorted = null;
+        List<Student> aggregateSorted = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            rescanSorted = sortCopy(students, rescan);
+            rescanTime = Math.min(rescanTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            aggregateSorted = sortCopy(students, aggregate);
+            aggregateTime = Math.min(aggregateTime, System.nanoTime() - start);
+        }
+
+        System.out.println("─────────────────────────────────────────────────────────────");
+        System.out.printf("Re-scan comparator:   %8.2f ms\n", rescanTime / 1_000_000.0);
+        System.out.printf("Aggregate comparator: %8.2f ms\n", aggregateTime / 1_000_000.0);
+        System.out.printf("Speedup:              %8.2fx\n", (double) rescanTime / aggregateTime);
+
+        for (int i = 0; i < students.size(); i++) {
+            if (rescanSorted.get(i) != aggregateSorted.get(i)) {
+                throw new IllegalStateException("Sort orders differ at position " + i);
+            }
+        }
+        System.out.println("\n✓ Both comparators produce the same order");
+    }
+
+    private static List<Student> createStudents(int count) {
+        String[] firstNames = {"John", "Jane", "Bob", "Alice", "Tom", "Mary", "David", "Sarah", "Mike", "Lisa"};
+        String[] lastNames = {"Smith", "Johnson", "Brown", "Davis", "Wilson", "Moore", "Taylor", "Anderson", "Thomas", "Jackson"};
+        Subject[] subjects = {
+            new CoreSubject("Mathematics", "MAT101"), new CoreSubject("English", "ENG101"),
+            new CoreSubject("Science", "SCI101"), new ElectiveSubject("Art", "ART101"),
+            new ElectiveSubject("Music", "MUS101")
+        };
+        Random random = new Random(42);
+
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = firstNames[i % 10] + " " + lastNames[(i / 10) % 10];
+            Student student = i % 3 == 0
+                ? new HonorsStudent(name, 18, "student" + i + "@test.edu", "555-123-4567")
+                : new RegularStudent(name, 18, "student" + i + "@test.edu", "555-123-4567");
+            for (int g = 0; g < GRADES_PER_STUDENT; g++) {
+                student.addGrade(new Grade(student.getStudentId(), subjects[g % subjects.length], 40 + random.nextInt(61)));
+            }
+            students.add(student);
+        }
+        return students;
+    }
+
+    private static List<Student> sortCopy(List<Student> students, Comparator<Student> comparator) {
+        List<Student> copy = new ArrayList<>(students);
+        copy.sort(comparator);
+        return copy;
+    }
+
+    // The pre-aggregate implementation of calculateAverageGrade()
+    private static double rescanAverage(Student student) {
+        List<Grade> grades = student.getGrades();
+        if (grades.isEmpty()) return 0.0;
+
+        double sum = 0;
+        for (Grade grade : grades) {
+            sum += grade.getGrade();
+        }
+        return sum / grades.size();
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.EnhancedStudentManager;
+import org.example.service.GPACalculator;
+import org.example.service.StudentBitmapIndex;
+import org.example.utils.CompressedBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentBitmapIndexTest {
+
+    @Test
+    void testBitmapOperationsMatchBitSet() {
+        Random random = new Random(21);
+        // Sparse, dense and mixed chunks so both container kinds meet each other
+        int[] ranges = {1_000, 70_000, 300_000};
+        int[] counts = {200, 60_000, 20_000};
+        for (int i = 0; i < ranges.length; i++) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            CompressedBitmap a = new CompressedBitmap();
+            CompressedBitmap b = new CompressedBitmap();
+            for (int j = 0; j < counts[i]; j++) {
+                int x = random.nextInt(ranges[i]);
+                int y = random.nextInt(ranges[i]);
+                a.add(x);
+                expectedA.set(x);
+                b.add(y);
+                expectedB.set(y);
+            }
+            for (int j = 0; j < counts[i] / 3; j++) {
+                int x = random.nextInt(ranges[i]);
+                a.remove(x);
+                expectedA.clear(x);
+            }
+
+            assertBitmapEquals(expectedA, a);
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            assertBitmapEquals(and, a.and(b));
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+            assertBitmapEquals(or, a.or(b));
+            BitSet andNot = (BitSet) expectedA.clone();
+            andNot.andNot(expectedB);
+            assertBitmapEquals(andNot, a.andNot(b));
+        }
+    }
+
+    @Test
+    void testIndexFollowsGradesAndStatus() throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        StudentBitmapIndex index = manager.getBitmapIndex();
+        Student student = new HonorsStudent("Index Student", 18, "index@test.edu", "555-123-4567");
+        manager.addStudent(student);
+        assertTrue(index.students(index.failing()).contains(student));
+        assertFalse(index.students(index.ofSubjectCode("MUS101")).contains(student));
+
+        manager.addGradeToStudent(student.getStudentId(),
+                new Grade(student.getStudentId(), new ElectiveSubject("Music", "MUS101"), 95.0));
+        assertTrue(index.students(index.ofLetterGrade("A")).contains(student));
+        assertTrue(index.students(index.passing()).contains(student));
+        assertTrue(index.students(index.ofType("HONORS").and(index.ofLetterGrade("A"))
+                .and(index.ofSubjectCode("MUS101"))).contains(student));
+
+        // Edits move the student between bands
+        student.getGrades().get(0).recordGrade(50.0);
+        assertFalse(index.students(index.ofLetterGrade("A")).contains(student));
+        assertTrue(index.students(index.ofLetterGrade("F")).contains(student));
+        assertTrue(index.students(index.failing()).contains(student));
+
+        student.setStatus("Suspended");
+        assertEquals(Collections.singletonList(student), index.students(index.ofStatus("Suspended")));
+        assertFalse(index.students(index.ofStatus("Active")).contains(student));
+    }
+
+    @Test
+    void testQueriesMatchFullScans() throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        Subject[] subjects = {
+                new CoreSubject("Mathematics", "MAT101"), new ElectiveSubject("Music", "MUS101"),
+                new ElectiveSubject("Art", "ART101")};
+        Random random = new Random(4);
+        for (int i = 0; i < 500; i++) {
+            Student student = random.nextBoolean()
+                    ? new HonorsStudent("Scan Student", 18, "scan@test.edu", "555-123-4567")
+                    : new RegularStudent("Scan Student", 18, "scan@test.edu", "555-123-4567");
+            manager.addStudent(student);
+            int grades = random.nextInt(4);
+            for (int g = 0; g < grades; g++) {
+                manager.addGradeToStudent(student.getStudentId(), new Grade(student.getStudentId(),
+                        subjects[random.nextInt(subjects.length)], 40 + random.nextInt(61)));
+            }
+            if (random.nextInt(10) == 0) {
+                student.setStatus("Inactive");
+            }
+        }
+        List<Student> all = manager.getAllStudents();
+        StudentBitmapIndex index = manager.getBitmapIndex();
+        GPACalculator gpaCalculator = new GPACalculator();
+
+        for (String letter : new String[]{"A", "B+", "C-", "F"}) {
+            assertEquals(all.stream()
+                    .filter(s -> gpaCalculator.convertPercentageToLetterGrade(s.calculateAverageGrade()).equals(letter))
+                    .collect(Collectors.toList()), index.students(index.ofLetterGrade(letter)));
+        }
+        assertEquals(all.stream().filter(Student::isPassing).collect(Collectors.toList()),
+                index.students(index.passing()));
+        assertEquals(all.stream().filter(s -> "Inactive".equals(s.getStatus())).collect(Collectors.toList()),
+                index.students(index.ofStatus("Inactive")));
+
+        List<Student> expected = all.stream()
+                .filter(s -> s instanceof HonorsStudent)
+                .filter(s -> s.calculateAverageGrade() >= 93)
+                .filter(s -> s.getGrades().stream().anyMatch(g -> g.getSubject().getSubjectCode().equals("MUS101")))
+                .collect(Collectors.toList());
+        assertEquals(expected, index.students(index.ofType("Honors").and(index.ofLetterGrade("A"))
+                .and(index.ofSubjectCode("MUS101"))));
+
+        List<Student> range = all.stream()
+                .filter(s -> s.calculateAverageGrade() >= 75.5 && s.calculateAverageGrade() <= 88)
+                .sorted(StudentComparator.byGPADescending())
+                .collect(Collectors.toList());
+        assertEquals(range, manager.searchByGradeRange(75.5, 88));
+    }
+
+    private static void assertBitmapEquals(BitSet expected, CompressedBitmap actual) {
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        assertEquals(expected.cardinality(), actual.cardinality());
+        for (int value = expected.nextSetBit(0); value >= 0; value = expected.nextSetBit(value + 1)) {
+            assertTrue(actual.contains(value));
+        }
+    }
+}
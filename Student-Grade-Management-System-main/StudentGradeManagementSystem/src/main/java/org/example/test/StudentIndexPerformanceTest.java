@@ -0,0 +1,123 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.utils.IdAllocator;
+import org.example.utils.IntObjectMap;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Compares student lookup by ID through the previous path (regex validation, then a
+ * HashMap keyed by the ID string) against the int-keyed open-addressing index used by
+ * EnhancedStudentManager, at 10k and 1M students. Run with -Xmx2g for the 1M case.
+ */
+public class StudentIndexPerformanceTest {
+    private static final int[] STUDENT_COUNTS = {10_000, 1_000_000};
+    private static final int LOOKUPS = 2_000_000;
+    private static final int ROUNDS = 5;
+    // The regex searchById ran before every lookup, widened to cover 7-digit IDs
+    private static final Pattern STUDENT_ID_PATTERN = Pattern.compile("^STU\\d{3,9}$");
+
+    public static void main(String[] args) {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║     STUDENT INDEX LOOKUP BENCHMARK (10k / 1M students)       ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        for (int count : STUDENT_COUNTS) {
+            run(count);
+        }
+    }
+
+    private static void run(int studentCount) {
+        Map<String, Student> byId = new HashMap<>();
+        IntObjectMap<Student> byNumber = new IntObjectMap<>();
+        for (int n = 1; n <= studentCount; n++) {
+            Student student = new RegularStudent(n, "Student Number", 18, "student@test.edu", "555-123-4567");
+            byId.put(student.getStudentId(), student);
+            byNumber.put(n, student);
+        }
+
+        // Lookups arrive as ID strings, as they do from the menu, CSV imports and report batches
+        Random random = new Random(11);
+        String[] queries = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            queries[i] = IdAllocator.STUDENTS.format(1 + random.nextInt(studentCount));
+        }
+
+        long hashMapTime = Long.MAX_VALUE;
+        long indexTime = Long.MAX_VALUE;
+        long bulkTime = Long.MAX_VALUE;
+        long expected = 0;
+        long mismatches = 0;
+        // The first two rounds are warm-up for the JIT
+        for (int round = 0; round < ROUNDS + 2; round++) {
+            long start = System.nanoTime();
+            expected = hashMapLookups(byId, queries);
+            long elapsed = System.nanoTime() - start;
+            if (round >= 2) hashMapTime = Math.min(hashMapTime, elapsed);
+
+            start = System.nanoTime();
+            long indexSum = indexLookups(byNumber, queries);
+            elapsed = System.nanoTime() - start;
+            if (round >= 2) indexTime = Math.min(indexTime, elapsed);
+
+            start = System.nanoTime();
+            long bulkSum = bulkLookups(byNumber, queries);
+            elapsed = System.nanoTime() - start;
+            if (round >= 2) bulkTime = Math.min(bulkTime, elapsed);
+
+            if (indexSum != expected || bulkSum != expected) mismatches++;
+        }
+        if (mismatches != 0) {
+            throw new IllegalStateException("Lookup paths disagree");
+        }
+
+        System.out.printf("%,d students, %,d lookups\n", studentCount, LOOKUPS);
+        System.out.println("─────────────────────────────────────────────────────────────");
+        System.out.printf("Regex + HashMap<String>:   %8.2f ms  (%5.1f ns/op)\n",
+                hashMapTime / 1_000_000.0, (double) hashMapTime / LOOKUPS);
+        System.out.printf("Parse + IntObjectMap:      %8.2f ms  (%5.1f ns/op)\n",
+                indexTime / 1_000_000.0, (double) indexTime / LOOKUPS);
+        System.out.printf("Bulk findAll(int[]):       %8.2f ms  (%5.1f ns/op)\n",
+                bulkTime / 1_000_000.0, (double) bulkTime / LOOKUPS);
+        System.out.printf("Speedup (single lookups):  %8.2fx\n\n", (double) hashMapTime / indexTime);
+    }
+
+    private static long hashMapLookups(Map<String, Student> byId, String[] queries) {
+        long sum = 0;
+        for (String id : queries) {
+            if (!STUDENT_ID_PATTERN.matcher(id).matches()) {
+                throw new IllegalArgumentException(id);
+            }
+            sum += byId.get(id).getStudentNumber();
+        }
+        return sum;
+    }
+
+    // Mirrors EnhancedStudentManager.findStudent(String)
+    private static long indexLookups(IntObjectMap<Student> byNumber, String[] queries) {
+        long sum = 0;
+        for (String id : queries) {
+            Student student = byNumber.get(IdAllocator.STUDENTS.parse(id));
+            if (student == null || !student.getStudentId().equals(id)) {
+                throw new IllegalArgumentException(id);
+            }
+            sum += student.getStudentNumber();
+        }
+        return sum;
+    }
+
+    // Mirrors the report and import paths: parse every ID, then resolve them with findAll
+    private static long bulkLookups(IntObjectMap<Student> byNumber, String[] queries) {
+        int[] numbers = new int[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            numbers[i] = IdAllocator.STUDENTS.parse(queries[i]);
+        }
+        long sum = 0;
+        for (int number : numbers) {
+            sum += byNumber.get(number).getStudentNumber();
+        }
+        return sum;
+    }
+}
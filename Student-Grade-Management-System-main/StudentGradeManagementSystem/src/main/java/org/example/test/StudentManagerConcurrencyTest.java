@@ -0,0 +1,120 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.EnhancedStudentManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentManagerConcurrencyTest {
+
+    @Test
+    void testConcurrentWritersAndReadersKeepRankingsConsistent() throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        List<String> ids = new CopyOnWriteArrayList<>(manager.getAllStudentIds());
+        int initialGrades = manager.getGradeStore().getLiveRowCount();
+        Subject math = new CoreSubject("Mathematics", "MAT101");
+
+        int threadCount = 8;
+        int opsPerThread = 2_000;
+        AtomicInteger gradesAdded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threadCount; t++) {
+            final int seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int op = 0; op < opsPerThread; op++) {
+                    int roll = random.nextInt(100);
+                    if (roll < 5) {
+                        Student student = new RegularStudent("Thread Student", 18, "thread@test.edu", "555-123-4567");
+                        manager.addStudent(student);
+                        ids.add(student.getStudentId());
+                    } else if (roll < 40) {
+                        String id = ids.get(random.nextInt(ids.size()));
+                        manager.addGradeToStudent(id, new Grade(id, math, random.nextInt(101)));
+                        gradesAdded.incrementAndGet();
+                    } else if (roll < 45) {
+                        manager.getAllStudents();
+                        manager.getAverageClassGrade();
+                        manager.getGPARankings();
+                    } else {
+                        assertNotNull(manager.searchById(ids.get(random.nextInt(ids.size()))));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(ids.size(), manager.getStudentCount());
+        assertEquals(initialGrades + gradesAdded.get(), manager.getGradeStore().getLiveRowCount());
+
+        // Every student is ranked exactly once, under its current average
+        Set<Student> ranked = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<Double, List<Student>> entry : manager.getGPARankings().entrySet()) {
+            for (Student student : entry.getValue()) {
+                assertTrue(ranked.add(student), "Student ranked twice: " + student.getStudentId());
+                assertEquals(student.calculateAverageGrade(), entry.getKey(), 1e-9);
+            }
+        }
+        assertEquals(ids.size(), ranked.size());
+    }
+
+    @Test
+    void testGradeEditsDoNotLoseConcurrentlyAddedGrades() throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager(false);
+        Subject math = new CoreSubject("Mathematics", "MAT101");
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Student student = new RegularStudent("Student " + (char) ('A' + i), 18, "student@test.edu", "555-123-4567");
+            manager.addStudent(student);
+            manager.addGradeToStudent(student.getStudentId(), new Grade(student.getStudentId(), math, 50));
+            students.add(student);
+        }
+
+        int appendsPerStudent = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> editor = executor.submit(() -> {
+                Random random = new Random(6);
+                for (int op = 0; op < 20_000; op++) {
+                    Student student = students.get(op % students.size());
+                    assertTrue(manager.recordGrade(student.getGrades().get(0), random.nextInt(101)));
+                }
+                return null;
+            });
+            Future<?> appender = executor.submit(() -> {
+                for (int op = 0; op < appendsPerStudent; op++) {
+                    for (Student student : students) {
+                        manager.addGradeToStudent(student.getStudentId(), new Grade(student.getStudentId(), math, 75));
+                    }
+                }
+                return null;
+            });
+            editor.get();
+            appender.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // The running aggregates match a recount of each student's grades
+        for (Student student : students) {
+            List<Grade> grades = student.getGrades();
+            assertEquals(appendsPerStudent + 1, grades.size());
+            double sum = 0;
+            for (Grade grade : grades) {
+                sum += grade.getGrade();
+            }
+            assertEquals(sum / grades.size(), student.calculateAverageGrade(), 1e-9, student.getStudentId());
+        }
+    }
+}
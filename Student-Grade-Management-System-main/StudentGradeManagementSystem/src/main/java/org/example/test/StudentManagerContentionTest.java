@@ -0,0 +1,115 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.EnhancedStudentManager;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures EnhancedStudentManager throughput at 1-32 threads on a mixed workload
+ * (lookups by ID, whole-class scans and grade appends), against the same calls made
+ * through a single global monitor as a coarse-locking baseline.
+ */
+public class StudentManagerContentionTest {
+    private static final int STUDENT_COUNT = 10_000;
+    private static final int OPS_PER_THREAD = 200_000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+    // Out of 1000 operations: appends, scans, and lookups for the rest
+    private static final int APPEND_PER_MILLE = 50;
+    private static final int SCAN_PER_MILLE = 1;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║     STUDENT MANAGER CONTENTION BENCHMARK (1-32 threads)      ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        Subject[] subjects = {
+                new CoreSubject("Mathematics", "MAT101"), new CoreSubject("English", "ENG101"),
+                new ElectiveSubject("Art", "ART101"), new ElectiveSubject("Music", "MUS101")
+        };
+
+        System.out.printf("%d students, %d ops/thread, %.1f%% appends, %.1f%% scans\n\n",
+                STUDENT_COUNT, OPS_PER_THREAD, APPEND_PER_MILLE / 10.0, SCAN_PER_MILLE / 10.0);
+        System.out.println("Threads | Global lock (ops/ms) | Concurrent (ops/ms) | Speedup");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        // One warm-up pass at the widest setting before timing
+        run(8, subjects, true);
+        run(8, subjects, false);
+
+        for (int threads : THREAD_COUNTS) {
+            double coarse = run(threads, subjects, true);
+            double concurrent = run(threads, subjects, false);
+            System.out.printf("%7d | %20.0f | %19.0f | %6.2fx\n", threads, coarse, concurrent, concurrent / coarse);
+        }
+        System.out.println("\n✓ Completed without ConcurrentModificationException");
+    }
+
+    // Returns throughput in operations per millisecond
+    private static double run(int threadCount, Subject[] subjects, boolean globalLock) throws Exception {
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        List<String> ids = new ArrayList<>(STUDENT_COUNT);
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            Student student = i % 2 == 0
+                    ? new RegularStudent("Student Number", 18, "student@test.edu", "555-123-4567")
+                    : new HonorsStudent("Student Number", 18, "student@test.edu", "555-123-4567");
+            manager.addStudent(student);
+            ids.add(student.getStudentId());
+        }
+        while (manager.getNextTask() != null) {
+            // Drop the enrollment tasks so the queue does not grow across runs
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        Object monitor = new Object();
+
+        for (int t = 0; t < threadCount; t++) {
+            final int seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                long checksum = 0;
+                ready.countDown();
+                start.await();
+                for (int op = 0; op < OPS_PER_THREAD; op++) {
+                    if (globalLock) {
+                        synchronized (monitor) {
+                            checksum += operation(manager, ids, subjects, random);
+                        }
+                    } else {
+                        checksum += operation(manager, ids, subjects, random);
+                    }
+                }
+                return checksum;
+            }));
+        }
+
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<Long> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return (double) threadCount * OPS_PER_THREAD / (elapsed / 1_000_000.0);
+    }
+
+    private static long operation(EnhancedStudentManager manager, List<String> ids,
+                                  Subject[] subjects, Random random) throws Exception {
+        int roll = random.nextInt(1000);
+        String id = ids.get(random.nextInt(ids.size()));
+        if (roll < APPEND_PER_MILLE) {
+            manager.addGradeToStudent(id, new Grade(id, subjects[roll & 3], 50 + random.nextInt(51)));
+            manager.getNextTask();
+            return 1;
+        } else if (roll < APPEND_PER_MILLE + SCAN_PER_MILLE) {
+            return manager.getAllStudents().size();
+        } else {
+            return manager.searchById(id).getStudentNumber();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.service.CacheManager;
+import org.example.service.EnhancedStudentManager;
+import org.example.utils.IdAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentMutationListenerTest {
+
+    private final Subject math = new CoreSubject("Mathematics", "MAT101");
+    private final List<StudentMutationEvent> events = new ArrayList<>();
+    private EnhancedStudentManager manager;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        manager = new EnhancedStudentManager(false);
+        students = new ArrayList<>();
+        for (String name : new String[]{"Alice Smith", "Bob Jones", "Carol White"}) {
+            Student student = new RegularStudent(name, 18, "student@test.edu", "555-123-4567");
+            manager.addStudent(student);
+            students.add(student);
+        }
+        manager.addMutationListener(events::add);
+    }
+
+    @Test
+    void testEachChangeIsReportedOnItsOwn() throws Exception {
+        Student alice = students.get(0);
+        manager.addGradeToStudent(alice.getStudentId(), new Grade(alice.getStudentId(), math, 80));
+        alice.setStatus("Inactive");
+        Student dave = new RegularStudent("Dave Brown", 19, "dave@test.edu", "555-123-4567");
+        manager.addStudent(dave);
+
+        assertEquals(3, events.size());
+        assertEquals(Collections.singletonList(alice), events.get(0).getChangedStudents());
+        assertTrue(events.get(0).getAddedStudents().isEmpty());
+        assertFalse(events.get(0).isBatch());
+        assertEquals(Collections.singletonList(alice), events.get(1).getChangedStudents());
+        assertEquals(Collections.singletonList(dave), events.get(2).getAddedStudents());
+    }
+
+    @Test
+    void testBatchIsReportedOnceWithEachStudentOnce() {
+        Student dave = new RegularStudent("Dave Brown", 19, "dave@test.edu", "555-123-4567");
+        manager.batchMutations(() -> {
+            for (int i = 0; i < 10; i++) {
+                Student student = students.get(i % 2);
+                student.addGrade(new Grade(student.getStudentId(), math, 70 + i));
+            }
+            manager.addStudent(dave);
+            // Nested batches join the outer one
+            manager.batchMutations(() -> dave.addGrade(new Grade(dave.getStudentId(), math, 90)));
+            assertTrue(events.isEmpty());
+        });
+
+        assertEquals(1, events.size());
+        StudentMutationEvent event = events.get(0);
+        assertEquals(Arrays.asList(students.get(0), students.get(1)), event.getChangedStudents());
+        assertEquals(Collections.singletonList(dave), event.getAddedStudents());
+        assertEquals(12, event.getMutationCount());
+        assertEquals(new LinkedHashSet<>(Arrays.asList(dave.getStudentId(), students.get(0).getStudentId(),
+                students.get(1).getStudentId())), event.getStudentIds());
+    }
+
+    @Test
+    void testFailedBatchStillReportsWhatItChanged() {
+        Student carol = students.get(2);
+        assertThrows(IllegalStateException.class, () -> manager.batchMutations(() -> {
+            carol.addGrade(new Grade(carol.getStudentId(), math, 55));
+            throw new IllegalStateException("bad row");
+        }));
+        assertEquals(1, events.size());
+        assertEquals(Collections.singletonList(carol), events.get(0).getChangedStudents());
+
+        // A failing listener does not fail the mutation
+        manager.addMutationListener(event -> { throw new IllegalStateException("listener bug"); });
+        carol.addGrade(new Grade(carol.getStudentId(), math, 65));
+        assertEquals(2, carol.getGradeCount());
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void testCacheManagerInvalidatesOnlyWhatDependsOnTheChange() {
+        CacheManager cacheManager = new CacheManager(manager);
+        try {
+            Student alice = students.get(0);
+            Student bob = students.get(1);
+            cacheManager.putReport(alice.getStudentId(), "alice v1");
+            cacheManager.putReport(bob.getStudentId(), "bob v1");
+            cacheManager.putStats("class_average", new HashMap<>());
+            cacheManager.putStats("alice_trend", new HashMap<>(), Collections.singletonList(alice.getStudentId()));
+            cacheManager.putStats("bob_trend", new HashMap<>(), Collections.singletonList(bob.getStudentId()));
+
+            alice.addGrade(new Grade(alice.getStudentId(), math, 88));
+
+            assertNull(cacheManager.getReport(alice.getStudentId()));
+            assertEquals("bob v1", cacheManager.getReport(bob.getStudentId()));
+            assertNull(cacheManager.getStats("class_average"));
+            assertNull(cacheManager.getStats("alice_trend"));
+            assertNotNull(cacheManager.getStats("bob_trend"));
+            assertSame(alice, cacheManager.getStudent(alice.getStudentId()));
+
+            // An ID remembered as missing is forgotten once the student is added
+            String nextId = IdAllocator.STUDENTS.format(IdAllocator.STUDENTS.peekNextNumber());
+            assertNull(cacheManager.getStudent(nextId));
+            Student dave = new RegularStudent("Dave Brown", 19, "dave@test.edu", "555-123-4567");
+            manager.addStudent(dave);
+            assertEquals(nextId, dave.getStudentId());
+            assertSame(dave, cacheManager.getStudent(nextId));
+        } finally {
+            cacheManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.test;
+
+import org.example.exceptions.StudentNotFoundException;
+import org.example.models.*;
+import org.example.service.EnhancedStudentManager;
+import org.example.utils.IdAllocator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Random student populations for the persistence tests and benchmarks, and plain-string
+ * renderings of students and grades so that what a test reads back can be compared with
+ * what it wrote.
+ */
+final class TestPopulations {
+
+    private static final int BATCH_SIZE = 16_384;
+
+    static final Subject[] SUBJECTS = {new CoreSubject("Mathematics", "MAT101"),
+            new CoreSubject("English", "ENG101"), new ElectiveSubject("Music", "MUS101")};
+
+    private static final String[] NAMES = {"Ada Lovelace", "Alan Turing", "Grace Hopper", "Edsger Dijkstra",
+            "Barbara Liskov"};
+
+    static final String[] FIRST_NAMES = {"Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace", "Henry"};
+    static final String[] LAST_NAMES = {"Smith", "Jones", "Brown", "Taylor", "Wilson", "Davies", "Evans"};
+
+    private TestPopulations() {
+    }
+
+    // Three core and two elective subjects, interned so batches can refer to them by ID
+    static Subject[] benchmarkSubjects() {
+        SubjectRegistry registry = SubjectRegistry.getInstance();
+        return new Subject[]{
+                registry.intern(new CoreSubject("Mathematics", "MAT101")),
+                registry.intern(new CoreSubject("English", "ENG101")),
+                registry.intern(new CoreSubject("Science", "SCI101")),
+                registry.intern(new ElectiveSubject("Music", "MUS101")),
+                registry.intern(new ElectiveSubject("Art", "ART101"))};
+    }
+
+    /**
+     * Benchmark-sized population for EnhancedStudentManager.bulkLoad: one in four students
+     * is an honors student, and grade g of each is in subjects[g % subjects.length].
+     */
+    static List<StudentBatch> generateBatches(int count, int gradesPerStudent, Subject[] subjects, Random random) {
+        List<StudentBatch> batches = new ArrayList<>();
+        int base = IdAllocator.STUDENTS.peekNextNumber();
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            int size = Math.min(BATCH_SIZE, count - from);
+            Student[] students = new Student[size];
+            int[] gradeCounts = new int[size];
+            int grades = size * gradesPerStudent;
+            int[] numbers = new int[grades];
+            int[] subjectIds = new int[grades];
+            double[] scores = new double[grades];
+            int[] days = new int[grades];
+            int nextGrade = IdAllocator.GRADES.reserve(grades).next();
+            for (int i = 0, j = 0; i < size; i++) {
+                students[i] = newStudent(base + from + i, random);
+                gradeCounts[i] = gradesPerStudent;
+                for (int g = 0; g < gradesPerStudent; g++, j++) {
+                    numbers[j] = nextGrade++;
+                    subjectIds[j] = subjects[g % subjects.length].getSubjectId();
+                    scores[j] = score(random);
+                    days[j] = day(random);
+                }
+            }
+            batches.add(new StudentBatch(students, gradeCounts, numbers, subjectIds, scores, days));
+        }
+        return batches;
+    }
+
+    // The same population as generateBatches, as standalone students
+    static List<Student> generateStudents(int count, int gradesPerStudent, Subject[] subjects, Random random) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(generateStudent(gradesPerStudent, subjects, random));
+        }
+        return students;
+    }
+
+    static Student generateStudent(int gradesPerStudent, Subject[] subjects, Random random) {
+        Student student = newStudent(IdAllocator.STUDENTS.nextNumber(), random);
+        for (int g = 0; g < gradesPerStudent; g++) {
+            student.addGrade(new Grade(student.getStudentId(), subjects[g % subjects.length], score(random),
+                    LocalDate.ofEpochDay(day(random))));
+        }
+        return student;
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static Student newStudent(int number, Random random) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return random.nextInt(4) == 0
+                ? new HonorsStudent(number, name, 18 + random.nextInt(6), "student@school.edu", "555-123-4567")
+                : new RegularStudent(number, name, 18 + random.nextInt(6), "student@school.edu", "555-123-4567");
+    }
+
+    // 40 to 100 in steps of 0.05
+    private static double score(Random random) {
+        return 40 + random.nextInt(1201) / 20.0;
+    }
+
+    // An epoch day in 2022 to 2024
+    private static int day(Random random) {
+        return 19_000 + random.nextInt(1_000);
+    }
+
+    // Regular and honors students with random names, ages and up to maxGrades - 1 grades each
+    static void addStudents(EnhancedStudentManager manager, Random random, int count, int maxGrades)
+            throws StudentNotFoundException {
+        for (int i = 0; i < count; i++) {
+            Student student = random.nextBoolean()
+                    ? new RegularStudent(NAMES[random.nextInt(NAMES.length)], 18 + random.nextInt(5),
+                    "student@test.edu", "555-123-4567")
+                    : new HonorsStudent(NAMES[random.nextInt(NAMES.length)], 18 + random.nextInt(5),
+                    "honors@test.edu", "555-987-6543");
+            manager.addStudent(student);
+            for (int g = random.nextInt(maxGrades); g > 0; g--) {
+                manager.addGradeToStudent(student.getStudentId(), new Grade(student.getStudentId(),
+                        SUBJECTS[random.nextInt(SUBJECTS.length)], random.nextInt(201) / 2.0));
+            }
+        }
+    }
+
+    // One line per student holding every persisted field and its grades, in list order
+    static List<String> describe(List<Student> students) {
+        List<String> described = new ArrayList<>();
+        for (Student student : students) {
+            StringBuilder line = new StringBuilder(student.getStudentId() + " " + student.getStudentType() + " "
+                    + student.getName() + " " + student.getAge() + " " + student.getEmail() + " "
+                    + student.getPhone() + " " + student.getStatus() + " " + student.calculateAverageGrade());
+            for (Grade grade : student.getGrades()) {
+                line.append(" | ").append(describe(grade));
+            }
+            described.add(line.toString());
+        }
+        return described;
+    }
+
+    static List<String> describeGrades(List<Grade> grades) {
+        return grades.stream().map(TestPopulations::describe).collect(Collectors.toList());
+    }
+
+    static List<Integer> numbers(List<Student> students) {
+        return students.stream().map(Student::getStudentNumber).collect(Collectors.toList());
+    }
+
+    // For comparing collections whose order depends on how they were loaded
+    static List<Student> sortedByNumber(Collection<Student> students) {
+        List<Student> sorted = new ArrayList<>(students);
+        sorted.sort(Comparator.comparingInt(Student::getStudentNumber));
+        return sorted;
+    }
+
+    private static String describe(Grade grade) {
+        return grade.getGradeId() + " " + grade.getSubject().getSubjectName() + " " + grade.getGrade() + " "
+                + grade.getDate();
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.persistence.WriteAheadLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Sustained grade appends per second to the write-ahead log under each group-commit
+ * policy: a force per record, a force every 16 and 256 records, a timed force every
+ * 10 ms and 100 ms, and no forcing at all. The log is written to a temporary directory;
+ * pass a directory as the first argument to measure a particular disk.
+ */
+public class WalThroughputPerformanceTest {
+    private static final long RUN_MILLIS = 2_000;
+    private static final int STUDENTS = 1_000;
+    private static final String[] NAMES = {"Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace", "Henry"};
+    private static final Object[][] POLICIES = {
+            {"every record", 1, 0L},
+            {"every 16", 16, 0L},
+            {"every 256", 256, 0L},
+            {"every 10 ms", 0, 10L},
+            {"every 100 ms", 0, 100L},
+            {"never (OS only)", 0, 0L}};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║       WRITE-AHEAD LOG THROUGHPUT BENCHMARK (group commit)    ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        Path dir = args.length > 0 ? Files.createDirectories(Paths.get(args[0]))
+                : Files.createTempDirectory("wal-bench");
+        Student[] students = new Student[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            students[i] = new RegularStudent(i + 1, NAMES[i % NAMES.length] + " " + NAMES[i / NAMES.length % NAMES.length], 18, "student@test.edu", "555-123-4567");
+        }
+        Subject[] subjects = {new CoreSubject("Mathematics", "MAT101"), new CoreSubject("English", "ENG101"),
+                new ElectiveSubject("Music", "MUS101")};
+        Grade[] grades = new Grade[4096];
+        for (int i = 0; i < grades.length; i++) {
+            grades[i] = new Grade(students[i % STUDENTS].getStudentId(), subjects[i % subjects.length], i % 101);
+        }
+
+        // The first two runs are warm-up for the JIT
+        for (int warmUp = 0; warmUp < 2; warmUp++) {
+            run(dir, 0, 0, 500, students, grades);
+        }
+        System.out.printf("Log directory: %s, %,d ms per policy\n", dir, RUN_MILLIS);
+        System.out.println("Policy           | Grades/sec   | MB/s   | Bytes/record | Loss window");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        for (Object[] policy : POLICIES) {
+            int everyRecords = (Integer) policy[1];
+            long intervalMillis = (Long) policy[2];
+            double[] result = run(dir, everyRecords, intervalMillis, RUN_MILLIS, students, grades);
+            String window = everyRecords > 0 ? (everyRecords - 1) + " records"
+                    : intervalMillis > 0 ? intervalMillis + " ms" : "unbounded";
+            System.out.printf("%-16s | %,12.0f | %6.1f | %12.1f | %s\n",
+                    policy[0], result[0], result[1], result[2], window);
+        }
+        System.out.println("\nOn tmpfs or a disk with a volatile write cache, forcing costs little and the");
+        System.out.println("policies converge; on a real disk every-record throughput is bounded by fsync latency.");
+    }
+
+    // Returns {grades/sec, MB/s, bytes/record}
+    private static double[] run(Path dir, int everyRecords, long intervalMillis, long millis,
+                                Student[] students, Grade[] grades) throws IOException {
+        Path path = dir.resolve("bench-" + System.nanoTime() + ".wal");
+        long records = 0;
+        long elapsed;
+        try (WriteAheadLog log = new WriteAheadLog(path)) {
+            log.setGroupCommit(everyRecords, intervalMillis);
+            long start = System.nanoTime();
+            long deadline = start + millis * 1_000_000L;
+            while (true) {
+                // Check the clock once per batch to keep it off the measured path
+                for (int i = 0; i < 64; i++) {
+                    Grade grade = grades[(int) (records & (grades.length - 1))];
+                    log.logPutGrade(students[(int) (records % students.length)], grade);
+                    records++;
+                }
+                if (System.nanoTime() >= deadline) break;
+            }
+            log.sync();
+            elapsed = System.nanoTime() - start;
+        }
+        long bytes = Files.size(path);
+        Files.delete(path);
+        double seconds = elapsed / 1e9;
+        return new double[]{records / seconds, bytes / seconds / (1024 * 1024), (double) bytes / records};
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.test;
+
+import org.example.models.*;
+import org.example.persistence.MutationReplayer;
+import org.example.persistence.WriteAheadLog;
+import org.example.service.EnhancedStudentManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testManagerMutationsReplayIntoFreshManager() throws Exception {
+        Path path = tempDir.resolve("mutations.wal");
+        EnhancedStudentManager manager = new EnhancedStudentManager();
+        Student honors = new HonorsStudent("Wal Honors", 19, "honors@test.edu", "555-123-4567");
+        Grade early = new Grade(honors.getStudentId(), new CoreSubject("Mathematics", "MAT101"), 88.0,
+                LocalDate.of(2022, 9, 1));
+        honors.addGrade(early);
+
+        try (WriteAheadLog log = new WriteAheadLog(path)) {
+            log.setGroupCommit(4, 0);
+            manager.setWriteAheadLog(log);
+            manager.addStudent(honors);
+            Student regular = new RegularStudent("Wal Regular", 18, "regular@test.edu", "555-987-6543");
+            manager.addStudent(regular);
+            manager.addGradeToStudent(regular.getStudentId(),
+                    new Grade(regular.getStudentId(), new ElectiveSubject("Music", "MUS101"), 64.5));
+            manager.addGradeToStudent(honors.getStudentId(),
+                    new Grade(honors.getStudentId(), new ElectiveSubject("Art", "ART101"), 91.0));
+            manager.recordGrade(early, 93.0);
+            manager.setStudentStatus(regular, "Inactive");
+            assertEquals(7, log.getLastLsn());
+        }
+
+        EnhancedStudentManager restored = new EnhancedStudentManager();
+        MutationReplayer replayed = MutationReplayer.replay(path, 0, restored);
+        assertEquals(2, replayed.getStudentsAdded());
+        assertEquals(3, replayed.getGradesAdded());
+        assertEquals(1, replayed.getGradesUpdated());
+
+        Student honorsCopy = restored.findStudent(honors.getStudentNumber());
+        assertTrue(honorsCopy instanceof HonorsStudent);
+        assertEquals("Wal Honors", honorsCopy.getName());
+        assertEquals(gradeSummary(honors), gradeSummary(honorsCopy));
+        assertEquals(92.0, honorsCopy.calculateAverageGrade(), 1e-9);
+        Student regularCopy = restored.findStudent(honors.getStudentNumber() + 1);
+        assertEquals("Inactive", regularCopy.getStatus());
+        assertEquals("regular@test.edu", regularCopy.getEmail());
+        assertEquals(gradeSummary(manager.findStudent(regularCopy.getStudentNumber())), gradeSummary(regularCopy));
+
+        // Replaying again changes nothing
+        MutationReplayer again = MutationReplayer.replay(path, 0, restored);
+        assertEquals(0, again.getStudentsAdded());
+        assertEquals(0, again.getGradesAdded());
+        assertEquals(3, honorsCopy.getGradeCount() + regularCopy.getGradeCount());
+    }
+
+    @Test
+    void testConcurrentChangesReplayToTheLastAppliedValues() throws Exception {
+        Path path = tempDir.resolve("edits.wal");
+        EnhancedStudentManager manager = new EnhancedStudentManager(false);
+        Student student = new RegularStudent("Wal Editor", 18, "editor@test.edu", "555-123-4567");
+        Grade grade = new Grade(student.getStudentId(), new CoreSubject("Mathematics", "MAT101"), 50.0);
+        student.addGrade(grade);
+
+        try (WriteAheadLog log = new WriteAheadLog(path)) {
+            log.setGroupCommit(64, 0);
+            manager.setWriteAheadLog(log);
+            manager.addStudent(student);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> editors = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    final int offset = t;
+                    editors.add(executor.submit(() -> {
+                        for (int i = 0; i < 500; i++) {
+                            manager.recordGrade(grade, (i * 4 + offset) % 101);
+                            manager.setStudentStatus(student, "Status " + (char) ('A' + offset) + i);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> editor : editors) {
+                    editor.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        // The last grade and status logged are the ones the live student holds
+        EnhancedStudentManager restored = new EnhancedStudentManager(false);
+        MutationReplayer.replay(path, 0, restored);
+        Student copy = restored.findStudent(student.getStudentNumber());
+        assertEquals(grade.getGrade(), copy.getGrades().get(0).getGrade());
+        assertEquals(student.getStatus(), copy.getStatus());
+    }
+
+    @Test
+    void testTornTailIsTruncatedAndAppendingResumes() throws Exception {
+        Path path = tempDir.resolve("torn.wal");
+        Student student = new RegularStudent("Torn Tail", 20, "torn@test.edu", "555-123-4567");
+        Subject math = new CoreSubject("Mathematics", "MAT101");
+        try (WriteAheadLog log = new WriteAheadLog(path)) {
+            log.setGroupCommit(0, 0);
+            log.logAddStudent(student);
+            for (int i = 0; i < 5; i++) {
+                log.logPutGrade(student, new Grade(student.getStudentId(), math, 50 + i));
+            }
+        }
+        long fullSize = Files.size(path);
+        // A crash in the middle of the last record
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(fullSize - 5);
+        }
+        List<Double> scores = new ArrayList<>();
+        assertEquals(5, WriteAheadLog.replay(path, 0, scoreCollector(scores)));
+        assertEquals(4, scores.size());
+
+        try (WriteAheadLog log = new WriteAheadLog(path)) {
+            assertEquals(5, log.getLastLsn());
+            assertTrue(Files.size(path) < fullSize - 5);
+            assertEquals(6, log.logPutGrade(student, new Grade(student.getStudentId(), math, 99)));
+        }
+        scores.clear();
+        assertEquals(6, WriteAheadLog.replay(path, 3, scoreCollector(scores)));
+        assertEquals(java.util.Arrays.asList(52.0, 53.0, 99.0), scores);
+
+        // A flipped byte fails the checksum and ends the log there
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(Files.size(path) - 3);
+            file.write(file.read() ^ 0x40);
+        }
+        assertEquals(5, WriteAheadLog.replay(path, 0, scoreCollector(new ArrayList<>())));
+    }
+
+    private static WriteAheadLog.Visitor scoreCollector(List<Double> scores) {
+        return new WriteAheadLog.Visitor() {
+            public void addStudent(Student student) { }
+            public void putGrade(int studentNumber, Grade grade) { scores.add(grade.getGrade()); }
+            public void setStatus(int studentNumber, String status) { }
+        };
+    }
+
+    private static List<String> gradeSummary(Student student) {
+        List<String> summary = new ArrayList<>();
+        for (Grade grade : student.getGrades()) {
+            summary.add(grade.getGradeId() + " " + grade.getSubject().getSubjectName() + " "
+                    + grade.getSubject().getSubjectType() + " " + grade.getGrade() + " " + grade.getDate());
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hash map from primitive int keys to objects using open addressing with linear probing.
+ * Keys are stored in an int[] and never boxed, so a lookup is a multiply, a shift and a short
+ * probe over adjacent array slots. Removal shifts later entries back instead of leaving
+ * tombstones, so probe sequences stay short under churn.
+ *
+ * Not thread-safe. Reads never fail while a single writer is active: they may return a
+ * stale or missing value, which lets callers use them inside an optimistic read such as
+ * {@link java.util.concurrent.locks.StampedLock#tryOptimisticRead()} and retry if validation fails.
+ *
+ * @param <V> value type
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public class IntObjectMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    // Resize once the table is more than half full
+    private static final int MAX_LOAD_SHIFT = 1;
+
+    // Key 0 marks an empty slot, so a 0 key is held outside the table
+    private Table table;
+    private int size;
+    private boolean hasZeroKey;
+    private Object zeroValue;
+
+    public IntObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity >> MAX_LOAD_SHIFT < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        table = new Table(capacity);
+    }
+
+    // Arrays and their geometry are swapped as one reference, so a racing reader
+    // always probes a consistent table
+    private static final class Table {
+        final int[] keys;
+        final Object[] values;
+        final int mask;
+        final int shift;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        // Fibonacci hashing spreads sequential IDs across the table
+        int slot(int key) {
+            return (key * 0x9E3779B9) >>> shift;
+        }
+    }
+
+    /**
+     * Returns the value for a key.
+     * Time Complexity: O(1) expected.
+     *
+     * @param key the key
+     * @return the value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == 0) {
+            return (V) zeroValue;
+        }
+        Table t = table;
+        for (int i = t.slot(key); ; i = (i + 1) & t.mask) {
+            int k = t.keys[i];
+            if (k == key) return (V) t.values[i];
+            if (k == 0) return null;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        Table t = table;
+        for (int i = t.slot(key); ; i = (i + 1) & t.mask) {
+            int k = t.keys[i];
+            if (k == key) return true;
+            if (k == 0) return false;
+        }
+    }
+
+    /**
+     * Associates a value with a key.
+     * Time Complexity: O(1) expected, amortized over resizes.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the previous value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key == 0) {
+            V previous = (V) zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        Table t = table;
+        int[] keys = t.keys;
+        int i = t.slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                V previous = (V) t.values[i];
+                t.values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & t.mask;
+        }
+        // Value first, so a reader that finds the key never sees a null value
+        t.values[i] = value;
+        keys[i] = key;
+        if (++size > keys.length >> MAX_LOAD_SHIFT) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes a key, shifting back any entries that probed past it.
+     * Time Complexity: O(1) expected.
+     *
+     * @param key the key
+     * @return the removed value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == 0) {
+            V previous = (V) zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+            return previous;
+        }
+        Table t = table;
+        int[] keys = t.keys;
+        Object[] values = t.values;
+        int mask = t.mask;
+        int i = t.slot(key);
+        while (keys[i] != key) {
+            if (keys[i] == 0) return null;
+            i = (i + 1) & mask;
+        }
+        V previous = (V) values[i];
+        size--;
+
+        // Backward-shift deletion: move up any entry whose home slot is at or before the gap
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            int home = t.slot(keys[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        return previous;
+    }
+
+    // Fills the new table completely before publishing it
+    private void rehash(int capacity) {
+        Table old = table;
+        Table t = new Table(capacity);
+        for (int i = 0; i < old.keys.length; i++) {
+            int key = old.keys[i];
+            if (key != 0) {
+                int j = t.slot(key);
+                while (t.keys[j] != 0) {
+                    j = (j + 1) & t.mask;
+                }
+                t.keys[j] = key;
+                t.values[j] = old.values[i];
+            }
+        }
+        table = t;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        allocate(table.keys.length);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    // O(capacity) - visits every non-null value in table order
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        if (hasZeroKey) {
+            action.accept((V) zeroValue);
+        }
+        Table t = table;
+        for (int i = 0; i < t.keys.length; i++) {
+            if (t.keys[i] != 0) {
+                Object value = t.values[i];
+                if (value != null) {
+                    action.accept((V) value);
+                }
+            }
+        }
+    }
+
+    // O(capacity) - copies the values into a new list
+    public List<V> values() {
+        List<V> list = new ArrayList<>(size);
+        forEachValue(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,220 @@
+package org.example.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Creates application services when they are first needed instead of all at startup, and
+ * records when each one was built and how long it took.
+ *
+ * A {@link #lazy lazy} service is built by the first caller of {@link Service#get()}.
+ * A {@link #background background} service starts building at once on its own daemon
+ * thread, so independent bootstraps run in parallel with each other and with the caller;
+ * get() waits for it. A factory may call get() on the services it depends on.
+ *
+ * @author Student Grade Management System
+ * @version 3.0
+ */
+public final class ServiceBootstrap {
+    // Times are measured from JVM start, so the report covers class loading and main() too
+    private final long origin = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final List<Event> timeline = new ArrayList<>();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    // Unbounded: a background factory may block on another service
+    private final ExecutorService executor = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "bootstrap-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Declares a service built on first use, on the thread that first asks for it.
+     *
+     * @param name name shown in the timeline
+     * @param factory builds the service; may return null for a service that is unavailable
+     * @param <T> service type
+     * @return the service handle
+     */
+    public <T> Service<T> lazy(String name, Supplier<T> factory) {
+        return new Service<>(name, factory, false);
+    }
+
+    /**
+     * Declares a service and starts building it now on a bootstrap thread.
+     *
+     * @param name name shown in the timeline
+     * @param factory builds the service; may return null for a service that is unavailable
+     * @param <T> service type
+     * @return the service handle
+     */
+    public <T> Service<T> background(String name, Supplier<T> factory) {
+        Service<T> service = new Service<>(name, factory, true);
+        service.start(executor);
+        return service;
+    }
+
+    // Records a point in startup, e.g. when the first command can be entered
+    public long mark(String milestone) {
+        long at = System.currentTimeMillis() - origin;
+        record(new Event(milestone, "", Thread.currentThread().getName(), at, -1));
+        return at;
+    }
+
+    // Events so far in start order
+    public List<Event> getTimeline() {
+        synchronized (timeline) {
+            List<Event> events = new ArrayList<>(timeline);
+            events.sort(Comparator.comparingLong(Event::getStartMillis));
+            return events;
+        }
+    }
+
+    /**
+     * Prints every service built so far and every milestone, in start order.
+     */
+    public void printTimeline() {
+        System.out.println("STARTUP TIMELINE (ms since JVM start):");
+        System.out.printf("  %-28s %-10s %8s %8s  %s\n", "Service", "Mode", "Start", "Init", "Thread");
+        for (Event event : getTimeline()) {
+            if (event.isMilestone()) {
+                System.out.printf("  %-28s %-10s %8d %8s  %s\n", "» " + event.getName(), "", event.getStartMillis(), "", event.getThread());
+            } else {
+                System.out.printf("  %-28s %-10s %8d %8d  %s\n", event.getName(), event.getMode(), event.getStartMillis(),
+                        event.getInitMillis(), event.getThread());
+            }
+        }
+    }
+
+    private void record(Event event) {
+        synchronized (timeline) {
+            timeline.add(event);
+        }
+    }
+
+    /**
+     * Handle to one service. Building happens at most once.
+     *
+     * @param <T> service type
+     */
+    public final class Service<T> {
+        private final String name;
+        private final Supplier<T> factory;
+        private final boolean background;
+        private volatile CompletableFuture<T> future;
+
+        private Service(String name, Supplier<T> factory, boolean background) {
+            this.name = name;
+            this.factory = factory;
+            this.background = background;
+        }
+
+        private void start(ExecutorService executor) {
+            future = CompletableFuture.supplyAsync(this::build, executor);
+        }
+
+        /**
+         * Returns the service, building it first or waiting for its bootstrap if needed.
+         *
+         * @return the service, or null if its factory reported it unavailable
+         * @throws RuntimeException whatever the factory threw, on every call
+         */
+        public T get() {
+            CompletableFuture<T> current = future;
+            if (current == null) {
+                synchronized (this) {
+                    current = future;
+                    if (current == null) {
+                        current = new CompletableFuture<>();
+                        future = current;
+                        try {
+                            current.complete(build());
+                        } catch (RuntimeException | Error e) {
+                            current.completeExceptionally(e);
+                        }
+                    }
+                }
+            }
+            try {
+                return current.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                if (e.getCause() instanceof Error) throw (Error) e.getCause();
+                throw e;
+            }
+        }
+
+        // Whether building has begun, i.e. the service is or will be running
+        public boolean isStarted() {
+            return future != null;
+        }
+
+        /**
+         * Runs an action on the service only if it was ever started, waiting for a bootstrap
+         * still in progress, e.g. to shut down just the services that exist.
+         *
+         * @param action the action
+         */
+        public void ifStarted(Consumer<T> action) {
+            if (!isStarted()) return;
+            T service;
+            try {
+                service = get();
+            } catch (RuntimeException e) {
+                return;
+            }
+            if (service != null) {
+                action.accept(service);
+            }
+        }
+
+        public String getName() { return name; }
+
+        private T build() {
+            long start = System.currentTimeMillis();
+            try {
+                return factory.get();
+            } finally {
+                long end = System.currentTimeMillis();
+                record(new Event(name, background ? "background" : "on demand", Thread.currentThread().getName(),
+                        start - origin, end - start));
+            }
+        }
+    }
+
+    /**
+     * One service build or milestone in the timeline.
+     */
+    public static final class Event {
+        private final String name;
+        private final String mode;
+        private final String thread;
+        private final long startMillis;
+        private final long initMillis;
+
+        Event(String name, String mode, String thread, long startMillis, long initMillis) {
+            this.name = name;
+            this.mode = mode;
+            this.thread = thread;
+            this.startMillis = startMillis;
+            this.initMillis = initMillis;
+        }
+
+        public String getName() { return name; }
+        // "background" or "on demand"; empty for milestones
+        public String getMode() { return mode; }
+        public String getThread() { return thread; }
+        public long getStartMillis() { return startMillis; }
+        // Build time, or -1 for milestones
+        public long getInitMillis() { return initMillis; }
+        public boolean isMilestone() { return initMillis < 0; }
+    }
+}
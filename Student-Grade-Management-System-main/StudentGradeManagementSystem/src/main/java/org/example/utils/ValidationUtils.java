@@ -10,7 +10,6 @@ import java.util.regex.Pattern;
  * @version 3.0
  */
 public class ValidationUtils {
-    private static final Pattern STUDENT_ID_PATTERN = Pattern.compile("^STU\\d{3}$");
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
     private static final Pattern PHONE_PATTERN = Pattern.compile("^(\\(\\d{3}\\) \\d{3}-\\d{4}|\\d{3}-\\d{3}-\\d{4}|\\+1-\\d{3}-\\d{4}|\\+1-\\d{3}-\\d{3}-\\d{4}|\\d{10})$");
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z]+(['\\-\\s][a-zA-Z]+)*$");
@@ -18,8 +17,9 @@ public class ValidationUtils {
     private static final Pattern COURSE_CODE_PATTERN = Pattern.compile("^[A-Z]{3,4}\\d{3}$");
     private static final Pattern GRADE_PATTERN = Pattern.compile("^(100|[1-9]?\\d)$");
 
+    // STU followed by 3-9 digits, checked by character rather than regex
     public static boolean isValidStudentId(String studentId) {
-        return studentId != null && STUDENT_ID_PATTERN.matcher(studentId).matches();
+        return IdAllocator.STUDENTS.isValid(studentId);
     }
 
     public static boolean isValidEmail(String email) {
@@ -51,14 +51,14 @@ public class ValidationUtils {
     }
 
     /**
-     * Validates student ID format (STU###).
+     * Validates student ID format (STU followed by 3-9 digits).
      * 
      * @param studentId the student ID to validate
      * @throws IllegalArgumentException if format is invalid
      */
     public static void validateStudentId(String studentId) {
         if (!isValidStudentId(studentId)) {
-            throw new IllegalArgumentException("Invalid Student ID: '" + studentId + "'. Expected: STU### (e.g., STU001)");
+            throw new IllegalArgumentException("Invalid Student ID: '" + studentId + "'. Expected: STU### to STU######### (e.g., STU001)");
         }
     }
 